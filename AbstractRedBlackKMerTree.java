@@ -0,0 +1,311 @@
+import java.util.Arrays;
+
+/** This class is the common structure of the counting engines for the K-mer distribution of a DNA sequence, S, in the
+ *  form of a red-black tree, a Binary Search Tree which keeps itself balanced. Every Node is colored either red or black,
+ *  such that no red Node has a red child, and every path from the root down to an empty subtree passes through the same
+ *  number of black Nodes. Hence, the height of the tree never exceeds 2*log2(d+1), where d is the number of distinct
+ *  K-mers, no matter the order by which the K-mers arrive (e.g. long runs of a single letter, tandem repeats, or sorted
+ *  input), whereas a plain BST may degenerate into a linked list.
+ *
+ *  Rather than Node objects holding K-mer objects, the tree consists of parallel arrays of primitives, indexed by Node:
+ *  counts, holding the number of occurrences of each distinct K-mer, and the indices of the left child, right child and
+ *  parent of each Node. Index 0 is a black sentinel Node standing for every empty subtree, and Nodes are numbered from 1
+ *  in the order by which their K-mers were first seen. The packed codes of the K-mers themselves are held by subclasses,
+ *  such that a single long (see RedBlackKMerTree) or several of them (see WideRedBlackKMerTree) may be compared.
+ */
+abstract class AbstractRedBlackKMerTree {
+
+	/* The index of the sentinel Node, standing for every empty subtree as well as the parent of the root. */
+	protected static final int NIL = 0;
+
+	private static final int MIN_CAPACITY = 16;
+
+	protected int k;
+	protected int[] counts;
+	protected int[] leftNodes;
+	protected int[] rightNodes;
+	protected int[] parentNodes;
+	protected boolean[] isRed;
+
+	protected int nRootNode = NIL;
+	protected int nNumOfDistinctKMers = 0;
+
+	/** This constructor creates an empty tree, holding K-mers of length k.
+	  *
+	  * @param k      an Integer representing the length of each K-mer to be counted
+	  */
+	protected AbstractRedBlackKMerTree(int k) {
+		this.k = k;
+		counts = new int[MIN_CAPACITY];
+		leftNodes = new int[MIN_CAPACITY];
+		rightNodes = new int[MIN_CAPACITY];
+		parentNodes = new int[MIN_CAPACITY];
+		isRed = new boolean[MIN_CAPACITY];
+	}
+
+	/** A method that enlarges the storage of the packed codes of the subclass to hold the given number of Nodes,
+	  * the sentinel Node included.
+	  *
+	  * @param nCapacity     the new number of Nodes the tree can hold
+	  */
+	protected abstract void growKeys(int nCapacity);
+
+	/** A method that attaches a new red Node, holding a single occurrence, as a child of the Node passed (or as the
+	  * root, if the tree is empty), and rebalances the tree from it. The subclass stores the packed code of the new Node
+	  * once it is returned, as rebalancing never compares packed codes.
+	  *
+	  * @param nParentNode      the last Node visited while descending the tree, or the sentinel Node if the tree is empty
+	  * @param isLeftChild      a boolean denoting whether the new Node is the left child of the Node passed
+	  * @return                 the new Node
+	  */
+	protected int attachNode(int nParentNode, boolean isLeftChild) {
+		int nNewNode = ++nNumOfDistinctKMers;
+
+		if(nNewNode == counts.length) {
+			grow(2 * counts.length);
+		}
+
+		counts[nNewNode] = 1;
+		leftNodes[nNewNode] = NIL;
+		rightNodes[nNewNode] = NIL;
+		parentNodes[nNewNode] = nParentNode;
+		isRed[nNewNode] = true;
+
+		if(nParentNode == NIL) {
+			nRootNode = nNewNode;
+		} else if(isLeftChild) {
+			leftNodes[nParentNode] = nNewNode;
+		} else {
+			rightNodes[nParentNode] = nNewNode;
+		}
+
+		rebalance(nNewNode);
+		return nNewNode;
+	}
+
+	/** A method that returns the number of distinct K-mers counted.
+	  *
+	  * @return      the number of distinct K-mers counted
+	  */
+	public int getnNumOfDistinctKMers() {
+		return nNumOfDistinctKMers;
+	}
+
+	/** A method that returns the number of collisions encountered, which is always 0, as the K-mers are
+	  * compared rather than hashed.
+	  *
+	  * @return      0
+	  */
+	public int getnNumOfCollisions() {
+		return 0;
+	}
+
+	/** A method that returns the length, k, of each K-mer counted.
+	  *
+	  * @return      the length of each K-mer counted
+	  */
+	public int getK() {
+		return k;
+	}
+
+	/** A method that returns the height of the tree, as the number of Nodes on the longest path from the
+	  * root down to an empty subtree. The height of an empty tree is 0.
+	  *
+	  * @return      the height of the tree
+	  */
+	public int getnHeight() {
+		return (int) measureDepths()[0];
+	}
+
+	/** A method that returns the average depth of the Nodes of the tree, as the number of Nodes from the root
+	  * down to each Node, itself included, being the average number of Nodes visited to find a K-mer counted.
+	  *
+	  * @return      the average depth of the Nodes, or 0 if the tree is empty
+	  */
+	public double getdAverageDepth() {
+		return nNumOfDistinctKMers == 0 ? 0 : measureDepths()[1] / (double) nNumOfDistinctKMers;
+	}
+
+	/** A method that returns the height of the tree divided by the least height of any Binary Search Tree of
+	  * as many Nodes, being 1 for a perfectly balanced tree, and at most 2 for a red-black tree.
+	  *
+	  * @return      the imbalance of the tree, or 1 if the tree is empty
+	  */
+	public double getdImbalance() {
+		return nNumOfDistinctKMers == 0 ? 1 : getnHeight() / (double) (32 - Integer.numberOfLeadingZeros(nNumOfDistinctKMers));
+	}
+
+	/* Returns both the height of the tree and the sum of the depths of its Nodes. The Nodes are visited through an
+	   explicit stack holding each Node along with its depth.                                                      */
+	private long[] measureDepths() {
+		int nNode, nDepth, nTop = 0, nHeight = 0;
+		long lSumOfDepths = 0;
+		int[] nodes = new int[nNumOfDistinctKMers + 1];
+		int[] depths = new int[nNumOfDistinctKMers + 1];
+
+		if(nRootNode != NIL) {
+			nodes[nTop] = nRootNode;
+			depths[nTop++] = 1;
+		}
+
+		while(nTop > 0) {
+			nNode = nodes[--nTop];
+			nDepth = depths[nTop];
+			nHeight = Math.max(nHeight, nDepth);
+			lSumOfDepths += nDepth;
+
+			if(leftNodes[nNode] != NIL) {
+				nodes[nTop] = leftNodes[nNode];
+				depths[nTop++] = nDepth + 1;
+			}
+			if(rightNodes[nNode] != NIL) {
+				nodes[nTop] = rightNodes[nNode];
+				depths[nTop++] = nDepth + 1;
+			}
+		}
+
+		return new long[] {nHeight, lSumOfDepths};
+	}
+
+	/* Returns the Node of the lexicographically smallest K-mer, or the sentinel Node if the tree is empty. */
+	protected int firstNode() {
+		int nNode = nRootNode;
+
+		while(nNode != NIL && leftNodes[nNode] != NIL) {
+			nNode = leftNodes[nNode];
+		}
+
+		return nNode;
+	}
+
+	/* Returns the Node which follows the Node passed in the inorder traversal, being either the leftmost Node of
+	   its right subtree, or the first ancestor of which it lies in the left subtree.                             */
+	protected int nextNode(int nNode) {
+		int nParentNode;
+
+		if(rightNodes[nNode] != NIL) {
+			nNode = rightNodes[nNode];
+			while(leftNodes[nNode] != NIL) {
+				nNode = leftNodes[nNode];
+			}
+			return nNode;
+		}
+
+		nParentNode = parentNodes[nNode];
+		while(nParentNode != NIL && nNode == rightNodes[nParentNode]) {
+			nNode = nParentNode;
+			nParentNode = parentNodes[nNode];
+		}
+
+		return nParentNode;
+	}
+
+	/* Restores the properties of the red-black tree after the red Node passed has been attached, by recoloring
+	   Nodes and rotating subtrees from the Node passed up towards the root.                                    */
+	private void rebalance(int nNode) {
+		int nParentNode, nGrandparentNode, nUncleNode;
+
+		while(isRed[parentNodes[nNode]]) {
+			nParentNode = parentNodes[nNode];
+			nGrandparentNode = parentNodes[nParentNode];
+
+			if(nParentNode == leftNodes[nGrandparentNode]) {
+				nUncleNode = rightNodes[nGrandparentNode];
+
+				/* A red uncle is recolored along with the parent, moving the violation two levels up. */
+				if(isRed[nUncleNode]) {
+					isRed[nParentNode] = false;
+					isRed[nUncleNode] = false;
+					isRed[nGrandparentNode] = true;
+					nNode = nGrandparentNode;
+					continue;
+				}
+
+				/* Otherwise, one or two rotations end the rebalancing. */
+				if(nNode == rightNodes[nParentNode]) {
+					nNode = nParentNode;
+					rotateLeft(nNode);
+					nParentNode = parentNodes[nNode];
+				}
+				isRed[nParentNode] = false;
+				isRed[nGrandparentNode] = true;
+				rotateRight(nGrandparentNode);
+			} else {
+				nUncleNode = leftNodes[nGrandparentNode];
+
+				if(isRed[nUncleNode]) {
+					isRed[nParentNode] = false;
+					isRed[nUncleNode] = false;
+					isRed[nGrandparentNode] = true;
+					nNode = nGrandparentNode;
+					continue;
+				}
+
+				if(nNode == leftNodes[nParentNode]) {
+					nNode = nParentNode;
+					rotateRight(nNode);
+					nParentNode = parentNodes[nNode];
+				}
+				isRed[nParentNode] = false;
+				isRed[nGrandparentNode] = true;
+				rotateLeft(nGrandparentNode);
+			}
+		}
+
+		isRed[nRootNode] = false;
+	}
+
+	/* Makes the right child of the Node passed take its place, with the Node passed as its left child. */
+	private void rotateLeft(int nNode) {
+		int nChildNode = rightNodes[nNode];
+
+		rightNodes[nNode] = leftNodes[nChildNode];
+		if(leftNodes[nChildNode] != NIL) {
+			parentNodes[leftNodes[nChildNode]] = nNode;
+		}
+		replaceChild(nNode, nChildNode);
+		leftNodes[nChildNode] = nNode;
+		parentNodes[nNode] = nChildNode;
+	}
+
+	/* Makes the left child of the Node passed take its place, with the Node passed as its right child. */
+	private void rotateRight(int nNode) {
+		int nChildNode = leftNodes[nNode];
+
+		leftNodes[nNode] = rightNodes[nChildNode];
+		if(rightNodes[nChildNode] != NIL) {
+			parentNodes[rightNodes[nChildNode]] = nNode;
+		}
+		replaceChild(nNode, nChildNode);
+		rightNodes[nChildNode] = nNode;
+		parentNodes[nNode] = nChildNode;
+	}
+
+	/* Attaches the new Node passed to the parent of the old Node passed, in place of the old Node. */
+	private void replaceChild(int nOldNode, int nNewNode) {
+		int nParentNode = parentNodes[nOldNode];
+
+		parentNodes[nNewNode] = nParentNode;
+		if(nParentNode == NIL) {
+			nRootNode = nNewNode;
+		} else if(nOldNode == leftNodes[nParentNode]) {
+			leftNodes[nParentNode] = nNewNode;
+		} else {
+			rightNodes[nParentNode] = nNewNode;
+		}
+	}
+
+	/* Enlarges the arrays of the Nodes to hold the given number of Nodes, the sentinel Node included. */
+	private void grow(int nCapacity) {
+		if(counts.length == (1 << 30)) {
+			throw new IllegalStateException("Number of distinct K-mers exceeds the capacity of the tree.");
+		}
+
+		growKeys(nCapacity);
+		counts = Arrays.copyOf(counts, nCapacity);
+		leftNodes = Arrays.copyOf(leftNodes, nCapacity);
+		rightNodes = Arrays.copyOf(rightNodes, nCapacity);
+		parentNodes = Arrays.copyOf(parentNodes, nCapacity);
+		isRed = Arrays.copyOf(isRed, nCapacity);
+	}
+}
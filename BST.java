@@ -0,0 +1,503 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/** This class represents a Node object, that of which shall belong as element of the
+ *  constructed Binary Search Tree in the implemented algorithm. A single Node, which
+ *  contains its stored data (kMer), must also consist of two Node objects(leftNode and rightNode), 
+ *  respectively containing a reference to each of its child node.
+ */
+class Node {
+	private KMer kMer;
+	private Node rightNode;
+	private Node leftNode;
+	
+	/** This constructor creates a Node object by supplying the 
+	  * needed value of its attribute, kMer, with the argument passed.
+	  * 
+	  * @param kMer     the KMer object to be stored as data of the Node object
+	  */
+	public Node(KMer kMer) {
+		this.kMer = kMer;
+		
+		/* By default, upon creation of a Node object, the reference to its children nodes
+		   must be null (denoting that these Nodes are referring to nothing, or haven't been
+		   instantiated as Node objects containing data).                                   */
+		this.rightNode = null;
+		this.leftNode = null;
+	}
+	
+	/** A method that returns the K-mer object stored as data of the Node object.
+	  * 
+	  * @return      the data stored by the Node object, also corresponding to a valid
+	  *              K-mer object
+	  */
+	public KMer getkMer() {
+		return kMer;
+	}
+
+	/** A method that initializes the K-mer object stored as data, with the argument passed.
+	  * 
+	  * @param kMer     a K-mer object which could be set as data of the Node object
+	  */
+	public void setkMer(KMer kMer) {
+		this.kMer = kMer;
+	}
+
+	/** A method that returns a Node object, representing the right child of that
+	  * certain Node object. It returns null if the Node object consists of no child node
+	  * on its right subtree. 
+	  * 
+	  * @return      the Node object representing the right child of the certain Node object 
+	  */
+	public Node getRightNode() {
+		return rightNode;
+	}
+
+	/** A method that initializes the child node on the Node object's right subtree,
+	  * with the argument passed. 
+	  * 
+	  * @param rightNode    a Node object which may represent the right child of the certain Node object 
+	  */
+	public void setRightNode(Node rightNode) {
+		this.rightNode = rightNode;
+	}
+
+	/** A method that returns a Node object, representing the left child of that
+	  * certain Node object. It returns null if the Node object consists of no child node
+	  * on its left subtree. 
+	  * 
+	  * @return   the Node object representing the left child of the certain Node object  
+	  */
+	public Node getLeftNode() {
+		return leftNode;
+	}
+
+	/** A method that initializes the child node on the Node object's left subtree,
+	  * with the argument passed. 
+	  * 
+	  * @param leftNode    a Node object which may represent the left child of the certain Node object 
+	  */
+	public void setLeftNode(Node leftNode) {
+		this.leftNode = leftNode;
+	}
+}
+
+/** This class is a template for a BST object or Binary Search Tree, whose structure is important
+ *  to integrate as part of the algorithm required to compute for the K-mer distribution of a DNA
+ *  Sequence, S. It consists of a Node object such as the rootNode to which all of the base operations
+ *  of a Binary Search Tree usually originate from. Relevant operations, innately considered in the 
+ *  implementation of its data structure, such as create(), insert() - recursive version, search()
+ *  - recursive version, upsert() - iterative search-or-insert, and inOrderWalk() - iterative version,
+ *  have been included, such that they deem useful in the algorithm required to compute for a K-mer
+ *  distribution of a DNA sequence, S.
+ */
+class BST {
+	
+	private Node rootNode;
+
+	
+	/** This methods creates an empty Binary Search Tree, such that its
+	  * root node is represented by a null pointer, and as such, consists of no
+	  * existing Node objects.
+	  */
+	public void create() {
+		rootNode = null;
+	}
+	
+	/** This method determines whether the search key of a given K-mer object, particularly
+	  * the substring itself, exists in the implemented BST. As such, it returns a value
+	  * corresponding to this description. 
+	  * 
+	  * @param rootNode   a Node object whose value will be inspected, such that it
+	  *                   is the return value of the search operation (recursive version),
+	  *                   of a given K-mer object in the BST
+	  * 
+	  * @return           a boolean value determining whether the search key of a K-mer
+	  *                   exists in the BST
+	  */
+	public boolean search(Node rootNode) {
+		
+		/* If the returned value of the search operation (recursive version) is NOT null,
+		   this means that the search key of a given K-mer object (i.e. its substring) exists 
+		   in the implemented BST.                                                             */
+		if(rootNode != null) 
+		{
+			return true;
+		}
+		
+		/* Otherwise, it does NOT EXIST in the implemented BST or it could be that search 
+		   operation was done on an empty BST at first.                                    */
+		{
+			return false;
+		}	
+	}
+	
+	/** This method recursively traverses down the BST, based on comparisons of the
+	  * K-mer object searched in the implemented BST and the data (K-mer object) of
+	  * existing Node objects, such that each K-mer object is added in the BST while
+	  * maintaining its property. Note that the packed code of the substring of a K-mer object
+	  * is compared with that of which, the existing Node object's. As K-mer objects share the same
+	  * length, k, the order of their packed codes is the same as the lexicographic order of their substrings.
+	  * 
+	  * @param rootNode      the Node object whose K-mer object must be compared with
+	  *                      the K-mer object searched in the implemented BST, 
+	  *                      (comparison usually starts from the rootNode, and each Node object
+	  *                      may be considered the rootNode of a smaller subtree)
+	  *              
+	  * @param lPackedCode   the packed code of the K-mer object searched in the implemented BST, 
+	  *                      such that it may or may not be distinct amongst all                
+	  */
+	public Node searchRecursively(Node rootNode, long lPackedCode) {
+		
+		Node nodeToReturn = null;
+		
+		/* BASE CASE: When the Node object compared to the K-mer object searched
+		   no longer consists of any data, such that it is represented by a null pointer. 
+		   This signifies that the K-mer object was not found in the BST. 
+		   
+		   Base Case also occurs when the K-mer object was eventually found in the BST.   */
+		if(rootNode == null || rootNode.getkMer().getlPackedCode() == lPackedCode) 
+		{
+			/* In such cases, the associated variable is initialized with that Node object, eventually
+			   to be returned to its calling method.                                                  */
+			nodeToReturn = rootNode;
+		}
+		
+		/* The following cases apply for as long as recursive traversal down the tree is implemented,
+		   such that an empty Node object (represented by a null pointer) may be found (signifying that the
+		   K-mer object searched does not exist in the BST), or the K-mer object is eventually found in the BST. */
+		
+		/* As maintenance of the BST property, the direction of recursive traversal is specified by the 
+		   comparison of each Node object's K-mer object (substring) with that of which, the K-mer object
+		   searched.                                                                                         */
+		
+		/* If the K-mer object (such as its substring) searched is lexicographically less with that of
+		   the Node object being compared with, the child node on its left subtree is explored. As such,
+		   a recursive call to the method is returned, passing in the appropriate argument.             */
+		else if(lPackedCode < rootNode.getkMer().getlPackedCode()) 
+		{
+			return searchRecursively(rootNode.getLeftNode(), lPackedCode);
+		}
+		
+		/* If the K-mer object (such as its substring) searched is lexicographically greater with that of
+		   the Node object being compared with, the child node on its right subtree is explored. As such,
+		   a recursive call to method is returned, passing in the appropriate argument.                 */
+		else if(lPackedCode > rootNode.getkMer().getlPackedCode()) 
+		{
+			return searchRecursively(rootNode.getRightNode(), lPackedCode);
+		}
+		
+		/* The Node object eventually returned in its final recursive call, may represent the Node object which
+		   consists of the K-mer object searched (as data), or an empty Node object (signifying the non-existence of
+		   the K-mer object in the BST).                                                                             */
+		return nodeToReturn;
+	}
+	
+	/** This method adds a new Node object with the argument passed (kMer object) 
+	  * in its proper place in the BST. The procedure is implemented, by calling the 
+	  * recursive version of the insert operation on the given K-mer object, passing
+	  * along as an argument, the rootNode of the BST, which is also set anew as 
+	  * recent insert operation enforces changes to the whole BST. 
+	  * 
+	  * 
+	  * @param kMer  the K-mer object looking to be added in the implemented BST,
+	  *              such that it is distinct among all other K-mer objects whose values
+	  *              have served as data of the Node objects
+	  */
+	public void insert(KMer kMer) {
+		setRootNode(insertRecursively(rootNode, kMer));
+	}
+	
+	/** This method searches for the packed code passed in the BST and, should it not be found, inserts a new Node
+	  * object for it, all in a single iterative descent from the rootNode. Each Node object on the way is compared
+	  * with the packed code only once, and the new Node object is attached to the last Node object visited, rather
+	  * than searching for the same place again from the rootNode.
+	  * 
+	  * @param lPackedCode   the packed code of the substring extracted from the DNA sequence, S
+	  * @param k             an Integer representing the length of the substring
+	  * @return              the newly created K-mer object if the substring is distinct, or null if it already exists
+	  *                      in the BST (such that its number of occurrences is increased instead)
+	  */
+	public KMer upsert(long lPackedCode, int k) {
+		int nComparison = 0;
+		Node node = rootNode, parentNode = null;
+		KMer kMer;
+		
+		while(node != null) {
+			nComparison = Long.compare(lPackedCode, node.getkMer().getlPackedCode());
+			
+			/* The K-mer object was found in the BST, hence, its number of occurrences is increased. */
+			if(nComparison == 0) {
+				node.getkMer().increaseNumOfOccurrences();
+				return null;
+			}
+			
+			parentNode = node;
+			node = nComparison < 0 ? node.getLeftNode() : node.getRightNode();
+		}
+		
+		/* Otherwise, the K-mer object is distinct, and its Node object is attached as a child of the last Node
+		   object visited, on the side given by the last comparison.                                           */
+		kMer = new KMer(lPackedCode, k);
+		node = new Node(kMer);
+		
+		if(parentNode == null) {
+			rootNode = node;
+		} else if(nComparison < 0) {
+			parentNode.setLeftNode(node);
+		} else {
+			parentNode.setRightNode(node);
+		}
+		
+		return kMer;
+	}
+	
+	/** This method recursively traverses down the BST, based on comparisons of the
+	  * K-mer object looking to be inserted in the implemented BST and the data (K-mer object) of
+	  * existing Node objects, such that the K-mer object may be added in the BST while
+	  * maintaining its property. Note that the packed code of the substring of a K-mer object 
+	  * is compared with that of which, the existing Node object's. 
+	  * 
+	  * @param rootNode  the Node object whose K-mer object must be compared with
+	  *                  the K-mer object looking to be added in the implemented BST, 
+	  *                  (comparison usually starts from the rootNode, and each Node object
+	  *                  may be considered the rootNode of a smaller subtree)
+	  *              
+	  * @param kMer      the K-mer object looking to be added in the implemented BST,
+	  *                  such that it is distinct among all other K-mer objects whose values
+	  *                  have served as data of the Node objects
+	  */
+	public Node insertRecursively(Node rootNode, KMer kMer) {
+		
+		/* BASE CASE: When the Node object compared to the K-mer object to be inserted,
+		   no longer consists of any data, such that it is represented by a null pointer */
+		if(rootNode == null) 
+		{
+			/* Comparison could no longer occur between substrings, and a placement position 
+			   for the Node object consisting of the K-mer object as data, has been found, by
+			   traversal down the tree.                                                       */
+			
+			/* A new Node object has been created, with its data consisting of the K-mer object 
+			   to be inserted. Its object is returned, finally terminating all the recursive calls
+			   in memory.                                                                           */
+			rootNode = new Node(kMer);
+			return rootNode;
+		}
+		
+		/* The following cases apply for as long as recursive traversal down the tree is implemented,
+		   such that an empty Node object (represented by a null pointer) may be found for the insertion of
+		   the K-mer object as its data.                                                                   */
+		
+		/* In order to maintain the BST property, the direction of recursive traversal is specified by the 
+		   comparison of each Node object's K-mer object (substring) with that of which, the K-mer object
+		   looking to be inserted.                                                                        */
+		
+		/* If the K-mer object (such as its substring) to be inserted is lexicographically less with that of
+		   the Node object being compared with, the child node on its left subtree is explored.              */
+		else if(kMer.getlPackedCode() < rootNode.getkMer().getlPackedCode()) 
+		{
+			/* After success of each k-Mer object having been inserted as the data value of a
+			   Node object, the rootNode through it was called, is modified to contain that newly
+			   created Node object, as a child of its left subtree.                               */
+			rootNode.setLeftNode(insertRecursively(rootNode.getLeftNode(), kMer));
+		}
+		
+		/* If the K-mer object (such as its substring) to be inserted is lexicographically greater with that of
+		   the Node object being compared with, the child node on its right subtree is explored.              */
+		else if(kMer.getlPackedCode() > rootNode.getkMer().getlPackedCode()) 
+		{
+			/* After success of each k-Mer object having been inserted as the data value of a
+			   Node object, the rootNode through it was called, is modified to contain that newly
+			   created Node object, as a child of its right subtree.                             */
+			rootNode.setRightNode(insertRecursively(rootNode.getRightNode(), kMer));
+		}
+		
+		/* The rootNode object modified to contain the newly created Node object is returned for each of the past
+		   recursive calls' modification as well.                                                                  */
+		return rootNode;
+	}
+	
+	/** This method implements an inorder traversal of the BST, such that data of each Node object
+	  * (K-mer object) in the K-mer distribution could be displayed in a lexicographically, ascending order.
+	  * 
+	  * This method was created for the purpose of checking the correctness of the implemented BST data structure
+	  * operations (most particularly related to insertion) and the overall algorithm for the computation 
+	  * of a K-mer distribution of a DNA sequence, S. 
+	  * 
+	  * The traversal is iterative (see InOrderCursor), such that a deep BST cannot overflow the call stack, and
+	  * the lines displayed are buffered rather than written to the console one at a time.
+	  * 
+	  * @param node   the Node object through which the inorder traversal
+	  *               of the implemented BST must start (usually the RootNode)
+	  */
+	public void inOrderWalk(Node node) {
+		KMer kMer;
+		InOrderCursor cursor = new InOrderCursor(node);
+		PrintWriter writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out)));
+		
+		/* The contents of each Node object, such as the data it holds (K-mer object with substring and number
+		   of occurrences) are printed. Note that it is only here that the packed code of the substring is
+		   decoded back to a String.                                                                          */
+		while(cursor.hasNext()) {
+			kMer = cursor.next();
+			writer.println(kMer.getSubstring() + " (" + kMer.getnNumOfOccurrences() + ")");
+		}
+		
+		/* The writer is flushed rather than closed, as closing it would close the console as well. */
+		writer.flush();
+	}
+	
+	/** This method implements the same inorder traversal as inOrderWalk(Node), but writes each K-mer object
+	  * through the writer passed, rather than displaying it (see KMerWriter).
+	  * 
+	  * @param node     the Node object through which the inorder traversal
+	  *                 of the implemented BST must start (usually the RootNode)
+	  * @param writer   the writer to which the K-mer objects are written, in lexicographic, ascending order
+	  * @throws IOException       if the K-mer objects cannot be written
+	  */
+	public void inOrderWalk(Node node, KMerWriter writer) throws IOException {
+		InOrderCursor cursor = new InOrderCursor(node);
+		
+		while(cursor.hasNext()) {
+			writer.write(cursor.next());
+		}
+	}
+
+	/** A method that returns the height of the BST, as the number of Node objects on the longest path from the
+	  * rootNode down to a null pointer. The height of an empty BST is 0.
+	  *
+	  * @return      the height of the BST
+	  */
+	public int getnHeight() {
+		return (int) measureDepths()[0];
+	}
+
+	/** A method that returns the average depth of the Node objects of the BST, as the number of Node objects from
+	  * the rootNode down to each Node object, itself included, being the average number of comparisons needed to
+	  * find a K-mer object stored in the BST.
+	  *
+	  * @return      the average depth of the Node objects, or 0 if the BST is empty
+	  */
+	public double getdAverageDepth() {
+		long[] measures = measureDepths();
+
+		return measures[2] == 0 ? 0 : measures[1] / (double) measures[2];
+	}
+
+	/** A method that returns the height of the BST divided by the least height of any BST of as many Node objects,
+	  * being 1 for a perfectly balanced BST, and as much as the number of Node objects divided by its logarithm for
+	  * a BST degenerated into a linked list (such as one built from sorted input).
+	  *
+	  * @return      the imbalance of the BST, or 1 if the BST is empty
+	  */
+	public double getdImbalance() {
+		long[] measures = measureDepths();
+
+		return measures[2] == 0 ? 1 : measures[0] / (double) (64 - Long.numberOfLeadingZeros(measures[2]));
+	}
+
+	/* Returns the height of the BST, the sum of the depths of its Node objects, and their number. The Node objects
+	   are visited through an explicit stack holding each of them along with its depth, such that a deep BST cannot
+	   overflow the call stack.                                                                                   */
+	private long[] measureDepths() {
+		int nDepth, nHeight = 0;
+		long lSumOfDepths = 0, lNumOfNodes = 0;
+		Node node;
+		ArrayDeque<Node> nodes = new ArrayDeque<>();
+		ArrayDeque<Integer> depths = new ArrayDeque<>();
+
+		if(rootNode != null) {
+			nodes.push(rootNode);
+			depths.push(1);
+		}
+
+		while(!nodes.isEmpty()) {
+			node = nodes.pop();
+			nDepth = depths.pop();
+			nHeight = Math.max(nHeight, nDepth);
+			lSumOfDepths += nDepth;
+			lNumOfNodes++;
+
+			if(node.getLeftNode() != null) {
+				nodes.push(node.getLeftNode());
+				depths.push(nDepth + 1);
+			}
+			if(node.getRightNode() != null) {
+				nodes.push(node.getRightNode());
+				depths.push(nDepth + 1);
+			}
+		}
+
+		return new long[] {nHeight, lSumOfDepths, lNumOfNodes};
+	}
+
+	/** A method that returns a Node object, representing the Root Node of the BST.
+	  * 
+	  * @return      the Node object representing the Root Node of the BST 
+	  */
+	public Node getRootNode() {
+		return rootNode;
+	}
+
+	/** A method that initializes Root Node of the BST, with the argument passed.
+	  * 
+	  * @param rootNode      a Node object which may represent the Root Node of the BST
+	  */
+	public void setRootNode(Node rootNode) {
+		this.rootNode = rootNode;
+	}
+}
+
+/** This class represents an InOrderCursor object, which visits the K-mer objects of the Node objects of a BST
+ *  in a lexicographically, ascending order, one at a time, without recursion. An explicit stack holds the Node
+ *  objects whose left subtree is being visited, such that a deep BST (such as one built from sorted input, which
+ *  degenerates into a linked list) cannot overflow the call stack, and the K-mer objects can be streamed to their
+ *  destination as they are visited, rather than collected first.
+ */
+class InOrderCursor implements Iterator<KMer> {
+	
+	private ArrayDeque<Node> stack = new ArrayDeque<>();
+	
+	/** This constructor creates an InOrderCursor object positioned before the first K-mer object
+	  * of the subtree passed.
+	  * 
+	  * @param node   the Node object through which the inorder traversal must start (usually the RootNode)
+	  */
+	public InOrderCursor(Node node) {
+		pushLeftPath(node);
+	}
+	
+	@Override
+	public boolean hasNext() {
+		return !stack.isEmpty();
+	}
+	
+	@Override
+	public KMer next() {
+		Node node;
+		
+		if(stack.isEmpty()) {
+			throw new NoSuchElementException();
+		}
+		
+		/* The Node object on top of the stack has had its left subtree visited already, hence, it is visited,
+		   followed by the leftmost path of its right subtree.                                                 */
+		node = stack.pop();
+		pushLeftPath(node.getRightNode());
+		
+		return node.getkMer();
+	}
+	
+	/* Pushes the Node object passed and each of its left children in turn, down to the leftmost Node object. */
+	private void pushLeftPath(Node node) {
+		while(node != null) {
+			stack.push(node);
+			node = node.getLeftNode();
+		}
+	}
+}
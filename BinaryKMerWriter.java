@@ -0,0 +1,88 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+
+/** This class writes a K-mer distribution in a compact binary form, in little-endian byte order. It begins with a
+ *  header of 24 bytes:
+ *
+ *      "KMER" (4 bytes), version (int), k (int), number of words per K-mer (int), number of K-mers (long)
+ *
+ *  followed by a record per K-mer, holding its packed words (see WidePackedKMer), or its packed code alone for a
+ *  length of up to PackedKMer.MAX_K, and then its number of occurrences (int). As the number of K-mers is only known
+ *  once every K-mer has been written, it is written in the header upon closing the file, and is left at -1 upon
+ *  writing to the standard output.
+ */
+class BinaryKMerWriter extends KMerWriter {
+
+	public static final int MAGIC = 0x52454D4B;
+	public static final int VERSION = 1;
+	public static final int HEADER_SIZE = 24;
+
+	/* The offset in the header of the number of K-mers. */
+	private static final int NUM_OF_KMERS_OFFSET = 16;
+
+	private int nNumOfWords;
+
+	/** This constructor creates a writer of K-mers of length k to the file passed.
+	  *
+	  * @param k           an Integer representing the length of each K-mer to be written
+	  * @param path        the path of the file
+	  * @throws IOException       if the file cannot be opened
+	  */
+	public BinaryKMerWriter(int k, Path path) throws IOException {
+		super(k, path);
+		putHeader();
+	}
+
+	/** This constructor creates a writer of K-mers of length k to the standard output.
+	  *
+	  * @param k           an Integer representing the length of each K-mer to be written
+	  */
+	public BinaryKMerWriter(int k) {
+		super(k);
+		putHeader();
+	}
+
+	@Override
+	protected int getnMaxRecordSize() {
+		return 8 * nNumOfWords + 4;
+	}
+
+	@Override
+	protected void putKMer(long lPackedCode, int nCount) {
+		buffer.putLong(lPackedCode);
+		buffer.putInt(nCount);
+	}
+
+	@Override
+	protected void putKMer(long[] words, int nOffset, int nCount) {
+		int i;
+
+		for(i=0; i<nNumOfWords; i++) {
+			buffer.putLong(words[nOffset + i]);
+		}
+		buffer.putInt(nCount);
+	}
+
+	@Override
+	protected void finish() throws IOException {
+		ByteBuffer numOfKMers = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+
+		numOfKMers.putLong(getlNumOfKMers()).flip();
+		while(numOfKMers.hasRemaining()) {
+			channel.write(numOfKMers, NUM_OF_KMERS_OFFSET + numOfKMers.position());
+		}
+	}
+
+	/* Puts the header in the buffer, with the number of K-mers left at -1 until the file is closed. */
+	private void putHeader() {
+		nNumOfWords = k > PackedKMer.MAX_K ? WidePackedKMer.getnNumOfWords(k) : 1;
+
+		buffer.putInt(MAGIC);
+		buffer.putInt(VERSION);
+		buffer.putInt(k);
+		buffer.putInt(nNumOfWords);
+		buffer.putLong(-1);
+	}
+}
@@ -0,0 +1,142 @@
+/** This class is a Bloom filter of K-mers, which records whether a K-mer has been seen before in a fixed array of bits,
+ *  without storing the K-mer itself. Each K-mer sets as many bits as there are hash functions, such that a K-mer whose
+ *  bits are all set has most likely been seen before, while a K-mer with a bit still clear has certainly never been
+ *  seen. The filter never misses a K-mer seen before, but may mistake a new K-mer for one seen before (a false positive),
+ *  with a probability which grows as more K-mers are added.
+ *
+ *  The number of bits and hash functions are chosen upon construction from the expected number of distinct K-mers and
+ *  the false positive rate wanted, as m = -n ln(p) / ln(2)^2 bits and (m/n) ln(2) hash functions.
+ */
+class BloomFilter {
+
+	/* The false positive rate of the filter once the expected number of distinct K-mers has been added. */
+	public static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+
+	/* The odd constant closest to 2^64 divided by the golden ratio, by which the packed code of a K-mer is mixed. */
+	private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+	private long[] bits;
+	private long lMask;
+	private int nNumOfHashes;
+	private long lNumOfKMers = 0;
+
+	/** This constructor creates an empty BloomFilter object whose false positive rate does not exceed the rate
+	  * passed until the expected number of distinct K-mers has been added.
+	  *
+	  * @param lExpectedKMers             the expected number of distinct K-mers
+	  * @param dFalsePositiveRate         the false positive rate wanted (greater than 0 and less than 1)
+	  */
+	public BloomFilter(long lExpectedKMers, double dFalsePositiveRate) {
+		long lNumOfBits = 64;
+		double dBitsPerKMer;
+
+		if(!(dFalsePositiveRate > 0 && dFalsePositiveRate < 1)) {
+			throw new IllegalArgumentException("False positive rate must be between 0 and 1, but was " + dFalsePositiveRate + ".");
+		}
+
+		/* The number of bits is rounded up to a power of two, such that a bit is found with a mask. */
+		dBitsPerKMer = -Math.log(dFalsePositiveRate) / (Math.log(2) * Math.log(2));
+		while(lNumOfBits < dBitsPerKMer * Math.max(lExpectedKMers, 1) && lNumOfBits < (1L << 36)) {
+			lNumOfBits <<= 1;
+		}
+
+		bits = new long[(int) (lNumOfBits / 64)];
+		lMask = lNumOfBits - 1;
+		nNumOfHashes = (int) Math.max(1, Math.round(dBitsPerKMer * Math.log(2)));
+	}
+
+	/** A method that adds a K-mer to the filter, setting each of its bits, and returns whether every one of them
+	  * was set already, in which case the K-mer has most likely been added before.
+	  *
+	  * @param lPackedCode    the packed code of the K-mer
+	  * @return               a boolean denoting whether the K-mer was (most likely) added before
+	  */
+	public boolean put(long lPackedCode) {
+		int i;
+		long lHash = hashOf(lPackedCode), lBit;
+		boolean wasAdded = true;
+
+		for(i=0; i<nNumOfHashes; i++) {
+			lBit = bitOf(lHash, i);
+
+			if((bits[(int) (lBit >>> 6)] & (1L << lBit)) == 0) {
+				bits[(int) (lBit >>> 6)] |= 1L << lBit;
+				wasAdded = false;
+			}
+		}
+
+		if(!wasAdded) {
+			lNumOfKMers++;
+		}
+
+		return wasAdded;
+	}
+
+	/** A method that returns whether a K-mer has (most likely) been added to the filter, without adding it.
+	  *
+	  * @param lPackedCode    the packed code of the K-mer
+	  * @return               a boolean denoting whether every bit of the K-mer is set
+	  */
+	public boolean mightContain(long lPackedCode) {
+		int i;
+		long lHash = hashOf(lPackedCode), lBit;
+
+		for(i=0; i<nNumOfHashes; i++) {
+			lBit = bitOf(lHash, i);
+
+			if((bits[(int) (lBit >>> 6)] & (1L << lBit)) == 0) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/** A method that returns the probability that a K-mer never added is mistaken for one added before, given the
+	  * number of distinct K-mers added so far, as (1 - e^(-hn/m))^h.
+	  *
+	  * @return      the current false positive rate of the filter
+	  */
+	public double getdFalsePositiveRate() {
+		return Math.pow(1 - Math.exp(-nNumOfHashes * (double) lNumOfKMers / getlNumOfBits()), nNumOfHashes);
+	}
+
+	/** A method that returns the number of bits of the filter, which is a power of two.
+	  *
+	  * @return      the number of bits of the filter
+	  */
+	public long getlNumOfBits() {
+		return lMask + 1;
+	}
+
+	/** A method that returns the number of bits set by each K-mer.
+	  *
+	  * @return      the number of hash functions of the filter
+	  */
+	public int getnNumOfHashes() {
+		return nNumOfHashes;
+	}
+
+	/** A method that returns the number of K-mers added which set at least one bit, being the distinct K-mers
+	  * added, less those mistaken for K-mers added before.
+	  *
+	  * @return      the number of K-mers added to the filter
+	  */
+	public long getlNumOfKMers() {
+		return lNumOfKMers;
+	}
+
+	/* Mixes the packed code of a K-mer into a 64-bit hash value, whose two halves are combined for each hash function. */
+	private static long hashOf(long lPackedCode) {
+		long lHash = lPackedCode * GOLDEN_RATIO;
+
+		lHash ^= lHash >>> 29;
+		return lHash * GOLDEN_RATIO;
+	}
+
+	/* Returns the bit of a K-mer for the given hash function, from both halves of its hash value combined by double
+	   hashing, the second of which is odd.                                                                        */
+	private long bitOf(long lHash, int nHash) {
+		return ((lHash >>> 32) + nHash * ((lHash & 0xFFFFFFFFL) | 1)) & lMask;
+	}
+}
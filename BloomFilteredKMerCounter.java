@@ -0,0 +1,84 @@
+/** This class is a counting engine for the K-mer distribution of a DNA sequence, S, which only counts the K-mers seen at
+ *  least twice in another counting engine (the table), such that the memory of the table is proportional to the number
+ *  of solid K-mers, rather than to the number of K-mers seen only once, which on sequencing data are mostly errors.
+ *
+ *  The first sighting of each K-mer is only recorded in a Bloom filter. Once a K-mer is seen again, it is found in the
+ *  filter, and inserted in the table with 2 occurrences, counting its first sighting as well, and is counted in the table
+ *  from then on. A K-mer seen only once is therefore never stored, and its number of occurrences is 0. However, a K-mer
+ *  mistaken by the filter for one seen before (see BloomFilter) is inserted upon its first sighting, such that its number
+ *  of occurrences exceeds the actual one by 1.
+ */
+class BloomFilteredKMerCounter implements KMerCounter {
+
+	private KMerCounter table;
+	private BloomFilter bloomFilter;
+
+	/** This constructor creates a BloomFilteredKMerCounter object which counts the K-mers seen at least twice
+	  * in the table passed, recording the first sighting of each K-mer in the filter passed.
+	  *
+	  * @param table            an empty counting engine, such as an OpenAddressingKMerTable object
+	  * @param bloomFilter      an empty Bloom filter, sized for the expected number of distinct K-mers
+	  */
+	public BloomFilteredKMerCounter(KMerCounter table, BloomFilter bloomFilter) {
+		this.table = table;
+		this.bloomFilter = bloomFilter;
+	}
+
+	/** A method that counts a single occurrence of a K-mer, which is only recorded in the Bloom filter upon its
+	  * first sighting, and counted in the table from its second sighting on.
+	  *
+	  * @param lPackedCode    the packed code of the K-mer
+	  */
+	@Override
+	public void add(long lPackedCode) {
+		add(lPackedCode, 1);
+	}
+
+	@Override
+	public void add(long lPackedCode, int nCount) {
+
+		/* A K-mer which sets a bit of the filter has never been seen before. */
+		if(!bloomFilter.put(lPackedCode)) {
+			if(nCount == 1) {
+				return;
+			}
+			nCount--;
+		}
+
+		/* Otherwise, a K-mer not yet in the table is inserted along with its first sighting. */
+		table.add(lPackedCode, table.getCount(lPackedCode) == 0 ? nCount + 1 : nCount);
+	}
+
+	@Override
+	public int getCount(long lPackedCode) {
+		return table.getCount(lPackedCode);
+	}
+
+	@Override
+	public long getFirstSeenCode(int i) {
+		return table.getFirstSeenCode(i);
+	}
+
+	@Override
+	public int getnNumOfDistinctKMers() {
+		return table.getnNumOfDistinctKMers();
+	}
+
+	@Override
+	public int getnNumOfCollisions() {
+		return table.getnNumOfCollisions();
+	}
+
+	@Override
+	public int getK() {
+		return table.getK();
+	}
+
+	/** A method that returns the Bloom filter in which the first sighting of each K-mer is recorded.
+	  *
+	  * @return      the Bloom filter of the engine
+	  */
+	public BloomFilter getBloomFilter() {
+		return bloomFilter;
+	}
+}
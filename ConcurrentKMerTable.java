@@ -0,0 +1,229 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/** This class is a counting engine for the K-mer distribution of a DNA sequence, S, in the form of a hash table with
+ *  open addressing (see OpenAddressingKMerTable), which many threads may count into at once, without any lock. Rather
+ *  than each thread counting into a table of its own, which multiplies the memory taken by the number of threads, the
+ *  threads share a single pair of arrays of keys and counts:
+ *
+ *  - a free slot is claimed for a distinct K-mer by a compare-and-set of its key from EMPTY to the packed code, such
+ *    that of two threads claiming the same slot, the one which fails moves on to probe the next slot, unless the other
+ *    thread stored the same K-mer in it;
+ *  - the number of occurrences in a slot is increased by an atomic add, once its key holds the K-mer.
+ *
+ *  As a slot is never freed, nor moved, once claimed, the table cannot grow while it is shared, hence, its number of
+ *  slots is fixed upon construction from an upper bound of the number of distinct K-mers (being the lesser of 4^k and
+ *  the number of K-mers in S). As the threads see the K-mers in no single order, the distinct K-mers are listed in the
+ *  order of their slots rather than the order by which they were first seen.
+ */
+class ConcurrentKMerTable implements KMerCounter {
+
+	/* A packed code is never negative, hence, -1 marks a slot that holds no K-mer. */
+	private static final long EMPTY = -1L;
+
+	private static final int MIN_CAPACITY = 16;
+	private static final double MAX_LOAD_FACTOR = 0.75;
+
+	/* The handles through which the elements of the arrays of keys and counts are accessed atomically. */
+	private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(long[].class);
+	private static final VarHandle COUNTS = MethodHandles.arrayElementVarHandle(int[].class);
+
+	private int k;
+	private KMerHashFunction hashFunction;
+	private long[] keys;
+	private int[] counts;
+	private int nMask;
+	private LongAdder nNumOfDistinctKMers = new LongAdder();
+	private LongAdder nNumOfCollisions = new LongAdder();
+
+	/* The packed codes of the distinct K-mers in the order of their slots, which are only gathered once the
+	   K-mers have been counted, upon the first call to getFirstSeenCode().                                 */
+	private long[] slotOrderCodes = null;
+
+	/** This constructor creates an empty ConcurrentKMerTable object with enough slots to hold the expected
+	  * number of distinct K-mers, which hashes the K-mers by the hash function passed. As the table never grows,
+	  * the number passed must be an upper bound of the number of distinct K-mers to be counted.
+	  *
+	  * @param k                        an Integer representing the length of each K-mer to be counted (1 to 31)
+	  * @param lExpectedKMers           the largest number of distinct K-mers to be counted
+	  * @param hashFunction             the hash function by which the slot of each K-mer is computed, which must be
+	  *                                 safe to call from several threads at once
+	  */
+	public ConcurrentKMerTable(int k, long lExpectedKMers, KMerHashFunction hashFunction) {
+		int nCapacity = MIN_CAPACITY;
+
+		PackedKMer.mask(k);
+		this.k = k;
+		this.hashFunction = hashFunction;
+
+		while(nCapacity * MAX_LOAD_FACTOR < lExpectedKMers && nCapacity < (1 << 30)) {
+			nCapacity <<= 1;
+		}
+		keys = new long[nCapacity];
+		counts = new int[nCapacity];
+		Arrays.fill(keys, EMPTY);
+		nMask = nCapacity - 1;
+	}
+
+	/** A method that returns the largest number of distinct K-mers of length k which a sequence of the given
+	  * number of K-mers may hold, by which a ConcurrentKMerTable object is to be sized.
+	  *
+	  * @param k                   an Integer representing the length of each K-mer (1 to 31)
+	  * @param lNumOfWindows       the number of K-mers (windows of length k) in the DNA sequence, S
+	  * @return                    the upper bound of the number of distinct K-mers
+	  */
+	public static long getlMaxDistinctKMers(int k, long lNumOfWindows) {
+		return Math.min(1L << (2 * k), Math.max(lNumOfWindows, 0));
+	}
+
+	/** A method that counts every K-mer of length k in the sequence passed by sliding a window over it, such
+	  * that the hash value of each window is rolled from that of the previous window. Several threads may count
+	  * their own sequences (or slices of one sequence) at once.
+	  *
+	  * @param sequence     the DNA sequence, S, or a slice of it, whose K-mers are to be counted
+	  */
+	@Override
+	public void count(CharSequence sequence) {
+		int i, nBase, nNumOfValidBases = 0;
+		long lPackedCode = 0, lPreviousCode, lHash = 0, lMask = PackedKMer.mask(k);
+
+		for(i=0; i<sequence.length(); i++) {
+			nBase = PackedKMer.encodeBase(sequence.charAt(i));
+
+			/* A letter outside of the alphabet, {a,c,g,t}, restarts the window from the letter after it. */
+			if(nBase < 0) {
+				nNumOfValidBases = 0;
+				continue;
+			}
+
+			lPreviousCode = lPackedCode;
+			lPackedCode = PackedKMer.roll(lPackedCode, nBase, lMask);
+			nNumOfValidBases++;
+
+			if(nNumOfValidBases == k) {
+				lHash = hashFunction.hash(lPackedCode, k);
+				addHashed(lPackedCode, lHash, 1);
+			} else if(nNumOfValidBases > k) {
+				lHash = hashFunction.roll(lHash, lPreviousCode, lPackedCode, k);
+				addHashed(lPackedCode, lHash, 1);
+			}
+		}
+	}
+
+	@Override
+	public void add(long lPackedCode) {
+		addHashed(lPackedCode, hashFunction.hash(lPackedCode, k), 1);
+	}
+
+	@Override
+	public void add(long lPackedCode, int nCount) {
+		addHashed(lPackedCode, hashFunction.hash(lPackedCode, k), nCount);
+	}
+
+	/* Increases the number of occurrences of a single K-mer, whose hash value has been computed beforehand,
+	   by the number passed, claiming a free slot for it if it is distinct.                                 */
+	private void addHashed(long lPackedCode, long lHash, int nCount) {
+		int nHomeSlot = slotOf(lHash), nSlot = nHomeSlot, nNumOfProbes = 0;
+		long lKey;
+
+		/* The slots are probed one after the other, starting from the slot the packed code hashes to,
+		   until either the K-mer itself or a free slot is found.                                       */
+		do {
+			lKey = (long) KEYS.getAcquire(keys, nSlot);
+
+			/* A free slot is claimed for the K-mer, unless another thread claims it first, in which case the
+			   key it stored is compared instead.                                                           */
+			if(lKey == EMPTY) {
+				lKey = (long) KEYS.compareAndExchange(keys, nSlot, EMPTY, lPackedCode);
+
+				if(lKey == EMPTY) {
+					nNumOfDistinctKMers.increment();
+					if(nSlot != nHomeSlot) {
+						nNumOfCollisions.increment();
+					}
+					COUNTS.getAndAdd(counts, nSlot, nCount);
+					return;
+				}
+			}
+
+			if(lKey == lPackedCode) {
+				COUNTS.getAndAdd(counts, nSlot, nCount);
+				return;
+			}
+			nSlot = (nSlot + 1) & nMask;
+		} while(++nNumOfProbes < keys.length);
+
+		throw new IllegalStateException("Number of distinct K-mers exceeds the capacity of the table.");
+	}
+
+	@Override
+	public int getCount(long lPackedCode) {
+		int nSlot = slotOf(hashFunction.hash(lPackedCode, k)), nNumOfProbes = 0;
+		long lKey;
+
+		do {
+			lKey = (long) KEYS.getAcquire(keys, nSlot);
+
+			if(lKey == lPackedCode) {
+				return (int) COUNTS.getVolatile(counts, nSlot);
+			}
+			nSlot = (nSlot + 1) & nMask;
+		} while(lKey != EMPTY && ++nNumOfProbes < keys.length);
+
+		return 0;
+	}
+
+	/** A method that returns the packed code of the i-th distinct K-mer, in the order of the slots of the
+	  * table, which is only to be called once every thread has finished counting.
+	  *
+	  * @param i      an Integer from 0 up to the number of distinct K-mers (exclusive)
+	  * @return       the packed code of the i-th distinct K-mer
+	  */
+	@Override
+	public long getFirstSeenCode(int i) {
+		int nSlot, nIndex = 0;
+
+		if(slotOrderCodes == null) {
+			slotOrderCodes = new long[getnNumOfDistinctKMers()];
+
+			for(nSlot=0; nSlot<keys.length; nSlot++) {
+				if(keys[nSlot] != EMPTY) {
+					slotOrderCodes[nIndex++] = keys[nSlot];
+				}
+			}
+		}
+
+		return slotOrderCodes[i];
+	}
+
+	@Override
+	public int getnNumOfDistinctKMers() {
+		return nNumOfDistinctKMers.intValue();
+	}
+
+	@Override
+	public int getnNumOfCollisions() {
+		return nNumOfCollisions.intValue();
+	}
+
+	@Override
+	public int getK() {
+		return k;
+	}
+
+	/** A method that returns the number of slots in the table, which is always a power of two.
+	  *
+	  * @return      the number of slots in the table
+	  */
+	public int getnCapacity() {
+		return keys.length;
+	}
+
+	/* Returns the slot a hash value points to, folding its upper half into its lower half, as some hash
+	   functions only fill the lower 32 bits.                                                           */
+	private int slotOf(long lHash) {
+		return (int) (lHash ^ (lHash >>> 32)) & nMask;
+	}
+}
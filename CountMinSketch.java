@@ -0,0 +1,252 @@
+/** This class is an approximate counting engine for the K-mer distribution of a DNA sequence, S, in the form of a
+ *  Count-Min sketch, whose memory is fixed upon construction, regardless of the length of S and of its number of
+ *  distinct K-mers. It consists of a table of counters of depth rows by width columns. Each K-mer is hashed to one
+ *  counter per row, and its number of occurrences is estimated as the least of these counters, such that it is never
+ *  underestimated, but may be overestimated by the K-mers colliding with it in every row.
+ *
+ *  The counters are increased by conservative update, such that only the counters of a K-mer which are below its new
+ *  estimate are raised to it, rather than every counter being increased, which lessens the overestimation. With a
+ *  width of w and a depth of d, the estimate of any K-mer exceeds its number of occurrences by at most e/w times the
+ *  number of K-mers counted, except with a probability of at most e^-d (see getdErrorBound()).
+ *
+ *  As the sketch does not hold the K-mers themselves, they cannot be listed, only queried one at a time.
+ */
+class CountMinSketch {
+
+	/* The odd constant closest to 2^64 divided by the golden ratio, by which the packed code of a K-mer is mixed. */
+	private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+	private int k;
+	private int nWidth;
+	private int nDepth;
+	private int nMask;
+	private int[] counters;
+	private long lNumOfKMers = 0;
+
+	/* Once the K-mers are counted in their canonical form, a K-mer queried by its substring is looked up in that form. */
+	private boolean isCanonical = false;
+
+	/* The column of the K-mer being counted in each row, kept between computing its estimate and raising its counters. */
+	private int[] columns;
+
+	/** This constructor creates an empty CountMinSketch object of the given width and depth, whose memory
+	  * is 4 * width * depth bytes.
+	  *
+	  * @param k           an Integer representing the length of each K-mer to be counted (1 to 31)
+	  * @param nWidth      the number of counters per row, which is rounded up to a power of two
+	  * @param nDepth      the number of rows, each hashing the K-mers anew
+	  */
+	public CountMinSketch(int k, int nWidth, int nDepth) {
+		int nPowerOfTwo = 1;
+
+		PackedKMer.mask(k);
+		while(nPowerOfTwo < nWidth && nPowerOfTwo < (1 << 30)) {
+			nPowerOfTwo <<= 1;
+		}
+
+		if(nWidth < 1 || nWidth > nPowerOfTwo || nDepth < 1 || (long) nPowerOfTwo * nDepth > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Width and depth must be positive, with fewer than 2^31 counters in all, but were "
+					+ nWidth + " and " + nDepth + ".");
+		}
+
+		this.k = k;
+		this.nWidth = nPowerOfTwo;
+		this.nDepth = nDepth;
+		this.nMask = this.nWidth - 1;
+		this.counters = new int[this.nWidth * nDepth];
+		this.columns = new int[nDepth];
+	}
+
+	/** A method that counts every K-mer of length k in the DNA sequence, S, by sliding a window over it,
+	  * rolling its packed code forward with each incoming letter.
+	  *
+	  * @param sequence     the DNA sequence, S, or a chunk of it, whose K-mers are to be counted
+	  */
+	public void count(CharSequence sequence) {
+		int i, nBase, nNumOfValidBases = 0;
+		long lPackedCode = 0, lMask = PackedKMer.mask(k);
+
+		for(i=0; i<sequence.length(); i++) {
+			nBase = PackedKMer.encodeBase(sequence.charAt(i));
+
+			/* A letter outside of the alphabet, {a,c,g,t}, restarts the window from the letter after it. */
+			if(nBase < 0) {
+				nNumOfValidBases = 0;
+				continue;
+			}
+
+			lPackedCode = PackedKMer.roll(lPackedCode, nBase, lMask);
+
+			if(++nNumOfValidBases >= k) {
+				add(lPackedCode);
+			}
+		}
+	}
+
+	/** A method that counts every K-mer of length k in the DNA sequence, S, in its canonical form, such that
+	  * a K-mer and its reverse complement are counted as one (see KMerCounter.countCanonical()).
+	  *
+	  * @param sequence     the DNA sequence, S, or a chunk of it, whose K-mers are to be counted
+	  */
+	public void countCanonical(CharSequence sequence) {
+		int i, nBase, nNumOfValidBases = 0;
+		long lPackedCode = 0, lReverseCode = 0, lMask = PackedKMer.mask(k);
+
+		isCanonical = true;
+		for(i=0; i<sequence.length(); i++) {
+			nBase = PackedKMer.encodeBase(sequence.charAt(i));
+
+			if(nBase < 0) {
+				nNumOfValidBases = 0;
+				continue;
+			}
+
+			lPackedCode = PackedKMer.roll(lPackedCode, nBase, lMask);
+			lReverseCode = PackedKMer.rollReverseComplement(lReverseCode, nBase, k);
+
+			if(++nNumOfValidBases >= k) {
+				add(Math.min(lPackedCode, lReverseCode));
+			}
+		}
+	}
+
+	/** A method that counts a single occurrence of a K-mer, raising only those of its counters which are
+	  * below its new estimate (conservative update). A counter never exceeds Integer.MAX_VALUE.
+	  *
+	  * @param lPackedCode    the packed code of the K-mer
+	  */
+	public void add(long lPackedCode) {
+		int i, nEstimate = Integer.MAX_VALUE;
+		long lHash = hashOf(lPackedCode);
+
+		for(i=0; i<nDepth; i++) {
+			columns[i] = i * nWidth + columnOf(lHash, i);
+			nEstimate = Math.min(nEstimate, counters[columns[i]]);
+		}
+
+		if(nEstimate < Integer.MAX_VALUE) {
+			nEstimate++;
+		}
+		for(i=0; i<nDepth; i++) {
+			if(counters[columns[i]] < nEstimate) {
+				counters[columns[i]] = nEstimate;
+			}
+		}
+		lNumOfKMers++;
+	}
+
+	/** A method that returns the estimated number of occurrences of a K-mer, being the least of its counters,
+	  * which is never below its actual number of occurrences.
+	  *
+	  * @param lPackedCode    the packed code of the K-mer
+	  * @return               the estimated number of occurrences of the K-mer
+	  */
+	public int getCount(long lPackedCode) {
+		int i, nEstimate = Integer.MAX_VALUE;
+		long lHash = hashOf(lPackedCode);
+
+		for(i=0; i<nDepth; i++) {
+			nEstimate = Math.min(nEstimate, counters[i * nWidth + columnOf(lHash, i)]);
+		}
+
+		return nEstimate;
+	}
+
+	/** A method that returns the estimated number of occurrences of a K-mer, given its substring, which is
+	  * taken in its canonical form if the K-mers were counted in that form, such that a K-mer and its reverse
+	  * complement are estimated as one.
+	  *
+	  * @param strSubstring     the substring of the K-mer, of length k
+	  * @return                 the estimated number of occurrences of the K-mer
+	  */
+	public int getCount(String strSubstring) {
+		long lPackedCode;
+
+		if(strSubstring.length() != k) {
+			throw new IllegalArgumentException("Length of K-mer must be " + k + ", but was " + strSubstring.length() + ".");
+		}
+
+		lPackedCode = PackedKMer.encode(strSubstring);
+		return getCount(isCanonical ? PackedKMer.canonical(lPackedCode, k) : lPackedCode);
+	}
+
+	/** A method that returns the number by which the estimate of any K-mer exceeds its actual number of occurrences
+	  * at most, being e/w times the number of K-mers counted, except with the probability of getdFailureProbability().
+	  *
+	  * @return      the bound of the overestimation of any K-mer
+	  */
+	public double getdErrorBound() {
+		return Math.E / nWidth * lNumOfKMers;
+	}
+
+	/** A method that returns the probability that the estimate of a K-mer exceeds the bound of getdErrorBound(),
+	  * being e^-d.
+	  *
+	  * @return      the probability of exceeding the bound of the overestimation
+	  */
+	public double getdFailureProbability() {
+		return Math.exp(-nDepth);
+	}
+
+	/** A method that returns the number of K-mers counted, including each repeated occurrence.
+	  *
+	  * @return      the number of K-mers counted
+	  */
+	public long getlNumOfKMers() {
+		return lNumOfKMers;
+	}
+
+	/** A method that returns the number of bytes taken by the counters of the sketch.
+	  *
+	  * @return      the memory of the counters in bytes
+	  */
+	public long getlMemoryInBytes() {
+		return (long) counters.length * Integer.BYTES;
+	}
+
+	/** A method that returns the number of counters per row, which is a power of two.
+	  *
+	  * @return      the width of the sketch
+	  */
+	public int getnWidth() {
+		return nWidth;
+	}
+
+	/** A method that returns the number of rows.
+	  *
+	  * @return      the depth of the sketch
+	  */
+	public int getnDepth() {
+		return nDepth;
+	}
+
+	/** A method that returns whether the K-mers were counted in their canonical form.
+	  *
+	  * @return      true if each K-mer was counted along with its reverse complement, false otherwise
+	  */
+	public boolean isCanonical() {
+		return isCanonical;
+	}
+
+	/** A method that returns the length, k, of each K-mer counted.
+	  *
+	  * @return      the length of each K-mer counted
+	  */
+	public int getK() {
+		return k;
+	}
+
+	/* Mixes the packed code of a K-mer into a 64-bit hash value, whose two halves are combined for each row. */
+	private static long hashOf(long lPackedCode) {
+		long lHash = lPackedCode * GOLDEN_RATIO;
+
+		lHash ^= lHash >>> 29;
+		return lHash * GOLDEN_RATIO;
+	}
+
+	/* Returns the column of a K-mer in the given row, from both halves of its hash value combined by double hashing,
+	   the second of which is odd, such that two K-mers colliding in one row rarely collide in the others.          */
+	private int columnOf(long lHash, int nRow) {
+		return ((int) (lHash >>> 32) + nRow * ((int) lHash | 1)) & nMask;
+	}
+}
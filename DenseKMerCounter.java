@@ -0,0 +1,132 @@
+import java.util.Arrays;
+
+/** This class is a counting engine for the K-mer distribution of a DNA sequence, S, which, rather than
+ *  hashing or comparing K-mers, uses their packed codes (see PackedKMer) directly as indices of a flat array
+ *  of counts. As there are only 4^k possible K-mers of length k, such an array holds a slot for every one of
+ *  them, hence, there are no collisions, no searches, and no object is created for each K-mer counted.
+ *
+ *  The array grows with 4^k rather than with the number of distinct K-mers, so the engine only pays off for
+ *  small values of k (up to MAX_K), and when 4^k is not larger than the number of K-mers in the sequence itself.
+ *  Along with the counts, the packed codes are also recorded in the order by which each distinct K-mer was first
+ *  seen, such that the distribution can still be displayed by placement of insertion.
+ */
+class DenseKMerCounter implements KMerCounter {
+
+	/* The largest length of a K-mer this engine accepts, for which the array of counts holds 4^14 slots. */
+	public static final int MAX_K = 14;
+
+	private int k;
+	private int[] counts;
+
+	/* The packed codes of the distinct K-mers in the order by which they were first seen. */
+	private int[] firstSeenCodes = new int[16];
+	private int nNumOfDistinctKMers = 0;
+
+	/** This constructor creates a DenseKMerCounter object with an empty array of counts, holding
+	  * a slot for each of the 4^k possible K-mers.
+	  *
+	  * @param k      an Integer representing the length of each K-mer to be counted (1 to MAX_K)
+	  */
+	public DenseKMerCounter(int k) {
+		if(k < 1 || k > MAX_K) {
+			throw new IllegalArgumentException("K-mer length must be from 1 to " + MAX_K + ", but was " + k + ".");
+		}
+
+		this.k = k;
+		this.counts = new int[1 << (2 * k)];
+	}
+
+	/** A method that determines whether this engine is suitable for counting the K-mers of length k,
+	  * given the number of K-mers in the DNA sequence, S. This is the case once k is small enough, and
+	  * the 4^k slots of the array are no more than the K-mers to be counted.
+	  *
+	  * @param k                   an Integer representing the length of each K-mer
+	  * @param lNumOfWindows       the number of K-mers (windows of length k) in the DNA sequence, S
+	  * @return                    a boolean denoting whether the array of counts should be used
+	  */
+	public static boolean isSuitable(int k, long lNumOfWindows) {
+		return k >= 1 && k <= MAX_K && (1L << (2 * k)) <= lNumOfWindows;
+	}
+
+	/** A method that increments the number of occurrences of a single K-mer.
+	  *
+	  * @param lPackedCode    the packed code of the K-mer
+	  */
+	@Override
+	public void add(long lPackedCode) {
+		add(lPackedCode, 1);
+	}
+
+	@Override
+	public void add(long lPackedCode, int nCount) {
+		int nCode = (int) lPackedCode;
+
+		/* A slot holding no occurrence yet denotes a distinct K-mer, whose code is recorded. */
+		if(counts[nCode] == 0) {
+			if(nNumOfDistinctKMers == firstSeenCodes.length) {
+				firstSeenCodes = Arrays.copyOf(firstSeenCodes, Math.min(2 * firstSeenCodes.length, counts.length));
+			}
+			firstSeenCodes[nNumOfDistinctKMers++] = nCode;
+		}
+		counts[nCode] += nCount;
+	}
+
+	/** A method that returns the number of occurrences of a K-mer.
+	  *
+	  * @param lPackedCode    the packed code of the K-mer
+	  * @return               the number of occurrences of the K-mer in the DNA sequence, S
+	  */
+	@Override
+	public int getCount(long lPackedCode) {
+		return counts[(int) lPackedCode];
+	}
+
+	/** A method that returns the packed code of the i-th distinct K-mer, in the order by which the
+	  * distinct K-mers were first seen.
+	  *
+	  * @param i      an Integer from 0 up to the number of distinct K-mers (exclusive)
+	  * @return       the packed code of the i-th distinct K-mer
+	  */
+	@Override
+	public long getFirstSeenCode(int i) {
+		return firstSeenCodes[i];
+	}
+
+	/** A method that returns the number of distinct K-mers counted.
+	  *
+	  * @return      the number of distinct K-mers counted
+	  */
+	@Override
+	public int getnNumOfDistinctKMers() {
+		return nNumOfDistinctKMers;
+	}
+
+	/** A method that returns the number of collisions encountered while storing each distinct K-mer,
+	  * which is always 0, as every K-mer has a slot of its own.
+	  *
+	  * @return      the number of collisions encountered, 0
+	  */
+	@Override
+	public int getnNumOfCollisions() {
+		return 0;
+	}
+
+	/** A method that returns the number of possible K-mers of length k, 4^k, which is also the
+	  * number of slots in the array of counts. Visiting the slots from 0 up to this number visits the
+	  * K-mers in lexicographic order.
+	  *
+	  * @return      the number of possible K-mers of length k
+	  */
+	public int getnNumOfPossibleKMers() {
+		return counts.length;
+	}
+
+	/** A method that returns the length, k, of each K-mer counted.
+	  *
+	  * @return      the length of each K-mer counted
+	  */
+	@Override
+	public int getK() {
+		return k;
+	}
+}
@@ -0,0 +1,330 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/** This class counts the K-mer distribution of a DNA sequence, S, which may be far larger than the memory available,
+ *  in two phases through files on disk, such that only a fraction of the distinct K-mers is ever held in memory:
+ *
+ *  1. The sequence is streamed a chunk at a time (see MappedSequenceReader), and split into super-K-mers, being runs
+ *     of consecutive K-mers which share the same minimizer (the leftmost m-mer of the least hash value among the
+ *     k-m+1 m-mers of a K-mer). Each super-K-mer is written once, 2 bits per letter, to the bucket file its minimizer
+ *     hashes to, rather than each of its K-mers apart, as consecutive K-mers share all but one of their letters.
+ *  2. As every occurrence of a K-mer shares the same minimizer, it is written to the same bucket, hence, the buckets
+ *     hold disjoint sets of K-mers. Each bucket is counted on its own in an OpenAddressingKMerTable, whose K-mers are
+ *     handed over before the next bucket is counted, such that the distribution is the buckets concatenated.
+ *
+ *  The number of buckets is chosen such that the K-mers of a single bucket fit in the memory budget, unless it is
+ *  given, in which case the budget only bounds the buffers of the bucket files and the size of each table. In canonical
+ *  mode, the minimizer is chosen among the canonical m-mers, such that a K-mer and its reverse complement share both
+ *  their minimizer and bucket.
+ *
+ *  Whichever bucket files are still on disk, once counting fails or is given up, are deleted upon closing the counter.
+ */
+class DiskKMerCounter implements Closeable {
+
+	/* The length, m, of each minimizer, which is shortened to k for shorter K-mers. */
+	public static final int MINIMIZER_LENGTH = 11;
+
+	/* The number of bytes taken per distinct K-mer by an OpenAddressingKMerTable, counting the free slots kept by its
+	   maximum load factor, and the array of K-mers in the order by which they were first seen.                      */
+	public static final int BYTES_PER_KMER = 32;
+
+	/* The largest number of buckets, as a bucket file is kept open for each of them while the sequence is split. */
+	public static final int MAX_BUCKETS = 512;
+
+	private static final int MIN_BUFFER_SIZE = 1 << 12;
+	private static final int MAX_BUFFER_SIZE = 1 << 20;
+
+	/* The odd constant closest to 2^64 divided by the golden ratio, by which the m-mers are hashed (see MultiplyShiftKMerHash). */
+	private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+	private int k;
+	private int m;
+	private boolean isCanonical;
+	private long lMemoryBudget;
+	private KMerHashFunction hashFunction;
+	private Path[] bucketPaths;
+	private OutputStream[] bucketStreams;
+
+	/* The m-mers of the window being split, in ascending order of both their positions and hash values, such that the
+	   minimizer of the window is always the first of them (a monotone queue). They are kept in a circular array.      */
+	private int[] queuePositions;
+	private long[] queueHashes;
+	private int nQueueHead = 0;
+	private int nQueueSize = 0;
+
+	private long lNumOfSuperKMers = 0;
+	private long lNumOfDistinctKMers = 0;
+	private long lNumOfCollisions = 0;
+	private byte[] superKMer = new byte[1 + (2 * PackedKMer.MAX_K + 3) / 4];
+
+	/** This constructor creates a DiskKMerCounter object, along with an empty file for each of its buckets in the
+	  * directory passed.
+	  *
+	  * @param k                  an Integer representing the length of each K-mer to be counted (1 to 31)
+	  * @param isCanonical        a boolean denoting whether the K-mers are to be counted in their canonical form
+	  * @param nNumOfBuckets      the number of buckets (1 to MAX_BUCKETS)
+	  * @param lMemoryBudget      the number of bytes the buffers of the bucket files, and the table counting a single
+	  *                           bucket, are meant to fit in
+	  * @param hashFunction       the hash function of the table counting each bucket
+	  * @param directory          the directory in which the bucket files are created
+	  * @throws IOException       if a bucket file cannot be created
+	  */
+	public DiskKMerCounter(int k, boolean isCanonical, int nNumOfBuckets, long lMemoryBudget,
+	                       KMerHashFunction hashFunction, Path directory) throws IOException {
+		int i, nBufferSize;
+
+		PackedKMer.mask(k);
+		if(nNumOfBuckets < 1 || nNumOfBuckets > MAX_BUCKETS) {
+			throw new IllegalArgumentException("Number of buckets must be from 1 to " + MAX_BUCKETS + ", but was " + nNumOfBuckets + ".");
+		}
+
+		this.k = k;
+		this.m = Math.min(MINIMIZER_LENGTH, k);
+		this.isCanonical = isCanonical;
+		this.lMemoryBudget = lMemoryBudget;
+		this.hashFunction = hashFunction;
+		this.queuePositions = new int[k - m + 2];
+		this.queueHashes = new long[k - m + 2];
+
+		/* Half of the memory budget is shared by the buffers of the bucket files. */
+		nBufferSize = (int) Math.max(MIN_BUFFER_SIZE, Math.min(lMemoryBudget / (2L * nNumOfBuckets), MAX_BUFFER_SIZE));
+
+		bucketPaths = new Path[nNumOfBuckets];
+		bucketStreams = new OutputStream[nNumOfBuckets];
+		for(i=0; i<nNumOfBuckets; i++) {
+			bucketPaths[i] = Files.createTempFile(directory, "kmers-bucket-" + i + "-", ".bin");
+			bucketStreams[i] = new BufferedOutputStream(Files.newOutputStream(bucketPaths[i]), nBufferSize);
+		}
+	}
+
+	/** A method that returns the number of buckets by which the K-mers of a sequence of the given number of K-mers
+	  * should be split, such that every distinct K-mer of a single bucket fits in the memory budget, even if no two
+	  * K-mers of the sequence are equal.
+	  *
+	  * @param lNumOfWindows      the number of K-mers (windows of length k) in the DNA sequence, S
+	  * @param lMemoryBudget      the number of bytes the table counting a single bucket is meant to fit in
+	  * @return                   the number of buckets (1 to MAX_BUCKETS)
+	  */
+	public static int getnNumOfBuckets(long lNumOfWindows, long lMemoryBudget) {
+		long lNumOfBuckets = (Math.max(lNumOfWindows, 0) * BYTES_PER_KMER + lMemoryBudget - 1) / Math.max(lMemoryBudget, 1);
+
+		return (int) Math.max(1, Math.min(lNumOfBuckets, MAX_BUCKETS));
+	}
+
+	/** A method that splits the sequence passed (either the whole DNA sequence, S, or a chunk of it) into super-K-mers,
+	  * writing each of them to the bucket file of its minimizer (the first phase).
+	  *
+	  * @param sequence         the sequence whose K-mers are to be counted
+	  * @throws IOException     if a bucket file cannot be written
+	  */
+	public void partition(CharSequence sequence) throws IOException {
+		int i, nBase, nNumOfValidBases = 0, nSuperKMerStart = -1, nMinimizerPosition = -1;
+		long lCode = 0, lReverseCode = 0, lHash, lMinimizerHash = 0, lMask = PackedKMer.mask(m);
+
+		nQueueSize = 0;
+
+		for(i=0; i<sequence.length(); i++) {
+			nBase = PackedKMer.encodeBase(sequence.charAt(i));
+
+			/* A letter outside of the alphabet, {a,c,g,t}, ends the super-K-mer, and restarts the window from the
+			   letter after it.                                                                                   */
+			if(nBase < 0) {
+				if(nSuperKMerStart >= 0) {
+					writeSuperKMer(sequence, nSuperKMerStart, i, lMinimizerHash);
+					nSuperKMerStart = -1;
+				}
+				nNumOfValidBases = 0;
+				nQueueSize = 0;
+				continue;
+			}
+
+			lCode = PackedKMer.roll(lCode, nBase, lMask);
+			lReverseCode = PackedKMer.rollReverseComplement(lReverseCode, nBase, m);
+			nNumOfValidBases++;
+
+			/* The m-mer ending at this letter enters the queue, removing the m-mers before it whose hash value is
+			   greater, as none of them can be the minimizer of a window holding this m-mer.                      */
+			if(nNumOfValidBases >= m) {
+				lHash = hashOf(isCanonical ? Math.min(lCode, lReverseCode) : lCode);
+				while(nQueueSize > 0 && queueHashes[(nQueueHead + nQueueSize - 1) % queueHashes.length] > lHash) {
+					nQueueSize--;
+				}
+				queuePositions[(nQueueHead + nQueueSize) % queueHashes.length] = i - m + 1;
+				queueHashes[(nQueueHead + nQueueSize) % queueHashes.length] = lHash;
+				nQueueSize++;
+			}
+
+			if(nNumOfValidBases < k) {
+				continue;
+			}
+
+			/* The m-mers which started before the window are no longer part of it. */
+			while(queuePositions[nQueueHead] < i - k + 1) {
+				nQueueHead = (nQueueHead + 1) % queueHashes.length;
+				nQueueSize--;
+			}
+
+			/* The window extends the super-K-mer as long as it shares its minimizer, and starts a new one otherwise.
+			   An equal m-mer at another position starts a new one as well, such that a super-K-mer never holds
+			   more than k-m+1 K-mers (2k-m letters), even over a run of a single letter.                        */
+			if(nSuperKMerStart >= 0 && queuePositions[nQueueHead] != nMinimizerPosition) {
+				writeSuperKMer(sequence, nSuperKMerStart, i, lMinimizerHash);
+				nSuperKMerStart = -1;
+			}
+			if(nSuperKMerStart < 0) {
+				nSuperKMerStart = i - k + 1;
+				nMinimizerPosition = queuePositions[nQueueHead];
+				lMinimizerHash = queueHashes[nQueueHead];
+			}
+		}
+
+		if(nSuperKMerStart >= 0) {
+			writeSuperKMer(sequence, nSuperKMerStart, sequence.length(), lMinimizerHash);
+		}
+	}
+
+	/** A method that counts the K-mers of every bucket, one bucket at a time (the second phase), handing each distinct
+	  * K-mer to the consumer passed before the next bucket is counted. The bucket files are deleted once counted, hence,
+	  * nothing more may be partitioned.
+	  *
+	  * @param consumer         the consumer to which each distinct K-mer and its number of occurrences are handed
+	  * @throws IOException     if a bucket file cannot be read
+	  */
+	public void count(KMerCountConsumer consumer) throws IOException {
+		int i, j;
+		long lMaxSuperKMers, lPackedCode;
+		OpenAddressingKMerTable table;
+
+		for(OutputStream bucketStream : bucketStreams) {
+			bucketStream.close();
+		}
+
+		for(i=0; i<bucketPaths.length; i++) {
+
+			/* Each super-K-mer takes at least 1+k/4 bytes (its length and at least k letters of 2 bits), which bounds
+			   the number of super-K-mers of the bucket, though not its number of K-mers, as a super-K-mer holds up to
+			   k-m+1 of them. The table is presized for one distinct K-mer per super-K-mer, unless they exceed the
+			   memory budget, and grows beyond it otherwise.                                                        */
+			lMaxSuperKMers = Files.size(bucketPaths[i]) * 4 / (k + 4);
+			table = new OpenAddressingKMerTable(k, (int) Math.min(lMaxSuperKMers, lMemoryBudget / BYTES_PER_KMER), hashFunction);
+
+			countBucket(bucketPaths[i], table);
+			Files.delete(bucketPaths[i]);
+
+			for(j=0; j<table.getnNumOfDistinctKMers(); j++) {
+				lPackedCode = table.getFirstSeenCode(j);
+				consumer.accept(lPackedCode, table.getCount(lPackedCode));
+			}
+			lNumOfDistinctKMers += table.getnNumOfDistinctKMers();
+			lNumOfCollisions += table.getnNumOfCollisions();
+		}
+	}
+
+	/** A method that closes every bucket file, and deletes those not yet counted, such that no bucket file is left
+	  * on disk, even if partitioning or counting failed. Nothing more may be partitioned or counted.
+	  *
+	  * @throws IOException     if a bucket file cannot be deleted
+	  */
+	@Override
+	public void close() throws IOException {
+		int i;
+
+		for(i=0; i<bucketPaths.length; i++) {
+			bucketStreams[i].close();
+			Files.deleteIfExists(bucketPaths[i]);
+		}
+	}
+
+	/** A method that returns the number of super-K-mers written to the bucket files.
+	  *
+	  * @return      the number of super-K-mers written
+	  */
+	public long getlNumOfSuperKMers() {
+		return lNumOfSuperKMers;
+	}
+
+	/** A method that returns the number of distinct K-mers of every bucket counted so far.
+	  *
+	  * @return      the number of distinct K-mers counted
+	  */
+	public long getlNumOfDistinctKMers() {
+		return lNumOfDistinctKMers;
+	}
+
+	/** A method that returns the number of collisions encountered by the table of every bucket counted so far.
+	  *
+	  * @return      the number of collisions encountered
+	  */
+	public long getlNumOfCollisions() {
+		return lNumOfCollisions;
+	}
+
+	/** A method that returns the number of buckets.
+	  *
+	  * @return      the number of buckets
+	  */
+	public int getnNumOfBuckets() {
+		return bucketPaths.length;
+	}
+
+	/* Hashes the packed code of an m-mer, such that the minimizers are not biased towards m-mers of repeated
+	   letters, such as "aaaaaaaaaaa", as they would be if the packed codes themselves were compared.        */
+	private static long hashOf(long lPackedCode) {
+		return (lPackedCode * GOLDEN_RATIO) >>> 32;
+	}
+
+	/* Writes the letters of the sequence from nStart up to nEnd (exclusive) as a super-K-mer to the bucket file its
+	   minimizer hashes to, as a byte holding its length, followed by its letters, 2 bits each and 4 to a byte.   */
+	private void writeSuperKMer(CharSequence sequence, int nStart, int nEnd, long lMinimizerHash) throws IOException {
+		int i, nLength = nEnd - nStart, nNumOfBytes = 1 + (nLength + 3) / 4;
+
+		superKMer[0] = (byte) nLength;
+		for(i=1; i<nNumOfBytes; i++) {
+			superKMer[i] = 0;
+		}
+		for(i=0; i<nLength; i++) {
+			superKMer[1 + i / 4] |= PackedKMer.encodeBase(sequence.charAt(nStart + i)) << (2 * (i % 4));
+		}
+
+		bucketStreams[(int) Long.remainderUnsigned(lMinimizerHash, bucketStreams.length)].write(superKMer, 0, nNumOfBytes);
+		lNumOfSuperKMers++;
+	}
+
+	/* Counts every K-mer of every super-K-mer of a bucket file in the table passed. */
+	private void countBucket(Path bucketPath, OpenAddressingKMerTable table) throws IOException {
+		int i, nLength, nBase;
+		long lPackedCode, lReverseCode, lMask = PackedKMer.mask(k);
+
+		try(DataInputStream bucketStream = new DataInputStream(new BufferedInputStream(Files.newInputStream(bucketPath)))) {
+			while(true) {
+				try {
+					nLength = bucketStream.readUnsignedByte();
+				} catch(EOFException e) {
+					return;
+				}
+				bucketStream.readFully(superKMer, 1, (nLength + 3) / 4);
+
+				lPackedCode = 0;
+				lReverseCode = 0;
+				for(i=0; i<nLength; i++) {
+					nBase = (superKMer[1 + i / 4] >>> (2 * (i % 4))) & 3;
+					lPackedCode = PackedKMer.roll(lPackedCode, nBase, lMask);
+
+					if(isCanonical) {
+						lReverseCode = PackedKMer.rollReverseComplement(lReverseCode, nBase, k);
+					}
+					if(i >= k - 1) {
+						table.add(isCanonical ? Math.min(lPackedCode, lReverseCode) : lPackedCode);
+					}
+				}
+			}
+		}
+	}
+}
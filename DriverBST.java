@@ -1,496 +1,513 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Random;
 import java.util.Scanner;
-import java.util.ArrayList;
+import java.util.function.Consumer;
 
-/** This class, as its name implies, represents a K-mer object, or a substring
- *  of length k, belonging to the original DNA sequence, S, of length n. What differentiates
- *  a K-mer object from a regular String object, is the relevance of its number of 
- *  occurrences in the original DNA sequence (in order to compute for its K-mer 
- *  distribution). Hence, the variable denoting to which (nNumOfOccurrences), is stored as
- *  an attribute of this class. 
+/** This class, as its name implies, represents a K-mer distribution of a DNA sequence, S, of length n.
+ *  Other than the DNA sequence, it consists of an Integer representing the number of K-mer objects in 
+ *  its distribution, and an ArrayList containing all of its K-mer objects (substrings of length k belonging
+ *  to the original DNA sequence, S).
+ *  
+ *  This class has been created more specifically to allow for the implementation of the algorithm for computing a 
+ *  K-mer distribution of a DNA sequence (as its contained methods might imply). 
  */
-class KMer{
-	private String strSubstring;
-	private int nNumOfOccurrences;
+class KMerDistribution {
 	
-	/** This constructor creates a K-mer object by supplying the 
-	  * needed values of its attributes (along with the argument passed).
-	  * 
-	  * @param strSubstring      the substring itself consisting only of the letters 
-	  *                          from the alphabet, {a,c,g,t}
-	  */
-	public KMer(String strSubstring) {
-		this.strSubstring = strSubstring;
-		
-		/* By default, the number of occurrences of each K-mer object(upon its creation) 
-		   in the original DNA sequence is 1.                                           */
-		this.nNumOfOccurrences = 1;
-	}
+	private String strDNASequence;
 	
-	/** A method that returns the substring itself denoting the K-mer object, which belongs to the 
-	  * original DNA sequence, S, of length n. 
-	  * 
-	  * @return      the substring denoting the K-mer object
-	  */
-	public String getSubstring() {
-		return strSubstring;
-	}
+	/* Rather than a String object, the DNA sequence, S, may be read from a file, in which case this reader
+	   hands its letters to the algorithm in chunks (see MappedSequenceReader).                            */
+	private MappedSequenceReader sequenceReader = null;
+	/* By default, the number of K-mer objects in a newly created object of the K-mer distribution is 0, as
+	   algorithm has not been implemented yet.                                                             */
+	private int nNumOfKMers = 0;
+	private ArrayList <KMer> kMers = new ArrayList<>();
 	
-	/** A method that initializes the substring denoting the K-mer object,
-	  * with the argument passed.
-	  * 
-	  * @param strSubstring    a String corresponding to a substring which
-	  *                        represents the K-mer object
-	  */
-	public void setSubstring(String substring) {
-		this.strSubstring = substring;
-	}
+	/* By default, the K-mer objects are counted in a red-black tree, which keeps itself balanced regardless of the
+	   composition of the DNA sequence, S. The plain, unbalanced BST data structure may be integrated instead.    */
+	private boolean isBalanced = true;
 	
-	/** A method that returns the number of occurrences of the K-mer
-	  * object represented in the original DNA sequence.  
-	  * 
-	  * @return       the number of occurrences of the given K-mer object
-	  *               in the original DNA sequence, S, of length n
-	  */
-	public int getnNumOfOccurrences() {
-		return nNumOfOccurrences;
-	}
+	/* Rather than in any tree, the K-mer objects may be counted by sorting the packed codes of every window of the DNA
+	   sequence, S, and collapsing each run of equal codes (see RadixSortKMerCounter), on the number of threads given. */
+	private boolean isRadixSorted = false;
+	private int nNumOfThreads = 1;
 	
-	/** A method that initializes the number of occurrences of the K-mer
-	  * object represented in the original DNA sequence, with the argument passed.  
-	  * 
-	  * @param nNumOfOccurrences     a Integer corresponding to the number of occurrences 
-	  *                              of the given K-mer object in the original DNA sequence, 
-	  *                              S, of length n
-	  */
-	public void setnNumOfOccurrences(int nNumOfOccurrences) {
-		this.nNumOfOccurrences = nNumOfOccurrences;
-	}
+	/* Once requested, the DNA sequence, S, is indexed in a suffix array on the first K-mer distribution computed, and
+	   every K-mer distribution after it, of any length, is computed from the same index (see SuffixArrayKMerIndex). */
+	private boolean isIndexed = false;
+	private SuffixArrayKMerIndex index = null;
 	
-	/** A convenient helper method that increments the number of occurrences of the
-	  * K-mer object in the original DNA sequence, S, of length n.
-	  */
-	public void increaseNumOfOccurrences() {
-		nNumOfOccurrences++;
-	}
+	/* By default, a K-mer and its reverse complement are counted apart. In canonical mode, both are counted as
+	   one K-mer object, holding the lesser of their packed codes (see PackedKMer.canonical()).              */
+	private boolean isCanonical = false;
 	
-	/** "toString()" method of the class has been overridden such that it could provide the functionality
-	  *  of displaying the attributes associated to each K-mer object upon its display in the algorithm of 
-	  *  computing a K-mer distribution of a DNA sequence, S.
-	  */
-	@Override
-	public String toString() {
-		return strSubstring + " (" + nNumOfOccurrences + ")";
-	}
-}
-
-/** This class represents a Node object, that of which shall belong as element of the
- *  constructed Binary Search Tree in the implemented algorithm. A single Node, which
- *  contains its stored data (kMer), must also consist of two Node objects(leftNode and rightNode), 
- *  respectively containing a reference to each of its child node.
- */
-class Node {
-	private KMer kMer;
-	private Node rightNode;
-	private Node leftNode;
+	/* Once given a KMerMetrics object, the time spent in each phase of computing the distribution is recorded in it,
+	   along with the shape of the tree. Otherwise, nothing is recorded.                                           */
+	private KMerMetrics metrics = null;
 	
-	/** This constructor creates a Node object by supplying the 
-	  * needed value of its attribute, kMer, with the argument passed.
-	  * 
-	  * @param kMer     the KMer object to be stored as data of the Node object
-	  */
-	public Node(KMer kMer) {
-		this.kMer = kMer;
-		
-		/* By default, upon creation of a Node object, the reference to its children nodes
-		   must be null (denoting that these Nodes are referring to nothing, or haven't been
-		   instantiated as Node objects containing data).                                   */
-		this.rightNode = null;
-		this.leftNode = null;
-	}
+	/* Once given a KMerWriter object, the K-mer objects are written through it in the order of the inorder traversal,
+	   rather than displayed, and the writer is closed afterwards. The time spent displaying or writing the K-mer
+	   objects is kept apart from that spent counting them, regardless of whether metrics are recorded.            */
+	private KMerWriter writer = null;
+	private long lOutputTime = 0;
 	
-	/** A method that returns the K-mer object stored as data of the Node object.
-	  * 
-	  * @return      the data stored by the Node object, also corresponding to a valid
-	  *              K-mer object
-	  */
-	public KMer getkMer() {
-		return kMer;
-	}
-
-	/** A method that initializes the K-mer object stored as data, with the argument passed.
-	  * 
-	  * @param kMer     a K-mer object which could be set as data of the Node object
-	  */
-	public void setkMer(KMer kMer) {
-		this.kMer = kMer;
-	}
-
-	/** A method that returns a Node object, representing the right child of that
-	  * certain Node object. It returns null if the Node object consists of no child node
-	  * on its right subtree. 
-	  * 
-	  * @return      the Node object representing the right child of the certain Node object 
-	  */
-	public Node getRightNode() {
-		return rightNode;
-	}
-
-	/** A method that initializes the child node on the Node object's right subtree,
-	  * with the argument passed. 
-	  * 
-	  * @param rightNode    a Node object which may represent the right child of the certain Node object 
-	  */
-	public void setRightNode(Node rightNode) {
-		this.rightNode = rightNode;
-	}
-
-	/** A method that returns a Node object, representing the left child of that
-	  * certain Node object. It returns null if the Node object consists of no child node
-	  * on its left subtree. 
+	/* Once given a path, the K-mer distribution is persisted in a KMerCountDatabase file once it is counted. */
+	private Path databasePath = null;
+	
+	/** This constructor creates a KMerDistribution object by supplying the 
+	  * needed value of its attribute (along with the argument passed).
 	  * 
-	  * @return   the Node object representing the left child of the certain Node object  
+	  * @param strDNASequence    the original DNA sequence, S, of length n, whose k-mer 
+	  *                          distribution is to be computed
 	  */
-	public Node getLeftNode() {
-		return leftNode;
+	public KMerDistribution(String strDNASequence) {
+		this.strDNASequence = strDNASequence;
 	}
-
-	/** A method that initializes the child node on the Node object's left subtree,
-	  * with the argument passed. 
+	
+	/** This constructor creates a KMerDistribution object whose DNA sequence, S, is read from a FASTA or
+	  * FASTQ file, without ever being held in a String object.
 	  * 
-	  * @param leftNode    a Node object which may represent the left child of the certain Node object 
+	  * @param sequenceReader    the reader of the file holding the DNA sequence, S, whose k-mer distribution
+	  *                          is to be computed
 	  */
-	public void setLeftNode(Node leftNode) {
-		this.leftNode = leftNode;
+	public KMerDistribution(MappedSequenceReader sequenceReader) {
+		this.sequenceReader = sequenceReader;
 	}
-}
-
-/** This class is a template for a BST object or Binary Search Tree, whose structure is important
- *  to integrate as part of the algorithm required to compute for the K-mer distribution of a DNA
- *  Sequence, S. It consists of a Node object such as the rootNode to which all of the base operations
- *  of a Binary Search Tree usually originate from. Relevant operations, innately considered in the 
- *  implementation of its data structure, such as create(), insert() - recursive version, search()
- *  - recursive version and  inOrderWalk() - recursive version, have been included, such that they deem
- *  useful in the algorithm required to compute for a K-mer distribution of a DNA sequence, S.
- */
-class BST {
-	
-	private Node rootNode;
-
 	
-	/** This methods creates an empty Binary Search Tree, such that its
-	  * root node is represented by a null pointer, and as such, consists of no
-	  * existing Node objects.
-	  */
-	public void create() {
-		rootNode = null;
-	}
 	
-	/** This method determines whether the search key of a given K-mer object, particularly
-	  * the substring itself, exists in the implemented BST. As such, it returns a value
-	  * corresponding to this description. 
-	  * 
-	  * @param rootNode   a Node object whose value will be inspected, such that it
-	  *                   is the return value of the search operation (recursive version),
-	  *                   of a given K-mer object in the BST
+	/** This method, as the name implies, is responsible for the generation of the K-mer objects in the K-mer
+	  * distribution of an original DNA sequence, s, of length n. It integrates a BST data structure in the
+	  * implementation of its algorithm. 
 	  * 
-	  * @return           a boolean value determining whether the search key of a K-mer
-	  *                   exists in the BST
+	  * @param k                an Integer representing the length of each K-mer object that must be generated
 	  */
-	public boolean search(Node rootNode) {
+	public void generateKMers(int k) {
+		countKMers(k);
 		
-		/* If the returned value of the search operation (recursive version) is NOT null,
-		   this means that the search key of a given K-mer object (i.e. its substring) exists 
-		   in the implemented BST.                                                             */
-		if(rootNode != null) 
-		{
-			return true;
+		if(databasePath != null) {
+			try {
+				writeDatabase(databasePath, k);
+			} catch(IOException e) {
+				throw new UncheckedIOException(e);
+			}
 		}
-		
-		/* Otherwise, it does NOT EXIST in the implemented BST or it could be that search 
-		   operation was done on an empty BST at first.                                    */
-		{
-			return false;
-		}	
 	}
 	
-	/** This method recursively traverses down the BST, based on comparisons of the
-	  * K-mer object searched in the implemented BST and the data (K-mer object) of
-	  * existing Node objects, such that each K-mer object is added in the BST while
-	  * maintaining its property. Note that the substring itself of a K-mer object is compared
-	  * with that of which, the existing Node object's. 
-	  * 
-	  * @param rootNode  the Node object whose K-mer object must be compared with
-	  *                  the K-mer object searched in the implemented BST, 
-	  *                  (comparison usually starts from the rootNode, and each Node object
-	  *                  may be considered the rootNode of a smaller subtree)
-	  *              
-	  * @param kMer      the K-mer object searched in the implemented BST, such that it may 
-	  *                  or may not be distinct amongst all                
-	  */
-	public Node searchRecursively(Node rootNode, KMer kMer) {
+	/* This method generates the K-mer objects of the distribution in the tree suited to k and to the mode of the
+	   distribution, and displays (or writes) the inorder traversal of the tree.                                 */
+	private void countKMers(int k) {
 		
-		Node nodeToReturn = null;
+		/* A K-mer longer than a single long can hold is counted by its packed words, which only the red-black tree
+		   compares, regardless of whether the plain BST data structure is requested.                             */
+		if(k > PackedKMer.MAX_K) {
+			generateKMersWide(k);
+			return;
+		}
 		
-		/* BASE CASE: When the Node object compared to the K-mer object searched
-		   no longer consists of any data, such that it is represented by a null pointer. 
-		   This signifies that the K-mer object was not found in the BST. 
-		   
-		   Base Case also occurs when the K-mer object was eventually found in the BST.   */
-		if(rootNode == null || rootNode.getkMer().getSubstring().equals(kMer.getSubstring())) 
-		{
-			/* In such cases, the associated variable is initialized with that Node object, eventually
-			   to be returned to its calling method.                                                  */
-			nodeToReturn = rootNode;
+		/* Once requested, the K-mers are found in the suffix array of the DNA sequence, S, which is only built once. */
+		if(isIndexed) {
+			generateKMersIndexed(k);
+			return;
 		}
 		
-		/* The following cases apply for as long as recursive traversal down the tree is implemented,
-		   such that an empty Node object (represented by a null pointer) may be found (signifying that the
-		   K-mer object searched does not exist in the BST), or the K-mer object is eventually found in the BST. */
+		/* Once requested, the K-mers are sorted and collapsed rather than counted in any tree. */
+		if(isRadixSorted) {
+			generateKMersSorted(k);
+			return;
+		}
 		
-		/* As maintenance of the BST property, the direction of recursive traversal is specified by the 
-		   comparison of each Node object's K-mer object (substring) with that of which, the K-mer object
-		   searched.                                                                                         */
+		/* When the 4^k possible K-mers are no more than the K-mers to be extracted from the original DNA sequence, S,
+		   it is cheaper to count them in a flat array indexed by their packed codes, than in the BST data structure. */
+		if(DenseKMerCounter.isSuitable(k, getlLength() - k + 1)) {
+			generateKMersDensely(k);
+			return;
+		}
 		
-		/* If the K-mer object (such as its substring) searched is lexicographically less with that of
-		   the Node object being compared with, the child node on its left subtree is explored. As such,
-		   a recursive call to the method is returned, passing in the appropriate argument.             */
-		else if(kMer.getSubstring().compareTo(rootNode.getkMer().getSubstring()) < 0) 
-		{
-			return searchRecursively(rootNode.getLeftNode(), kMer);
+		/* Otherwise, unless the plain BST data structure is requested, the K-mers are counted in a red-black tree. */
+		if(isBalanced) {
+			generateKMersBalanced(k);
+			return;
 		}
 		
-		/* If the K-mer object (such as its substring) searched is lexicographically greater with that of
-		   the Node object being compared with, the child node on its right subtree is explored. As such,
-		   a recursive call to method is returned, passing in the appropriate argument.                 */
-		else if(kMer.getSubstring().compareTo(rootNode.getkMer().getSubstring()) > 0) 
-		{
-			return searchRecursively(rootNode.getRightNode(), kMer);
+		/* A new BST object is created for the implementation of the algorithm. Note that each
+		   node of the BST consists of a K-mer object as its data.                            */
+		BST bst = new BST();
+		
+		/* This method is called in order to create an empty BST (represented by a null pointer). */
+		bst.create();
+		
+		/* The K-mer objects of the DNA sequence, S, are inserted in the BST data structure, a chunk of letters
+		   at a time once the sequence is read from a file (see MappedSequenceReader).                         */
+		forEachChunk(k, chunk -> insertKMers(bst, chunk, k));
+		
+		if(metrics != null) {
+			metrics.recordTree(bst, nNumOfKMers);
 		}
 		
-		/* The Node object eventually returned in its final recursive call, may represent the Node object which
-		   consists of the K-mer object searched (as data), or an empty Node object (signifying the non-existence of
-		   the K-mer object in the BST).                                                                             */
-		return nodeToReturn;
+		/* For the purpose of showcasing the correctness of the implemented BST data structure in constructing a valid BST, 
+		   the inorder traversal of the resulting BST for the computation of a K-mer distribution is displayed.          */ 
+		long lStartTime = System.nanoTime();
+		if(writer == null) {
+			System.out.println("\nINORDER WALK: ");
+			bst.inOrderWalk(bst.getRootNode());
+		} else {
+			try(KMerWriter openWriter = writer) {
+				bst.inOrderWalk(bst.getRootNode(), openWriter);
+			} catch(IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		addTime(KMerMetrics.OUTPUT, lStartTime);
 	}
 	
-	/** This method adds a new Node object with the argument passed (kMer object) 
-	  * in its proper place in the BST. The procedure is implemented, by calling the 
-	  * recursive version of the insert operation on the given K-mer object, passing
-	  * along as an argument, the rootNode of the BST, which is also set anew as 
-	  * recent insert operation enforces changes to the whole BST. 
-	  * 
-	  * 
-	  * @param kMer  the K-mer object looking to be added in the implemented BST,
-	  *              such that it is distinct among all other K-mer objects whose values
-	  *              have served as data of the Node objects
-	  */
-	public void insert(KMer kMer) {
-		setRootNode(insertRecursively(rootNode, kMer));
+	/* This method inserts every K-mer object of the sequence passed (being either the whole DNA sequence, S, or a
+	   chunk of it) in the BST data structure passed, adding each distinct K-mer object to the distribution.      */
+	private void insertKMers(BST bst, CharSequence sequence, int k) {
+		int i, nBase, nNumOfValidBases = 0;
+		long lPackedCode = 0, lReverseCode = 0, lMask = PackedKMer.mask(k);
+		KMer kMer;
+		
+		/* This for loop slides a window of length k over the sequence passed, one letter
+		   at a time. Rather than extracting each substring, the packed code of the window is updated with the
+		   incoming letter, such that each of these codes could represent a potential K-mer object in the distribution. */
+		for(i=0; i<sequence.length(); i++) {
+			
+			nBase = PackedKMer.encodeBase(sequence.charAt(i));
+			
+			/* A letter outside of the alphabet, {a,c,g,t}, cannot belong to any K-mer, hence, the window
+			   restarts from the letter after it.                                                        */
+			if(nBase < 0) {
+				nNumOfValidBases = 0;
+				continue;
+			}
+			
+			lPackedCode = PackedKMer.roll(lPackedCode, nBase, lMask);
+			lReverseCode = PackedKMer.rollReverseComplement(lReverseCode, nBase, k);
+			nNumOfValidBases++;
+			
+			/* The packed code only represents a whole substring of length k once at least k letters
+			   have entered the window.                                                             */
+			if(nNumOfValidBases < k) {
+				continue;
+			}
+			
+			/* The packed code of the substring (or, in canonical mode, the lesser of it and that of its reverse complement)
+			   is searched in the BST data structure integrated and, as distinct, inserted in the very same descent from the
+			   rootNode. If the K-mer object was found in the BST, its number of occurrences in the original DNA sequence, S,
+			   is increased, and null is returned.                                                                          */
+			kMer = bst.upsert(isCanonical ? Math.min(lPackedCode, lReverseCode) : lPackedCode, k);
+			 
+			 /* Otherwise, a new K-mer object was created from the packed code and a node object with it, was inserted into the
+			    implemented BST. Moreover, that K-mer object is included in the list of the K-mer objects in the distribution,
+			    incrementing the number of K-mer objects of the DNA sequence, S.                                             */
+			 if(kMer != null) {
+				 kMers.add(kMer);
+				 nNumOfKMers++;
+			 }
+		}
 	}
 	
-	/** This method recursively traverses down the BST, based on comparisons of the
-	  * K-mer object looking to be inserted in the implemented BST and the data (K-mer object) of
-	  * existing Node objects, such that the K-mer object may be added in the BST while
-	  * maintaining its property. Note that the substring itself of a K-mer object is compared
-	  * with that of which, the existing Node object's. 
-	  * 
-	  * @param rootNode  the Node object whose K-mer object must be compared with
-	  *                  the K-mer object looking to be added in the implemented BST, 
-	  *                  (comparison usually starts from the rootNode, and each Node object
-	  *                  may be considered the rootNode of a smaller subtree)
-	  *              
-	  * @param kMer      the K-mer object looking to be added in the implemented BST,
-	  *                  such that it is distinct among all other K-mer objects whose values
-	  *                  have served as data of the Node objects
-	  */
-	public Node insertRecursively(Node rootNode, KMer kMer) {
+	/* This method computes the K-mer distribution in a RedBlackKMerTree object, rather than in a BST object, whose
+	   height stays logarithmic in the number of distinct K-mers even when the DNA sequence, S, consists of long runs
+	   of a single letter or of tandem repeats. Afterwards, a K-mer object is created for each distinct K-mer in the
+	   order by which it was first seen, and the inorder traversal of the tree is displayed.                        */
+	private void generateKMersBalanced(int k) {
+		int i;
+		long lPackedCode, lStartTime;
+		KMer kMer;
+		RedBlackKMerTree tree = new RedBlackKMerTree(k);
 		
-		/* BASE CASE: When the Node object compared to the K-mer object to be inserted,
-		   no longer consists of any data, such that it is represented by a null pointer */
-		if(rootNode == null) 
-		{
-			/* Comparison could no longer occur between substrings, and a placement position 
-			   for the Node object consisting of the K-mer object as data, has been found, by
-			   traversal down the tree.                                                       */
-			
-			/* A new Node object has been created, with its data consisting of the K-mer object 
-			   to be inserted. Its object is returned, finally terminating all the recursive calls
-			   in memory.                                                                           */
-			rootNode = new Node(kMer);
-			return rootNode;
+		forEachChunk(k, chunk -> {
+			if(isCanonical) {
+				tree.countCanonical(chunk);
+			} else {
+				tree.count(chunk);
+			}
+		});
+		
+		lStartTime = System.nanoTime();
+		for(i=0; i<tree.getnNumOfDistinctKMers(); i++) {
+			lPackedCode = tree.getFirstSeenCode(i);
+			kMer = new KMer(lPackedCode, k);
+			kMer.setnNumOfOccurrences(tree.getCount(lPackedCode));
+			kMers.add(kMer);
+			nNumOfKMers++;
+		}
+		addTime(KMerMetrics.COLLECT, lStartTime);
+		
+		if(metrics != null) {
+			metrics.recordTree(tree);
 		}
 		
-		/* The following cases apply for as long as recursive traversal down the tree is implemented,
-		   such that an empty Node object (represented by a null pointer) may be found for the insertion of
-		   the K-mer object as its data.                                                                   */
+		lStartTime = System.nanoTime();
+		if(writer == null) {
+			System.out.println("\nINORDER WALK: ");
+			tree.inOrderWalk();
+		} else {
+			try(KMerWriter openWriter = writer) {
+				tree.inOrderWalk(openWriter);
+			} catch(IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		addTime(KMerMetrics.OUTPUT, lStartTime);
+	}
+	
+	/* This method computes the K-mer distribution in a WideRedBlackKMerTree object, for K-mers longer than a single
+	   long can hold, in the same manner as generateKMersBalanced().                                                 */
+	private void generateKMersWide(int k) {
+		int i;
+		long lStartTime;
+		long[] words;
+		KMer kMer;
+		WideRedBlackKMerTree tree = new WideRedBlackKMerTree(k);
 		
-		/* In order to maintain the BST property, the direction of recursive traversal is specified by the 
-		   comparison of each Node object's K-mer object (substring) with that of which, the K-mer object
-		   looking to be inserted.                                                                        */
+		forEachChunk(k, chunk -> {
+			if(isCanonical) {
+				tree.countCanonical(chunk);
+			} else {
+				tree.count(chunk);
+			}
+		});
 		
-		/* If the K-mer object (such as its substring) to be inserted is lexicographically less with that of
-		   the Node object being compared with, the child node on its left subtree is explored.              */
-		else if(kMer.getSubstring().compareTo(rootNode.getkMer().getSubstring()) < 0) 
-		{
-			/* After success of each k-Mer object having been inserted as the data value of a
-			   Node object, the rootNode through it was called, is modified to contain that newly
-			   created Node object, as a child of its left subtree.                               */
-			rootNode.setLeftNode(insertRecursively(rootNode.getLeftNode(), kMer));
+		lStartTime = System.nanoTime();
+		for(i=0; i<tree.getnNumOfDistinctKMers(); i++) {
+			words = tree.getFirstSeenWords(i);
+			kMer = new KMer(words, k);
+			kMer.setnNumOfOccurrences(tree.getCount(words));
+			kMers.add(kMer);
+			nNumOfKMers++;
 		}
+		addTime(KMerMetrics.COLLECT, lStartTime);
 		
-		/* If the K-mer object (such as its substring) to be inserted is lexicographically greater with that of
-		   the Node object being compared with, the child node on its right subtree is explored.              */
-		else if(kMer.getSubstring().compareTo(rootNode.getkMer().getSubstring()) > 0) 
-		{
-			/* After success of each k-Mer object having been inserted as the data value of a
-			   Node object, the rootNode through it was called, is modified to contain that newly
-			   created Node object, as a child of its right subtree.                             */
-			rootNode.setRightNode(insertRecursively(rootNode.getRightNode(), kMer));
+		if(metrics != null) {
+			metrics.recordTree(tree);
 		}
 		
-		/* The rootNode object modified to contain the newly created Node object is returned for each of the past
-		   recursive calls' modification as well.                                                                  */
-		return rootNode;
+		lStartTime = System.nanoTime();
+		if(writer == null) {
+			System.out.println("\nINORDER WALK: ");
+			tree.inOrderWalk();
+		} else {
+			try(KMerWriter openWriter = writer) {
+				tree.inOrderWalk(openWriter);
+			} catch(IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		addTime(KMerMetrics.OUTPUT, lStartTime);
 	}
 	
-	/** This method implements an inorder traversal of the BST, such that data of each Node object
-	  * (K-mer object) in the K-mer distribution could be displayed in a lexicographically, ascending order.
-	  * 
-	  * This method was created for the purpose of checking the correctness of the implemented BST data structure
-	  * operations (most particularly related to insertion) and the overall algorithm for the computation 
-	  * of a K-mer distribution of a DNA sequence, S. 
-	  * 
-	  * @param node   the Node object through which the inorder traversal (recursive version)
-	  *               of the implemented BST must start (usually the RootNode)
-	  */
-	public void inOrderWalk(Node node) {
-		/* The recursive version of this method is implemented, for as long 
-		   base case or a null Node object whose substring is non-existing
-		   is reached.                                                     */
-		 if (node != null) {
-			 
-			 /* Inorder Traversal, for each recursive call to the method,
-			    works by visiting all Node objects in the left subtree, visiting 
-			    the original Node object(rootNode), and all Node objects in the right subtree. */
-	         
-			 inOrderWalk(node.getLeftNode());
-	         
-	         /* The contents of a Node object, such as the data it holds (K-mer object with
-	            substring and number of occurrences) are printed.                             */
-	         System.out.println(node.getkMer().getSubstring() + " (" + node.getkMer().getnNumOfOccurrences() + ")");
-	         inOrderWalk(node.getRightNode());
-	     }
-	}
-	
-	/** A method that returns a Node object, representing the Root Node of the BST.
-	  * 
-	  * @return      the Node object representing the Root Node of the BST 
-	  */
-	public Node getRootNode() {
-		return rootNode;
-	}
-
-	/** A method that initializes Root Node of the BST, with the argument passed.
-	  * 
-	  * @param rootNode      a Node object which may represent the Root Node of the BST
-	  */
-	public void setRootNode(Node rootNode) {
-		this.rootNode = rootNode;
+	/* This method computes the K-mer distribution in a DenseKMerCounter object, rather than in a BST object, 
+	   and afterwards creates a K-mer object for each distinct K-mer in the order by which it was first seen. As 
+	   the slots of the array are ordered the same way as the substrings of the K-mers, visiting every slot from
+	   the first one displays the same lexicographic order as the inorder traversal of a BST would.               */
+	private void generateKMersDensely(int k) {
+		int i, nCount;
+		long lPackedCode, lStartTime;
+		KMer kMer;
+		DenseKMerCounter counter = new DenseKMerCounter(k);
+		
+		forEachChunk(k, chunk -> {
+			if(isCanonical) {
+				counter.countCanonical(chunk);
+			} else {
+				counter.count(chunk);
+			}
+		});
+		
+		lStartTime = System.nanoTime();
+		for(i=0; i<counter.getnNumOfDistinctKMers(); i++) {
+			lPackedCode = counter.getFirstSeenCode(i);
+			kMer = new KMer(lPackedCode, k);
+			kMer.setnNumOfOccurrences(counter.getCount(lPackedCode));
+			kMers.add(kMer);
+			nNumOfKMers++;
+		}
+		addTime(KMerMetrics.COLLECT, lStartTime);
+		
+		if(metrics != null) {
+			metrics.recordCounter(counter);
+		}
+		
+		lStartTime = System.nanoTime();
+		if(writer == null) {
+			System.out.println("\nINORDER WALK: ");
+		}
+		/* The writer, if any, is closed even if writing a K-mer object fails. */
+		try(KMerWriter openWriter = writer) {
+			for(lPackedCode=0; lPackedCode<counter.getnNumOfPossibleKMers(); lPackedCode++) {
+				nCount = counter.getCount(lPackedCode);
+				
+				if(nCount > 0) {
+					if(openWriter == null) {
+						System.out.println(PackedKMer.decode(lPackedCode, k) + " (" + nCount + ")");
+					} else {
+						openWriter.accept(lPackedCode, nCount);
+					}
+				}
+			}
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		addTime(KMerMetrics.OUTPUT, lStartTime);
 	}
-}
-
-/** This class, as its name implies, represents a K-mer distribution of a DNA sequence, S, of length n.
- *  Other than the DNA sequence, it consists of an Integer representing the number of K-mer objects in 
- *  its distribution, and an ArrayList containing all of its K-mer objects (substrings of length k belonging
- *  to the original DNA sequence, S).
- *  
- *  This class has been created more specifically to allow for the implementation of the algorithm for computing a 
- *  K-mer distribution of a DNA sequence (as its contained methods might imply). 
- */
-class KMerDistribution {
-	
-	private String strDNASequence;
-	/* By default, the number of K-mer objects in a newly created object of the K-mer distribution is 0, as
-	   algorithm has not been implemented yet.                                                             */
-	private int nNumOfKMers = 0;
-	private ArrayList <KMer> kMers = new ArrayList<>();
 	
-	/** This constructor creates a KMerDistribution object by supplying the 
-	  * needed value of its attribute (along with the argument passed).
-	  * 
-	  * @param strDNASequence    the original DNA sequence, S, of length n, whose k-mer 
-	  *                          distribution is to be computed
-	  */
-	public KMerDistribution(String strDNASequence) {
-		this.strDNASequence = strDNASequence;
+	/* This method computes the K-mer distribution in a RadixSortKMerCounter object, which sorts the packed code of
+	   every window of the DNA sequence, S, and collapses each run of equal codes, rather than descending a tree for
+	   each of them. As the distinct K-mers come out of the sort in the same lexicographic order as the inorder
+	   traversal of a BST would display them, a K-mer object is created for each of them in that order, rather than
+	   in the order by which it was first seen.                                                                    */
+	private void generateKMersSorted(int k) {
+		long lStartTime;
+		RadixSortKMerCounter counter = new RadixSortKMerCounter(k, nNumOfThreads);
+		
+		forEachChunk(k, chunk -> {
+			if(isCanonical) {
+				counter.countCanonical(chunk);
+			} else {
+				counter.count(chunk);
+			}
+		});
+		
+		/* The codes are sorted and collapsed once the distinct K-mers are first asked for. */
+		lStartTime = System.nanoTime();
+		counter.forEach((lPackedCode, nCount) -> {
+			KMer kMer = new KMer(lPackedCode, k);
+			kMer.setnNumOfOccurrences(nCount);
+			kMers.add(kMer);
+			nNumOfKMers++;
+		});
+		addTime(KMerMetrics.COLLECT, lStartTime);
+		
+		if(metrics != null) {
+			metrics.recordCounter(counter);
+		}
+		
+		lStartTime = System.nanoTime();
+		if(writer == null) {
+			System.out.println("\nINORDER WALK: ");
+			counter.forEach((lPackedCode, nCount) -> System.out.println(PackedKMer.decode(lPackedCode, k) + " (" + nCount + ")"));
+		} else {
+			try(KMerWriter openWriter = writer) {
+				counter.forEach(openWriter);
+			} catch(IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		addTime(KMerMetrics.OUTPUT, lStartTime);
 	}
 	
-	
-	/** This method, as the name implies, is responsible for the generation of the K-mer objects in the K-mer
-	  * distribution of an original DNA sequence, s, of length n. It integrates a BST data structure in the
-	  * implementation of its algorithm. 
-	  * 
-	  * @param k                an Integer representing the length of each K-mer object that must be generated
-	  */
-	public void generateKMers(int k) {
+	/* This method computes the K-mer distribution from a SuffixArrayKMerIndex object, which is built on the first
+	   call, from the whole DNA sequence, S, and kept for every call after it, such that computing the K-mer
+	   distribution of another length only scans the index. The K-mer objects of any distribution computed before
+	   are replaced, and, as in generateKMersSorted(), are created in lexicographic order.                        */
+	private void generateKMersIndexed(int k) {
+		long lStartTime;
 		
-		int i;
-		KMer kMer;
-		Node node;
-		Boolean isFound;
+		/* The DNA sequence is handed over in chunks which repeat no letter, as the index holds every letter once. */
+		if(index == null) {
+			index = new SuffixArrayKMerIndex(isCanonical);
+			forEachChunk(1, index::append);
+			
+			lStartTime = System.nanoTime();
+			index.build();
+			addTime(KMerMetrics.COUNT, lStartTime);
+		}
 		
-		/* A new BST object is created for the implementation of the algorithm. Note that each
-		   node of the BST consists of a K-mer object as its data.                            */
-		BST bst = new BST();
+		kMers = new ArrayList<>();
+		nNumOfKMers = 0;
 		
-		/* This method is called in order to create an empty BST (represented by a null pointer). */
-		bst.create();
+		lStartTime = System.nanoTime();
+		index.forEach(k, (lPackedCode, nCount) -> {
+			KMer kMer = new KMer(lPackedCode, k);
+			kMer.setnNumOfOccurrences(nCount);
+			kMers.add(kMer);
+			nNumOfKMers++;
+		});
+		addTime(KMerMetrics.COLLECT, lStartTime);
 		
-		/* This for loop iterates for as long as valid substrings of length k could be extracted from the
-		   original DNA sequence, S, of length n. Each of these substrings could represent a potential
-		   K-mer object in the distribution.                                                            */
-		for(i=0; i<(strDNASequence.length()-k)+1; i++) {
-			
-			/* A new K-mer object is created, passing along as argument, the substring itself of length k, 
-			   extracted from the original DNA sequence, S, of length n.                                 */
-			kMer = new KMer(strDNASequence.substring(i, i+k));
-			
-			/* The K-mer object created is searched in the BST data structure integrated, passing along as 
-			   argument the rootNode of the BST, as recursive traversal down the tree starts from there. The
-			   return value is stored in the appropriate variable of type Node.                             */
-			node = bst.searchRecursively(bst.getRootNode(), kMer);
-			 
-			/* In order to determine whether the K-mer object was found in the BST data structure, the appropriate
-			   method is called, passing along the return value of the previous method called. The boolean value
-			   it eventually returns is stored in the appropriate descriptive Boolean variable.                 */
-		    isFound = bst.search(node);
-			 
-		     /* If the K-mer object was found in the BST such that the return value of the called method before,
-		        represents a non-null Node object, instead of inserting that Node object in the implemented BST, its
-		        number of occurrences in the original DNA sequence, S, is increased.                                  */
-			 if(isFound) 
-			 {
-				 node.getkMer().increaseNumOfOccurrences();
-			 }
-			 
-			 /* Otherwise, the return value of the called method before represents a null Node object (signifying that a
-			    node object consisting of that K-mer object as data does not exist in the implemented BST), hence, as distinct,
-			    a node object with that K-mer object, is inserted into the implemented BST, by calling the appropriate method 
-			    of the object. Moreover, that K-mer object is included in the list of the K-mer objects in the distribution, 
-			    incrementing the number of K-mer objects of the DNA sequence, S.                                              */
-			 else {
-				 bst.insert(kMer);
-				 kMers.add(kMer);
-				 nNumOfKMers++;
-			 }
-		}	
+		if(metrics != null) {
+			metrics.recordEngine("SuffixArrayKMerIndex", nNumOfKMers, 0);
+		}
+		
+		lStartTime = System.nanoTime();
+		if(writer == null) {
+			System.out.println("\nINORDER WALK: ");
+			index.forEach(k, (lPackedCode, nCount) -> System.out.println(PackedKMer.decode(lPackedCode, k) + " (" + nCount + ")"));
+		} else {
+			try(KMerWriter openWriter = writer) {
+				index.forEach(k, openWriter);
+			} catch(IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		addTime(KMerMetrics.OUTPUT, lStartTime);
+	}
+	
+	/* This method hands the DNA sequence, S, to the consumer passed, either as a whole, or a chunk of letters at a time
+	   once it is read from a file, with each chunk repeating the last k-1 letters of the chunk before it.          */
+	private void forEachChunk(int k, Consumer<CharSequence> consumer) {
+		long lStartTime = System.nanoTime();
+		long[] lCountTime = new long[1];
 		
-		System.out.println("\nINORDER WALK: ");
+		/* Once metrics are recorded, the time spent in the consumer is counting, and any other time spent in the
+		   reader is reading.                                                                                   */
+		if(metrics != null) {
+			Consumer<CharSequence> countingConsumer = consumer;
+			consumer = chunk -> {
+				long lChunkTime = System.nanoTime();
+				countingConsumer.accept(chunk);
+				lCountTime[0] += System.nanoTime() - lChunkTime;
+			};
+		}
 		
-		/* For the purpose of showcasing the correctness of the implemented BST data structure in constructing a valid BST, 
-		   the inorder traversal of the resulting BST for the computation of a K-mer distribution is displayed.          */ 
-		bst.inOrderWalk(bst.getRootNode());
+		if(sequenceReader == null) {
+			consumer.accept(strDNASequence);
+		} else {
+			try {
+				sequenceReader.read(k - 1, consumer);
+			} catch(IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		
+		if(metrics != null) {
+			metrics.addTime(KMerMetrics.COUNT, lCountTime[0]);
+			if(sequenceReader != null) {
+				metrics.addTime(KMerMetrics.READ, System.nanoTime() - lStartTime - lCountTime[0]);
+			}
+		}
+	}
+	
+	/* This method adds the time elapsed since the start time passed to the phase passed, once metrics are recorded. */
+	private void addTime(int nPhase, long lStartTime) {
+		long lTime = System.nanoTime() - lStartTime;
+		
+		if(nPhase == KMerMetrics.OUTPUT) {
+			lOutputTime += lTime;
+		}
+		if(metrics != null) {
+			metrics.addTime(nPhase, lTime);
+		}
+	}
+	
+	/* This method returns the length, n, of the DNA sequence, S, or, once it is read from a file, the size of
+	   the file, which is an upper bound of its length.                                                        */
+	private long getlLength() {
+		if(sequenceReader == null) {
+			return strDNASequence.length();
+		}
+		
+		try {
+			return sequenceReader.getlFileSize();
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
 	}
 	
 	/** A method that displays the K-mer objects in the K-mer distribution of the DNA sequence, S.
@@ -498,6 +515,7 @@ class KMerDistribution {
 	public void displayKMers() {
 		
 		int i;
+		long lStartTime = System.nanoTime();
 		
 		/* The display of each K-mer object in the K-mer distribution allow for the display of all
 		   its associated attributes, consisting of the substring, and its number of occurrences 
@@ -505,6 +523,32 @@ class KMerDistribution {
 		for(i=0; i<nNumOfKMers; i++) { 
 			System.out.println(kMers.get(i));
 		}
+		
+		addTime(KMerMetrics.OUTPUT, lStartTime);
+	}
+	
+	/** A method that persists the K-mer objects in the K-mer distribution of the DNA sequence, S, in a file
+	  * (see KMerCountDatabase), from which their numbers of occurrences may be looked up without counting
+	  * the DNA sequence again.
+	  * 
+	  * @param path        the path of the file
+	  * @param k           an Integer representing the length of each K-mer object
+	  * @throws IOException       if the file cannot be written
+	  */
+	public void writeDatabase(Path path, int k) throws IOException {
+		
+		int i;
+		long lStartTime = System.nanoTime();
+		long[] packedCodes = new long[nNumOfKMers];
+		int[] nCounts = new int[nNumOfKMers];
+		
+		for(i=0; i<nNumOfKMers; i++) {
+			packedCodes[i] = kMers.get(i).getlPackedCode();
+			nCounts[i] = kMers.get(i).getnNumOfOccurrences();
+		}
+		KMerCountDatabase.write(path, k, isCanonical, packedCodes, nCounts, nNumOfKMers);
+		
+		addTime(KMerMetrics.OUTPUT, lStartTime);
 	}
 	
 	/** A method that returns the number of K-mer objects in the K-mer distribution, 
@@ -536,6 +580,162 @@ class KMerDistribution {
 	public ArrayList<KMer> getkMers() {
 		return kMers;
 	}
+	
+	/** A method that returns the writer through which the K-mer objects are written, or null if they are displayed.
+	  * 
+	  * @return      the writer of the K-mer objects, or null
+	  */
+	public KMerWriter getWriter() {
+		return writer;
+	}
+	
+	/** A method that initializes the writer through which the K-mer objects are written in lexicographic, ascending
+	  * order (see KMerWriter), in place of the inorder traversal being displayed. The writer is closed once every
+	  * K-mer object is written.
+	  * 
+	  * @param writer      the writer of the K-mer objects, or null for them to be displayed
+	  */
+	public void setWriter(KMerWriter writer) {
+		this.writer = writer;
+	}
+	
+	/** A method that returns the path of the file in which the K-mer distribution is persisted, or null if it
+	  * is not.
+	  * 
+	  * @return      the path of the database file, or null
+	  */
+	public Path getDatabasePath() {
+		return databasePath;
+	}
+	
+	/** A method that initializes the path of the file in which the K-mer distribution is persisted once it is
+	  * counted (see KMerCountDatabase). Only a K-mer distribution of K-mers of up to PackedKMer.MAX_K letters
+	  * may be persisted.
+	  * 
+	  * @param databasePath     the path of the database file, or null for the distribution not to be persisted
+	  */
+	public void setDatabasePath(Path databasePath) {
+		this.databasePath = databasePath;
+	}
+	
+	/** A method that returns the time spent displaying, writing or persisting the K-mer objects in the K-mer distribution.
+	  * 
+	  * @return      the time spent on the output, in nanoseconds
+	  */
+	public long getlOutputTime() {
+		return lOutputTime;
+	}
+	
+	/** A method that returns the metrics recorded while computing the distribution, or null if none are.
+	  * 
+	  * @return      the metrics of the distribution, or null
+	  */
+	public KMerMetrics getMetrics() {
+		return metrics;
+	}
+	
+	/** A method that initializes the metrics in which the time spent in each phase of computing the distribution,
+	  * and the shape of the tree, are recorded, with the argument passed.
+	  * 
+	  * @param metrics     the metrics to be recorded, or null for none to be recorded
+	  */
+	public void setMetrics(KMerMetrics metrics) {
+		this.metrics = metrics;
+	}
+	
+	/** A method that returns whether the K-mer objects are counted in a red-black tree, rather than
+	  * in the plain, unbalanced BST data structure.
+	  * 
+	  * @return      a boolean denoting whether a red-black tree is integrated
+	  */
+	public boolean isBalanced() {
+		return isBalanced;
+	}
+	
+	/** A method that sets whether the K-mer objects are counted in a red-black tree, rather than
+	  * in the plain, unbalanced BST data structure.
+	  * 
+	  * @param isBalanced    a boolean denoting whether a red-black tree is integrated
+	  */
+	public void setBalanced(boolean isBalanced) {
+		this.isBalanced = isBalanced;
+	}
+	
+	/** A method that returns whether the K-mer objects are counted by sorting their packed codes, rather than in a tree.
+	  * 
+	  * @return      a boolean denoting whether the packed codes are sorted
+	  */
+	public boolean isRadixSorted() {
+		return isRadixSorted;
+	}
+	
+	/** A method that sets whether the K-mer objects are counted by sorting their packed codes (see
+	  * RadixSortKMerCounter), rather than in a tree. Only K-mers of up to PackedKMer.MAX_K letters are sorted.
+	  * 
+	  * @param isRadixSorted    a boolean denoting whether the packed codes are to be sorted
+	  */
+	public void setRadixSorted(boolean isRadixSorted) {
+		this.isRadixSorted = isRadixSorted;
+	}
+	
+	/** A method that returns whether the K-mer objects are found in a suffix array of the DNA sequence, S.
+	  * 
+	  * @return      a boolean denoting whether the DNA sequence is indexed
+	  */
+	public boolean isIndexed() {
+		return isIndexed;
+	}
+	
+	/** A method that sets whether the K-mer objects are found in a suffix array of the DNA sequence, S (see
+	  * SuffixArrayKMerIndex), which is built on the first call to generateKMers() and kept for every call after it,
+	  * in the canonical mode set at that time. Only K-mers of up to PackedKMer.MAX_K letters are found in the index.
+	  * 
+	  * @param isIndexed    a boolean denoting whether the DNA sequence is to be indexed
+	  */
+	public void setIndexed(boolean isIndexed) {
+		this.isIndexed = isIndexed;
+	}
+	
+	/** A method that returns the suffix array of the DNA sequence, S, or null if it has not been built.
+	  * 
+	  * @return      the index of the DNA sequence, or null
+	  */
+	public SuffixArrayKMerIndex getIndex() {
+		return index;
+	}
+	
+	/** A method that returns the number of threads on which the packed codes are sorted.
+	  * 
+	  * @return      the number of threads
+	  */
+	public int getnNumOfThreads() {
+		return nNumOfThreads;
+	}
+	
+	/** A method that initializes the number of threads on which the packed codes are sorted, with the argument passed.
+	  * 
+	  * @param nNumOfThreads     the number of threads (at least 1)
+	  */
+	public void setnNumOfThreads(int nNumOfThreads) {
+		this.nNumOfThreads = nNumOfThreads;
+	}
+	
+	/** A method that returns whether a K-mer and its reverse complement are counted as one K-mer object.
+	  * 
+	  * @return      a boolean denoting whether the K-mer objects are counted in canonical mode
+	  */
+	public boolean isCanonical() {
+		return isCanonical;
+	}
+	
+	/** A method that sets whether a K-mer and its reverse complement are counted as one K-mer object,
+	  * with the argument passed.
+	  * 
+	  * @param isCanonical     a boolean denoting whether the K-mer objects are to be counted in canonical mode
+	  */
+	public void setCanonical(boolean isCanonical) {
+		this.isCanonical = isCanonical;
+	}
 
 	/** A method that initializes the list of K-mer objects in the K-mer distribution of the DNA
 	  * sequence, S.
@@ -557,60 +757,126 @@ public class DriverBST {
 	public static void main(String[]args) {
 		
 		boolean isValidInput = false;
-		int k = 0, nStringLength = 0;
+		int k = 0, nMaxK, nStringLength = 0;
 		String strDNASequence, strInputForLength, strInputForK;
 		
 		/* The variables of long datatype below are declared for the purpose of 
 	       estimating the running time of the algorithm.                       */
 		long midTime, endTime, timeElapsed;
 		
+		/* The K-mer objects are counted in a red-black tree, unless the plain, unbalanced BST data structure is
+		   requested as an argument of the program (i.e. "java DriverBST unbalanced"). Passing "canonical" counts
+		   a K-mer and its reverse complement as one (i.e. "java DriverBST canonical"). Naming a FASTA or FASTQ
+		   file reads the DNA sequence, S, from it rather than generating it at random (i.e. "java DriverBST genome.fa").
+		   Passing "metrics" displays the time spent in each phase and the shape of the tree as JSON (see KMerMetrics),
+		   or writes it to a file with "metrics=<file>". Passing "out=<file>" writes the K-mer distribution to a file
+		   in lexicographic order as tab-separated text rather than displaying it, or in binary with "binary" as
+		   well, while "tsv" writes it to the console as tab-separated text (see KMerWriter). Passing "db=<file>"
+		   persists the K-mer distribution in a file, from which it may be looked up later on (see KMerCountDatabase).
+		   Passing "radix" counts the K-mers by sorting their packed codes on every processor available, rather than in
+		   any tree, with the same lexicographic order as the inorder traversal (see RadixSortKMerCounter).
+		   Passing "index" finds the K-mers in a suffix array of the DNA sequence, S, built once, after which the K-mer
+		   distribution of any other length, or the number of occurrences of any K-mer, is queried from the same index
+		   until "done" is entered (see SuffixArrayKMerIndex).                                                      */
+		boolean isBalanced = true, isCanonical = false, isRadixSorted = false, isIndexed = false;
+		MappedSequenceReader sequenceReader = null;
+		KMerMetrics metrics = null;
+		Path metricsPath = null;
+		Path outputPath = null, databasePath = null;
+		boolean isBinary = false, isTsv = false;
+		
+		for(String strArgument : args) {
+			if(strArgument.equalsIgnoreCase("unbalanced")) {
+				isBalanced = false;
+			} else if(strArgument.equalsIgnoreCase("canonical")) {
+				isCanonical = true;
+			} else if(strArgument.equalsIgnoreCase("radix")) {
+				isRadixSorted = true;
+			} else if(strArgument.equalsIgnoreCase("index")) {
+				isIndexed = true;
+			} else if(strArgument.equalsIgnoreCase("metrics")) {
+				metrics = new KMerMetrics();
+			} else if(strArgument.toLowerCase().startsWith("metrics=")) {
+				metrics = new KMerMetrics();
+				metricsPath = Path.of(strArgument.substring("metrics=".length()));
+			} else if(strArgument.toLowerCase().startsWith("out=")) {
+				outputPath = Path.of(strArgument.substring("out=".length()));
+			} else if(strArgument.toLowerCase().startsWith("db=")) {
+				databasePath = Path.of(strArgument.substring("db=".length()));
+			} else if(strArgument.equalsIgnoreCase("binary")) {
+				isBinary = true;
+			} else if(strArgument.equalsIgnoreCase("tsv")) {
+				isTsv = true;
+			} else if(Files.isRegularFile(Path.of(strArgument))) {
+				sequenceReader = new MappedSequenceReader(Path.of(strArgument));
+			} else {
+				/* Any other argument is either mistyped or a file which does not exist. */
+				System.out.println("Invalid Input! Unknown argument or file: " + strArgument);
+				return;
+			}
+		}
+		if(isBinary && outputPath == null) {
+			System.out.println("Invalid Input! The binary form is only written to a file, named by \"out=<file>\".");
+			return;
+		}
+		if(isRadixSorted && isIndexed) {
+			System.out.println("Invalid Input! The K-mers are either sorted by \"radix\" or found by \"index\", not both.");
+			return;
+		}
+		
 		/* A new Scanner object is declared and initialized in order to prompt 
 		   user of the desired length, n, by which a random DNA sequence, S, shall
 		   be generated, consisting only of letters from the alphabet, {a,c,g,t}. */
 		Scanner scanner = new Scanner(System.in);
-		System.out.println("INPUT LENGTH: ");
+		/* Unless the DNA sequence, S, is read from a file, the user is prompted of its length. */
+		strDNASequence = null;
+		if(sequenceReader == null) {
+			System.out.println("INPUT LENGTH: ");
 		
-		/* This do-while loop iterates for as long as user enters invalid input for the
-		   length, such as input which do not correspond to an Integer value (i.e. String, 
-		   double, etc.).                                                                 */
-		do{
-			/* The try block executes code that scans the user's input for the desired length
-			   while also checking if their input as String can be parsed into an integer for 
-			   validity checking. This is done to avoid any errors beforehand, upon implementing
-			   the algorithm.                                                                   */
-			try {
-				strInputForLength = scanner.next();
-				nStringLength = Integer.parseInt(strInputForLength);
+			/* This do-while loop iterates for as long as user enters invalid input for the
+			   length, such as input which do not correspond to an Integer value (i.e. String, 
+			   double, etc.).                                                                 */
+			do{
+				/* The try block executes code that scans the user's input for the desired length
+				   while also checking if their input as String can be parsed into an integer for 
+				   validity checking. This is done to avoid any errors beforehand, upon implementing
+				   the algorithm.                                                                   */
+				try {
+					strInputForLength = scanner.next();
+					nStringLength = Integer.parseInt(strInputForLength);
 				
-				/* The boolean attribute below is modified to true once their input is valid
-				   (i.e. representing anIinteger).                                             */
-				isValidInput = true;
+					/* The boolean attribute below is modified to true once their input is valid
+					   (i.e. representing anIinteger).                                             */
+					isValidInput = true;
 				
-				/* However, the same attribute is modified to false again once their input is not
-				   representing a positive integer (i.e. either zero or negative). An informative 
-				   error message is also displayed, and the procedure of scanning input repeats. */
-				if(nStringLength <= 0) {
-				    System.out.println("Invalid Input! Not a positive integer.");
-				    isValidInput = false;
-				}			
-			    /* If the String cannot be parsed into an integer, NumberFormatException is caught.
-			       An informative error message will be displayed, allowing the user to enter new 
-			       input, as the do-while loop iterates.                                          */
-			} catch(NumberFormatException e) {
-				System.out.println("Invalid Input! Not an integer.");
-			}
+					/* However, the same attribute is modified to false again once their input is not
+					   representing a positive integer (i.e. either zero or negative). An informative 
+					   error message is also displayed, and the procedure of scanning input repeats. */
+					if(nStringLength <= 0) {
+					    System.out.println("Invalid Input! Not a positive integer.");
+					    isValidInput = false;
+					}			
+				    /* If the String cannot be parsed into an integer, NumberFormatException is caught.
+				       An informative error message will be displayed, allowing the user to enter new 
+				       input, as the do-while loop iterates.                                          */
+				} catch(NumberFormatException e) {
+					System.out.println("Invalid Input! Not an integer.");
+				}
 
-		} while(!isValidInput);
+			} while(!isValidInput);
 		
-		/* Once user's input of desired length is finally valid, the static method of generating a 
-		   random DNA sequence from the class shall be called, to which its return value corresponding to 
-		   the input DNA sequence for the algorithm is stored in the appropriate variable (strDNASequence). */
-		strDNASequence = generateRandomDNASequence(nStringLength);
+			/* Once user's input of desired length is finally valid, the static method of generating a 
+			   random DNA sequence from the class shall be called, to which its return value corresponding to 
+			   the input DNA sequence for the algorithm is stored in the appropriate variable (strDNASequence). */
+			strDNASequence = generateRandomDNASequence(nStringLength);
+		
+			/* The random DNA Sequence generated is displayed for the purpose of assuring its validity as
+			   consisting only of letters from the alphabet, {a,c,g,t}, and of a fixed length, n.         */
+			System.out.println("Random DNA Sequence of Length " + nStringLength + ": " + strDNASequence + "\n");
+		} else {
+			System.out.println("DNA Sequence read from: " + sequenceReader.getPath() + "\n");
+		}
 		
-		/* The random DNA Sequence generated is displayed for the purpose of assuring its validity as
-		   consisting only of letters from the alphabet, {a,c,g,t}, and of a fixed length, n.         */
-		System.out.println("Random DNA Sequence of Length " + nStringLength + ": " + strDNASequence + "\n");
-	
 		System.out.println("INPUT K: ");
 		
 		isValidInput = false;
@@ -632,10 +898,13 @@ public class DriverBST {
 				isValidInput = true;
 				
 				/* However, the same attribute is modified to false again once their input is not
-				   representing any valid K-mer length for the algorithm, {5, 6, 7}. An informative 
-				   error message is also displayed, and the procedure of scanning input repeats. */
-				if(k != 5 && k!=6 && k!= 7) {
-				    System.out.println("Invalid Input! Integer must only be equivalent to 5, 6, or 7.");
+				   representing any valid K-mer length for the algorithm, from 1 up to the longest K-mer
+				   which can be packed (only up to 31 for the database, which holds single packed codes, and for the
+				   index and the radix sort). An informative error message is also displayed, and the procedure of
+				   scanning input repeats.                                                                        */
+				nMaxK = databasePath != null || isIndexed || isRadixSorted ? PackedKMer.MAX_K : WidePackedKMer.MAX_K;
+				if(k < 1 || k > nMaxK) {
+				    System.out.println("Invalid Input! Integer must be from 1 to " + nMaxK + ".");
 				    isValidInput = false;
 				}			
 			    /* If the String cannot be parsed into an integer, NumberFormatException is caught.
@@ -654,19 +923,49 @@ public class DriverBST {
 		/* In order to conduct the algorithm required for the computation of a K-mer distribution of a DNA
 		   sequence, S, a new KMerDistribution object is created, passing as argument, the DNA sequence 
 		   which was randomly generated.                                                                  */
-		KMerDistribution kMerDistribution = new KMerDistribution(strDNASequence);
+		KMerDistribution kMerDistribution = sequenceReader == null ? new KMerDistribution(strDNASequence)
+		                                                           : new KMerDistribution(sequenceReader);
+		kMerDistribution.setBalanced(isBalanced);
+		kMerDistribution.setCanonical(isCanonical);
+		kMerDistribution.setRadixSorted(isRadixSorted);
+		kMerDistribution.setIndexed(isIndexed);
+		kMerDistribution.setnNumOfThreads(Runtime.getRuntime().availableProcessors());
+		kMerDistribution.setMetrics(metrics);
+		kMerDistribution.setDatabasePath(databasePath);
+		
+		/* Once written through a KMerWriter object, the K-mer objects are written in the order of the inorder traversal. */
+		try {
+			if(outputPath != null) {
+				kMerDistribution.setWriter(isBinary ? new BinaryKMerWriter(k, outputPath) : new TsvKMerWriter(k, outputPath));
+			} else if(isTsv) {
+				kMerDistribution.setWriter(new TsvKMerWriter(k));
+			}
+		} catch(IOException e) {
+			System.out.println("K-mers could not be written to " + outputPath + ": " + e.getMessage());
+			scanner.close();
+			return;
+		}
 		
 		/* The method of the object is called in order to finally conduct the algorithm for the computation of a K-mer
 		   distribution, passing along the appropriate argument, such as the desired length of each K-mer.                                  */
-		kMerDistribution.generateKMers(k);
-		
-		System.out.println("\nPLACEMENT BY INSERTION: ");
+		try {
+			kMerDistribution.generateKMers(k);
+		} catch(UncheckedIOException e) {
+			System.out.println("K-mer distribution could not be computed: " + e.getCause());
+			scanner.close();
+			return;
+		}
 		
 		/* The list of K-mer objects in the distribution is displayed, along with each of their number
 		   of occurrences in the original DNA sequence, S. The method "displayKMers()" of the object is called
-		   for this purpose.                                                                                  */ 
+		   for this purpose, unless the K-mer objects have been written through a KMerWriter object instead.  */ 
 	    /* NOTE: The order of display is dependent on each K-mer object's placement in the insertion procedure. */
-		kMerDistribution.displayKMers();
+		if(kMerDistribution.getWriter() == null) {
+			System.out.println("\nPLACEMENT BY INSERTION: ");
+			kMerDistribution.displayKMers();
+		} else if(outputPath != null) {
+			System.out.println("\nWritten to " + outputPath);
+		}
 		
 		/* The endTime variable stores the current value of the most precise available system timer, 
 		   in nanoseconds, as it deems essential to calculate the execution time of the algorithm soon. */                                                                   
@@ -683,11 +982,83 @@ public class DriverBST {
 	       running time of the algorithm in the report, and comparison with other implementations.       */
 	    System.out.println("\n\nExecution time in nanoseconds: " + timeElapsed);
 	    System.out.println("Execution time in seconds: " + timeElapsed/(double)1000000000);
+	    
+	    /* The time spent counting is displayed apart from that spent displaying (or writing) the K-mer
+	       distribution, as the latter may take longer than the former on a large number of K-mers.      */
+	    System.out.println("Counting time in seconds: " + (timeElapsed - kMerDistribution.getlOutputTime())/(double)1000000000);
+	    System.out.println("Output time in seconds: " + kMerDistribution.getlOutputTime()/(double)1000000000);
+		
+		/* The metrics are displayed (or written to their file) apart from the execution time, as they are
+		   only recorded once the algorithm is over.                                                      */
+		if(metrics != null) {
+			metrics.commitEvents();
+			if(metricsPath == null) {
+				System.out.println("\nMETRICS: \n" + metrics.toJson());
+			} else {
+				try {
+					metrics.writeJson(metricsPath);
+				} catch(IOException e) {
+					System.out.println("Metrics could not be written to " + metricsPath + ": " + e.getMessage());
+				}
+			}
+		}
 		
+		/* Once the DNA sequence, S, is indexed, and neither written nor persisted, other lengths and K-mers may be
+		   queried from the index, which is not built again.                                                       */
+		if(isIndexed && kMerDistribution.getWriter() == null && databasePath == null) {
+			queryKMerIndex(kMerDistribution, scanner);
+		}
 		
 		 /* The method "close" on the Scanner object is called, upon termination of the program. */
 		scanner.close();
 	}
+	
+	/** A method that queries the index of the K-mer distribution passed, until "done" is entered: an Integer entered
+	  * displays the K-mer distribution of that length, while a K-mer entered, of any length, displays its number of
+	  * occurrences. Either is answered from the same index, built by the K-mer distribution computed before.
+	  * 
+	  * @param kMerDistribution      the K-mer distribution, whose DNA sequence, S, has been indexed
+	  * @param scanner               the Scanner object from which the lengths and K-mers are read
+	  */
+	public static void queryKMerIndex(KMerDistribution kMerDistribution, Scanner scanner) {
+		int k;
+		long lStartTime;
+		String strInput;
+		
+		System.out.println("\nINPUT K OR K-MER (or \"done\"): ");
+		
+		while(scanner.hasNext()) {
+			strInput = scanner.next();
+			
+			if(strInput.equalsIgnoreCase("done")) {
+				break;
+			}
+			
+			/* An Integer is taken as the length of each K-mer object of another K-mer distribution. */
+			try {
+				k = Integer.parseInt(strInput);
+				
+				if(k < 1 || k > PackedKMer.MAX_K) {
+					System.out.println("Invalid Input! Integer must be from 1 to " + PackedKMer.MAX_K + ".");
+					continue;
+				}
+				
+				lStartTime = System.nanoTime();
+				kMerDistribution.generateKMers(k);
+				System.out.println("Number of Distinct K-mers: " + kMerDistribution.getnNumOfKMers());
+				System.out.println("Execution time in seconds: " + (System.nanoTime() - lStartTime)/(double)1000000000);
+				continue;
+			} catch(NumberFormatException e) {
+			}
+			
+			/* Otherwise, a K-mer which is not over the alphabet, {a,c,g,t}, cannot be counted. */
+			try {
+				System.out.println(strInput + " (" + kMerDistribution.getIndex().getCount(strInput) + ")");
+			} catch(IllegalArgumentException e) {
+				System.out.println("Invalid Input! " + e.getMessage());
+			}
+		}
+	}
 
 	/** As the name implies, a method that generates a random DNA sequence, given user's desired 
 	  * length of it and inclusion of letters from the alphabet, {a,c,g,t}.  It takes advantage 
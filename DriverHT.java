@@ -1,368 +1,621 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
 import java.util.Random;
 import java.util.Scanner;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
-import org.apache.commons.codec.digest.MurmurHash3;
-
-/** This class, as its name implies, represents a K-mer object, or a substring
- *  of length k, belonging to the original DNA sequence, S, of length n. What differentiates
- *  a K-mer object from a regular String object, is the relevance of its number of 
- *  occurrences in the original DNA sequence (in order to compute for its K-mer 
- *  distribution). Hence, the variable denoting to which (nNumOfOccurrences), is stored as
- *  an attribute of this class. 
+/** This class, as its name implies, represents a K-mer distribution of a DNA sequence, S, of length n.
+ *  Other than the DNA sequence, it consists of an Integer representing the number of K-mer objects in 
+ *  its distribution, and an ArrayList containing all of its K-mer objects (substrings of length k belonging
+ *  to the original DNA sequence, S).
+ *  
+ *  This class has been created more specifically to allow for the implementation of the algorithm for 
+ *  computing a K-mer distribution of a DNA sequence (as its contained methods might imply). 
  */
-class KMer{
-	private String strSubstring;
-	private int nNumOfOccurrences;
+class KMerDistribution {
+	private String strDNASequence;
 	
-	/** This constructor creates a K-mer object by supplying the 
-	  * needed values of its attributes (along with the argument passed).
-	  * 
-	  * @param strSubstring      the substring itself consisting only of the letters 
-	  *                          from the alphabet, {a,c,g,t}
-	  */
-	public KMer(String strSubstring) {
-		this.strSubstring = strSubstring;
-		
-		/* By default, the number of occurrences of each K-mer object(upon its creation) 
-		   in the original DNA sequence is 1.                                           */
-		this.nNumOfOccurrences = 1;
-	}
+	/* Rather than a String object, the DNA sequence, S, may be read from a file, in which case this reader
+	   hands its letters to the algorithm in chunks (see MappedSequenceReader).                            */
+	private MappedSequenceReader sequenceReader = null;
 	
-	/** A method that returns the substring itself denoting the K-mer object, which belongs to the 
-	  * original DNA sequence, S, of length n. 
-	  * 
-	  * @return      the substring denoting the K-mer object
-	  */
-	public String getSubstring() {
-		return strSubstring;
-	}
+	/* By default, the number of K-mer objects in a newly created object of the K-mer distribution is 0, as
+	   algorithm has not been implemented yet.                                                             */
+	private int nNumOfKMers = 0;
+	private ArrayList <KMer> kMers = new ArrayList<>();
+	
+	/* By default, the K-mer objects are hashed by the rolling hash function, NtHash, as the window slides over the
+	   DNA sequence. Any other hash function may be supplied instead, such as MurmurHash3 or XXHash.               */
+	private KMerHashFunction hashFunction = new NtHashKMerHash();
+	
+	/* By default, the K-mers of a length whose 4^k possible K-mers are few enough are counted in a flat array, without
+	   being hashed at all (see DenseKMerCounter). Once a hash function is named, every K-mer is hashed by it instead,
+	   such that the collisions reported are those of that hash function.                                           */
+	private boolean isHashed = false;
+	
+	/* By default, a K-mer and its reverse complement are counted apart. In canonical mode, both are counted as
+	   one K-mer object, holding the lesser of their packed codes (see PackedKMer.canonical()).              */
+	private boolean isCanonical = false;
+	
+	/* By default, the K-mer objects are counted on a single thread. On more threads, the DNA sequence, S, is split
+	   into slices, each counted into a table of its own before the tables are merged (see ParallelKMerCounter). */
+	private int nNumOfThreads = 1;
+	
+	/* On more than one thread, the threads may instead share a single table, without any lock (see ConcurrentKMerTable),
+	   such that the memory taken does not grow with the number of threads. The K-mer objects are then displayed by the
+	   placement of their slots in the table rather than by the order by which they were first seen.                 */
+	private boolean isShared = false;
+	
+	/* By default, every distinct K-mer object is counted in memory at once. Once a directory is given, the K-mer objects are
+	   instead split by their minimizers into bucket files in it, each of which is counted on its own (see DiskKMerCounter),
+	   in as many buckets as the memory budget (in bytes) requires, unless the number of buckets is given.               */
+	private Path diskDirectory = null;
+	private int nNumOfBuckets = 0;
+	private long lMemoryBudget = Runtime.getRuntime().maxMemory() / 4;
+	
+	/* Once counted on disk, the K-mer objects are never held in the distribution. Instead, each distinct K-mer is
+	   written to the file of this path as soon as its bucket is counted, as tab-separated text or in binary (see
+	   KMerWriter), and is gathered into the database file, if any, as a packed code and a count alone.            */
+	private Path outputPath = null;
+	private boolean isBinary = false;
+	
+	/* In Bloom-filtered mode, a K-mer is only stored once it is seen for the second time, its first sighting being
+	   recorded in a Bloom filter (see BloomFilteredKMerCounter), such that the K-mers seen only once take no memory
+	   in the table. Regardless of the mode, only the K-mer objects of at least nMinCount occurrences are kept.     */
+	private boolean isBloomFiltered = false;
+	private int nMinCount = 1;
 	
-	/** A method that initializes the substring denoting the K-mer object,
-	  * with the argument passed.
+	/* Once presized, the number of distinct K-mers is estimated in a first pass over the DNA sequence, S (see HyperLogLog),
+	   and the tables are sized for the estimate rather than grown while counting. Otherwise, the estimate is -1.        */
+	private boolean isPresized = false;
+	private long lEstimatedDistinctKMers = -1;
+	
+	/* Once given a KMerMetrics object, the time spent in each phase of computing the distribution is recorded in it,
+	   along with the shape of the counting engine. Otherwise, nothing is recorded.                                  */
+	private KMerMetrics metrics = null;
+	
+	/* Once given a path, the K-mer distribution is persisted in a KMerCountDatabase file once it is counted. The time
+	   spent displaying or writing the K-mer objects is kept apart from that spent counting them.                    */
+	private Path databasePath = null;
+	private long lOutputTime = 0;
+	
+	/** This constructor creates a KMerDistribution object by supplying the 
+	  * needed value of its attribute (along with the argument passed).
 	  * 
-	  * @param strSubstring    a String corresponding to a substring which
-	  *                        represents the K-mer object
+	  * @param strDNASequence    the original DNA sequence, S, of length n, whose k-mer 
+	  *                          distribution is to be computed
 	  */
-	public void setSubstring(String substring) {
-		this.strSubstring = substring;
+	public KMerDistribution(String strDNASequence) {
+		this.strDNASequence = strDNASequence;
 	}
 	
-	/** A method that returns the number of occurrences of the K-mer
-	  * object represented in the original DNA sequence.  
+	/** This constructor creates a KMerDistribution object whose DNA sequence, S, is read from a FASTA or
+	  * FASTQ file, without ever being held in a String object.
 	  * 
-	  * @return       the number of occurrences of the given K-mer object
-	  *               in the original DNA sequence, S, of length n
+	  * @param sequenceReader    the reader of the file holding the DNA sequence, S, whose k-mer distribution
+	  *                          is to be computed
 	  */
-	public int getnNumOfOccurrences() {
-		return nNumOfOccurrences;
+	public KMerDistribution(MappedSequenceReader sequenceReader) {
+		this.sequenceReader = sequenceReader;
 	}
 	
-	/** A method that initializes the number of occurrences of the K-mer
-	  * object represented in the original DNA sequence, with the argument passed.  
+	/** This method, as the name implies, is responsible for the generation of the K-mer objects in the K-mer
+	  * distribution of an original DNA sequence, s, of length n. It integrates a HT data structure in the
+	  * implementation of its algorithm. 
 	  * 
-	  * @param nNumOfOccurrences     a Integer corresponding to the number of occurrences 
-	  *                              of the given K-mer object in the original DNA sequence, 
-	  *                              S, of length n
+	  * @param k                an Integer representing the length of each K-mer object that must be generated
+	  * @return                 the collision frequency or number of collisions encountered while storing each distinct
+	  *                         K-mer object in the integrated HT data structure
 	  */
-	public void setnNumOfOccurrences(int nNumOfOccurrences) {
-		this.nNumOfOccurrences = nNumOfOccurrences;
+	public int generateKMers(int k) {
+		int nNumOfCollisions = countKMers(k);
+		
+		/* The K-mer objects of fewer occurrences than the minimum are removed from the distribution. */
+		if(nMinCount > 1) {
+			kMers.removeIf(kMer -> kMer.getnNumOfOccurrences() < nMinCount);
+			nNumOfKMers = kMers.size();
+		}
+		
+		/* On disk, the database file is written along with the buckets counted. */
+		if(databasePath != null && diskDirectory == null) {
+			try {
+				writeDatabase(databasePath, k);
+			} catch(IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		
+		return nNumOfCollisions;
 	}
 	
-	/** A convenient helper method that increments the number of occurrences of the
-	  * K-mer object in the original DNA sequence, S, of length n.
-	  */
-	public void increaseNumOfOccurrences() {
-		nNumOfOccurrences++;
+	/* This method generates the K-mer objects of the distribution with the counting engine suited to k and to
+	   the mode of the distribution, returning the number of collisions encountered by the engine.            */
+	private int countKMers(int k) {
+		
+		/* A K-mer longer than a single long can hold is counted by its packed words, in a hash table with open addressing. */
+		if(k > PackedKMer.MAX_K) {
+			return generateKMers(new WideOpenAddressingKMerTable(k));
+		}
+		
+		/* The number of distinct K-mer objects is only estimated for the engine which is to be sized by it. */
+		if(isPresized && isSizedByEstimate(k)) {
+			lEstimatedDistinctKMers = estimateDistinctKMers(k);
+		}
+		
+		/* Once a directory is given, the K-mer objects are counted through bucket files on disk, one bucket at a time. */
+		if(diskDirectory != null) {
+			return generateKMersOnDisk(k);
+		}
+		
+		/* In Bloom-filtered mode, the table only grows with the K-mers seen at least twice, while the filter is sized
+		   for the upper bound of the number of distinct K-mers.                                                     */
+		if(isBloomFiltered) {
+			return generateKMers(new BloomFilteredKMerCounter(new OpenAddressingKMerTable(k, 0, hashFunction),
+					new BloomFilter(getlExpectedKMers(k), BloomFilter.DEFAULT_FALSE_POSITIVE_RATE)));
+		}
+		
+		/* On more than one thread, each thread counts its slice of the DNA sequence, S, into a table of its own. */
+		if(nNumOfThreads > 1) {
+			return generateKMersInParallel(k);
+		}
+		
+		/* When the 4^k possible K-mers are no more than the K-mers to be extracted from the original DNA sequence, S,
+		   it is cheaper to count them in a flat array indexed by their packed codes, than in the HT data structure. */
+		if(isDense(k, getlLength() - k + 1)) {
+			return generateKMers(new DenseKMerCounter(k));
+		}
+		
+		/* A new HashTable object is created for the implementation of the algorithm. Note that each
+		   element of the HashTable, referencing to an array of LinkedLists with each individual List, consists 
+		   of distinct K-mer object/s as its data. The HashTable starts small, and grows with the number of
+		   distinct K-mer objects rather than with the length, n, of the original DNA sequence, S. Once presized,
+		   it holds enough LinkedLists for the estimated number of distinct K-mer objects, with the same margin
+		   as every other engine presized (see getlExpectedKMers()), from the start.                           */
+		HashTable HT = new HashTable(lEstimatedDistinctKMers < 0 ? HashTable.MIN_SIZE
+				: (int) Math.min(getlExpectedKMers(k) / HashTable.MAX_LOAD_FACTOR + 1, 1 << 30), hashFunction);
+		
+		/* The K-mer objects of the DNA sequence, S, are inserted in the HT data structure, a chunk of letters
+		   at a time once the sequence is read from a file (see MappedSequenceReader).                        */
+		forEachChunk(k, chunk -> insertKMers(HT, chunk, k));
+		
+		if(metrics != null) {
+			metrics.recordHashTable(HT);
+		}
+		
+		/* The number of collisions encountered while storing each distinct K-mer object in the integrated HT data structure, 
+		   is returned, such that it also reveals information on the efficiency of the hash function utilized in storage.                                                                                                                       */
+		return HT.getnNumOfCollisions();
 	}
 	
-	/** "toString()" method of the class has been overridden such that it could provide the functionality
-	  *  of displaying the attributes associated to each K-mer object upon its display in the algorithm of 
-	  *  computing a K-mer distribution of a DNA sequence, S.
+	/* This method inserts every K-mer object of the sequence passed (being either the whole DNA sequence, S, or a
+	   chunk of it) in the HT data structure passed, adding each distinct K-mer object to the distribution.       */
+	private void insertKMers(HashTable HT, CharSequence sequence, int k) {
+		int i, nBase, nNumOfValidBases = 0;
+		long lPackedCode = 0, lPreviousCode, lReverseCode = 0, lHash = 0, lMask = PackedKMer.mask(k);
+		KMer kMer;
+		
+		/* This for loop slides a window of length k over the sequence passed, one letter
+		   at a time. Rather than extracting each substring, the packed code of the window is updated with the
+		   incoming letter, such that each of these codes could represent a potential K-mer object in the distribution. */
+		for(i=0; i<sequence.length(); i++) {
+			
+			nBase = PackedKMer.encodeBase(sequence.charAt(i));
+			
+			/* A letter outside of the alphabet, {a,c,g,t}, cannot belong to any K-mer, hence, the window
+			   restarts from the letter after it.                                                        */
+			if(nBase < 0) {
+				nNumOfValidBases = 0;
+				continue;
+			}
+			
+			/* The packed code of the window is kept before it slides, such that a rolling hash value can be
+			   updated from the letter leaving the window as well.                                          */
+			lPreviousCode = lPackedCode;
+			lPackedCode = PackedKMer.roll(lPackedCode, nBase, lMask);
+			nNumOfValidBases++;
+			
+			/* In canonical mode, the packed code of the reverse complement of the window slides along as well. */
+			if(isCanonical) {
+				lReverseCode = PackedKMer.rollReverseComplement(lReverseCode, nBase, k);
+			}
+			
+			/* The packed code only represents a whole substring of length k once at least k letters
+			   have entered the window.                                                             */
+			if(nNumOfValidBases < k) {
+				continue;
+			}
+			
+			/* In canonical mode, the lesser of both packed codes is inserted. As the window and its reverse
+			   complement take turns at being the lesser one, the hash value is computed from all k letters. */
+			if(isCanonical) {
+				kMer = HT.insert(Math.min(lPackedCode, lReverseCode), k);
+				
+				if(kMer != null) {
+					kMers.add(kMer);
+					nNumOfKMers++;
+				}
+				continue;
+			}
+			
+			/* The packed code of the substring is to be inserted in the HT data structure integrated. However, the
+			   success of such an insert operation depends on whether the substring extracted, representing this
+			   K-mer object, is distinct, or is not contained already in the LinkedList of index/key computed by 
+			   the hash function. The hash value is computed from all k letters for the first window only, and is
+			   otherwise rolled from the previous window (in constant time, if the hash function is rolling).      */
+			if(nNumOfValidBases == k) {
+				lHash = hashFunction.hash(lPackedCode, k);
+			} else {
+				lHash = hashFunction.roll(lHash, lPreviousCode, lPackedCode, k);
+			}
+			kMer = HT.insertHashed(lPackedCode, k, lHash);
+		
+		     /* If the insert() operation yields successful (i.e. the K-mer object with such a substring is distinct), 
+		        the K-mer object it created should be added to the appropriate ArrayList, and the number of distinct 
+		        K-mer objects in the distribution, must be incremented.                                                */
+			 if(kMer != null) {
+				 kMers.add(kMer);
+				 nNumOfKMers++; 
+			 }
+			 
+			 /* Otherwise, the number of occurrences of such a K-mer object is already incremented in the search() operation. */
+		}
+	}
+		
+	/** This method, as the name implies, is responsible for the generation of the K-mer objects in the K-mer
+	  * distribution of an original DNA sequence, s, of length n, but integrates the counting engine passed rather
+	  * than a HT data structure. Only once every K-mer is counted by its packed code, is a K-mer object created for
+	  * each distinct K-mer, in the order by which it was first seen.
+	  * 
+	  * @param counter          an empty counting engine, such as a DenseKMerCounter or an OpenAddressingKMerTable
+	  *                         object, whose length of each K-mer is the length of each K-mer object to be generated
+	  * @return                 the collision frequency or number of collisions encountered by the counting engine
 	  */
-	@Override
-	public String toString() {
-		return strSubstring + " (" + nNumOfOccurrences + ")";
+	public int generateKMers(KMerCounter counter) {
+		forEachChunk(counter.getK(), chunk -> {
+			if(isCanonical) {
+				counter.countCanonical(chunk);
+			} else {
+				counter.count(chunk);
+			}
+		});
+		
+		return collectKMers(counter);
 	}
-}
-
-/** This class is a template for a HT object or Hash Table, whose structure is important
- *  to integrate as part of the algorithm required to compute for the K-mer distribution of a DNA
- *  Sequence, S. It consists of an array of LinkedLists, referred to as "buckets", which can store given
- *  K-mer object/s in a location depending on the key generated from a hash function. It also consists of variables, 
- *  such as nMaxSize, which, as its name implies, will store the maximum size of the HT object (i.e. length n of the
- *  input DNA sequence), and a counter variable such as nNumOfCollisions, which will store the collision frequency
- *  upon storing the K-mer objects in this implemented HashTable object, specifically to each "bucket" or LinkedList.
- *  
- *  NOTE: The collision resolution technique utilized is Separate Chaining, as evident from the use of LinkedLists. 
- */
-class HashTable{
-	private LinkedList<KMer> [] buckets;
-	private int nMaxSize;
 	
-	/* By default, the number of collisions encountered in the HashTable, with 
-	   the existence of empty LinkedLists, is 0.                              */
-	private int nNumOfCollisions = 0;
-	
-	/** This constructor creates a HashTable object by supplying the 
-	  * needed value of its attribute, nMaxSize, with the argument passed.
-	  * 
+	/** This method, as the name implies, is responsible for the generation of the K-mer objects in the K-mer
+	  * distributions of several lengths of each K-mer object at once, in a single pass over the DNA sequence, S,
+	  * which is read (or handed over) only once, and encoded only once for every length (see MultiKMerCounter).
+	  * Each length is counted in a flat array when 4^k is small enough, and in a hash table with open addressing
+	  * otherwise, on a single thread. The K-mer objects of fewer occurrences than the minimum are left out.
 	  * 
-	  * @param nMaxSize      an Integer which represents the maximum size or number of LinkedLists that
-	  *                      the array of LinkedLists, buckets, can hold (as specified by n or the length
-	  *                      of the input DNA sequence, S)
+	  * @param kValues          the distinct lengths of each K-mer object that must be generated (1 to PackedKMer.MAX_K)
+	  * @return                 the list of K-mer objects of each length, at the index of its length, in the order by
+	  *                         which each K-mer object was first seen
 	  */
-	@SuppressWarnings("unchecked")
-	public HashTable(int nMaxSize) {
+	public ArrayList<ArrayList<KMer>> generateKMers(int[] kValues) {
+		int i, j;
+		long lPackedCode, lStartTime;
+		KMerCounter counter;
+		KMerCounter[] counters = new KMerCounter[kValues.length];
+		ArrayList<KMer> kMersOfLength;
+		ArrayList<ArrayList<KMer>> kMersOfEachLength = new ArrayList<>();
+		KMer kMer;
 		
-		int i;
+		for(i=0; i<kValues.length; i++) {
+			counters[i] = isDense(kValues[i], getlLength() - kValues[i] + 1)
+					? new DenseKMerCounter(kValues[i]) : new OpenAddressingKMerTable(kValues[i], 0, hashFunction);
+		}
+		MultiKMerCounter multiCounter = new MultiKMerCounter(counters);
 		
-		/* The same argument passed to initialize nMaxSize is used to set the
-		   number of LinkedLists that the array, buckets, can hold.           */
-		buckets = new LinkedList[nMaxSize];
+		/* As the rolling codes are kept from one chunk to the next, the chunks need not repeat any letter, which is
+		   the case for K-mers of length 1.                                                                        */
+		forEachChunk(1, chunk -> {
+			if(isCanonical) {
+				multiCounter.countCanonical(chunk);
+			} else {
+				multiCounter.count(chunk);
+			}
+		});
+		
+		lStartTime = System.nanoTime();
+		for(i=0; i<kValues.length; i++) {
+			counter = counters[i];
+			kMersOfLength = new ArrayList<>();
+			
+			for(j=0; j<counter.getnNumOfDistinctKMers(); j++) {
+				lPackedCode = counter.getFirstSeenCode(j);
+				kMer = new KMer(lPackedCode, kValues[i]);
+				kMer.setnNumOfOccurrences(counter.getCount(lPackedCode));
+				
+				if(kMer.getnNumOfOccurrences() >= nMinCount) {
+					kMersOfLength.add(kMer);
+				}
+			}
+			kMersOfEachLength.add(kMersOfLength);
+		}
 		
-		this.nMaxSize = nMaxSize;
+		if(metrics != null) {
+			metrics.addTime(KMerMetrics.COLLECT, System.nanoTime() - lStartTime);
+		}
 		
-		/* This for loop enables the initialization of each LinkedList contained in the array, buckets. */
-        for (i = 0; i < nMaxSize; i++) {
-            buckets[i] = new LinkedList<KMer>();
-        }
+		return kMersOfEachLength;
 	}
 	
-	/** A method that checks whether the substring of a K-mer object belonging to a
-	  * LinkedList (whose key is hashed by the MurmurHash3 function) in the array, is same as 
-	  * the String argument passed, which represents a newly extracted substring from the input DNA 
-	  * sequence, S. In this case, the K-mer object possessing such a String is no longer added to the 
-	  * LinkedList, but its number of occurrences in the input DNA sequence, must be increased.
-	  * 
-	  * @param nKey            an Integer storing the index of a LinkedList in the array
-	  *                        whose K-mer object's substring may possibly match with 
-	  *                        the String argument passed, strSubstring
-	  * @param strSubstring    a String corresponding to a substring
-	  *                        representing the K-mer object which may/may not be
-	  *                        added to the LinkedList indexed by the nKey argument 
-	  *                        passed
-	  * @return                an Integer representing the index of the K-mer object in the LinkedList, 
-	  *                        which holds the value of the String argument passed, strSubstring
-	  */
-	public int search(int nKey, String strSubstring) {
-		int i, nIndex = -1; 
-		boolean isFound = false;
-		
-		/* This for loop "searches" for any duplicate of the String argument passed in the 
-		   LinkedList (indexed by the nKey argument passed) in the array. Note that it specifically
-		   compares each K-mer object's substring in the LinkedList, with the String argument passed, 
-		   such that it may detect multiple occurrences of a specific String in the input DNA sequence, S. */
-		for(i=0; i<buckets[nKey].size() && !isFound; i++) {
-			
-			/* Once the substring of a K-mer object belonging to the LinkedList matches with the String
-			   argument passed, the boolean variable, isFound, is modified to true, its number of occurrences is increased,
-			   the index of the K-mer object existing to hold the value of the String, is stored in the appropriate variable, nIndex, 
-			   and for loop instantly terminates.                                                                                    */
-			if(buckets[nKey].get(i).getSubstring().equals(strSubstring)) {
-				isFound = true;
-				buckets[nKey].get(i).increaseNumOfOccurrences();
-				nIndex = i;
-			}
-		}
-		
-		/* The index of the K-mer object in the LinkedList which holds the value of the String argument passed is returned.
-		   If K-mer object with the String argument passed does not exist in the LinkedList, a value of -1 is returned.    */
-		return nIndex;
+	/* This method counts the K-mer objects of the DNA sequence, S, on nNumOfThreads threads, each into a counting
+	   engine of its own, being a flat array when 4^k is small enough for every thread to hold one, and a hash table
+	   with open addressing otherwise. The engines are merged once every chunk has been counted. In shared mode,
+	   every thread counts into the same lock-free table instead, which is never merged.                        */
+	private int generateKMersInParallel(int k) {
+		ParallelKMerCounter parallelCounter;
+		ConcurrentKMerTable sharedTable;
+		
+		if(isShared) {
+			sharedTable = new ConcurrentKMerTable(k, getlExpectedKMers(k), hashFunction);
+			parallelCounter = new ParallelKMerCounter(nNumOfThreads, () -> sharedTable);
+		} else if(isDense(k, (getlLength() - k + 1) / nNumOfThreads)) {
+			parallelCounter = new ParallelKMerCounter(nNumOfThreads, () -> new DenseKMerCounter(k));
+		} else {
+			parallelCounter = new ParallelKMerCounter(nNumOfThreads, () -> new OpenAddressingKMerTable(k, 0, hashFunction));
+		}
+		
+		forEachChunk(k, chunk -> parallelCounter.count(chunk, isCanonical));
+		
+		return collectKMers(parallelCounter.merge());
 	}
 	
-	
-	/** A method that allows the insertion of each K-mer object (such that it represents a distinct substring of the input DNA sequence, S) in the 
-	  *  HashTable object constructed. Hash function, MurmurHash3, has been utilized to determine the key, or index of the LinkedList to which each 
-	  *  K-Mer object may be added amongst the array of LinkedLists. Through calling this method, the K-mer distribution of the input DNA sequence, S, is also computed, along with
-	  *  the total number of collisions encountered in storing each K-mer object in the HashTable constructed. Collision is resolved through Separate Chaining, 
-	  *  as evident by the use of LinkedLists. 
-	  * 
-	  * @param kMer                 the K-mer object (such that it is distinct) to be added to a LinkedList of randomized key or index based on the  
-	  *                             value computed from the Hash function, MurmurHash3
-	  * @param nDNASequenceLength   an Integer representing the length, n, of the input DNA Sequence, S, which is useful
-	  *                             in the computation of the key or index from the Hash function, MurmurHash3
-	  * @return                     a boolean denoting the success of the insert() operation on the K-mer object passed as argument
-	  */
-	public boolean insert(KMer kMer, int nDNASequenceLength) {
-		int nIndex, nKey;
-		boolean isInserted = false;
-		
-		/* The value of the key or index of LinkedList to which the K-mer object can be inserted, is computed, through
-		   the hash function, MurmurHash3. In its computation, the length, n, of the input DNA sequence, S, deems relevant, so
-		   that the randomized key may appropriately index a number in the range of (0 to n-1) which also represents the indices
-		   of the possible LinkedLists in the array. To integrate such a functionality, the modulo operator was utilized. Note that the
-		   abs (absolute value) function from the Math library was also utilized, since a negative value may be generated from the function. */
-	    nKey = Math.abs(MurmurHash3.hash32x86(kMer.getSubstring().getBytes()) % (nDNASequenceLength - 1));
-		
-	    /* The search() method is called in order to check an existing occurrence of the substring extracted,
-	       in the LinkedList whose index was computed from the hash function. Note that similar String objects would
-	       hash to the same key or index of LinkedList, hence, it would be useful to detect a similar occurrence of substring
-	       through this method.                                                                                              */
-	    nIndex = search(nKey, kMer.getSubstring());
-		
-	    /* In case the method returns the value of -1, this means that the substring extracted is distinct, hence it could be added
-	       as a K-mer object to the LinkedList with a key or index computed from the hash function.                                 */
-		 if (nIndex == - 1) {
-			 
-			 /* If the LinkedList to which the K-mer object must be inserted, already exists with some other K-mer objects as elements, 
-			    collision occurs. Hence, collision frequency increases.                                                               */
-			if(buckets[nKey].size() != 0)
-				 nNumOfCollisions++; 
-			
-			/* Nevertheless, with or without collision, the K-mer object is inserted as an element of the LinkedList to which the index or key
-			   computed, points to.                                                                                                           */
-			buckets[nKey].add(kMer);	
-			
-			/* The respective boolean variable is also modified to true, such that it denotes the success of the insert() operation.  */
-			isInserted = true;
-		 }
-		 
-		 /* NOTE: An unsuccessful insert() operation would mean that the substring extracted is no longer distinct, as proven by the search() method 
-		    returning its index in the LinkedList it is hashed to. Hence, the number of occurrences must be increased instead.                      */
-		 
-		 /* A boolean, denoting the success of the insert() operation, is returned.  */
-		 return isInserted;
+	/* This method counts the K-mer objects of the DNA sequence, S, in two phases, first splitting it into super-K-mers
+	   written to bucket files by their minimizers, then counting each bucket on its own, such that only the distinct
+	   K-mers of a single bucket are ever held in a table at once. Rather than being listed as K-mer objects, they are
+	   handed over bucket after bucket to the output file and the database file. The database keeps the K-mers sorted
+	   by their packed codes, hence, its columns are gathered in full before it is written, 12 bytes per K-mer.     */
+	private int generateKMersOnDisk(int k) {
+		int nBuckets = nNumOfBuckets > 0 ? nNumOfBuckets : DiskKMerCounter.getnNumOfBuckets(getlExpectedKMers(k), lMemoryBudget);
+		long lStartTime;
+		KMerColumns columns = databasePath == null ? null : new KMerColumns();
+		
+		/* The bucket files are deleted upon closing the counter, even if the sequence could not be partitioned. */
+		try(KMerWriter writer = outputPath == null ? null
+				: isBinary ? new BinaryKMerWriter(k, outputPath) : new TsvKMerWriter(k, outputPath);
+		    DiskKMerCounter diskCounter = new DiskKMerCounter(k, isCanonical, nBuckets, lMemoryBudget, hashFunction, diskDirectory)) {
+			
+			forEachChunk(k, chunk -> {
+				try {
+					diskCounter.partition(chunk);
+				} catch(IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+			
+			diskCounter.count((lPackedCode, nCount) -> {
+				if(nCount < nMinCount) {
+					return;
+				}
+				if(writer != null) {
+					writer.accept(lPackedCode, nCount);
+				}
+				if(columns != null) {
+					columns.accept(lPackedCode, nCount);
+				}
+			});
+			
+			if(columns != null) {
+				lStartTime = System.nanoTime();
+				KMerCountDatabase.write(databasePath, k, isCanonical, columns.packedCodes, columns.nCounts, columns.nNumOfKMers);
+				addOutputTime(lStartTime);
+			}
+			
+			if(metrics != null) {
+				metrics.recordEngine("DiskKMerCounter", diskCounter.getlNumOfDistinctKMers(), diskCounter.getlNumOfCollisions());
+			}
+			
+			return (int) diskCounter.getlNumOfCollisions();
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
 	}
 	
-	/** A method that returns the array of LinkedLists with each List storing distinct K-mer objects, as part of the computation of 
-	  * the K-mer distribution of an input DNA Sequence, S, with a HashTable object and Separate Chaining as collision resolution technique.
-	  * 
-	  * @return      the array of LinkedLists storing distinct K-mer objects
-	  */
-	public LinkedList<KMer>[] getBuckets() {
-		return buckets;
-	}
-
-	/** A method that initializes the array of LinkedLists with each List storing distinct K-mer objects, with the argument passed.
+	/** This method, as the name implies, is responsible for the approximate counting of the K-mers in the K-mer
+	  * distribution of an original DNA sequence, s, of length n, in a Count-Min sketch of fixed memory rather than
+	  * in a HT data structure. No K-mer object is generated, as the sketch cannot list the K-mers it counted, but the
+	  * number of occurrences of any K-mer can be estimated from the sketch returned.
 	  * 
-	  * @param buckets      an array of LinkedLists storing distinct K-mer objects
+	  * @param k                an Integer representing the length of each K-mer to be counted (1 to 31)
+	  * @param nWidth           the number of counters per row of the sketch
+	  * @param nDepth           the number of rows of the sketch
+	  * @return                 the sketch in which every K-mer has been counted
 	  */
-	public void setBuckets(LinkedList<KMer>[] buckets) {
-		this.buckets = buckets;
-	}
-
-	/** A method that returns the maximum size or number of LinkedLists that the array of LinkedLists, buckets, can hold, 
-	  * as specified by n or the length of the input DNA sequence, S.
-	  * 
-	  * @return      the maximum size or number of LinkedLists that the designated array can hold
-	  */
-	public int getnMaxSize() {
-		return nMaxSize;
+	public CountMinSketch generateSketch(int k, int nWidth, int nDepth) {
+		CountMinSketch sketch = new CountMinSketch(k, nWidth, nDepth);
+		
+		forEachChunk(k, chunk -> {
+			if(isCanonical) {
+				sketch.countCanonical(chunk);
+			} else {
+				sketch.count(chunk);
+			}
+		});
+		
+		return sketch;
 	}
-
-	/** A method that initializes the number of LinkedLists that the array of LinkedLists, buckets, can hold, 
-	  * with the argument passed.
+	
+	/** This method estimates the number of distinct K-mers of length k in the DNA sequence, S, in a single pass
+	  * over it, without counting them (see HyperLogLog).
 	  * 
-	  * @param nMaxSize     an Integer representing the maximum size or number of LinkedLists that the designated array can hold
+	  * @param k                an Integer representing the length of each K-mer (1 to 31)
+	  * @return                 the estimated number of distinct K-mers
 	  */
-	public void setnMaxSize(int nMaxSize) {
-		this.nMaxSize = nMaxSize;
+	public long estimateDistinctKMers(int k) {
+		HyperLogLog hyperLogLog = new HyperLogLog(k, HyperLogLog.DEFAULT_PRECISION);
+		
+		forEachChunk(k, chunk -> {
+			if(isCanonical) {
+				hyperLogLog.countCanonical(chunk);
+			} else {
+				hyperLogLog.count(chunk);
+			}
+		});
+		
+		return hyperLogLog.getlEstimate();
 	}
-
-	/** A method that returns the number of collisions encountered while storing each distinct K-mer object
-	  * by the use of the hash function, MurmurHash3.
-	  * 
-	  * @return      the collision frequency or number of collisions encountered while using the hash function, MurmurHash3,
-	  *              in storing each distinct K-mer object in the HashTable object constructed
-	  */
-	public int getnNumOfCollisions() {
-		return nNumOfCollisions;
+	
+	/* This method returns whether the engine that countKMers() chooses for k is sized by the number of distinct K-mers,
+	   which excludes the flat arrays, of 4^k counters, and the tables of each thread, growing with their slices.   */
+	private boolean isSizedByEstimate(int k) {
+		
+		if(diskDirectory != null || isBloomFiltered) {
+			return true;
+		}
+		if(nNumOfThreads > 1) {
+			return isShared;
+		}
+		
+		return !isDense(k, getlLength() - k + 1);
 	}
-
-	/** A method that initializes the number of collisions or collision frequency in storing each distinct K-mer object
-	  * by the use of the hash function, MurmurHash3, with the argument passed.
-	  * 
-	  * @param nNumOfCollisions      an Integer representing the number of collisions encountered while using the hash function, MurmurHash3,
-	  *                              in storing each distinct K-mer object in the HashTable object constructed
-	  */
-	public void setnNumOfCollisions(int nNumOfCollisions) {
-		this.nNumOfCollisions = nNumOfCollisions;
+	
+	/* This method returns whether the K-mers of length k are counted in a flat array rather than hashed, given the
+	   number of windows to be counted into it, which is never the case once a hash function is named.           */
+	private boolean isDense(int k, long lNumOfWindows) {
+		return !isHashed && DenseKMerCounter.isSuitable(k, lNumOfWindows);
 	}
-}
-
-/** This class, as its name implies, represents a K-mer distribution of a DNA sequence, S, of length n.
- *  Other than the DNA sequence, it consists of an Integer representing the number of K-mer objects in 
- *  its distribution, and an ArrayList containing all of its K-mer objects (substrings of length k belonging
- *  to the original DNA sequence, S).
- *  
- *  This class has been created more specifically to allow for the implementation of the algorithm for 
- *  computing a K-mer distribution of a DNA sequence (as its contained methods might imply). 
- */
-class KMerDistribution {
-	private String strDNASequence;
-	/* By default, the number of K-mer objects in a newly created object of the K-mer distribution is 0, as
-	   algorithm has not been implemented yet.                                                             */
-	private int nNumOfKMers = 0;
-	private ArrayList <KMer> kMers = new ArrayList<>();
 	
-	/** This constructor creates a KMerDistribution object by supplying the 
-	  * needed value of its attribute (along with the argument passed).
-	  * 
-	  * @param strDNASequence    the original DNA sequence, S, of length n, whose k-mer 
-	  *                          distribution is to be computed
-	  */
-	public KMerDistribution(String strDNASequence) {
-		this.strDNASequence = strDNASequence;
+	/* This method returns the number of distinct K-mers a table which never grows must be sized for, being the upper
+	   bound of the number of distinct K-mers, unless it has been estimated, in which case a quarter is added to the
+	   estimate, far beyond its standard error.                                                                      */
+	private long getlExpectedKMers(int k) {
+		long lMaxDistinctKMers = ConcurrentKMerTable.getlMaxDistinctKMers(k, getlLength() - k + 1);
+		
+		if(lEstimatedDistinctKMers < 0) {
+			return lMaxDistinctKMers;
+		}
+		
+		return Math.min(lMaxDistinctKMers, lEstimatedDistinctKMers + lEstimatedDistinctKMers / 4 + HashTable.MIN_SIZE);
 	}
 	
+	/* This method creates a K-mer object for each distinct K-mer of the counting engine passed, in the order by
+	   which it was first seen, returning the number of collisions encountered by the engine.                  */
+	private int collectKMers(KMerCounter counter) {
+		int i;
+		long lPackedCode, lStartTime = System.nanoTime();
+		KMer kMer;
+		
+		for(i=0; i<counter.getnNumOfDistinctKMers(); i++) {
+			lPackedCode = counter.getFirstSeenCode(i);
+			kMer = new KMer(lPackedCode, counter.getK());
+			kMer.setnNumOfOccurrences(counter.getCount(lPackedCode));
+			kMers.add(kMer);
+			nNumOfKMers++;
+		}
+		
+		if(metrics != null) {
+			metrics.addTime(KMerMetrics.COLLECT, System.nanoTime() - lStartTime);
+			metrics.recordCounter(counter);
+		}
+		
+		return counter.getnNumOfCollisions();
+	}
+		
 	/** This method, as the name implies, is responsible for the generation of the K-mer objects in the K-mer
-	  * distribution of an original DNA sequence, s, of length n. It integrates a HT data structure in the
-	  * implementation of its algorithm. 
+	  * distribution of an original DNA sequence, s, of length n, in the same manner as generateKMers(KMerCounter),
+	  * but integrates a counting engine for K-mers longer than a single long can hold (see WideKMerCounter).
 	  * 
-	  * @param k                an Integer representing the length of each K-mer object that must be generated
-	  * @return                 the collision frequency or number of collisions encountered while storing each distinct
-	  *                         K-mer object in the integrated HT data structure
+	  * @param counter          an empty counting engine, such as a WideOpenAddressingKMerTable object, whose length
+	  *                         of each K-mer is the length of each K-mer object to be generated
+	  * @return                 the collision frequency or number of collisions encountered by the counting engine
 	  */
-	public int generateKMers(int k) {
-		
-		int i, j;
-		boolean isInserted, isFound;
+	public int generateKMers(WideKMerCounter counter) {
+		int i;
+		long lStartTime;
+		long[] words;
 		KMer kMer;
 		
-		/* A new HashTable object is created for the implementation of the algorithm. Note that each
-		   element of the HashTable, referencing to an array of LinkedLists with each individual List, consists 
-		   of distinct K-mer object/s as its data.                                                              */
-		HashTable HT = new HashTable(strDNASequence.length());
+		forEachChunk(counter.getK(), chunk -> {
+			if(isCanonical) {
+				counter.countCanonical(chunk);
+			} else {
+				counter.count(chunk);
+			}
+		});
 		
-		/* This for loop iterates for as long as valid substrings of length k could be extracted from the
-		   original DNA sequence, S, of length n. Each of these substrings could represent a potential
-		   K-mer object in the distribution.                                                            */
-		for(i=0; i<(strDNASequence.length()-k)+1; i++) {
-			
-			/* A new K-mer object is created, passing along as argument, the substring itself of length k, 
-			   extracted from the original DNA sequence, S, of length n.                                 */
-			kMer = new KMer(strDNASequence.substring(i, i+k));
-			
-			/* The K-mer object created is to be inserted in the HT data structure integrated. However, the
-			   success of such an insert operation depends on whether the substring extracted, representing this
-			   K-mer object, is distinct, or is not contained already in the LinkedList of index/key computed by 
-			   the hash function, MurmurHash3.                                                                   */
-			isInserted = HT.insert(kMer, strDNASequence.length());
+		lStartTime = System.nanoTime();
+		for(i=0; i<counter.getnNumOfDistinctKMers(); i++) {
+			words = counter.getFirstSeenWords(i);
+			kMer = new KMer(words, counter.getK());
+			kMer.setnNumOfOccurrences(counter.getCount(words));
+			kMers.add(kMer);
+			nNumOfKMers++;
+		}
 		
-		     /* If the insert() operation yields successful (i.e. the K-mer object with such a substring is distinct), 
-		        it should be added to the appropriate ArrayList, and the number of distinct K-mer objects in the distribution, 
-		        must be incremented.                                                                                           */
-			 if(isInserted == true) {
-				 kMers.add(kMer);
-				 nNumOfKMers++; 
-			 }
-			 
-			 /* Otherwise, the number of occurrences of such a K-mer object is already incremented in the search() operation. */
+		if(metrics != null) {
+			metrics.addTime(KMerMetrics.COLLECT, System.nanoTime() - lStartTime);
+			metrics.recordEngine(counter.getClass().getSimpleName(), counter.getnNumOfDistinctKMers(), counter.getnNumOfCollisions());
 		}
 		
-		/* The number of collisions encountered while storing each distinct K-mer object in the integrated HT data structure, 
-		   is returned, such that it also reveals information on the efficiency of the hash function utilized in storage, which is
-		   MurmurHash3.                                                                                                             */
-		return HT.getnNumOfCollisions();
+		return counter.getnNumOfCollisions();
 	}
 		
+		/* This method hands the DNA sequence, S, to the consumer passed, either as a whole, or a chunk of letters at a time
+		   once it is read from a file, with each chunk repeating the last k-1 letters of the chunk before it.          */
+		private void forEachChunk(int k, Consumer<CharSequence> consumer) {
+			long lStartTime = System.nanoTime();
+			long[] lCountTime = new long[1];
+			
+			/* Once metrics are recorded, the time spent in the consumer is counting, and any other time spent in the
+			   reader is reading.                                                                                   */
+			if(metrics != null) {
+				Consumer<CharSequence> countingConsumer = consumer;
+				consumer = chunk -> {
+					long lChunkTime = System.nanoTime();
+					countingConsumer.accept(chunk);
+					lCountTime[0] += System.nanoTime() - lChunkTime;
+				};
+			}
+			
+			if(sequenceReader == null) {
+				consumer.accept(strDNASequence);
+			} else {
+				try {
+					sequenceReader.read(k - 1, consumer);
+				} catch(IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+			
+			if(metrics != null) {
+				metrics.addTime(KMerMetrics.COUNT, lCountTime[0]);
+				if(sequenceReader != null) {
+					metrics.addTime(KMerMetrics.READ, System.nanoTime() - lStartTime - lCountTime[0]);
+				}
+			}
+		}
+		
+		/* This method returns the length, n, of the DNA sequence, S, or, once it is read from a file, the size of
+		   the file, which is an upper bound of its length.                                                        */
+		private long getlLength() {
+			if(sequenceReader == null) {
+				return strDNASequence.length();
+			}
+			
+			try {
+				return sequenceReader.getlFileSize();
+			} catch(IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		
 		/** A method that displays the K-mer objects in the K-mer distribution of the DNA sequence, S.
 		  */
 		public void displayKMers() {
 			
 			int i;
+			long lStartTime = System.nanoTime();
 			
 			/* The display of each K-mer object in the K-mer distribution allow for the display of all
 			   its associated attributes, consisting of the substring, and its number of occurrences 
@@ -371,6 +624,339 @@ class KMerDistribution {
 				System.out.println(kMers.get(i));
 			}
 			
+			addOutputTime(lStartTime);
+		}
+		
+		/** A method that writes the K-mer objects in the K-mer distribution of the DNA sequence, S, through the
+		  * writer passed (see TsvKMerWriter and BinaryKMerWriter), rather than displaying each of them as a String
+		  * object. The writer is closed once every K-mer object is written.
+		  * 
+		  * @param writer      the writer to which the K-mer objects are written
+		  * @throws IOException       if the K-mer objects cannot be written
+		  */
+		public void writeKMers(KMerWriter writer) throws IOException {
+			
+			int i;
+			long lStartTime = System.nanoTime();
+			
+			try(writer) {
+				for(i=0; i<nNumOfKMers; i++) { 
+					writer.write(kMers.get(i));
+				}
+			}
+			
+			addOutputTime(lStartTime);
+		}
+		
+		/** A method that persists the K-mer objects in the K-mer distribution of the DNA sequence, S, in a file
+		  * (see KMerCountDatabase), from which their numbers of occurrences may be looked up without counting
+		  * the DNA sequence again.
+		  * 
+		  * @param path        the path of the file
+		  * @param k           an Integer representing the length of each K-mer object
+		  * @throws IOException       if the file cannot be written
+		  */
+		public void writeDatabase(Path path, int k) throws IOException {
+			
+			int i;
+			long lStartTime = System.nanoTime();
+			long[] packedCodes = new long[nNumOfKMers];
+			int[] nCounts = new int[nNumOfKMers];
+			
+			for(i=0; i<nNumOfKMers; i++) {
+				packedCodes[i] = kMers.get(i).getlPackedCode();
+				nCounts[i] = kMers.get(i).getnNumOfOccurrences();
+			}
+			KMerCountDatabase.write(path, k, isCanonical, packedCodes, nCounts, nNumOfKMers);
+			
+			addOutputTime(lStartTime);
+		}
+		
+		/* This method adds the time elapsed since the start time passed to the time spent on the output, and to
+		   the metrics once they are recorded.                                                                  */
+		private void addOutputTime(long lStartTime) {
+			long lTime = System.nanoTime() - lStartTime;
+			
+			lOutputTime += lTime;
+			if(metrics != null) {
+				metrics.addTime(KMerMetrics.OUTPUT, lTime);
+			}
+		}
+		
+		/** A method that returns the hash function by which the K-mer objects are hashed in the integrated
+		  * HT data structure.
+		  * 
+		  * @return      the hash function utilized in storage
+		  */
+		public KMerHashFunction getHashFunction() {
+			return hashFunction;
+		}
+
+		/** A method that initializes the hash function by which the K-mer objects are hashed in the integrated
+		  * HT data structure, with the argument passed.
+		  * 
+		  * @param hashFunction     the hash function to be utilized in storage
+		  */
+		public void setHashFunction(KMerHashFunction hashFunction) {
+			this.hashFunction = hashFunction;
+		}
+		
+		/** A method that returns whether every K-mer is hashed, rather than counted in a flat array when k is small.
+		  * 
+		  * @return      true if every K-mer is hashed by the hash function, false otherwise
+		  */
+		public boolean isHashed() {
+			return isHashed;
+		}
+		
+		/** A method that initializes whether every K-mer is hashed, rather than counted in a flat array when k is
+		  * small, with the argument passed.
+		  * 
+		  * @param isHashed     a boolean denoting whether every K-mer is to be hashed by the hash function
+		  */
+		public void setHashed(boolean isHashed) {
+			this.isHashed = isHashed;
+		}
+		
+		/** A method that returns whether a K-mer and its reverse complement are counted as one K-mer object.
+		  * 
+		  * @return      a boolean denoting whether the K-mer objects are counted in canonical mode
+		  */
+		public boolean isCanonical() {
+			return isCanonical;
+		}
+		
+		/** A method that sets whether a K-mer and its reverse complement are counted as one K-mer object,
+		  * with the argument passed.
+		  * 
+		  * @param isCanonical     a boolean denoting whether the K-mer objects are to be counted in canonical mode
+		  */
+		public void setCanonical(boolean isCanonical) {
+			this.isCanonical = isCanonical;
+		}
+		
+		/** A method that returns the number of threads on which the K-mer objects are counted.
+		  * 
+		  * @return      the number of threads on which the K-mer objects are counted
+		  */
+		public int getnNumOfThreads() {
+			return nNumOfThreads;
+		}
+		
+		/** A method that initializes the number of threads on which the K-mer objects are counted, with the
+		  * argument passed. K-mers longer than PackedKMer.MAX_K are always counted on a single thread.
+		  * 
+		  * @param nNumOfThreads     an Integer representing the number of threads (at least 1)
+		  */
+		public void setnNumOfThreads(int nNumOfThreads) {
+			this.nNumOfThreads = nNumOfThreads;
+		}
+		
+		/** A method that returns whether the threads count the K-mer objects into a single shared table.
+		  * 
+		  * @return      a boolean denoting whether the threads share a single table
+		  */
+		public boolean isShared() {
+			return isShared;
+		}
+		
+		/** A method that sets whether the threads count the K-mer objects into a single shared table, rather
+		  * than each into a table of its own, with the argument passed.
+		  * 
+		  * @param isShared     a boolean denoting whether the threads are to share a single table
+		  */
+		public void setShared(boolean isShared) {
+			this.isShared = isShared;
+		}
+		
+		/** A method that returns the directory in which the bucket files are created, or null if every distinct
+		  * K-mer object is counted in memory at once.
+		  * 
+		  * @return      the directory of the bucket files, or null
+		  */
+		public Path getDiskDirectory() {
+			return diskDirectory;
+		}
+		
+		/** A method that initializes the directory in which the bucket files are created, with the argument passed,
+		  * such that K-mers of up to PackedKMer.MAX_K letters are counted through bucket files on disk.
+		  * 
+		  * @param diskDirectory     the directory of the bucket files, or null to count every K-mer object in memory
+		  */
+		public void setDiskDirectory(Path diskDirectory) {
+			this.diskDirectory = diskDirectory;
+		}
+		
+		/** A method that returns the number of buckets on disk, being 0 if it is chosen from the memory budget.
+		  * 
+		  * @return      the number of buckets on disk
+		  */
+		public int getnNumOfBuckets() {
+			return nNumOfBuckets;
+		}
+		
+		/** A method that initializes the number of buckets on disk, with the argument passed.
+		  * 
+		  * @param nNumOfBuckets     the number of buckets (1 to DiskKMerCounter.MAX_BUCKETS), or 0 for the number
+		  *                          of buckets to be chosen from the memory budget
+		  */
+		public void setnNumOfBuckets(int nNumOfBuckets) {
+			this.nNumOfBuckets = nNumOfBuckets;
+		}
+		
+		/** A method that returns the number of bytes in which the K-mer objects of a single bucket are meant to fit.
+		  * 
+		  * @return      the memory budget in bytes
+		  */
+		public long getlMemoryBudget() {
+			return lMemoryBudget;
+		}
+		
+		/** A method that initializes the number of bytes in which the K-mer objects of a single bucket are meant to
+		  * fit, with the argument passed.
+		  * 
+		  * @param lMemoryBudget     the memory budget in bytes
+		  */
+		public void setlMemoryBudget(long lMemoryBudget) {
+			this.lMemoryBudget = lMemoryBudget;
+		}
+		
+		/** A method that returns the path of the file to which the K-mer objects counted on disk are written.
+		  * 
+		  * @return      the path of the output file, or null if there is none
+		  */
+		public Path getOutputPath() {
+			return outputPath;
+		}
+		
+		/** A method that initializes the path of the file to which the K-mer objects counted on disk are written,
+		  * with the argument passed.
+		  * 
+		  * @param outputPath     the path of the output file, or null for none
+		  */
+		public void setOutputPath(Path outputPath) {
+			this.outputPath = outputPath;
+		}
+		
+		/** A method that returns whether the K-mer objects counted on disk are written in binary.
+		  * 
+		  * @return      true if the output file is binary, false if it is tab-separated text
+		  */
+		public boolean isBinary() {
+			return isBinary;
+		}
+		
+		/** A method that initializes whether the K-mer objects counted on disk are written in binary, with the
+		  * argument passed.
+		  * 
+		  * @param isBinary     true for a binary output file, false for tab-separated text
+		  */
+		public void setBinary(boolean isBinary) {
+			this.isBinary = isBinary;
+		}
+		
+		/** A method that returns whether the K-mers are only stored in the table once seen for the second time.
+		  * 
+		  * @return      a boolean denoting whether the K-mer objects are counted in Bloom-filtered mode
+		  */
+		public boolean isBloomFiltered() {
+			return isBloomFiltered;
+		}
+		
+		/** A method that sets whether the K-mers are only stored in the table once seen for the second time, with
+		  * the argument passed, such that the K-mers seen only once are excluded from the distribution.
+		  * 
+		  * @param isBloomFiltered     a boolean denoting whether the K-mer objects are to be counted in Bloom-filtered mode
+		  */
+		public void setBloomFiltered(boolean isBloomFiltered) {
+			this.isBloomFiltered = isBloomFiltered;
+		}
+		
+		/** A method that returns the least number of occurrences of the K-mer objects kept in the distribution.
+		  * 
+		  * @return      the minimum number of occurrences of a K-mer object
+		  */
+		public int getnMinCount() {
+			return nMinCount;
+		}
+		
+		/** A method that initializes the least number of occurrences of the K-mer objects kept in the distribution,
+		  * with the argument passed.
+		  * 
+		  * @param nMinCount     an Integer representing the minimum number of occurrences of a K-mer object
+		  */
+		public void setnMinCount(int nMinCount) {
+			this.nMinCount = nMinCount;
+		}
+		
+		/** A method that returns whether the tables are sized for the estimated number of distinct K-mers.
+		  * 
+		  * @return      a boolean denoting whether the tables are presized
+		  */
+		public boolean isPresized() {
+			return isPresized;
+		}
+		
+		/** A method that sets whether the number of distinct K-mers is estimated before they are counted, such that
+		  * the tables are sized for the estimate, with the argument passed.
+		  * 
+		  * @param isPresized     a boolean denoting whether the tables are to be presized
+		  */
+		public void setPresized(boolean isPresized) {
+			this.isPresized = isPresized;
+		}
+		
+		/** A method that returns the number of distinct K-mers estimated before they were last counted.
+		  * 
+		  * @return      the estimated number of distinct K-mers, or -1 if the tables were not presized
+		  */
+		public long getlEstimatedDistinctKMers() {
+			return lEstimatedDistinctKMers;
+		}
+		
+		/** A method that returns the path of the file in which the K-mer distribution is persisted, or null if it
+		  * is not.
+		  * 
+		  * @return      the path of the database file, or null
+		  */
+		public Path getDatabasePath() {
+			return databasePath;
+		}
+		
+		/** A method that initializes the path of the file in which the K-mer distribution is persisted once it is
+		  * counted (see KMerCountDatabase). Only a K-mer distribution of K-mers of up to PackedKMer.MAX_K letters
+		  * may be persisted.
+		  * 
+		  * @param databasePath     the path of the database file, or null for the distribution not to be persisted
+		  */
+		public void setDatabasePath(Path databasePath) {
+			this.databasePath = databasePath;
+		}
+		
+		/** A method that returns the time spent displaying, writing or persisting the K-mer objects in the K-mer
+		  * distribution.
+		  * 
+		  * @return      the time spent on the output, in nanoseconds
+		  */
+		public long getlOutputTime() {
+			return lOutputTime;
+		}
+		
+		/** A method that returns the metrics recorded while computing the distribution, or null if none are.
+		  * 
+		  * @return      the metrics of the distribution, or null
+		  */
+		public KMerMetrics getMetrics() {
+			return metrics;
+		}
+		
+		/** A method that initializes the metrics in which the time spent in each phase of computing the distribution,
+		  * and the shape of the counting engine, are recorded, with the argument passed.
+		  * 
+		  * @param metrics     the metrics to be recorded, or null for none to be recorded
+		  */
+		public void setMetrics(KMerMetrics metrics) {
+			this.metrics = metrics;
 		}
 		
 		/** A method that returns the number of K-mer objects in the K-mer distribution, 
@@ -412,6 +998,25 @@ class KMerDistribution {
 		public void setkMers(ArrayList<KMer> kMers) {
 			this.kMers = kMers;
 		}
+		
+		/* This class gathers the packed code and the number of occurrences of each K-mer handed over into two columns
+		   of primitive arrays, which grow by half as they fill up, such that no K-mer object is created for them.  */
+		private static class KMerColumns implements KMerCountConsumer {
+			private long[] packedCodes = new long[1024];
+			private int[] nCounts = new int[1024];
+			private int nNumOfKMers = 0;
+			
+			@Override
+			public void accept(long lPackedCode, int nCount) {
+				if(nNumOfKMers == packedCodes.length) {
+					packedCodes = Arrays.copyOf(packedCodes, nNumOfKMers + (nNumOfKMers >> 1));
+					nCounts = Arrays.copyOf(nCounts, packedCodes.length);
+				}
+				packedCodes[nNumOfKMers] = lPackedCode;
+				nCounts[nNumOfKMers] = nCount;
+				nNumOfKMers++;
+			}
+		}
 }
 
 /** This class, as its name implies, represents the Driver class, consisting of the main method, 
@@ -423,121 +1028,380 @@ public class DriverHT {
 		public static void main(String[]args) {
 			
 			boolean isValidInput = false;
-			int k = 0, nStringLength = 0, nNumOfCollisions;
+			int k = 0, nMaxK, nStringLength = 0, nNumOfCollisions;
 			String strDNASequence, strInputForLength, strInputForK;
 			
 			/* The variables of long datatype below are declared for the purpose of 
 		       estimating the running time of the algorithm.                       */
 			long midTime, endTime, timeElapsed;
 			
+			/* The K-mer objects are hashed by the rolling hash function, NtHash, unless another hash function is named
+			   as an argument of the program (i.e. "java DriverHT murmur3"), in which case every K-mer is hashed by it,
+			   while short K-mers are otherwise counted in a flat array, unhashed. Naming "compare" instead runs every
+			   hash function on the same DNA sequence and reports how each of them performs. Passing "canonical"
+			   as well counts a K-mer and its reverse complement as one (i.e. "java DriverHT murmur3 canonical"). 
+			   Naming a FASTA or FASTQ file reads the DNA sequence, S, from it rather than generating it at random
+			   (i.e. "java DriverHT genome.fasta"). Passing "parallel" counts the K-mers on every processor available,
+			   while "scaling" reports how counting on a random DNA sequence scales from 1 up to that many threads.
+			   Passing "shared" along with "parallel" has every thread count into a single lock-free table.
+			   Passing "disk" counts the K-mers through bucket files in the temporary directory, in as many buckets
+			   as "memory=<megabytes>" requires for each bucket, unless "buckets=<number>" is given as well, and
+			   writes them bucket after bucket to the file named by "out=<file>" or "db=<file>", never displaying them.
+			   Passing "sketch" only estimates the number of occurrences of the K-mers queried, in a Count-Min sketch
+			   of "width=<counters>" and "depth=<rows>" (by default, 4 rows of 2^18 counters, or 4 megabytes).
+			   Passing "bloom" only stores the K-mers seen at least twice, and "min=<count>" only displays the
+			   K-mers of at least that many occurrences. Passing "presize" estimates the number of distinct K-mers
+			   first (see HyperLogLog), such that the tables are sized for them from the start. Passing "metrics"
+			   displays the time spent in each phase and the shape of the counting engine as JSON (see KMerMetrics),
+			   or writes it to a file with "metrics=<file>". Passing "out=<file>" writes the K-mer distribution to a
+			   file as tab-separated text rather than displaying it, or in binary with "binary" as well, while "tsv"
+			   writes it to the console as tab-separated text (see KMerWriter). Passing "db=<file>" persists the
+			   K-mer distribution in a file, from which it may be looked up later on (see KMerCountDatabase).
+			   Passing "multi=<k>,<k>,..." computes the K-mer distribution of each length given in a single pass
+			   over the DNA sequence, S, rather than prompting for k (i.e. "java DriverHT multi=5,6,7").             */
+			String strHashFunction = "nthash";
+			boolean isHashNamed = false;
+			boolean isCanonical = false, isScaling = false, isShared = false;
+			int nNumOfThreads = 1, nNumOfBuckets = 0, nSketchWidth = 1 << 18, nSketchDepth = 4, nMinCount = 1;
+			boolean isSketch = false, isBloomFiltered = false, isPresized = false;
+			KMerMetrics metrics = null;
+			Path metricsPath = null;
+			Path outputPath = null, databasePath = null;
+			int[] kValues = null;
+			boolean isBinary = false, isTsv = false;
+			long lMemoryBudget = Runtime.getRuntime().maxMemory() / 4;
+			Path diskDirectory = null;
+			MappedSequenceReader sequenceReader = null;
+			
+			for(String strArgument : args) {
+				if(strArgument.equalsIgnoreCase("canonical")) {
+					isCanonical = true;
+				} else if(strArgument.equalsIgnoreCase("parallel")) {
+					nNumOfThreads = Runtime.getRuntime().availableProcessors();
+				} else if(strArgument.equalsIgnoreCase("shared")) {
+					isShared = true;
+				} else if(strArgument.equalsIgnoreCase("disk")) {
+					diskDirectory = Path.of(System.getProperty("java.io.tmpdir"));
+				} else if(strArgument.toLowerCase().startsWith("buckets=") || strArgument.toLowerCase().startsWith("memory=")) {
+					try {
+						if(strArgument.toLowerCase().startsWith("buckets=")) {
+							nNumOfBuckets = Integer.parseInt(strArgument.substring("buckets=".length()));
+						} else {
+							lMemoryBudget = Long.parseLong(strArgument.substring("memory=".length())) << 20;
+						}
+					} catch(NumberFormatException e) {
+						System.out.println("Invalid Input! Not an integer: " + strArgument);
+						return;
+					}
+					if(nNumOfBuckets < 0 || nNumOfBuckets > DiskKMerCounter.MAX_BUCKETS || lMemoryBudget <= 0) {
+						System.out.println("Invalid Input! Buckets must be from 1 to " + DiskKMerCounter.MAX_BUCKETS
+								+ ", and memory must be a positive number of megabytes.");
+						return;
+					}
+				} else if(strArgument.equalsIgnoreCase("metrics")) {
+					metrics = new KMerMetrics();
+				} else if(strArgument.toLowerCase().startsWith("metrics=")) {
+					metrics = new KMerMetrics();
+					metricsPath = Path.of(strArgument.substring("metrics=".length()));
+				} else if(strArgument.toLowerCase().startsWith("out=")) {
+					outputPath = Path.of(strArgument.substring("out=".length()));
+				} else if(strArgument.toLowerCase().startsWith("multi=")) {
+					try {
+						kValues = Arrays.stream(strArgument.substring("multi=".length()).split(","))
+								.mapToInt(strK -> Integer.parseInt(strK.trim())).distinct().sorted().toArray();
+					} catch(NumberFormatException e) {
+						System.out.println("Invalid Input! Not a list of integers: " + strArgument);
+						return;
+					}
+					if(kValues.length == 0 || kValues[0] < 1 || kValues[kValues.length - 1] > PackedKMer.MAX_K) {
+						System.out.println("Invalid Input! Each length must be from 1 to " + PackedKMer.MAX_K + ".");
+						return;
+					}
+				} else if(strArgument.toLowerCase().startsWith("db=")) {
+					databasePath = Path.of(strArgument.substring("db=".length()));
+				} else if(strArgument.equalsIgnoreCase("binary")) {
+					isBinary = true;
+				} else if(strArgument.equalsIgnoreCase("tsv")) {
+					isTsv = true;
+				} else if(strArgument.equalsIgnoreCase("presize")) {
+					isPresized = true;
+				} else if(strArgument.equalsIgnoreCase("bloom")) {
+					isBloomFiltered = true;
+				} else if(strArgument.toLowerCase().startsWith("min=")) {
+					try {
+						nMinCount = Integer.parseInt(strArgument.substring("min=".length()));
+					} catch(NumberFormatException e) {
+						System.out.println("Invalid Input! Not an integer: " + strArgument);
+						return;
+					}
+					if(nMinCount < 1) {
+						System.out.println("Invalid Input! Minimum count must be a positive integer.");
+						return;
+					}
+				} else if(strArgument.equalsIgnoreCase("sketch")) {
+					isSketch = true;
+				} else if(strArgument.toLowerCase().startsWith("width=") || strArgument.toLowerCase().startsWith("depth=")) {
+					try {
+						if(strArgument.toLowerCase().startsWith("width=")) {
+							nSketchWidth = Integer.parseInt(strArgument.substring("width=".length()));
+						} else {
+							nSketchDepth = Integer.parseInt(strArgument.substring("depth=".length()));
+						}
+					} catch(NumberFormatException e) {
+						System.out.println("Invalid Input! Not an integer: " + strArgument);
+						return;
+					}
+					if(nSketchWidth < 1 || nSketchWidth > (1 << 30) || nSketchDepth < 1 || nSketchDepth > 64) {
+						System.out.println("Invalid Input! Width must be from 1 to 2^30, and depth from 1 to 64.");
+						return;
+					}
+				} else if(strArgument.equalsIgnoreCase("scaling")) {
+					isScaling = true;
+				} else if(Files.isRegularFile(Path.of(strArgument))) {
+					sequenceReader = new MappedSequenceReader(Path.of(strArgument));
+				} else {
+					/* Any other argument must name a hash function, or else it is either mistyped or a file which
+					   does not exist.                                                                          */
+					try {
+						if(!strArgument.equalsIgnoreCase("compare")) {
+							KMerHashFunction.forName(strArgument);
+						}
+					} catch(IllegalArgumentException e) {
+						System.out.println("Invalid Input! Unknown hash function or file: " + strArgument);
+						System.out.println("The hash functions are: " + Arrays.stream(KMerHashFunction.all())
+								.map(KMerHashFunction::getName).collect(Collectors.joining(", ")) + ".");
+						return;
+					}
+					strHashFunction = strArgument;
+					isHashNamed = true;
+				}
+			}
+			boolean isComparison = strHashFunction.equalsIgnoreCase("compare");
+			KMerHashFunction hashFunction = isComparison ? null : KMerHashFunction.forName(strHashFunction);
+			
+			/* The hash functions are only compared on a DNA sequence held in a String object. */
+			if(isComparison && sequenceReader != null) {
+				System.out.println("Invalid Input! Hash functions are only compared on a random DNA sequence.");
+				return;
+			}
+			if(isScaling && (isComparison || sequenceReader != null)) {
+				System.out.println("Invalid Input! Scaling is only reported on a random DNA sequence, for a single hash function.");
+				return;
+			}
+			if(kValues != null && (isComparison || isScaling || isSketch || nNumOfThreads > 1 || diskDirectory != null
+					|| isBloomFiltered || outputPath != null || databasePath != null || metrics != null)) {
+				System.out.println("Invalid Input! Several lengths are only counted in memory, on a single thread, and displayed.");
+				return;
+			}
+			if(diskDirectory != null && outputPath == null && databasePath == null) {
+				System.out.println("Invalid Input! K-mers counted on disk are only written to a file, named by \"out=<file>\" or \"db=<file>\".");
+				return;
+			}
+			if(isBinary && outputPath == null) {
+				System.out.println("Invalid Input! The binary form is only written to a file, named by \"out=<file>\".");
+				return;
+			}
+			
 			/* A new Scanner object is declared and initialized in order to prompt 
 			   user of the desired length, n, by which a random DNA sequence, S, shall
 			   be generated, consisting only of letters from the alphabet, {a,c,g,t}. */
 			Scanner scanner = new Scanner(System.in);
-			System.out.println("INPUT LENGTH: ");
+			/* Unless the DNA sequence, S, is read from a file, the user is prompted of its length. */
+			strDNASequence = null;
+			if(sequenceReader == null) {
+				System.out.println("INPUT LENGTH: ");
 			
 			
-			/* This do-while loop iterates for as long as user enters invalid input for the
-			   length, such as input which do not correspond to an Integer value (i.e. String, 
-			   double, etc.).                                                                 */
-			do{
-				/* The try block executes code that scans the user's input for the desired length
-				   while also checking if their input as String can be parsed into an integer for 
-				   validity checking. This is done to avoid any errors beforehand, upon implementing
-				   the algorithm.                                                                   */
-				try {
-					strInputForLength = scanner.next();
-					nStringLength = Integer.parseInt(strInputForLength);
+				/* This do-while loop iterates for as long as user enters invalid input for the
+				   length, such as input which do not correspond to an Integer value (i.e. String, 
+				   double, etc.).                                                                 */
+				do{
+					/* The try block executes code that scans the user's input for the desired length
+					   while also checking if their input as String can be parsed into an integer for 
+					   validity checking. This is done to avoid any errors beforehand, upon implementing
+					   the algorithm.                                                                   */
+					try {
+						strInputForLength = scanner.next();
+						nStringLength = Integer.parseInt(strInputForLength);
 					
-					/* The boolean attribute below is modified to true once their input is valid
-					   (i.e. representing anIinteger).                                             */
-					isValidInput = true;
+						/* The boolean attribute below is modified to true once their input is valid
+						   (i.e. representing anIinteger).                                             */
+						isValidInput = true;
 					
-					/* However, the same attribute is modified to false again once their input is not
-					   representing a positive integer (i.e. either zero or negative). An informative 
-					   error message is also displayed, and the procedure of scanning input repeats. */
-					if(nStringLength <= 0) {
-					    System.out.println("Invalid Input! Not a positive integer.");
-					    isValidInput = false;
-					}			
-				    /* If the String cannot be parsed into an integer, NumberFormatException is caught.
-				       An informative error message will be displayed, allowing the user to enter new 
-				       input, as the do-while loop iterates.                                          */
-				} catch(NumberFormatException e) {
-					System.out.println("Invalid Input! Not an integer.");
-				}
+						/* However, the same attribute is modified to false again once their input is not
+						   representing a positive integer (i.e. either zero or negative). An informative 
+						   error message is also displayed, and the procedure of scanning input repeats. */
+						if(nStringLength <= 0) {
+						    System.out.println("Invalid Input! Not a positive integer.");
+						    isValidInput = false;
+						}			
+					    /* If the String cannot be parsed into an integer, NumberFormatException is caught.
+					       An informative error message will be displayed, allowing the user to enter new 
+					       input, as the do-while loop iterates.                                          */
+					} catch(NumberFormatException e) {
+						System.out.println("Invalid Input! Not an integer.");
+					}
 
-			} while(!isValidInput);
+				} while(!isValidInput);
 			
-			/* Once user's input of desired length is finally valid, the static method of generating a 
-			   random DNA sequence from the class shall be called, to which its return value corresponding to 
-			   the input DNA sequence for the algorithm is stored in the appropriate variable (strDNASequence). */
-			strDNASequence = generateRandomDNASequence(nStringLength);
+				/* Once user's input of desired length is finally valid, the static method of generating a 
+				   random DNA sequence from the class shall be called, to which its return value corresponding to 
+				   the input DNA sequence for the algorithm is stored in the appropriate variable (strDNASequence). */
+				strDNASequence = generateRandomDNASequence(nStringLength);
 			
-			/* The random DNA Sequence generated is displayed for the purpose of assuring its validity as
-			   consisting only of letters from the alphabet, {a,c,g,t}, and of a fixed length, n.         */
-			System.out.println("Random DNA Sequence of Length " + nStringLength + ": " + strDNASequence + "\n");
-		
-			System.out.println("INPUT K: ");
+				/* The random DNA Sequence generated is displayed for the purpose of assuring its validity as
+				   consisting only of letters from the alphabet, {a,c,g,t}, and of a fixed length, n.         */
+				System.out.println("Random DNA Sequence of Length " + nStringLength + ": " + strDNASequence + "\n");
+			} else {
+				System.out.println("DNA Sequence read from: " + sequenceReader.getPath() + "\n");
+			}
 			
-			isValidInput = false;
+			/* Once several lengths are given, the user is not prompted of k. */
+			if(kValues == null) {
+				System.out.println("INPUT K: ");
 			
-			/* This do-while loop iterates for as long as user enters invalid input for the
-			   length of each k-mer (k), such as input which do not correspond to an integer value 
-			   (i.e. String, double, etc.).                                                        */
-			do{
-				/* The try block executes code that scans the user's input for the desired length
-				   of each K-mer object while also checking if their input as String can be parsed 
-				   into an integer for validity checking. This is done to avoid any errors beforehand,
-				   upon implementing the algorithm.                                                   */
-				try {
-					strInputForK = scanner.next();
-					k = Integer.parseInt(strInputForK);
+				isValidInput = false;
+			
+				/* This do-while loop iterates for as long as user enters invalid input for the
+				   length of each k-mer (k), such as input which do not correspond to an integer value 
+				   (i.e. String, double, etc.).                                                        */
+				do{
+					/* The try block executes code that scans the user's input for the desired length
+					   of each K-mer object while also checking if their input as String can be parsed 
+					   into an integer for validity checking. This is done to avoid any errors beforehand,
+					   upon implementing the algorithm.                                                   */
+					try {
+						strInputForK = scanner.next();
+						k = Integer.parseInt(strInputForK);
 					
-					/* The boolean attribute below is modified to true once their input is valid
-					   (i.e. representing an integer).                                             */
-					isValidInput = true;
+						/* The boolean attribute below is modified to true once their input is valid
+						   (i.e. representing an integer).                                             */
+						isValidInput = true;
 					
-					/* However, the same attribute is modified to false again once their input is not
-					   representing any valid K-mer length for the algorithm, {5, 6, 7}. An informative 
-					   error message is also displayed, and the procedure of scanning input repeats. */
-					if(k != 5 && k!=6 && k!= 7) {
-					    System.out.println("Invalid Input! Integer must only be equivalent to 5, 6, or 7.");
-					    isValidInput = false;
-					}			
-				    /* If the String cannot be parsed into an integer, NumberFormatException is caught.
-				       An informative error message will be displayed, allowing the user to enter new 
-				       input, as the do-while loop iterates.                                          */
-				} catch(NumberFormatException e) {
-					System.out.println("Invalid Input! Not an integer.");
-				}
+						/* However, the same attribute is modified to false again once their input is not
+						   representing any valid K-mer length for the algorithm, from 1 up to the longest K-mer
+						   which can be packed (only up to 31 for the comparison of hash functions, the scaling
+						   report, the sketch, the database, the bucket files on disk and the Bloom filter, which hold
+						   single packed codes). An informative error message is also displayed, and the procedure of
+						   scanning input repeats.                                                                 */
+						nMaxK = isComparison || isScaling || isSketch || databasePath != null || diskDirectory != null
+								|| isBloomFiltered ? PackedKMer.MAX_K : WidePackedKMer.MAX_K;
+						if(k < 1 || k > nMaxK) {
+						    System.out.println("Invalid Input! Integer must be from 1 to " + nMaxK + ".");
+						    isValidInput = false;
+						}			
+					    /* If the String cannot be parsed into an integer, NumberFormatException is caught.
+					       An informative error message will be displayed, allowing the user to enter new 
+					       input, as the do-while loop iterates.                                          */
+					} catch(NumberFormatException e) {
+						System.out.println("Invalid Input! Not an integer.");
+					}
 
-			} while(!isValidInput);	
+				} while(!isValidInput);	
+			}
 			
 			/* The midTime variable stores the current value of the most precise available system timer, 
 			   in nanoseconds, as it deems essential to calculate the execution time of the algorithm soon. */                                                                            
 			midTime = System.nanoTime();
 			
+			/* In the comparison mode, the report on every hash function is displayed in place of the K-mer distribution. */
+			if(isComparison) {
+				new KMerHashComparison(strDNASequence, k).displayComparison();
+				scanner.close();
+				return;
+			}
+			
+			/* In the scaling mode, the report on every number of threads is displayed in place of the K-mer distribution. */
+			if(isScaling) {
+				new ParallelScalingReport(strDNASequence, k, hashFunction).displayReport();
+				scanner.close();
+				return;
+			}
+			
 			/* In order to conduct the algorithm required for the computation of a K-mer distribution of a DNA
 			   sequence, S, a new KMerDistribution object is created, passing as argument, the DNA sequence 
 			   which was randomly generated.                                                                  */
-			KMerDistribution kMerDistribution = new KMerDistribution(strDNASequence);
+			KMerDistribution kMerDistribution = sequenceReader == null ? new KMerDistribution(strDNASequence)
+			                                                           : new KMerDistribution(sequenceReader);
+			kMerDistribution.setHashFunction(hashFunction);
+			kMerDistribution.setHashed(isHashNamed);
+			kMerDistribution.setCanonical(isCanonical);
+			kMerDistribution.setnNumOfThreads(nNumOfThreads);
+			kMerDistribution.setShared(isShared);
+			kMerDistribution.setDiskDirectory(diskDirectory);
+			kMerDistribution.setnNumOfBuckets(nNumOfBuckets);
+			kMerDistribution.setlMemoryBudget(lMemoryBudget);
+			kMerDistribution.setBloomFiltered(isBloomFiltered);
+			kMerDistribution.setnMinCount(nMinCount);
+			kMerDistribution.setPresized(isPresized);
+			kMerDistribution.setMetrics(metrics);
+			kMerDistribution.setDatabasePath(databasePath);
+			kMerDistribution.setOutputPath(outputPath);
+			kMerDistribution.setBinary(isBinary);
+			
+			/* Once several lengths are given, the K-mer distribution of each length is displayed in turn. */
+			if(kValues != null) {
+				displayKMersOfEachLength(kValues, kMerDistribution.generateKMers(kValues));
+				
+				timeElapsed = System.nanoTime() - midTime;
+				System.out.println("\n\nExecution time in nanoseconds: " + timeElapsed);
+				System.out.println("Execution time in seconds: " + timeElapsed/(double)1000000000);
+				scanner.close();
+				return;
+			}
+			
+			/* In the sketch mode, the user is prompted of the K-mers whose number of occurrences is to be estimated. */
+			if(isSketch) {
+				queryCountMinSketch(kMerDistribution.generateSketch(k, nSketchWidth, nSketchDepth), scanner);
+				scanner.close();
+				return;
+			}
 			
 			/* The method of the object is called in order to finally conduct the algorithm for the computation of a K-mer
 			   distribution, passing along the appropriate argument, such as the desired length of each K-mer. Its
 			   return value is stored in the appropriate variable, nNumOfCollisions.                                      */
-			nNumOfCollisions = kMerDistribution.generateKMers(k);
+			try {
+				nNumOfCollisions = kMerDistribution.generateKMers(k);
+			} catch(UncheckedIOException e) {
+				System.out.println("K-mer distribution could not be computed: " + e.getCause());
+				scanner.close();
+				return;
+			}
 			
 			System.out.println("\nPLACEMENT BY INSERTION: ");
 			
 			/* The list of K-mer objects in the distribution is displayed, along with each of their number
 			   of occurrences in the original DNA sequence, S. The method "displayKMers()" of the object is called
-			   for this purpose.                                                                                  */ 
+			   for this purpose, unless the K-mer objects are written through a KMerWriter object instead, which
+			   has already been done while counting them on disk.                                              */ 
 		    /* NOTE: The order of display is dependent on each K-mer object's placement in the insertion procedure. */
-			kMerDistribution.displayKMers();
+			try {
+				if(diskDirectory != null) {
+					if(outputPath != null) {
+						System.out.println("Written to " + outputPath);
+					}
+				} else if(outputPath != null) {
+					kMerDistribution.writeKMers(isBinary ? new BinaryKMerWriter(k, outputPath) : new TsvKMerWriter(k, outputPath));
+					System.out.println("Written to " + outputPath);
+				} else if(isTsv) {
+					kMerDistribution.writeKMers(new TsvKMerWriter(k));
+				} else {
+					kMerDistribution.displayKMers();
+				}
+			} catch(IOException e) {
+				System.out.println("K-mers could not be written to " + (outputPath == null ? "the console" : outputPath) + ": " + e.getMessage());
+			}
 
 			/* The number of collisions encountered upon storage of each distinct K-mer object in the HT data structure is also displayed. */
-			System.out.println("\nNumber of Collisions: " + nNumOfCollisions);
+			System.out.println("\nHash Function: " + hashFunction.getName());
+			System.out.println("Number of Collisions: " + nNumOfCollisions);
+			
+			/* Once presized, the estimated number of distinct K-mer objects is displayed along with the actual one,
+			   unless they were counted on disk, where they are written out rather than listed.                  */
+			if(kMerDistribution.getlEstimatedDistinctKMers() >= 0 && diskDirectory == null) {
+				System.out.println("Estimated Number of Distinct K-mers: " + kMerDistribution.getlEstimatedDistinctKMers()
+						+ " (actual: " + kMerDistribution.getnNumOfKMers() + ")");
+			}
 			
 			/* The endTime variable stores the current value of the most precise available system timer, 
 			   in nanoseconds, as it deems essential to calculate the execution time of the algorithm soon. */                                                                   
@@ -554,11 +1418,83 @@ public class DriverHT {
 		       running time of the algorithm in the report, and comparison with other implementations.       */
 		    System.out.println("\n\nExecution time in nanoseconds: " + timeElapsed);
 		    System.out.println("Execution time in seconds: " + timeElapsed/(double)1000000000);
+		    
+		    /* The time spent counting is displayed apart from that spent displaying (or writing) the K-mer
+		       distribution, as the latter may take longer than the former on a large number of K-mers.      */
+		    System.out.println("Counting time in seconds: " + (timeElapsed - kMerDistribution.getlOutputTime())/(double)1000000000);
+		    System.out.println("Output time in seconds: " + kMerDistribution.getlOutputTime()/(double)1000000000);
+		    
+		    /* The metrics are displayed (or written to their file) apart from the execution time, as they are
+		       only recorded once the algorithm is over.                                                      */
+		    if(metrics != null) {
+		    	metrics.commitEvents();
+		    	if(metricsPath == null) {
+		    		System.out.println("\nMETRICS: \n" + metrics.toJson());
+		    	} else {
+		    		try {
+		    			metrics.writeJson(metricsPath);
+		    		} catch(IOException e) {
+		    			System.out.println("Metrics could not be written to " + metricsPath + ": " + e.getMessage());
+		    		}
+		    	}
+		    }
 			
 			 /* The method "close" on the Scanner object is called, upon termination of the program. */
 			scanner.close();
 		}
 		
+	/** A method that displays the K-mer distribution of each length passed, along with its number of distinct K-mers.
+	  * 
+	  * @param kValues              the lengths of each K-mer object, in the order of the distributions
+	  * @param kMersOfEachLength    the list of K-mer objects of each length
+	  */
+	public static void displayKMersOfEachLength(int[] kValues, ArrayList<ArrayList<KMer>> kMersOfEachLength) {
+		int i;
+		PrintWriter writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out)));
+		
+		for(i=0; i<kValues.length; i++) {
+			writer.println("\nK = " + kValues[i] + ": ");
+			for(KMer kMer : kMersOfEachLength.get(i)) {
+				writer.println(kMer);
+			}
+			writer.println("Number of Distinct K-mers: " + kMersOfEachLength.get(i).size());
+		}
+		
+		/* The writer is flushed rather than closed, as closing it would close the console as well. */
+		writer.flush();
+	}
+	
+	/** A method that displays the size and error bound of the Count-Min sketch passed, then estimates the number of
+	  * occurrences of each K-mer entered by the user, until "done" is entered.
+	  * 
+	  * @param sketch      the sketch in which every K-mer of the DNA sequence, S, has been counted
+	  * @param scanner     the Scanner object from which the K-mers are read
+	  */
+	public static void queryCountMinSketch(CountMinSketch sketch, Scanner scanner) {
+		String strInputForKMer;
+		
+		System.out.println("\nCOUNT-MIN SKETCH: " + sketch.getnDepth() + " x " + sketch.getnWidth() + " counters ("
+				+ sketch.getlMemoryInBytes() + " bytes), " + sketch.getlNumOfKMers() + " K-mers counted");
+		System.out.println(String.format("Each estimate exceeds the actual number of occurrences by at most %.2f, "
+				+ "except with a probability of %.6f.", sketch.getdErrorBound(), sketch.getdFailureProbability()));
+		System.out.println("\nINPUT K-MER (or \"done\"): ");
+		
+		while(scanner.hasNext()) {
+			strInputForKMer = scanner.next();
+			
+			if(strInputForKMer.equalsIgnoreCase("done")) {
+				break;
+			}
+			
+			/* A K-mer which is either of another length or not over the alphabet, {a,c,g,t}, cannot be estimated. */
+			try {
+				System.out.println(strInputForKMer + " (~" + sketch.getCount(strInputForKMer) + ")");
+			} catch(IllegalArgumentException e) {
+				System.out.println("Invalid Input! " + e.getMessage());
+			}
+		}
+	}
+	
    /** As the name implies, a method that generates a random DNA sequence, given user's desired 
 	 * length of it and inclusion of letters from the alphabet, {a,c,g,t}.  It takes advantage 
 	 * of creating objects of pre-defined classes in Java, such as StringBuilder class and
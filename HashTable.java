@@ -0,0 +1,410 @@
+import java.util.LinkedList;
+
+/** This class is a template for a HT object or Hash Table, whose structure is important
+ *  to integrate as part of the algorithm required to compute for the K-mer distribution of a DNA
+ *  Sequence, S. It consists of an array of LinkedLists, referred to as "buckets", which can store given
+ *  K-mer object/s in a location depending on the key generated from a hash function. It also consists of variables,
+ *  such as nMaxSize, which, as its name implies, will store the current size of the HT object (i.e. the number of
+ *  LinkedLists in the array), and a counter variable such as nNumOfCollisions, which will store the collision frequency
+ *  upon storing the K-mer objects in this implemented HashTable object, specifically to each "bucket" or LinkedList.
+ *
+ *  The hash function by which the key of each K-mer object is computed is supplied upon construction (see KMerHashFunction),
+ *  such that the same HashTable can be compared across hash functions, such as MurmurHash3 and XXHash.
+ *
+ *  The HashTable starts small and grows with the number of distinct K-mer objects stored, rather than with the length,
+ *  n, of the input DNA sequence. Once the number of K-mer objects per LinkedList exceeds the maximum load factor, an
+ *  array of twice as many LinkedLists is created, and the LinkedLists of the previous array are moved to it a few at a
+ *  time upon each following insert() operation (incremental rehashing), such that no single insert() operation has to
+ *  move every K-mer object at once. Each LinkedList is only created once a K-mer object is stored in it.
+ *
+ *  NOTE: The collision resolution technique utilized is Separate Chaining, as evident from the use of LinkedLists.
+ */
+class HashTable{
+
+	/* The number of LinkedLists of a HashTable object which starts small, and the number of K-mer objects
+	   per LinkedList beyond which the array of LinkedLists is doubled.                                  */
+	public static final int MIN_SIZE = 16;
+	public static final double MAX_LOAD_FACTOR = 0.75;
+
+	/* The number of LinkedLists moved from the previous array to the current one upon each insert() operation,
+	   which is enough to finish rehashing long before the current array must grow in turn.                    */
+	private static final int REHASH_STEP = 4;
+
+	private LinkedList<KMer> [] buckets;
+	private int nMaxSize;
+	private KMerHashFunction hashFunction;
+
+	/* While rehashing, the previous array of LinkedLists is kept, along with the index of the next of its
+	   LinkedLists to be moved. Otherwise, there is no previous array.                                     */
+	private LinkedList<KMer> [] oldBuckets = null;
+	private int nRehashIndex = 0;
+
+	private int nNumOfKMers = 0;
+	private int nNumOfResizes = 0;
+
+	/* By default, the number of collisions encountered in the HashTable, with
+	   the existence of empty LinkedLists, is 0.                              */
+	private int nNumOfCollisions = 0;
+
+	/** This constructor creates a HashTable object of the minimum size, which grows as
+	  * K-mer objects are inserted. The hash function, MurmurHash3, is utilized to compute the
+	  * key of each K-mer object.
+	  */
+	public HashTable() {
+		this(MIN_SIZE, new Murmur3KMerHash());
+	}
+
+	/** This constructor creates a HashTable object of the minimum size, which grows as
+	  * K-mer objects are inserted, by supplying the needed value of its attribute, hashFunction,
+	  * with the argument passed.
+	  *
+	  * @param hashFunction      the hash function by which the key of each K-mer object is computed
+	  */
+	public HashTable(KMerHashFunction hashFunction) {
+		this(MIN_SIZE, hashFunction);
+	}
+
+	/** This constructor creates a HashTable object by supplying the
+	  * needed value of its attribute, nMaxSize, with the argument passed. The
+	  * hash function, MurmurHash3, is utilized to compute the key of each K-mer object.
+	  *
+	  *
+	  * @param nMaxSize      an Integer which represents the initial number of LinkedLists that
+	  *                      the array of LinkedLists, buckets, can hold (such as the expected number
+	  *                      of distinct K-mer objects)
+	  */
+	public HashTable(int nMaxSize) {
+		this(nMaxSize, new Murmur3KMerHash());
+	}
+
+	/** This constructor creates a HashTable object by supplying the
+	  * needed values of its attributes, nMaxSize and hashFunction, with the arguments passed.
+	  *
+	  *
+	  * @param nMaxSize          an Integer which represents the initial number of LinkedLists that
+	  *                          the array of LinkedLists, buckets, can hold (such as the expected number
+	  *                          of distinct K-mer objects)
+	  * @param hashFunction      the hash function by which the key of each K-mer object is computed
+	  */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public HashTable(int nMaxSize, KMerHashFunction hashFunction) {
+
+		this.hashFunction = hashFunction;
+
+		/* The same argument passed to initialize nMaxSize is used to set the
+		   number of LinkedLists that the array, buckets, can hold.  Note that each
+		   LinkedList is only created once a K-mer object is stored in it.         */
+		this.nMaxSize = Math.max(nMaxSize, 1);
+		buckets = new LinkedList[this.nMaxSize];
+	}
+
+	/** A method that checks whether the substring of a K-mer object belonging to a
+	  * LinkedList (whose key is computed by the hash function) in the array, is same as
+	  * the packed code passed, which represents a newly extracted substring from the input DNA
+	  * sequence, S. In this case, the K-mer object possessing such a code is no longer added to the
+	  * LinkedList, but its number of occurrences in the input DNA sequence, must be increased.
+	  *
+	  * @param nKey            an Integer storing the index of a LinkedList in the array
+	  *                        whose K-mer object's substring may possibly match with
+	  *                        the packed code passed, lPackedCode
+	  * @param lPackedCode     the 2-bit packed code of a substring representing the K-mer
+	  *                        object which may/may not be added to the LinkedList indexed
+	  *                        by the nKey argument passed
+	  * @return                an Integer representing the index of the K-mer object in the LinkedList,
+	  *                        which holds the value of the packed code passed, lPackedCode
+	  */
+	public int search(int nKey, long lPackedCode) {
+		return searchIn(buckets[nKey], lPackedCode);
+	}
+
+	/* This method "searches" for any duplicate of the packed code passed in the LinkedList passed, which may belong
+	   to either the current or the previous array of LinkedLists. Since K-mer objects of the same length share the same
+	   code only if their substrings are equal, comparing two longs is enough to detect multiple occurrences of a specific
+	   substring in the input DNA sequence, S. The LinkedList is walked through once, rather than indexed by get().      */
+	private int searchIn(LinkedList<KMer> bucket, long lPackedCode) {
+		int nIndex = 0;
+
+		/* A LinkedList which has not been created yet holds no K-mer object. */
+		if(bucket == null) {
+			return -1;
+		}
+
+		for(KMer kMer : bucket) {
+
+			/* Once the packed code of a K-mer object belonging to the LinkedList matches with the code
+			   passed, its number of occurrences is increased, and its index in the LinkedList is returned. */
+			if(kMer.getlPackedCode() == lPackedCode) {
+				kMer.increaseNumOfOccurrences();
+				return nIndex;
+			}
+			nIndex++;
+		}
+
+		/* If K-mer object with the code passed does not exist in the LinkedList, a value of -1 is returned. */
+		return -1;
+	}
+
+
+	/** A method that allows the insertion of each K-mer object (such that it represents a distinct substring of the input DNA sequence, S) in the
+	  *  HashTable object constructed. The hash function supplied upon construction has been utilized to determine the key, or index of the LinkedList to which each
+	  *  K-Mer object may be added amongst the array of LinkedLists. Through calling this method, the K-mer distribution of the input DNA sequence, S, is also computed, along with
+	  *  the total number of collisions encountered in storing each K-mer object in the HashTable constructed. Collision is resolved through Separate Chaining,
+	  *  as evident by the use of LinkedLists.
+	  *
+	  *  Only the packed code of the substring is passed, such that a K-mer object is created only once the substring turns out to be distinct.
+	  *
+	  * @param lPackedCode          the 2-bit packed code of the substring to be added to a LinkedList of randomized key or index based on the
+	  *                             value computed from the hash function
+	  * @param k                    an Integer representing the length of the substring
+	  * @return                     the newly created K-mer object if the substring is distinct, or null if it already exists
+	  *                             in the HashTable (such that its number of occurrences is increased instead)
+	  */
+	public KMer insert(long lPackedCode, int k) {
+
+		/* The hash value of the K-mer object is computed through the hash function, applied on the packed code itself. */
+		return insertHashed(lPackedCode, k, hashFunction.hash(lPackedCode, k));
+	}
+
+	/** A method that allows the insertion of each K-mer object in the HashTable object constructed, in the same manner as
+	  *  insert(), but with a hash value computed beforehand by the same hash function, such as the value of a rolling hash function
+	  *  which is updated in constant time as the window slides over the input DNA sequence, S, rather than computed from every letter
+	  *  of each substring.
+	  *
+	  * @param lPackedCode          the 2-bit packed code of the substring to be added to a LinkedList of randomized key or index based on
+	  *                             the hash value passed
+	  * @param k                    an Integer representing the length of the substring
+	  * @param lHash                the 64-bit hash value of the substring
+	  * @return                     the newly created K-mer object if the substring is distinct, or null if it already exists
+	  *                             in the HashTable (such that its number of occurrences is increased instead)
+	  */
+	public KMer insertHashed(long lPackedCode, int k, long lHash) {
+		int nOldKey;
+		KMer kMer;
+
+		/* While rehashing, a few more LinkedLists of the previous array are moved to the current one. A K-mer object
+		   whose LinkedList has not been moved yet is still searched for in the previous array.                      */
+		if(oldBuckets != null) {
+			rehashStep();
+		}
+		if(oldBuckets != null) {
+			nOldKey = keyOf(lHash, oldBuckets.length);
+
+			if(nOldKey >= nRehashIndex && searchIn(oldBuckets[nOldKey], lPackedCode) != -1) {
+				return null;
+			}
+		}
+
+		/* The value of the key or index of LinkedList to which the K-mer object can be inserted, is computed from the hash value. */
+		kMer = insertAt(keyOf(lHash, nMaxSize), lPackedCode, k);
+
+		/* Once the number of distinct K-mer objects per LinkedList exceeds the maximum load factor, the array of LinkedLists grows. */
+		if(kMer != null && nNumOfKMers > nMaxSize * MAX_LOAD_FACTOR) {
+			grow();
+		}
+
+		return kMer;
+	}
+
+	/* This method adds the K-mer object, whose key or index of LinkedList has already been computed, to the HashTable object,
+	   unless a K-mer object of the same substring exists in that LinkedList, in which case its number of occurrences is increased. */
+	private KMer insertAt(int nKey, long lPackedCode, int k) {
+		int nIndex;
+		KMer kMer = null;
+
+	    /* The search() method is called in order to check an existing occurrence of the substring extracted,
+	       in the LinkedList whose index was computed from the hash function. Note that similar packed codes would
+	       hash to the same key or index of LinkedList, hence, it would be useful to detect a similar occurrence of substring
+	       through this method.                                                                                              */
+	    nIndex = search(nKey, lPackedCode);
+
+	    /* In case the method returns the value of -1, this means that the substring extracted is distinct, hence it could be added
+	       as a K-mer object to the LinkedList with a key or index computed from the hash function.                                 */
+		 if (nIndex == - 1) {
+
+			 /* If the LinkedList to which the K-mer object must be inserted, already exists with some other K-mer objects as elements,
+			    collision occurs. Hence, collision frequency increases.                                                               */
+			if(buckets[nKey] == null)
+				buckets[nKey] = new LinkedList<KMer>();
+			else if(buckets[nKey].size() != 0)
+				 nNumOfCollisions++;
+
+			/* Nevertheless, with or without collision, the K-mer object is created and inserted as an element of the LinkedList to which the index or key
+			   computed, points to.                                                                                                           */
+			kMer = new KMer(lPackedCode, k);
+			buckets[nKey].add(kMer);
+			nNumOfKMers++;
+		 }
+
+		 /* NOTE: An unsuccessful insert() operation would mean that the substring extracted is no longer distinct, as proven by the search() method
+		    returning its index in the LinkedList it is hashed to. Hence, the number of occurrences must be increased instead.                      */
+
+		 /* The K-mer object created, or null upon an unsuccessful insert() operation, is returned.  */
+		 return kMer;
+	}
+
+	/* So that the randomized key may appropriately index a number in the range of (0 to nSize-1) which also represents the
+	   indices of the possible LinkedLists in the array, the modulo operator was utilized, treating the hash value as unsigned. */
+	private static int keyOf(long lHash, int nSize) {
+		return (int) Long.remainderUnsigned(lHash, nSize);
+	}
+
+	/* This method starts rehashing into an array of twice as many LinkedLists, though no more than 2^30 of them. Should the
+	   previous rehashing not be done yet, it is finished first.                                                             */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private void grow() {
+		if(nMaxSize >= (1 << 30)) {
+			throw new IllegalStateException("Number of distinct K-mers exceeds the capacity of the table.");
+		}
+		finishRehash();
+
+		oldBuckets = buckets;
+		nRehashIndex = 0;
+		nMaxSize = Math.min(2 * nMaxSize, 1 << 30);
+		buckets = new LinkedList[nMaxSize];
+		nNumOfResizes++;
+	}
+
+	/* This method moves the next few LinkedLists of the previous array to the current one. Each K-mer object is rehashed
+	   from its packed code, and the very same K-mer object is moved, such that references to it remain valid.           */
+	private void rehashStep() {
+		int i, nKey;
+
+		for(i=0; i<REHASH_STEP && nRehashIndex<oldBuckets.length; i++, nRehashIndex++) {
+			if(oldBuckets[nRehashIndex] == null) {
+				continue;
+			}
+
+			for(KMer kMer : oldBuckets[nRehashIndex]) {
+				nKey = keyOf(hashFunction.hash(kMer.getlPackedCode(), kMer.getK()), nMaxSize);
+
+				if(buckets[nKey] == null) {
+					buckets[nKey] = new LinkedList<KMer>();
+				}
+				buckets[nKey].add(kMer);
+			}
+			oldBuckets[nRehashIndex] = null;
+		}
+
+		/* Once every LinkedList of the previous array has been moved, the previous array is no longer needed. */
+		if(nRehashIndex == oldBuckets.length) {
+			oldBuckets = null;
+		}
+	}
+
+	/** A method that moves every LinkedList which remains in the previous array of LinkedLists to the current one,
+	  * such that every K-mer object is found in the array returned by getBuckets(). It does nothing unless the
+	  * HashTable object is being rehashed.
+	  */
+	public void finishRehash() {
+		while(oldBuckets != null) {
+			rehashStep();
+		}
+	}
+
+	/** A method that returns the array of LinkedLists with each List storing distinct K-mer objects, as part of the computation of
+	  * the K-mer distribution of an input DNA Sequence, S, with a HashTable object and Separate Chaining as collision resolution technique.
+	  * Any rehashing in progress is finished first, and a LinkedList in which no K-mer object has been stored may be null.
+	  *
+	  * @return      the array of LinkedLists storing distinct K-mer objects
+	  */
+	public LinkedList<KMer>[] getBuckets() {
+		finishRehash();
+		return buckets;
+	}
+
+	/** A method that initializes the array of LinkedLists with each List storing distinct K-mer objects, with the argument passed.
+	  *
+	  * @param buckets      an array of LinkedLists storing distinct K-mer objects
+	  */
+	public void setBuckets(LinkedList<KMer>[] buckets) {
+		this.buckets = buckets;
+		this.nMaxSize = buckets.length;
+		this.oldBuckets = null;
+	}
+
+	/** A method that returns the current size or number of LinkedLists that the array of LinkedLists, buckets, can hold,
+	  * which doubles each time the array grows.
+	  *
+	  * @return      the current size or number of LinkedLists that the designated array can hold
+	  */
+	public int getnMaxSize() {
+		return nMaxSize;
+	}
+
+	/** A method that returns the number of distinct K-mer objects stored in the HashTable object.
+	  *
+	  * @return      the number of distinct K-mer objects stored
+	  */
+	public int getnNumOfKMers() {
+		return nNumOfKMers;
+	}
+
+	/** A method that returns the number of times the array of LinkedLists has grown.
+	  *
+	  * @return      the number of times the array of LinkedLists has grown
+	  */
+	public int getnNumOfResizes() {
+		return nNumOfResizes;
+	}
+
+	/** A method that returns the number of distinct K-mer objects stored per LinkedList of the array, which never
+	  * exceeds the maximum load factor.
+	  *
+	  * @return      the load factor of the HashTable object
+	  */
+	public double getdLoadFactor() {
+		return nNumOfKMers / (double) nMaxSize;
+	}
+
+	/** A method that returns the histogram of the lengths of the LinkedLists (chains) of the array, such that the
+	  * element at index i is the number of LinkedLists holding i K-mer objects. Any rehashing in progress is finished
+	  * first, as the histogram is computed by visiting every LinkedList, rather than kept up to date while inserting.
+	  *
+	  * @return      an array holding the number of LinkedLists of each length, from 0 up to the longest LinkedList
+	  */
+	public int[] getnChainLengthHistogram() {
+		int nMaxChain = 0;
+		int[] histogram;
+
+		for(LinkedList<KMer> bucket : getBuckets()) {
+			if(bucket != null) {
+				nMaxChain = Math.max(nMaxChain, bucket.size());
+			}
+		}
+
+		histogram = new int[nMaxChain + 1];
+		for(LinkedList<KMer> bucket : buckets) {
+			histogram[bucket == null ? 0 : bucket.size()]++;
+		}
+
+		return histogram;
+	}
+
+	/** A method that returns the hash function by which the key of each K-mer object is computed.
+	  *
+	  * @return      the hash function utilized by the HashTable object
+	  */
+	public KMerHashFunction getHashFunction() {
+		return hashFunction;
+	}
+
+	/** A method that returns the number of collisions encountered while storing each distinct K-mer object
+	  * by the use of the hash function.
+	  *
+	  * @return      the collision frequency or number of collisions encountered while using the hash function,
+	  *              in storing each distinct K-mer object in the HashTable object constructed
+	  */
+	public int getnNumOfCollisions() {
+		return nNumOfCollisions;
+	}
+
+	/** A method that initializes the number of collisions or collision frequency in storing each distinct K-mer object
+	  * by the use of the hash function, with the argument passed.
+	  *
+	  * @param nNumOfCollisions      an Integer representing the number of collisions encountered while using the hash function,
+	  *                              in storing each distinct K-mer object in the HashTable object constructed
+	  */
+	public void setnNumOfCollisions(int nNumOfCollisions) {
+		this.nNumOfCollisions = nNumOfCollisions;
+	}
+}
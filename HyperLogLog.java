@@ -0,0 +1,170 @@
+/** This class estimates the number of distinct K-mers of a DNA sequence, S, through the HyperLogLog algorithm, in a
+ *  fixed array of 2^p registers of a single byte each, regardless of the number of K-mers. Each K-mer is hashed to 64
+ *  bits, the first p of which choose a register, which keeps the greatest rank (the position of the first set bit) of
+ *  the remaining bits among the K-mers hashed to it. As a rank of r is seen about once in 2^r distinct K-mers, the
+ *  harmonic mean of 2^rank over every register estimates the number of distinct K-mers per register.
+ *
+ *  The relative standard error of the estimate is about 1.04 / sqrt(2^p), being 0.8% for the default precision of 14
+ *  (16 kilobytes). As a single pass costs one hash per K-mer and never grows, it is cheap enough to run before the
+ *  K-mers are counted, such that a table can be sized for the estimate rather than grow while counting.
+ */
+class HyperLogLog {
+
+	/* The number of bits of the hash value choosing a register. */
+	public static final int DEFAULT_PRECISION = 14;
+	public static final int MIN_PRECISION = 4;
+	public static final int MAX_PRECISION = 18;
+
+	private int k;
+	private int p;
+	private byte[] registers;
+
+	/** This constructor creates an empty HyperLogLog object of 2^p registers.
+	  *
+	  * @param k      an Integer representing the length of each K-mer (1 to 31)
+	  * @param p      the precision, being the number of bits choosing a register (MIN_PRECISION to MAX_PRECISION)
+	  */
+	public HyperLogLog(int k, int p) {
+		PackedKMer.mask(k);
+		if(p < MIN_PRECISION || p > MAX_PRECISION) {
+			throw new IllegalArgumentException("Precision must be from " + MIN_PRECISION + " to " + MAX_PRECISION + ", but was " + p + ".");
+		}
+
+		this.k = k;
+		this.p = p;
+		this.registers = new byte[1 << p];
+	}
+
+	/** A method that adds every K-mer of length k in the DNA sequence, S, by sliding a window over it,
+	  * rolling its packed code forward with each incoming letter.
+	  *
+	  * @param sequence     the DNA sequence, S, or a chunk of it
+	  */
+	public void count(CharSequence sequence) {
+		int i, nBase, nNumOfValidBases = 0;
+		long lPackedCode = 0, lMask = PackedKMer.mask(k);
+
+		for(i=0; i<sequence.length(); i++) {
+			nBase = PackedKMer.encodeBase(sequence.charAt(i));
+
+			/* A letter outside of the alphabet, {a,c,g,t}, restarts the window from the letter after it. */
+			if(nBase < 0) {
+				nNumOfValidBases = 0;
+				continue;
+			}
+
+			lPackedCode = PackedKMer.roll(lPackedCode, nBase, lMask);
+
+			if(++nNumOfValidBases >= k) {
+				add(lPackedCode);
+			}
+		}
+	}
+
+	/** A method that adds every K-mer of length k in the DNA sequence, S, in its canonical form, such that
+	  * a K-mer and its reverse complement are estimated as one (see KMerCounter.countCanonical()).
+	  *
+	  * @param sequence     the DNA sequence, S, or a chunk of it
+	  */
+	public void countCanonical(CharSequence sequence) {
+		int i, nBase, nNumOfValidBases = 0;
+		long lPackedCode = 0, lReverseCode = 0, lMask = PackedKMer.mask(k);
+
+		for(i=0; i<sequence.length(); i++) {
+			nBase = PackedKMer.encodeBase(sequence.charAt(i));
+
+			if(nBase < 0) {
+				nNumOfValidBases = 0;
+				continue;
+			}
+
+			lPackedCode = PackedKMer.roll(lPackedCode, nBase, lMask);
+			lReverseCode = PackedKMer.rollReverseComplement(lReverseCode, nBase, k);
+
+			if(++nNumOfValidBases >= k) {
+				add(Math.min(lPackedCode, lReverseCode));
+			}
+		}
+	}
+
+	/** A method that adds a single K-mer, raising its register to the rank of its hash value.
+	  *
+	  * @param lPackedCode    the packed code of the K-mer
+	  */
+	public void add(long lPackedCode) {
+		long lHash = hashOf(lPackedCode);
+		int nRegister = (int) (lHash >>> (64 - p));
+
+		/* The rank is the position of the first set bit after the p bits of the register, which is at most 64-p+1. */
+		int nRank = Math.min(Long.numberOfLeadingZeros(lHash << p) + 1, 64 - p + 1);
+
+		if(nRank > registers[nRegister]) {
+			registers[nRegister] = (byte) nRank;
+		}
+	}
+
+	/** A method that returns the estimated number of distinct K-mers added. While few registers have been raised,
+	  * the number of registers still at 0 is counted instead (linear counting), which is more precise for small numbers.
+	  *
+	  * @return      the estimated number of distinct K-mers
+	  */
+	public long getlEstimate() {
+		int nNumOfRegisters = registers.length, nNumOfZeros = 0;
+		double dSum = 0, dEstimate;
+
+		for(byte bRank : registers) {
+			dSum += Math.scalb(1.0, -bRank);
+			if(bRank == 0) {
+				nNumOfZeros++;
+			}
+		}
+
+		dEstimate = getdAlpha(nNumOfRegisters) * nNumOfRegisters * (double) nNumOfRegisters / dSum;
+
+		if(dEstimate <= 2.5 * nNumOfRegisters && nNumOfZeros > 0) {
+			dEstimate = nNumOfRegisters * Math.log(nNumOfRegisters / (double) nNumOfZeros);
+		}
+
+		return Math.round(dEstimate);
+	}
+
+	/** A method that returns the relative standard error of the estimate, being 1.04 / sqrt(2^p).
+	  *
+	  * @return      the relative standard error of the estimate
+	  */
+	public double getdStandardError() {
+		return 1.04 / Math.sqrt(registers.length);
+	}
+
+	/** A method that returns the precision, p, of the estimator.
+	  *
+	  * @return      the number of bits choosing a register
+	  */
+	public int getP() {
+		return p;
+	}
+
+	/* Returns the constant correcting the bias of the harmonic mean for the given number of registers. */
+	private static double getdAlpha(int nNumOfRegisters) {
+		switch(nNumOfRegisters) {
+			case 16: return 0.673;
+			case 32: return 0.697;
+			case 64: return 0.709;
+			default: return 0.7213 / (1 + 1.079 / nNumOfRegisters);
+		}
+	}
+
+	/* Mixes every bit of the packed code of a K-mer into every bit of its 64-bit hash value (the finalizer of
+	   MurmurHash3), as both the register and the rank are taken from the hash value.                        */
+	private static long hashOf(long lPackedCode) {
+		long lHash = lPackedCode;
+
+		lHash ^= lHash >>> 33;
+		lHash *= 0xFF51AFD7ED558CCDL;
+		lHash ^= lHash >>> 33;
+		lHash *= 0xC4CEB9FE1A85EC53L;
+		lHash ^= lHash >>> 33;
+
+		return lHash;
+	}
+}
@@ -0,0 +1,16 @@
+/** This class is the identity as a KMerHashFunction, such that the hash value of each K-mer is its packed code
+ *  itself. It does not spread similar K-mers apart at all, and serves as the baseline to which the other hash
+ *  functions are compared.
+ */
+class IdentityKMerHash implements KMerHashFunction {
+
+	@Override
+	public String getName() {
+		return "identity";
+	}
+
+	@Override
+	public long hash(long lPackedCode, int k) {
+		return lPackedCode;
+	}
+}
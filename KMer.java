@@ -0,0 +1,149 @@
+/** This class, as its name implies, represents a K-mer object, or a substring
+ *  of length k, belonging to the original DNA sequence, S, of length n. What differentiates
+ *  a K-mer object from a regular String object, is the relevance of its number of 
+ *  occurrences in the original DNA sequence (in order to compute for its K-mer 
+ *  distribution). Hence, the variable denoting to which (nNumOfOccurrences), is stored as
+ *  an attribute of this class. 
+ *  
+ *  The substring itself is stored as a 2-bit packed code (see PackedKMer), and is only decoded
+ *  back to a String once it must be displayed. A substring longer than a single long can hold is
+ *  stored as packed words instead (see WidePackedKMer).
+ */
+class KMer{
+	private long lPackedCode;
+	private long[] packedWords = null;
+	private int k;
+	private int nNumOfOccurrences;
+	
+	/** This constructor creates a K-mer object by supplying the 
+	  * needed values of its attributes (along with the argument passed).
+	  * 
+	  * @param strSubstring      the substring itself consisting only of the letters 
+	  *                          from the alphabet, {a,c,g,t}
+	  */
+	public KMer(String strSubstring) {
+		this(0, strSubstring.length());
+		setSubstring(strSubstring);
+	}
+	
+	/** This constructor creates a K-mer object directly from the packed code of its substring,
+	  * such that no String object is created while computing the K-mer distribution.
+	  * 
+	  * @param lPackedCode       the 2-bit packed code of the substring itself
+	  * @param k                 an Integer representing the length of the substring
+	  */
+	public KMer(long lPackedCode, int k) {
+		this.lPackedCode = lPackedCode;
+		this.k = k;
+		
+		/* By default, the number of occurrences of each K-mer object(upon its creation) 
+		   in the original DNA sequence is 1.                                           */
+		this.nNumOfOccurrences = 1;
+	}
+	
+	/** This constructor creates a K-mer object directly from the packed words of its substring,
+	  * for substrings longer than PackedKMer.MAX_K, such that no String object is created while
+	  * computing the K-mer distribution.
+	  * 
+	  * @param packedWords       the 2-bit packed words of the substring itself (see WidePackedKMer)
+	  * @param k                 an Integer representing the length of the substring
+	  */
+	public KMer(long[] packedWords, int k) {
+		this(-1, k);
+		this.packedWords = packedWords;
+	}
+	
+	/** A method that returns the substring itself denoting the K-mer object, which belongs to the 
+	  * original DNA sequence, S, of length n. The substring is decoded from its packed code upon
+	  * each call.
+	  * 
+	  * @return      the substring denoting the K-mer object
+	  */
+	public String getSubstring() {
+		if(packedWords != null) {
+			return WidePackedKMer.decode(packedWords, 0, k);
+		}
+		return PackedKMer.decode(lPackedCode, k);
+	}
+	
+	/** A method that initializes the substring denoting the K-mer object,
+	  * with the argument passed.
+	  * 
+	  * @param strSubstring    a String corresponding to a substring which
+	  *                        represents the K-mer object
+	  */
+	public void setSubstring(String substring) {
+		this.k = substring.length();
+		
+		if(k > PackedKMer.MAX_K) {
+			this.packedWords = WidePackedKMer.encode(substring, 0, k);
+			this.lPackedCode = -1;
+		} else {
+			this.packedWords = null;
+			this.lPackedCode = PackedKMer.encode(substring);
+		}
+	}
+	
+	/** A method that returns the 2-bit packed code of the substring denoting the K-mer object.
+	  * 
+	  * @return      the packed code of the substring denoting the K-mer object, or -1 if the
+	  *              substring is stored as packed words instead
+	  */
+	public long getlPackedCode() {
+		return lPackedCode;
+	}
+	
+	/** A method that returns the 2-bit packed words of the substring denoting the K-mer object.
+	  * 
+	  * @return      the packed words of the substring denoting the K-mer object, or null if the
+	  *              substring is stored as a single packed code instead
+	  */
+	public long[] getPackedWords() {
+		return packedWords;
+	}
+	
+	/** A method that returns the length, k, of the substring denoting the K-mer object.
+	  * 
+	  * @return      the length of the substring denoting the K-mer object
+	  */
+	public int getK() {
+		return k;
+	}
+	
+	/** A method that returns the number of occurrences of the K-mer
+	  * object represented in the original DNA sequence.  
+	  * 
+	  * @return       the number of occurrences of the given K-mer object
+	  *               in the original DNA sequence, S, of length n
+	  */
+	public int getnNumOfOccurrences() {
+		return nNumOfOccurrences;
+	}
+	
+	/** A method that initializes the number of occurrences of the K-mer
+	  * object represented in the original DNA sequence, with the argument passed.  
+	  * 
+	  * @param nNumOfOccurrences     a Integer corresponding to the number of occurrences 
+	  *                              of the given K-mer object in the original DNA sequence, 
+	  *                              S, of length n
+	  */
+	public void setnNumOfOccurrences(int nNumOfOccurrences) {
+		this.nNumOfOccurrences = nNumOfOccurrences;
+	}
+	
+	/** A convenient helper method that increments the number of occurrences of the
+	  * K-mer object in the original DNA sequence, S, of length n.
+	  */
+	public void increaseNumOfOccurrences() {
+		nNumOfOccurrences++;
+	}
+	
+	/** "toString()" method of the class has been overridden such that it could provide the functionality
+	  *  of displaying the attributes associated to each K-mer object upon its display in the algorithm of 
+	  *  computing a K-mer distribution of a DNA sequence, S.
+	  */
+	@Override
+	public String toString() {
+		return getSubstring() + " (" + nNumOfOccurrences + ")";
+	}
+}
@@ -0,0 +1,14 @@
+/** This interface represents the receiver of a K-mer distribution which is handed over one distinct K-mer at a time,
+ *  by its packed code (see PackedKMer) and number of occurrences, rather than held in memory as a whole, such as
+ *  the distribution counted one bucket at a time by a DiskKMerCounter.
+ */
+@FunctionalInterface
+interface KMerCountConsumer {
+
+	/** A method that receives a single distinct K-mer along with its number of occurrences.
+	  *
+	  * @param lPackedCode     the packed code of the K-mer
+	  * @param nCount          the number of occurrences of the K-mer
+	  */
+	void accept(long lPackedCode, int nCount);
+}
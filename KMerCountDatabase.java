@@ -0,0 +1,361 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/** This class represents a K-mer distribution persisted in a file, such that the number of occurrences of any K-mer
+ *  may be looked up by a later run without counting the DNA sequence, S, again. The file is laid out in little-endian
+ *  byte order, as a header of 32 bytes:
+ *
+ *      "KMDB" (4 bytes), version (int), k (int), flags (int, 1 if canonical), number of distinct K-mers (long),
+ *      total number of K-mers (long)
+ *
+ *  followed by two fixed-width columns: the packed code of each distinct K-mer (long), in ascending order, and then
+ *  the number of occurrences of each (int), in the same order.
+ *
+ *  Upon being opened, the columns are mapped into memory (see FileChannel.map) rather than read onto the heap, hence,
+ *  only the pages of the file visited by a lookup are ever loaded, and they are shared by every process looking up the
+ *  same file. As the codes are sorted, and the K-mers of a DNA sequence are spread roughly evenly over their 4^k
+ *  possible codes, a lookup interpolates the position of the code passed before falling back to a binary search.
+ */
+class KMerCountDatabase {
+
+	public static final int MAGIC = 0x42444D4B;
+	public static final int VERSION = 1;
+	public static final int HEADER_SIZE = 32;
+	public static final int CANONICAL_FLAG = 1;
+
+	/* Each column is mapped as a single buffer, which cannot be larger than Integer.MAX_VALUE bytes. */
+	public static final long MAX_KMERS = Integer.MAX_VALUE / Long.BYTES;
+
+	/* The number of interpolation steps taken by a lookup before it falls back to a binary search, such that an
+	   unevenly spread distribution cannot make a lookup linear in the number of K-mers.                        */
+	private static final int MAX_INTERPOLATION_STEPS = 8;
+
+	/* The ranges of codes below this size are sorted by insertion rather than partitioned further. */
+	private static final int INSERTION_SORT_THRESHOLD = 16;
+
+	private Path path;
+	private int k;
+	private boolean isCanonical;
+	private long lNumOfDistinctKMers;
+	private long lTotalKMers;
+	private LongBuffer codes;
+	private IntBuffer counts;
+
+	/* An object of this class is only created by opening a file (see open()). */
+	private KMerCountDatabase(Path path) {
+		this.path = path;
+	}
+
+	/** A method that writes a K-mer distribution to a file in the format of the class, creating the file, or
+	  * emptying it if it exists. The arrays passed are sorted in place by their codes, with each number of
+	  * occurrences kept at the index of its K-mer.
+	  *
+	  * @param path               the path of the file
+	  * @param k                  an Integer representing the length of each K-mer
+	  * @param isCanonical        a boolean denoting whether each K-mer was counted along with its reverse complement
+	  * @param packedCodes        the packed code of each distinct K-mer, in any order
+	  * @param nCounts            the number of occurrences of each distinct K-mer
+	  * @param nNumOfKMers        an Integer representing the number of distinct K-mers in the arrays
+	  * @throws IOException       if the file cannot be written
+	  */
+	public static void write(Path path, int k, boolean isCanonical, long[] packedCodes, int[] nCounts, int nNumOfKMers)
+			throws IOException {
+		int i;
+		long lTotalKMers = 0;
+		ByteBuffer buffer;
+
+		if(k < 1 || k > PackedKMer.MAX_K) {
+			throw new IllegalArgumentException("K-mer length must be from 1 to " + PackedKMer.MAX_K + ", but was " + k + ".");
+		}
+		if(nNumOfKMers > MAX_KMERS) {
+			throw new IllegalArgumentException("A database holds at most " + MAX_KMERS + " distinct K-mers, but "
+					+ nNumOfKMers + " were given.");
+		}
+
+		if(!isSorted(packedCodes, nNumOfKMers)) {
+			sortByCode(packedCodes, nCounts, 0, nNumOfKMers - 1);
+		}
+		for(i=0; i<nNumOfKMers; i++) {
+			lTotalKMers += nCounts[i];
+		}
+
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			buffer = ByteBuffer.allocateDirect(KMerWriter.BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+			buffer.putInt(MAGIC);
+			buffer.putInt(VERSION);
+			buffer.putInt(k);
+			buffer.putInt(isCanonical ? CANONICAL_FLAG : 0);
+			buffer.putLong(nNumOfKMers);
+			buffer.putLong(lTotalKMers);
+
+			for(i=0; i<nNumOfKMers; i++) {
+				if(buffer.remaining() < Long.BYTES) {
+					drain(buffer, channel);
+				}
+				buffer.putLong(packedCodes[i]);
+			}
+			for(i=0; i<nNumOfKMers; i++) {
+				if(buffer.remaining() < Integer.BYTES) {
+					drain(buffer, channel);
+				}
+				buffer.putInt(nCounts[i]);
+			}
+			drain(buffer, channel);
+		}
+	}
+
+	/** A method that opens a file written in the format of the class, mapping its columns into memory. The file
+	  * is closed once mapped, as the mapping remains valid regardless.
+	  *
+	  * @param path      the path of the file
+	  * @return          the database held in the file
+	  * @throws IOException       if the file cannot be read, or is not in the format of the class
+	  */
+	public static KMerCountDatabase open(Path path) throws IOException {
+		int nFlags;
+		long lFileSize;
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		KMerCountDatabase database = new KMerCountDatabase(path);
+
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			lFileSize = channel.size();
+
+			while(header.hasRemaining()) {
+				if(channel.read(header, header.position()) < 0) {
+					throw new IOException(path + " is not a K-mer count database: the header is incomplete.");
+				}
+			}
+			header.flip();
+
+			if(header.getInt() != MAGIC) {
+				throw new IOException(path + " is not a K-mer count database.");
+			}
+			if(header.getInt() != VERSION) {
+				throw new IOException(path + " is of an unknown version of the K-mer count database.");
+			}
+			database.k = header.getInt();
+			nFlags = header.getInt();
+			database.isCanonical = (nFlags & CANONICAL_FLAG) != 0;
+			database.lNumOfDistinctKMers = header.getLong();
+			database.lTotalKMers = header.getLong();
+
+			if(database.k < 1 || database.k > PackedKMer.MAX_K || database.lNumOfDistinctKMers < 0
+					|| database.lNumOfDistinctKMers > MAX_KMERS
+					|| lFileSize != HEADER_SIZE + database.lNumOfDistinctKMers * (Long.BYTES + Integer.BYTES)) {
+				throw new IOException(path + " is not a K-mer count database: its header does not match its size.");
+			}
+
+			database.codes = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE,
+					database.lNumOfDistinctKMers * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+			database.counts = channel.map(FileChannel.MapMode.READ_ONLY,
+					HEADER_SIZE + database.lNumOfDistinctKMers * Long.BYTES,
+					database.lNumOfDistinctKMers * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+		}
+
+		return database;
+	}
+
+	/** A method that returns the number of occurrences of the K-mer of the packed code passed. In canonical mode,
+	  * the code must be canonical itself (see PackedKMer.canonical()).
+	  *
+	  * @param lPackedCode     the packed code of the K-mer
+	  * @return                the number of occurrences of the K-mer, or 0 if it does not occur
+	  */
+	public int getCount(long lPackedCode) {
+		int nIndex = find(lPackedCode);
+
+		return nIndex < 0 ? 0 : counts.get(nIndex);
+	}
+
+	/** A method that returns the number of occurrences of the K-mer passed as a substring. In canonical mode, the
+	  * K-mer is looked up along with its reverse complement.
+	  *
+	  * @param strKMer      the K-mer, of length k, consisting only of the letters from the alphabet, {a,c,g,t}
+	  * @return             the number of occurrences of the K-mer, or 0 if it does not occur
+	  */
+	public int getCount(String strKMer) {
+		long lPackedCode;
+
+		if(strKMer.length() != k) {
+			throw new IllegalArgumentException("K-mer length must be " + k + ", but was " + strKMer.length() + ".");
+		}
+
+		lPackedCode = PackedKMer.encode(strKMer);
+		return getCount(isCanonical ? PackedKMer.canonical(lPackedCode, k) : lPackedCode);
+	}
+
+	/** A method that hands every K-mer of the database and its number of occurrences to the consumer passed, in
+	  * ascending order of their packed codes.
+	  *
+	  * @param consumer      the consumer of each K-mer and its number of occurrences
+	  */
+	public void forEach(KMerCountConsumer consumer) {
+		int i;
+
+		for(i=0; i<lNumOfDistinctKMers; i++) {
+			consumer.accept(codes.get(i), counts.get(i));
+		}
+	}
+
+	/** A method that returns the path of the file holding the database.
+	  *
+	  * @return      the path of the file
+	  */
+	public Path getPath() {
+		return path;
+	}
+
+	/** A method that returns the length of each K-mer in the database.
+	  *
+	  * @return      the length, k, of each K-mer
+	  */
+	public int getK() {
+		return k;
+	}
+
+	/** A method that returns whether each K-mer was counted along with its reverse complement.
+	  *
+	  * @return      a boolean denoting whether the K-mers are canonical
+	  */
+	public boolean isCanonical() {
+		return isCanonical;
+	}
+
+	/** A method that returns the number of distinct K-mers in the database.
+	  *
+	  * @return      the number of distinct K-mers
+	  */
+	public long getlNumOfDistinctKMers() {
+		return lNumOfDistinctKMers;
+	}
+
+	/** A method that returns the number of occurrences of every K-mer in the database, summed up.
+	  *
+	  * @return      the total number of K-mers
+	  */
+	public long getlTotalKMers() {
+		return lTotalKMers;
+	}
+
+	/* Returns the index of the code passed in the column of codes, or -1 if it is not there. Each step interpolates
+	   the position of the code between the codes at both ends of the range left, until MAX_INTERPOLATION_STEPS
+	   steps are taken, after which the range left is halved instead.                                            */
+	private int find(long lPackedCode) {
+		int nLow = 0, nHigh = (int) lNumOfDistinctKMers - 1, nMiddle, nNumOfSteps = 0;
+		long lLowCode, lHighCode, lMiddleCode;
+
+		while(nLow <= nHigh) {
+			lLowCode = codes.get(nLow);
+			lHighCode = codes.get(nHigh);
+
+			if(lPackedCode < lLowCode || lPackedCode > lHighCode) {
+				return -1;
+			}
+
+			if(nNumOfSteps < MAX_INTERPOLATION_STEPS && lHighCode > lLowCode) {
+				nMiddle = nLow + (int) ((double) (lPackedCode - lLowCode) / (lHighCode - lLowCode) * (nHigh - nLow));
+				nNumOfSteps++;
+			} else {
+				nMiddle = (nLow + nHigh) >>> 1;
+			}
+
+			lMiddleCode = codes.get(nMiddle);
+			if(lMiddleCode == lPackedCode) {
+				return nMiddle;
+			} else if(lMiddleCode < lPackedCode) {
+				nLow = nMiddle + 1;
+			} else {
+				nHigh = nMiddle - 1;
+			}
+		}
+
+		return -1;
+	}
+
+	/* Writes every byte of the buffer passed to the channel, and clears the buffer. */
+	private static void drain(ByteBuffer buffer, FileChannel channel) throws IOException {
+		buffer.flip();
+		while(buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	/* Returns whether the first codes of the array passed are in ascending order, as they are once handed by the
+	   inorder traversal of a tree.                                                                            */
+	private static boolean isSorted(long[] packedCodes, int nNumOfKMers) {
+		int i;
+
+		for(i=1; i<nNumOfKMers; i++) {
+			if(packedCodes[i - 1] > packedCodes[i]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/* Sorts the codes from index nFrom to index nTo (inclusive) by quicksort, moving each number of occurrences
+	   along with its code. The smaller side of each partition is sorted first, and the larger one in the same call,
+	   such that the call stack never grows past a logarithm of the number of codes.                              */
+	private static void sortByCode(long[] packedCodes, int[] nCounts, int nFrom, int nTo) {
+		int i, j;
+		long lPivot;
+
+		while(nTo - nFrom >= INSERTION_SORT_THRESHOLD) {
+			lPivot = medianOfThree(packedCodes[nFrom], packedCodes[(nFrom + nTo) >>> 1], packedCodes[nTo]);
+			i = nFrom;
+			j = nTo;
+
+			while(i <= j) {
+				while(packedCodes[i] < lPivot) {
+					i++;
+				}
+				while(packedCodes[j] > lPivot) {
+					j--;
+				}
+				if(i <= j) {
+					swap(packedCodes, nCounts, i++, j--);
+				}
+			}
+
+			if(j - nFrom < nTo - i) {
+				sortByCode(packedCodes, nCounts, nFrom, j);
+				nFrom = i;
+			} else {
+				sortByCode(packedCodes, nCounts, i, nTo);
+				nTo = j;
+			}
+		}
+
+		for(i=nFrom+1; i<=nTo; i++) {
+			for(j=i; j>nFrom && packedCodes[j - 1] > packedCodes[j]; j--) {
+				swap(packedCodes, nCounts, j - 1, j);
+			}
+		}
+	}
+
+	/* Returns the median of the three codes passed. */
+	private static long medianOfThree(long lFirst, long lSecond, long lThird) {
+		return Math.max(Math.min(lFirst, lSecond), Math.min(Math.max(lFirst, lSecond), lThird));
+	}
+
+	/* Swaps the codes, and the numbers of occurrences, at the indexes passed. */
+	private static void swap(long[] packedCodes, int[] nCounts, int i, int j) {
+		long lCode = packedCodes[i];
+		int nCount = nCounts[i];
+
+		packedCodes[i] = packedCodes[j];
+		nCounts[i] = nCounts[j];
+		packedCodes[j] = lCode;
+		nCounts[j] = nCount;
+	}
+}
@@ -0,0 +1,134 @@
+/** This class answers batches of queries on the number of occurrences of K-mers in a counted K-mer distribution,
+ *  being either a KMerCountDatabase object, mapped from its file, or a counting engine still in memory (see
+ *  KMerCounter). The K-mers of a batch are given either as packed codes (see PackedKMer), or as substrings, which are
+ *  packed by the query itself.
+ *
+ *  In canonical mode, a K-mer given as a substring is looked up along with its reverse complement, while a K-mer given
+ *  as a packed code is looked up as it is, hence, it must be canonical itself (see PackedKMer.canonical()). A K-mer
+ *  which is not of length k, or holds a letter outside of the alphabet, {a,c,g,t}, is answered with INVALID_KMER.
+ *
+ *  A query holds no state of its own besides the distribution, hence, any number of threads may query it at once.
+ */
+class KMerCountQuery {
+
+	/* The answer to a K-mer which cannot belong to the distribution, as opposed to a K-mer which does not occur (0). */
+	public static final int INVALID_KMER = -1;
+
+	private KMerCountDatabase database = null;
+	private KMerCounter counter = null;
+	private int k;
+	private long lMask;
+	private boolean isCanonical;
+
+	/** This constructor creates a query on the K-mer distribution held in the database passed.
+	  *
+	  * @param database      the database holding the K-mer distribution
+	  */
+	public KMerCountQuery(KMerCountDatabase database) {
+		this.database = database;
+		this.k = database.getK();
+		this.lMask = PackedKMer.mask(k);
+		this.isCanonical = database.isCanonical();
+	}
+
+	/** This constructor creates a query on the K-mer distribution held in the counting engine passed, which must not
+	  * count any more K-mers while it is queried, unless it is meant to be counted into concurrently.
+	  *
+	  * @param counter          the counting engine holding the K-mer distribution
+	  * @param isCanonical      a boolean denoting whether each K-mer was counted along with its reverse complement
+	  */
+	public KMerCountQuery(KMerCounter counter, boolean isCanonical) {
+		this.counter = counter;
+		this.k = counter.getK();
+		this.lMask = PackedKMer.mask(k);
+		this.isCanonical = isCanonical;
+	}
+
+	/** A method that returns the number of occurrences of the K-mer of the packed code passed.
+	  *
+	  * @param lPackedCode     the packed code of the K-mer
+	  * @return                the number of occurrences of the K-mer, 0 if it does not occur, or INVALID_KMER if the
+	  *                        code does not fit in 2k bits
+	  */
+	public int getCount(long lPackedCode) {
+		if((lPackedCode & ~lMask) != 0) {
+			return INVALID_KMER;
+		}
+
+		return database != null ? database.getCount(lPackedCode) : counter.getCount(lPackedCode);
+	}
+
+	/** A method that returns the number of occurrences of the K-mer passed as a substring.
+	  *
+	  * @param kMer      the K-mer, in lowercase or uppercase letters
+	  * @return          the number of occurrences of the K-mer, 0 if it does not occur, or INVALID_KMER if the K-mer is
+	  *                  not of length k, or holds a letter outside of the alphabet, {a,c,g,t}
+	  */
+	public int getCount(CharSequence kMer) {
+		int i, nBase;
+		long lPackedCode = 0;
+
+		if(kMer.length() != k) {
+			return INVALID_KMER;
+		}
+
+		for(i=0; i<k; i++) {
+			nBase = PackedKMer.encodeBase(kMer.charAt(i));
+			if(nBase < 0) {
+				return INVALID_KMER;
+			}
+			lPackedCode = (lPackedCode << 2) | nBase;
+		}
+
+		return getCount(isCanonical ? PackedKMer.canonical(lPackedCode, k) : lPackedCode);
+	}
+
+	/** A method that returns the number of occurrences of each K-mer of the batch of packed codes passed.
+	  *
+	  * @param packedCodes      the packed codes of the K-mers
+	  * @return                 the number of occurrences of each K-mer, at the index of its code (see getCount(long))
+	  */
+	public int[] getCounts(long[] packedCodes) {
+		int i;
+		int[] nCounts = new int[packedCodes.length];
+
+		for(i=0; i<packedCodes.length; i++) {
+			nCounts[i] = getCount(packedCodes[i]);
+		}
+
+		return nCounts;
+	}
+
+	/** A method that returns the number of occurrences of each K-mer of the batch of substrings passed.
+	  *
+	  * @param kMers      the K-mers, as substrings
+	  * @return           the number of occurrences of each K-mer, at the index of its substring (see
+	  *                   getCount(CharSequence))
+	  */
+	public int[] getCounts(CharSequence[] kMers) {
+		int i;
+		int[] nCounts = new int[kMers.length];
+
+		for(i=0; i<kMers.length; i++) {
+			nCounts[i] = getCount(kMers[i]);
+		}
+
+		return nCounts;
+	}
+
+	/** A method that returns the length of each K-mer of the distribution.
+	  *
+	  * @return      the length, k, of each K-mer
+	  */
+	public int getK() {
+		return k;
+	}
+
+	/** A method that returns whether each K-mer of the distribution was counted along with its reverse complement.
+	  *
+	  * @return      a boolean denoting whether the K-mers are canonical
+	  */
+	public boolean isCanonical() {
+		return isCanonical;
+	}
+}
@@ -0,0 +1,130 @@
+/** This interface represents a counting engine for the K-mer distribution of a DNA sequence, S, which stores
+ *  the number of occurrences of each K-mer by its packed code (see PackedKMer) rather than by K-mer objects.
+ *  Any engine implementing it can serve as the backend of a KMerDistribution object, which only creates K-mer
+ *  objects for the distinct K-mers once counting is done.
+ *
+ *  Every engine also records the packed codes of the distinct K-mers in the order by which they were first seen,
+ *  such that the distribution can be displayed by placement of insertion regardless of how the engine stores them.
+ */
+interface KMerCounter {
+
+	/** A method that increments the number of occurrences of a single K-mer.
+	  *
+	  * @param lPackedCode    the packed code of the K-mer
+	  */
+	void add(long lPackedCode);
+
+	/** A method that increases the number of occurrences of a single K-mer by the number passed, such as
+	  * when the counts of another engine are merged into this one.
+	  *
+	  * @param lPackedCode    the packed code of the K-mer
+	  * @param nCount         the number of occurrences to be added (at least 1)
+	  */
+	void add(long lPackedCode, int nCount);
+
+	/** A method that returns the number of occurrences of a K-mer.
+	  *
+	  * @param lPackedCode    the packed code of the K-mer
+	  * @return               the number of occurrences of the K-mer, or 0 if it was never counted
+	  */
+	int getCount(long lPackedCode);
+
+	/** A method that returns the packed code of the i-th distinct K-mer, in the order by which the
+	  * distinct K-mers were first seen.
+	  *
+	  * @param i      an Integer from 0 up to the number of distinct K-mers (exclusive)
+	  * @return       the packed code of the i-th distinct K-mer
+	  */
+	long getFirstSeenCode(int i);
+
+	/** A method that returns the number of distinct K-mers counted.
+	  *
+	  * @return      the number of distinct K-mers counted
+	  */
+	int getnNumOfDistinctKMers();
+
+	/** A method that returns the number of collisions encountered while storing each distinct K-mer,
+	  * such that engines which do not hash the K-mers return 0.
+	  *
+	  * @return      the number of collisions encountered by the engine
+	  */
+	int getnNumOfCollisions();
+
+	/** A method that returns the length, k, of each K-mer counted.
+	  *
+	  * @return      the length of each K-mer counted
+	  */
+	int getK();
+
+	/** A method that counts every K-mer of length k in the DNA sequence, S, by sliding a window over it,
+	  * rolling the packed code of the window forward with each incoming letter.
+	  *
+	  * @param sequence     the DNA sequence, S, whose K-mers are to be counted
+	  */
+	default void count(CharSequence sequence) {
+		int i, nBase, nNumOfValidBases = 0, k = getK();
+		long lPackedCode = 0, lMask = PackedKMer.mask(k);
+
+		for(i=0; i<sequence.length(); i++) {
+			nBase = PackedKMer.encodeBase(sequence.charAt(i));
+
+			/* A letter outside of the alphabet, {a,c,g,t}, restarts the window from the letter after it. */
+			if(nBase < 0) {
+				nNumOfValidBases = 0;
+				continue;
+			}
+
+			lPackedCode = PackedKMer.roll(lPackedCode, nBase, lMask);
+
+			if(++nNumOfValidBases >= k) {
+				add(lPackedCode);
+			}
+		}
+	}
+
+	/** A method that counts every K-mer of length k in the DNA sequence, S, in its canonical form (see
+	  * PackedKMer.canonical()), such that a K-mer and its reverse complement are counted as one, as is needed
+	  * for double-stranded DNA. The packed codes of both the window and its reverse complement are rolled
+	  * forward with each incoming letter, and the lesser of the two is counted.
+	  *
+	  * @param sequence     the DNA sequence, S, whose K-mers are to be counted
+	  */
+	default void countCanonical(CharSequence sequence) {
+		int i, nBase, nNumOfValidBases = 0, k = getK();
+		long lPackedCode = 0, lReverseCode = 0, lMask = PackedKMer.mask(k);
+
+		for(i=0; i<sequence.length(); i++) {
+			nBase = PackedKMer.encodeBase(sequence.charAt(i));
+
+			if(nBase < 0) {
+				nNumOfValidBases = 0;
+				continue;
+			}
+
+			lPackedCode = PackedKMer.roll(lPackedCode, nBase, lMask);
+			lReverseCode = PackedKMer.rollReverseComplement(lReverseCode, nBase, k);
+
+			if(++nNumOfValidBases >= k) {
+				add(Math.min(lPackedCode, lReverseCode));
+			}
+		}
+	}
+
+	/** A method that adds the number of occurrences of every K-mer counted by the engine passed to this engine,
+	  * such that both engines must count K-mers of the same length. The distinct K-mers of the engine passed which
+	  * are new to this engine are recorded as first seen after those of this engine, in their own order, hence,
+	  * merging the engines of consecutive parts of the DNA sequence, S, from the first one, records the same order
+	  * as counting the whole sequence in a single engine would.
+	  *
+	  * @param other     the engine whose counts are to be added
+	  */
+	default void merge(KMerCounter other) {
+		int i;
+		long lPackedCode;
+
+		for(i=0; i<other.getnNumOfDistinctKMers(); i++) {
+			lPackedCode = other.getFirstSeenCode(i);
+			add(lPackedCode, other.getCount(lPackedCode));
+		}
+	}
+}
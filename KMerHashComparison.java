@@ -0,0 +1,139 @@
+import java.util.LinkedList;
+
+/** This class compares the hash functions available for K-mers (see KMerHashFunction) on the same DNA sequence, S,
+ *  such that the fastest hash function which still spreads the K-mers evenly can be chosen for a given workload.
+ *  For each hash function, the K-mers are stored in both a HashTable object, with Separate Chaining, and an
+ *  OpenAddressingKMerTable object, with linear probing, and the following are displayed:
+ *
+ *  - the time taken per K-mer (in nanoseconds) to count the K-mers in each table, as the best of several runs;
+ *  - the maximum and mean length of the non-empty LinkedLists (chains) of the HashTable object;
+ *  - the chi-square statistic of the number of distinct K-mers per LinkedList, divided by its degrees of freedom,
+ *    which is close to 1 once the hash function spreads the K-mers uniformly, and grows as it clusters them;
+ *  - the maximum and mean probe length of the OpenAddressingKMerTable object.
+ */
+class KMerHashComparison {
+
+	/* The number of times each table is filled, of which only the fastest run is reported. */
+	private static final int NUM_OF_RUNS = 3;
+
+	private String strDNASequence;
+	private int k;
+
+	/** This constructor creates a KMerHashComparison object by supplying the
+	  * needed values of its attributes, with the arguments passed.
+	  *
+	  * @param strDNASequence    the DNA sequence, S, on which the hash functions are compared
+	  * @param k                 an Integer representing the length of each K-mer to be hashed
+	  */
+	public KMerHashComparison(String strDNASequence, int k) {
+		this.strDNASequence = strDNASequence;
+		this.k = k;
+	}
+
+	/** A method that compares every hash function available, displaying the results as a table with one
+	  * row per hash function.
+	  */
+	public void displayComparison() {
+		int i, nNumOfWindows = Math.max(strDNASequence.length() - k + 1, 1);
+		long lBestTime, lTime;
+		double dHashTableTime, dOpenTableTime;
+		HashTable HT = null;
+		OpenAddressingKMerTable openTable = null;
+
+		System.out.println("\nHASH FUNCTION COMPARISON (k = " + k + ", " + nNumOfWindows + " K-mers): ");
+		System.out.println(String.format("%-16s %12s %10s %10s %12s %12s %10s %10s",
+				"Hash Function", "HT ns/K-mer", "Max Chain", "Mean Chain", "Chi-Sq/df", "OA ns/K-mer", "Max Probe", "Mean Probe"));
+
+		for(KMerHashFunction hashFunction : KMerHashFunction.all()) {
+
+			/* The HashTable object is filled several times, such that the first runs warm up the code. */
+			lBestTime = Long.MAX_VALUE;
+			for(i=0; i<NUM_OF_RUNS; i++) {
+				lTime = System.nanoTime();
+				HT = fillHashTable(hashFunction, nNumOfWindows);
+				lBestTime = Math.min(lBestTime, System.nanoTime() - lTime);
+			}
+			dHashTableTime = lBestTime / (double) nNumOfWindows;
+
+			lBestTime = Long.MAX_VALUE;
+			for(i=0; i<NUM_OF_RUNS; i++) {
+				lTime = System.nanoTime();
+				openTable = new OpenAddressingKMerTable(k, 0, hashFunction);
+				openTable.count(strDNASequence);
+				lBestTime = Math.min(lBestTime, System.nanoTime() - lTime);
+			}
+			dOpenTableTime = lBestTime / (double) nNumOfWindows;
+
+			displayRow(hashFunction, dHashTableTime, HT, dOpenTableTime, openTable);
+		}
+	}
+
+	/* Stores every K-mer of the DNA sequence in a new HashTable object of one LinkedList per K-mer, with the
+	   hash value of each window rolled from that of the previous window.                                   */
+	private HashTable fillHashTable(KMerHashFunction hashFunction, int nMaxSize) {
+		int i, nBase, nNumOfValidBases = 0;
+		long lPackedCode = 0, lPreviousCode, lHash = 0, lMask = PackedKMer.mask(k);
+		HashTable HT = new HashTable(nMaxSize, hashFunction);
+
+		for(i=0; i<strDNASequence.length(); i++) {
+			nBase = PackedKMer.encodeBase(strDNASequence.charAt(i));
+
+			if(nBase < 0) {
+				nNumOfValidBases = 0;
+				continue;
+			}
+
+			lPreviousCode = lPackedCode;
+			lPackedCode = PackedKMer.roll(lPackedCode, nBase, lMask);
+			nNumOfValidBases++;
+
+			if(nNumOfValidBases == k) {
+				lHash = hashFunction.hash(lPackedCode, k);
+				HT.insertHashed(lPackedCode, k, lHash);
+			} else if(nNumOfValidBases > k) {
+				lHash = hashFunction.roll(lHash, lPreviousCode, lPackedCode, k);
+				HT.insertHashed(lPackedCode, k, lHash);
+			}
+		}
+
+		return HT;
+	}
+
+	/* Displays the row of a hash function, computing the chain lengths and chi-square statistic from the
+	   number of distinct K-mers stored in each LinkedList of the HashTable object.                       */
+	private void displayRow(KMerHashFunction hashFunction, double dHashTableTime, HashTable HT,
+	                        double dOpenTableTime, OpenAddressingKMerTable openTable) {
+		int nSize, nMaxChain = 0, nNumOfChains = 0, nNumOfDistinctKMers = 0;
+		double dExpected, dChiSquare = 0;
+		LinkedList<KMer>[] buckets = HT.getBuckets();
+
+		for(LinkedList<KMer> bucket : buckets) {
+			if(bucket != null && !bucket.isEmpty()) {
+				nNumOfChains++;
+				nNumOfDistinctKMers += bucket.size();
+				nMaxChain = Math.max(nMaxChain, bucket.size());
+			}
+		}
+
+		/* The chi-square statistic compares the number of K-mers in each LinkedList to the number expected
+		   if the K-mers were spread uniformly over all of the LinkedLists.                                 */
+		dExpected = nNumOfDistinctKMers / (double) buckets.length;
+		for(LinkedList<KMer> bucket : buckets) {
+			if(dExpected == 0) {
+				break;
+			}
+			nSize = bucket == null ? 0 : bucket.size();
+			dChiSquare += (nSize - dExpected) * (nSize - dExpected) / dExpected;
+		}
+
+		System.out.println(String.format("%-16s %12.1f %10d %10.3f %12.3f %12.1f %10d %10.3f",
+				hashFunction.getName(),
+				dHashTableTime,
+				nMaxChain,
+				nNumOfChains == 0 ? 0 : nNumOfDistinctKMers / (double) nNumOfChains,
+				buckets.length > 1 ? dChiSquare / (buckets.length - 1) : 0,
+				dOpenTableTime,
+				openTable.getnMaxProbeLength(),
+				openTable.getMeanProbeLength()));
+	}
+}
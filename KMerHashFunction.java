@@ -0,0 +1,74 @@
+/** This interface represents a hash function for K-mers, which hashes the packed code of a K-mer (see PackedKMer)
+ *  into a 64-bit value. A hash table taking such a hash function at construction reduces the value to one of its
+ *  indices itself, such that the same hash function can be compared across differently sized tables.
+ *
+ *  A hash function may also be rolling, such that the hash value of each window of length k is updated from the
+ *  hash value of the previous window as it slides over the DNA sequence, S, rather than computed from every letter
+ *  of the K-mer. Hash functions that are not rolling simply hash the packed code of every window anew.
+ */
+interface KMerHashFunction {
+
+	/** A method that returns the name of the hash function, by which it may be chosen with forName().
+	  *
+	  * @return      the name of the hash function
+	  */
+	String getName();
+
+	/** A method that computes the hash value of a K-mer from its packed code.
+	  *
+	  * @param lPackedCode     the packed code of the K-mer
+	  * @param k               an Integer representing the length of the K-mer
+	  * @return                the 64-bit hash value of the K-mer
+	  */
+	long hash(long lPackedCode, int k);
+
+	/** A method that computes the hash value of a window of length k, given the hash value and packed code of
+	  * the window before it slid by one letter. Unless the hash function is rolling, the packed code is hashed anew.
+	  *
+	  * @param lHash                the hash value of the previous window
+	  * @param lPreviousCode        the packed code of the previous window
+	  * @param lPackedCode          the packed code of the window
+	  * @param k                    an Integer representing the length of the window
+	  * @return                     the 64-bit hash value of the window, equal to hash(lPackedCode, k)
+	  */
+	default long roll(long lHash, long lPreviousCode, long lPackedCode, int k) {
+		return hash(lPackedCode, k);
+	}
+
+	/** A method that returns a new object of each of the hash functions available, in the order by which they
+	  * are compared.
+	  *
+	  * @return      an array consisting of a new object of each hash function
+	  */
+	static KMerHashFunction[] all() {
+		return new KMerHashFunction[] {
+			new NtHashKMerHash(),
+			new Murmur3KMerHash(),
+			new XXHash32KMerHash(),
+			new MultiplyShiftKMerHash(),
+			new IdentityKMerHash()
+		};
+	}
+
+	/** A method that returns a new object of the hash function of the given name (case-insensitive).
+	  *
+	  * @param strName      the name of the hash function, such as "nthash", "murmur3", "xxhash32",
+	  *                     "multiply-shift" or "identity"
+	  * @return             a new object of the hash function
+	  * @throws IllegalArgumentException    if no hash function has such a name
+	  */
+	static KMerHashFunction forName(String strName) {
+		for(KMerHashFunction hashFunction : all()) {
+			if(hashFunction.getName().equalsIgnoreCase(strName)) {
+				return hashFunction;
+			}
+		}
+
+		/* The name "xxhash" is accepted as well, as it was used by the earlier versions of the drivers. */
+		if(strName.equalsIgnoreCase("xxhash")) {
+			return new XXHash32KMerHash();
+		}
+
+		throw new IllegalArgumentException("Unknown hash function: " + strName + ".");
+	}
+}
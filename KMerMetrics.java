@@ -0,0 +1,320 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/** This class records where the time of computing a K-mer distribution goes, and the shape of the counting engine
+ *  it was computed in, such that a slow run can be explained rather than only timed. It is opt-in: a KMerDistribution
+ *  object only records anything once it is given a KMerMetrics object, and otherwise only checks that it has none.
+ *
+ *  The wall time is split into phases: reading the DNA sequence, S, from its file (READ), counting its K-mers
+ *  (COUNT), creating a K-mer object for each distinct K-mer (COLLECT) and displaying them (OUTPUT). Encoding each
+ *  letter into its 2 bits is not a phase of its own, as the packed code of each window is rolled forward in the
+ *  same pass that counts it, hence, it is part of COUNT.
+ *
+ *  The shape of the engine is measured once it has counted every K-mer, by visiting it, rather than kept up to date
+ *  while counting: the histogram of the chain lengths (HashTable) or probe lengths (OpenAddressingKMerTable), the load
+ *  factor and the number of resizes of a hash table, or the height, average depth and imbalance of a tree.
+ *
+ *  The metrics are exported as a JSON object (see toJson()) and as JDK Flight Recorder events (see commitEvents()),
+ *  which only take effect while a recording is running, i.e. with -XX:StartFlightRecording.
+ */
+class KMerMetrics {
+
+	/* The phases of computing a K-mer distribution, by which the time spent is split. */
+	public static final int READ = 0;
+	public static final int COUNT = 1;
+	public static final int COLLECT = 2;
+	public static final int OUTPUT = 3;
+
+	private static final String[] PHASE_NAMES = {"read", "count", "collect", "output"};
+
+	private long[] lPhaseTimes = new long[PHASE_NAMES.length];
+
+	/* The engine last recorded. The metrics which do not apply to it are left at -1, and its histogram at null. */
+	private String strEngine = null;
+	private long lNumOfDistinctKMers = 0;
+	private long lNumOfCollisions = 0;
+	private double dLoadFactor = -1;
+	private int nNumOfResizes = -1;
+	private String strHistogramName = null;
+	private int[] histogram = null;
+	private int nHeight = -1;
+	private double dAverageDepth = -1;
+	private double dImbalance = -1;
+
+	/** A method that adds the time passed to that spent in a phase.
+	  *
+	  * @param nPhase      the phase (READ, COUNT, COLLECT or OUTPUT)
+	  * @param lNanos      the time spent, in nanoseconds
+	  */
+	public void addTime(int nPhase, long lNanos) {
+		lPhaseTimes[nPhase] += lNanos;
+	}
+
+	/** A method that returns the time spent in a phase.
+	  *
+	  * @param nPhase      the phase (READ, COUNT, COLLECT or OUTPUT)
+	  * @return            the time spent in the phase, in nanoseconds
+	  */
+	public long getlTime(int nPhase) {
+		return lPhaseTimes[nPhase];
+	}
+
+	/** A method that returns the time spent in every phase.
+	  *
+	  * @return      the total time, in nanoseconds
+	  */
+	public long getlTotalTime() {
+		long lTotalTime = 0;
+
+		for(long lTime : lPhaseTimes) {
+			lTotalTime += lTime;
+		}
+
+		return lTotalTime;
+	}
+
+	/** A method that records the engine passed, of which only its number of distinct K-mers and of collisions
+	  * are known, such as a DiskKMerCounter object.
+	  *
+	  * @param strEngine                the name of the engine
+	  * @param lNumOfDistinctKMers      the number of distinct K-mers counted
+	  * @param lNumOfCollisions         the number of collisions encountered by the engine
+	  */
+	public void recordEngine(String strEngine, long lNumOfDistinctKMers, long lNumOfCollisions) {
+		this.strEngine = strEngine;
+		this.lNumOfDistinctKMers = lNumOfDistinctKMers;
+		this.lNumOfCollisions = lNumOfCollisions;
+		this.dLoadFactor = -1;
+		this.nNumOfResizes = -1;
+		this.strHistogramName = null;
+		this.histogram = null;
+		this.nHeight = -1;
+		this.dAverageDepth = -1;
+		this.dImbalance = -1;
+	}
+
+	/** A method that records a HashTable object, along with the histogram of the lengths of its LinkedLists.
+	  *
+	  * @param HT      the HashTable object in which the K-mers were counted
+	  */
+	public void recordHashTable(HashTable HT) {
+		recordEngine("HashTable", HT.getnNumOfKMers(), HT.getnNumOfCollisions());
+		dLoadFactor = HT.getdLoadFactor();
+		nNumOfResizes = HT.getnNumOfResizes();
+		strHistogramName = "chainLengths";
+		histogram = HT.getnChainLengthHistogram();
+	}
+
+	/** A method that records a counting engine, along with the shape of those engines whose shape is known,
+	  * being the OpenAddressingKMerTable and the red-black trees.
+	  *
+	  * @param counter      the counting engine in which the K-mers were counted
+	  */
+	public void recordCounter(KMerCounter counter) {
+		OpenAddressingKMerTable openTable;
+
+		recordEngine(counter.getClass().getSimpleName(), counter.getnNumOfDistinctKMers(), counter.getnNumOfCollisions());
+
+		if(counter instanceof OpenAddressingKMerTable) {
+			openTable = (OpenAddressingKMerTable) counter;
+			dLoadFactor = openTable.getdLoadFactor();
+			nNumOfResizes = openTable.getnNumOfResizes();
+			strHistogramName = "probeLengths";
+			histogram = openTable.getnProbeLengthHistogram();
+		} else if(counter instanceof AbstractRedBlackKMerTree) {
+			recordShape((AbstractRedBlackKMerTree) counter);
+		}
+	}
+
+	/** A method that records a red-black tree, along with its shape.
+	  *
+	  * @param tree      the tree in which the K-mers were counted
+	  */
+	public void recordTree(AbstractRedBlackKMerTree tree) {
+		recordEngine(tree.getClass().getSimpleName(), tree.getnNumOfDistinctKMers(), tree.getnNumOfCollisions());
+		recordShape(tree);
+	}
+
+	/** A method that records a BST object, along with its shape.
+	  *
+	  * @param bst                      the BST object in which the K-mer objects were counted
+	  * @param nNumOfDistinctKMers      the number of distinct K-mer objects in the BST
+	  */
+	public void recordTree(BST bst, int nNumOfDistinctKMers) {
+		recordEngine("BST", nNumOfDistinctKMers, 0);
+		nHeight = bst.getnHeight();
+		dAverageDepth = bst.getdAverageDepth();
+		dImbalance = bst.getdImbalance();
+	}
+
+	/** A method that returns the metrics recorded as a JSON object, with the time of each phase in nanoseconds,
+	  * and the metrics of the engine which apply to it.
+	  *
+	  * @return      the metrics as a JSON object
+	  */
+	public String toJson() {
+		int i;
+		StringBuilder sb = new StringBuilder();
+
+		sb.append("{\n  \"phaseNanos\": {");
+		for(i=0; i<PHASE_NAMES.length; i++) {
+			sb.append('"').append(PHASE_NAMES[i]).append("\": ").append(lPhaseTimes[i]).append(", ");
+		}
+		sb.append("\"total\": ").append(getlTotalTime()).append('}');
+
+		if(strEngine != null) {
+			sb.append(",\n  \"engine\": {\n    \"name\": \"").append(strEngine).append('"');
+			sb.append(",\n    \"distinctKMers\": ").append(lNumOfDistinctKMers);
+			sb.append(",\n    \"collisions\": ").append(lNumOfCollisions);
+
+			if(dLoadFactor >= 0) {
+				sb.append(",\n    \"loadFactor\": ").append(String.format(Locale.ROOT, "%.6f", dLoadFactor));
+				sb.append(",\n    \"resizes\": ").append(nNumOfResizes);
+			}
+			if(histogram != null) {
+				sb.append(",\n    \"").append(strHistogramName).append("\": [");
+				for(i=0; i<histogram.length; i++) {
+					sb.append(i == 0 ? "" : ", ").append(histogram[i]);
+				}
+				sb.append(']');
+			}
+			if(nHeight >= 0) {
+				sb.append(",\n    \"height\": ").append(nHeight);
+				sb.append(",\n    \"averageDepth\": ").append(String.format(Locale.ROOT, "%.6f", dAverageDepth));
+				sb.append(",\n    \"imbalance\": ").append(String.format(Locale.ROOT, "%.6f", dImbalance));
+			}
+			sb.append("\n  }");
+		}
+
+		return sb.append("\n}").toString();
+	}
+
+	/** A method that writes the metrics recorded to a file as a JSON object (see toJson()).
+	  *
+	  * @param path      the path of the file
+	  * @throws IOException     if the file cannot be written
+	  */
+	public void writeJson(Path path) throws IOException {
+		Files.writeString(path, toJson() + "\n");
+	}
+
+	/** A method that commits an event to the JDK Flight Recorder for each phase, and one for the engine recorded.
+	  * The events are discarded unless a recording is running.
+	  */
+	public void commitEvents() {
+		int i, nMaxLength;
+		long lSumOfLengths, lNumOfEntries;
+		PhaseEvent phaseEvent;
+		EngineEvent engineEvent;
+
+		for(i=0; i<PHASE_NAMES.length; i++) {
+			phaseEvent = new PhaseEvent();
+			if(phaseEvent.shouldCommit()) {
+				phaseEvent.phase = PHASE_NAMES[i];
+				phaseEvent.time = lPhaseTimes[i];
+				phaseEvent.commit();
+			}
+		}
+
+		engineEvent = new EngineEvent();
+		if(strEngine == null || !engineEvent.shouldCommit()) {
+			return;
+		}
+
+		/* The histogram is summed up by its longest and mean length, as an event only holds single values. */
+		nMaxLength = 0;
+		lSumOfLengths = 0;
+		lNumOfEntries = 0;
+		if(histogram != null) {
+			for(i=0; i<histogram.length; i++) {
+				if(histogram[i] > 0) {
+					nMaxLength = i;
+				}
+				lSumOfLengths += (long) i * histogram[i];
+				lNumOfEntries += i == 0 ? 0 : histogram[i];
+			}
+		}
+
+		engineEvent.engine = strEngine;
+		engineEvent.distinctKMers = lNumOfDistinctKMers;
+		engineEvent.collisions = lNumOfCollisions;
+		engineEvent.loadFactor = dLoadFactor;
+		engineEvent.resizes = nNumOfResizes;
+		engineEvent.maxChainOrProbeLength = histogram == null ? -1 : nMaxLength;
+		engineEvent.meanChainOrProbeLength = lNumOfEntries == 0 ? -1 : lSumOfLengths / (double) lNumOfEntries;
+		engineEvent.height = nHeight;
+		engineEvent.averageDepth = dAverageDepth;
+		engineEvent.imbalance = dImbalance;
+		engineEvent.commit();
+	}
+
+	/* Copies the shape of a red-black tree. */
+	private void recordShape(AbstractRedBlackKMerTree tree) {
+		nHeight = tree.getnHeight();
+		dAverageDepth = tree.getdAverageDepth();
+		dImbalance = tree.getdImbalance();
+	}
+
+	/* The event of the time spent in a single phase of computing a K-mer distribution. */
+	@Name("kmers.Phase")
+	@Label("K-mer Distribution Phase")
+	@Category("K-mers")
+	@Description("Time spent in a phase of computing a K-mer distribution")
+	static class PhaseEvent extends Event {
+
+		@Label("Phase")
+		String phase;
+
+		@Label("Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long time;
+	}
+
+	/* The event of the shape of the counting engine a K-mer distribution was computed in. A metric which does not
+	   apply to the engine is -1.                                                                                */
+	@Name("kmers.Engine")
+	@Label("K-mer Counting Engine")
+	@Category("K-mers")
+	@Description("Shape of the counting engine a K-mer distribution was computed in")
+	static class EngineEvent extends Event {
+
+		@Label("Engine")
+		String engine;
+
+		@Label("Distinct K-mers")
+		long distinctKMers;
+
+		@Label("Collisions")
+		long collisions;
+
+		@Label("Load Factor")
+		double loadFactor;
+
+		@Label("Resizes")
+		int resizes;
+
+		@Label("Max Chain or Probe Length")
+		int maxChainOrProbeLength;
+
+		@Label("Mean Chain or Probe Length")
+		double meanChainOrProbeLength;
+
+		@Label("Height")
+		int height;
+
+		@Label("Average Depth")
+		double averageDepth;
+
+		@Label("Imbalance")
+		double imbalance;
+	}
+}
@@ -0,0 +1,315 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/** This class serves batches of queries on a K-mer distribution (see KMerCountQuery) over HTTP, on the loopback
+ *  address only, such that the distribution is loaded once and kept resident for any number of clients rather than
+ *  counted again, or read from its file again, by each of them. It answers the following requests:
+ *
+ *      POST /counts          a batch of K-mers as text, separated by whitespace (i.e. one per line), answered with
+ *                            the number of occurrences of each, one per line, in the same order
+ *      POST /counts/packed   a batch of packed codes, as little-endian longs, answered with the number of occurrences
+ *                            of each, as little-endian ints, in the same order
+ *      GET  /stats           the distribution, the number of batches and K-mers answered, and a histogram of the
+ *                            latency of each kind of batch (see LatencyHistogram), as a JSON object
+ *
+ *  A K-mer which cannot belong to the distribution is answered with KMerCountQuery.INVALID_KMER (-1). Each request is
+ *  handled on a thread of its own, taken from a pool of platform threads, hence, the clients are served concurrently.
+ *
+ *  The server is run on a database file (see KMerCountDatabase), e.g. "java KMerQueryServer counts.db port=8080",
+ *  and queried with any HTTP client, e.g. "curl --data-binary @kmers.txt http://localhost:8080/counts".
+ */
+class KMerQueryServer {
+
+	public static final int DEFAULT_PORT = 8080;
+
+	/* The largest batch accepted, such that a single request cannot exhaust the heap of the server. */
+	public static final int MAX_BATCH_BYTES = 64 << 20;
+
+	private KMerCountQuery query;
+	private KMerCountDatabase database;
+	private HttpServer server;
+	private ExecutorService executor;
+
+	private LatencyHistogram textLatencies = new LatencyHistogram();
+	private LatencyHistogram packedLatencies = new LatencyHistogram();
+	private LongAdder numOfKMersQueried = new LongAdder();
+
+	/** This constructor creates a server of the K-mer distribution held in the database passed, bound to the port
+	  * passed on the loopback address. The server only answers requests once started.
+	  *
+	  * @param database           the database holding the K-mer distribution
+	  * @param nPort              an Integer representing the port, or 0 for any free port
+	  * @param nNumOfThreads      an Integer representing the number of threads handling requests, or 0 for a thread
+	  *                           per request being handled at once
+	  * @throws IOException       if the port cannot be bound
+	  */
+	public KMerQueryServer(KMerCountDatabase database, int nPort, int nNumOfThreads) throws IOException {
+		this.database = database;
+		this.query = new KMerCountQuery(database);
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), nPort), 0);
+		this.executor = nNumOfThreads > 0 ? Executors.newFixedThreadPool(nNumOfThreads) : Executors.newCachedThreadPool();
+
+		server.setExecutor(executor);
+		server.createContext("/counts", this::handleText);
+		server.createContext("/counts/packed", this::handlePacked);
+		server.createContext("/stats", this::handleStats);
+	}
+
+	/** A method that starts answering requests, on the threads of the server.
+	  */
+	public void start() {
+		server.start();
+	}
+
+	/** A method that stops answering requests, waiting up to the number of seconds passed for those being answered.
+	  *
+	  * @param nDelay      an Integer representing the number of seconds to wait
+	  */
+	public void stop(int nDelay) {
+		server.stop(nDelay);
+		executor.shutdown();
+	}
+
+	/** A method that returns the port on which the server answers requests.
+	  *
+	  * @return      the port of the server
+	  */
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	/** A method that returns the histogram of the latencies of the batches of K-mers given as text.
+	  *
+	  * @return      the latencies of the batches of text
+	  */
+	public LatencyHistogram getTextLatencies() {
+		return textLatencies;
+	}
+
+	/** A method that returns the histogram of the latencies of the batches of packed codes.
+	  *
+	  * @return      the latencies of the batches of packed codes
+	  */
+	public LatencyHistogram getPackedLatencies() {
+		return packedLatencies;
+	}
+
+	/* Answers a batch of K-mers as text. Each K-mer is packed straight from the bytes of the request, and each number
+	   of occurrences is written straight to the bytes of the response, hence, no String object is created per K-mer. */
+	private void handleText(HttpExchange exchange) throws IOException {
+		int i, k = query.getK(), nLength = 0, nBase, nCount;
+		long lStartTime = System.nanoTime(), lPackedCode = 0, lNumOfKMers = 0;
+		boolean isValid = true;
+		byte[] request;
+		ByteArrayOutputStream response;
+
+		if(!isAccepted(exchange, "POST")) {
+			return;
+		}
+		request = readBatch(exchange);
+		if(request == null) {
+			return;
+		}
+		response = new ByteArrayOutputStream(request.length / (k + 1) * 4 + 16);
+
+		/* Each K-mer ends at the first whitespace after it, or at the end of the request. */
+		for(i=0; i<=request.length; i++) {
+			if(i == request.length || Character.isWhitespace(request[i])) {
+				if(nLength > 0) {
+					if(!isValid || nLength != k) {
+						nCount = KMerCountQuery.INVALID_KMER;
+					} else {
+						nCount = query.getCount(query.isCanonical() ? PackedKMer.canonical(lPackedCode, k) : lPackedCode);
+					}
+					writeCount(response, nCount);
+					lNumOfKMers++;
+				}
+				nLength = 0;
+				lPackedCode = 0;
+				isValid = true;
+			} else {
+				nBase = PackedKMer.encodeBase((char) request[i]);
+				isValid &= nBase >= 0 && nLength < k;
+				lPackedCode = (lPackedCode << 2) | (nBase & 3);
+				nLength++;
+			}
+		}
+
+		respond(exchange, 200, "text/plain; charset=utf-8", response.toByteArray());
+		numOfKMersQueried.add(lNumOfKMers);
+		textLatencies.record(System.nanoTime() - lStartTime);
+	}
+
+	/* Answers a batch of packed codes, given and answered in little-endian byte order. */
+	private void handlePacked(HttpExchange exchange) throws IOException {
+		int i, nNumOfKMers;
+		long lStartTime = System.nanoTime();
+		byte[] request;
+		ByteBuffer codes, counts;
+
+		if(!isAccepted(exchange, "POST")) {
+			return;
+		}
+		request = readBatch(exchange);
+		if(request == null) {
+			return;
+		}
+		if(request.length % Long.BYTES != 0) {
+			respond(exchange, 400, "text/plain; charset=utf-8",
+					"A batch of packed codes must be a whole number of 8-byte longs.\n".getBytes(StandardCharsets.UTF_8));
+			return;
+		}
+
+		nNumOfKMers = request.length / Long.BYTES;
+		codes = ByteBuffer.wrap(request).order(ByteOrder.LITTLE_ENDIAN);
+		counts = ByteBuffer.allocate(nNumOfKMers * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		for(i=0; i<nNumOfKMers; i++) {
+			counts.putInt(query.getCount(codes.getLong()));
+		}
+
+		respond(exchange, 200, "application/octet-stream", counts.array());
+		numOfKMersQueried.add(nNumOfKMers);
+		packedLatencies.record(System.nanoTime() - lStartTime);
+	}
+
+	/* Answers the statistics of the server as a JSON object. */
+	private void handleStats(HttpExchange exchange) throws IOException {
+		StringBuilder sb = new StringBuilder();
+
+		if(!isAccepted(exchange, "GET")) {
+			return;
+		}
+
+		sb.append("{\n  \"k\": ").append(query.getK());
+		sb.append(",\n  \"canonical\": ").append(query.isCanonical());
+		sb.append(",\n  \"distinctKMers\": ").append(database.getlNumOfDistinctKMers());
+		sb.append(",\n  \"totalKMers\": ").append(database.getlTotalKMers());
+		sb.append(",\n  \"kMersQueried\": ").append(numOfKMersQueried.sum());
+		sb.append(",\n  \"textLatency\": ").append(textLatencies.toJson());
+		sb.append(",\n  \"packedLatency\": ").append(packedLatencies.toJson());
+		sb.append("\n}\n");
+
+		respond(exchange, 200, "application/json", sb.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/* Returns whether the request passed is of the method passed, and for the exact path of its handler, answering it
+	   with an error otherwise.                                                                                       */
+	private boolean isAccepted(HttpExchange exchange, String strMethod) throws IOException {
+		if(!exchange.getRequestURI().getPath().equals(exchange.getHttpContext().getPath())) {
+			respond(exchange, 404, "text/plain; charset=utf-8", "Not found.\n".getBytes(StandardCharsets.UTF_8));
+			return false;
+		}
+		if(!exchange.getRequestMethod().equalsIgnoreCase(strMethod)) {
+			exchange.getResponseHeaders().set("Allow", strMethod);
+			respond(exchange, 405, "text/plain; charset=utf-8", ("Only " + strMethod + " is accepted.\n").getBytes(StandardCharsets.UTF_8));
+			return false;
+		}
+
+		return true;
+	}
+
+	/* Returns the body of the request passed, or null once it is answered with an error for being too large. */
+	private byte[] readBatch(HttpExchange exchange) throws IOException {
+		byte[] request;
+
+		try(InputStream in = exchange.getRequestBody()) {
+			request = in.readNBytes(MAX_BATCH_BYTES + 1);
+		}
+		if(request.length > MAX_BATCH_BYTES) {
+			respond(exchange, 413, "text/plain; charset=utf-8",
+					("A batch must be at most " + MAX_BATCH_BYTES + " bytes.\n").getBytes(StandardCharsets.UTF_8));
+			return null;
+		}
+
+		return request;
+	}
+
+	/* Writes the digits of the number of occurrences passed, followed by a line break. */
+	private static void writeCount(ByteArrayOutputStream response, int nCount) {
+		int i, nNumOfDigits = 1, nRest;
+		byte[] digits = new byte[12];
+
+		if(nCount < 0) {
+			response.write('-');
+			nCount = -nCount;
+		}
+		for(nRest=nCount; nRest>=10; nRest/=10) {
+			nNumOfDigits++;
+		}
+		for(i=nNumOfDigits-1; i>=0; i--) {
+			digits[i] = (byte) ('0' + nCount % 10);
+			nCount /= 10;
+		}
+		digits[nNumOfDigits] = '\n';
+
+		response.write(digits, 0, nNumOfDigits + 1);
+	}
+
+	/* Sends the response passed, closing the exchange. */
+	private static void respond(HttpExchange exchange, int nStatus, String strContentType, byte[] body) throws IOException {
+		exchange.getResponseHeaders().set("Content-Type", strContentType);
+		exchange.sendResponseHeaders(nStatus, body.length == 0 ? -1 : body.length);
+
+		try(OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+	}
+
+	/** The server is run on a database file written by either driver (i.e. "java DriverHT db=counts.db"), on the
+	  * port of "port=<number>" (8080 by default), with "threads=<number>" threads handling requests (by default, a
+	  * thread per request being handled at once). It answers requests until the program is terminated.
+	  *
+	  * @param args      the path of the database file, followed by the options above
+	  */
+	public static void main(String[] args) {
+		int nPort = DEFAULT_PORT, nNumOfThreads = 0;
+		Path databasePath = null;
+		KMerCountDatabase database;
+		KMerQueryServer queryServer;
+
+		for(String strArgument : args) {
+			try {
+				if(strArgument.toLowerCase().startsWith("port=")) {
+					nPort = Integer.parseInt(strArgument.substring("port=".length()));
+				} else if(strArgument.toLowerCase().startsWith("threads=")) {
+					nNumOfThreads = Integer.parseInt(strArgument.substring("threads=".length()));
+				} else {
+					databasePath = Path.of(strArgument);
+				}
+			} catch(NumberFormatException e) {
+				System.out.println("Invalid Input! Not an integer: " + strArgument);
+				return;
+			}
+		}
+		if(databasePath == null || nPort < 0 || nPort > 65535 || nNumOfThreads < 0) {
+			System.out.println("Usage: java KMerQueryServer <database file> [port=<0 to 65535>] [threads=<number>]");
+			return;
+		}
+
+		try {
+			database = KMerCountDatabase.open(databasePath);
+			queryServer = new KMerQueryServer(database, nPort, nNumOfThreads);
+		} catch(IOException e) {
+			System.out.println("The server could not be started: " + e.getMessage());
+			return;
+		}
+
+		queryServer.start();
+		System.out.println("Serving " + database.getlNumOfDistinctKMers() + " distinct K-mers of length " + database.getK()
+				+ " from " + databasePath + " on http://localhost:" + queryServer.getPort() + "/counts");
+	}
+}
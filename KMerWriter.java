@@ -0,0 +1,205 @@
+import java.io.Closeable;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/** This class is a template for the writers of a K-mer distribution, which write each K-mer and its number of
+ *  occurrences to a file, or to the standard output, through a single large direct ByteBuffer handed to a FileChannel
+ *  whenever it is full. Rather than displaying a String object per K-mer (see KMer.toString()), the subclasses decode
+ *  the packed code of each K-mer straight into the bytes of the buffer (see TsvKMerWriter and BinaryKMerWriter).
+ *
+ *  As a writer is a KMerCountConsumer, the K-mers of a counting engine may be handed to it directly, such as those of
+ *  a DiskKMerCounter object, or those of a tree in lexicographic order (see RedBlackKMerTree.inOrderWalk()).
+ */
+abstract class KMerWriter implements KMerCountConsumer, Closeable {
+
+	/* The number of bytes buffered before they are written to the channel. */
+	public static final int BUFFER_SIZE = 1 << 20;
+
+	protected int k;
+	protected ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+	protected FileChannel channel;
+
+	/* The standard output is flushed but never closed, as closing it would close the console as well. */
+	private boolean isStandardOutput;
+	private long lNumOfKMers = 0;
+	private long lNumOfBytes = 0;
+
+	/** This constructor creates a writer of K-mers of length k to the file passed, which is created, or emptied
+	  * if it exists.
+	  *
+	  * @param k           an Integer representing the length of each K-mer to be written
+	  * @param path        the path of the file
+	  * @throws IOException       if the file cannot be opened
+	  */
+	protected KMerWriter(int k, Path path) throws IOException {
+		this.k = k;
+		this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		this.isStandardOutput = false;
+	}
+
+	/** This constructor creates a writer of K-mers of length k to the standard output. Anything displayed through
+	  * System.out before is flushed first, such that it precedes the K-mers written.
+	  *
+	  * @param k           an Integer representing the length of each K-mer to be written
+	  */
+	@SuppressWarnings("resource")
+	protected KMerWriter(int k) {
+		System.out.flush();
+
+		this.k = k;
+		this.channel = new FileOutputStream(FileDescriptor.out).getChannel();
+		this.isStandardOutput = true;
+	}
+
+	/** A method that writes a K-mer of up to PackedKMer.MAX_K letters and its number of occurrences.
+	  *
+	  * @param lPackedCode     the packed code of the K-mer
+	  * @param nCount          the number of occurrences of the K-mer
+	  * @throws IOException    if the buffer cannot be written to the channel
+	  */
+	public void write(long lPackedCode, int nCount) throws IOException {
+		ensureRemaining(getnMaxRecordSize());
+		putKMer(lPackedCode, nCount);
+		lNumOfKMers++;
+	}
+
+	/** A method that writes a K-mer of more than PackedKMer.MAX_K letters, given its words (see WidePackedKMer),
+	  * and its number of occurrences.
+	  *
+	  * @param words           the array holding the words of the K-mer
+	  * @param nOffset         an Integer representing the index of the first word of the K-mer
+	  * @param nCount          the number of occurrences of the K-mer
+	  * @throws IOException    if the buffer cannot be written to the channel
+	  */
+	public void write(long[] words, int nOffset, int nCount) throws IOException {
+		ensureRemaining(getnMaxRecordSize());
+		putKMer(words, nOffset, nCount);
+		lNumOfKMers++;
+	}
+
+	/** A method that writes a K-mer object and its number of occurrences.
+	  *
+	  * @param kMer            the K-mer object to be written
+	  * @throws IOException    if the buffer cannot be written to the channel
+	  */
+	public void write(KMer kMer) throws IOException {
+		if(kMer.getPackedWords() == null) {
+			write(kMer.getlPackedCode(), kMer.getnNumOfOccurrences());
+		} else {
+			write(kMer.getPackedWords(), 0, kMer.getnNumOfOccurrences());
+		}
+	}
+
+	/** A method that writes a K-mer and its number of occurrences, as handed by a counting engine. As the
+	  * consumer of an engine cannot throw an IOException, it is rethrown as an UncheckedIOException.
+	  *
+	  * @param lPackedCode     the packed code of the K-mer
+	  * @param nCount          the number of occurrences of the K-mer
+	  */
+	@Override
+	public void accept(long lPackedCode, int nCount) {
+		try {
+			write(lPackedCode, nCount);
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/** A method that writes every byte buffered to the channel.
+	  *
+	  * @throws IOException    if the buffer cannot be written to the channel
+	  */
+	public void flush() throws IOException {
+		buffer.flip();
+		while(buffer.hasRemaining()) {
+			lNumOfBytes += channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	/** A method that writes every byte buffered to the channel, and closes the file, unless the K-mers are
+	  * written to the standard output.
+	  *
+	  * @throws IOException    if the buffer cannot be written to the channel
+	  */
+	@Override
+	public void close() throws IOException {
+		flush();
+
+		if(!isStandardOutput) {
+			finish();
+			channel.close();
+		}
+	}
+
+	/** A method that returns the number of K-mers written.
+	  *
+	  * @return      the number of K-mers written
+	  */
+	public long getlNumOfKMers() {
+		return lNumOfKMers;
+	}
+
+	/** A method that returns the number of bytes written to the channel so far, excluding those still buffered.
+	  *
+	  * @return      the number of bytes written
+	  */
+	public long getlNumOfBytes() {
+		return lNumOfBytes;
+	}
+
+	/** A method that returns whether the K-mers are written to the standard output rather than to a file.
+	  *
+	  * @return      a boolean denoting whether the K-mers are written to the standard output
+	  */
+	public boolean isStandardOutput() {
+		return isStandardOutput;
+	}
+
+	/** A method that returns the greatest number of bytes taken by a single K-mer, such that the buffer is
+	  * written to the channel beforehand should fewer bytes remain.
+	  *
+	  * @return      the greatest number of bytes of a single K-mer
+	  */
+	protected abstract int getnMaxRecordSize();
+
+	/** A method that puts a K-mer of up to PackedKMer.MAX_K letters and its number of occurrences in the buffer,
+	  * which holds at least getnMaxRecordSize() bytes more.
+	  *
+	  * @param lPackedCode     the packed code of the K-mer
+	  * @param nCount          the number of occurrences of the K-mer
+	  */
+	protected abstract void putKMer(long lPackedCode, int nCount);
+
+	/** A method that puts a K-mer of more than PackedKMer.MAX_K letters and its number of occurrences in the
+	  * buffer, which holds at least getnMaxRecordSize() bytes more.
+	  *
+	  * @param words           the array holding the words of the K-mer
+	  * @param nOffset         an Integer representing the index of the first word of the K-mer
+	  * @param nCount          the number of occurrences of the K-mer
+	  */
+	protected abstract void putKMer(long[] words, int nOffset, int nCount);
+
+	/** A method that completes the file once every K-mer has been written to it, before it is closed. By default,
+	  * nothing is done.
+	  *
+	  * @throws IOException    if the file cannot be written
+	  */
+	protected void finish() throws IOException {
+	}
+
+	/* Writes the buffer to the channel unless it holds the number of bytes passed. */
+	private void ensureRemaining(int nNumOfBytes) throws IOException {
+		if(buffer.remaining() < nNumOfBytes) {
+			flush();
+		}
+	}
+}
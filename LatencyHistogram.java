@@ -0,0 +1,109 @@
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/** This class records the latencies of a stream of requests, such as the batches answered by a KMerQueryServer,
+ *  in a histogram of 64 buckets by powers of two: a latency of t nanoseconds is counted in bucket floor(log2(t)),
+ *  covering t from 2^b up to 2^(b+1) - 1. As only a count per bucket is kept, recording a latency takes constant time
+ *  and memory, at the cost of each percentile being known only up to the upper bound of its bucket.
+ *
+ *  Any number of threads may record latencies at once, as every count is updated atomically.
+ */
+class LatencyHistogram {
+
+	public static final int NUM_OF_BUCKETS = 64;
+
+	private AtomicLongArray buckets = new AtomicLongArray(NUM_OF_BUCKETS);
+	private LongAdder numOfLatencies = new LongAdder();
+	private LongAdder sumOfLatencies = new LongAdder();
+
+	/** A method that records a single latency.
+	  *
+	  * @param lNanos      the latency, in nanoseconds
+	  */
+	public void record(long lNanos) {
+		lNanos = Math.max(lNanos, 1);
+
+		buckets.incrementAndGet(63 - Long.numberOfLeadingZeros(lNanos));
+		numOfLatencies.increment();
+		sumOfLatencies.add(lNanos);
+	}
+
+	/** A method that returns the number of latencies recorded.
+	  *
+	  * @return      the number of latencies recorded
+	  */
+	public long getlNumOfLatencies() {
+		return numOfLatencies.sum();
+	}
+
+	/** A method that returns the mean of the latencies recorded.
+	  *
+	  * @return      the mean latency, in nanoseconds, or 0 if none is recorded
+	  */
+	public double getdMeanLatency() {
+		long lNumOfLatencies = numOfLatencies.sum();
+
+		return lNumOfLatencies == 0 ? 0 : sumOfLatencies.sum() / (double) lNumOfLatencies;
+	}
+
+	/** A method that returns an upper bound of a percentile of the latencies recorded, being the upper bound of the
+	  * bucket in which the percentile falls.
+	  *
+	  * @param dPercentile      the percentile (0 to 100)
+	  * @return                 the upper bound of the percentile, in nanoseconds, or 0 if no latency is recorded
+	  */
+	public long getlPercentile(double dPercentile) {
+		int i;
+		long lNumOfLatencies = 0, lRank;
+		long[] lCounts = new long[NUM_OF_BUCKETS];
+
+		/* The buckets are copied first, such that the rank is taken from the same counts as those searched. */
+		for(i=0; i<NUM_OF_BUCKETS; i++) {
+			lCounts[i] = buckets.get(i);
+			lNumOfLatencies += lCounts[i];
+		}
+		if(lNumOfLatencies == 0) {
+			return 0;
+		}
+
+		lRank = Math.max(1, (long) Math.ceil(dPercentile / 100 * lNumOfLatencies));
+		for(i=0; i<NUM_OF_BUCKETS - 1; i++) {
+			lRank -= lCounts[i];
+			if(lRank <= 0) {
+				return (2L << i) - 1;
+			}
+		}
+
+		return Long.MAX_VALUE;
+	}
+
+	/** A method that returns the latencies recorded as a JSON object, with the count and mean, the upper bounds of
+	  * the 50th, 90th, 99th and 99.9th percentiles, and the count of each bucket up to the last one in use.
+	  *
+	  * @return      the latencies as a JSON object
+	  */
+	public String toJson() {
+		int i, nLastBucket = -1;
+		StringBuilder sb = new StringBuilder();
+
+		for(i=0; i<NUM_OF_BUCKETS; i++) {
+			if(buckets.get(i) > 0) {
+				nLastBucket = i;
+			}
+		}
+
+		sb.append("{\"count\": ").append(getlNumOfLatencies());
+		sb.append(", \"meanNanos\": ").append(String.format(Locale.ROOT, "%.1f", getdMeanLatency()));
+		sb.append(", \"p50Nanos\": ").append(getlPercentile(50));
+		sb.append(", \"p90Nanos\": ").append(getlPercentile(90));
+		sb.append(", \"p99Nanos\": ").append(getlPercentile(99));
+		sb.append(", \"p999Nanos\": ").append(getlPercentile(99.9));
+		sb.append(", \"log2Buckets\": [");
+		for(i=0; i<=nLastBucket; i++) {
+			sb.append(i == 0 ? "" : ", ").append(buckets.get(i));
+		}
+
+		return sb.append("]}").toString();
+	}
+}
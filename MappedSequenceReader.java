@@ -0,0 +1,212 @@
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/** This class reads the DNA sequence, S, from a FASTA or FASTQ file rather than generating it, by mapping the file
+ *  into memory through NIO (FileChannel.map()), such that the file is read by the operating system on demand, without
+ *  ever being held in a String object. Header lines (starting with '>' or '@'), comment lines (starting with ';'),
+ *  newlines, and the separator and quality lines of FASTQ records are skipped, and only the letters of the sequences
+ *  themselves are kept. A file consisting of sequence lines only is accepted as well.
+ *
+ *  The letters are handed to the caller in chunks, each holding one byte per letter (rather than a char, as a String
+ *  would), and each starting with the last k-1 letters of the chunk before it, such that a window of length k which
+ *  spans two chunks is counted exactly once, by the later chunk. A letter outside of the alphabet, 'N', is placed
+ *  between two records, such that no window spans two records either. The chunks are meant to be counted at once, as
+ *  the same array is reused for every chunk.
+ */
+class MappedSequenceReader {
+
+	/* The number of letters of each chunk, excluding the letters it repeats from the chunk before it. */
+	public static final int CHUNK_SIZE = 1 << 20;
+
+	/* The largest region of the file mapped at once, as a MappedByteBuffer cannot exceed 2 GB. */
+	private static final long MAP_SIZE = 1L << 30;
+
+	/* The states of the parser, given by the kind of line being read. */
+	private static final int LINE_START = 0;
+	private static final int HEADER = 1;
+	private static final int SEQUENCE = 2;
+	private static final int SEPARATOR = 3;
+	private static final int QUALITY = 4;
+
+	private Path path;
+
+	/** This constructor creates a MappedSequenceReader object for the file passed, which is only opened
+	  * once it is read.
+	  *
+	  * @param path      the path of the FASTA or FASTQ file
+	  */
+	public MappedSequenceReader(Path path) {
+		this.path = path;
+	}
+
+	/** A method that returns the size of the file in bytes, which is an upper bound of the number of letters
+	  * it holds.
+	  *
+	  * @return      the size of the file in bytes
+	  * @throws IOException     if the file cannot be read
+	  */
+	public long getlFileSize() throws IOException {
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return channel.size();
+		}
+	}
+
+	/** A method that returns the path of the file read.
+	  *
+	  * @return      the path of the file
+	  */
+	public Path getPath() {
+		return path;
+	}
+
+	/** A method that reads every letter of the sequences of the file, handing them to the consumer passed in chunks,
+	  * each starting with the last nOverlap letters of the chunk before it.
+	  *
+	  * @param nOverlap     the number of letters each chunk repeats from the chunk before it, being k-1 for K-mers of length k
+	  * @param consumer     the consumer to which each chunk is handed, which must not keep the chunk once it returns
+	  * @throws IOException     if the file cannot be read
+	  */
+	public void read(int nOverlap, Consumer<CharSequence> consumer) throws IOException {
+		int i, nState = LINE_START;
+		long lPosition, lQualityLeft = 0, lRecordLength = 0;
+		byte bLetter;
+		boolean isFastq = false;
+		MappedByteBuffer buffer;
+		Chunk chunk = new Chunk(nOverlap, consumer);
+
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			for(lPosition=0; lPosition<channel.size(); lPosition+=MAP_SIZE) {
+				buffer = channel.map(FileChannel.MapMode.READ_ONLY, lPosition, Math.min(MAP_SIZE, channel.size() - lPosition));
+
+				for(i=0; i<buffer.limit(); i++) {
+					bLetter = buffer.get(i);
+
+					switch(nState) {
+						case LINE_START:
+							if(bLetter == '\n' || bLetter == '\r') {
+								break;
+							}
+
+							/* A header starts a new record, which no window may share with the record before it. */
+							if(bLetter == '>' || bLetter == '@' || bLetter == ';') {
+								isFastq |= bLetter == '@';
+								if(bLetter != ';') {
+									chunk.separate();
+									lRecordLength = 0;
+								}
+								nState = HEADER;
+								break;
+							}
+
+							/* In a FASTQ record, a line starting with '+' separates the sequence from its quality. */
+							if(isFastq && bLetter == '+') {
+								nState = SEPARATOR;
+								break;
+							}
+
+							nState = SEQUENCE;
+							chunk.append(bLetter);
+							lRecordLength++;
+							break;
+
+						case HEADER:
+							if(bLetter == '\n') {
+								nState = LINE_START;
+							}
+							break;
+
+						case SEQUENCE:
+							if(bLetter == '\n') {
+								nState = LINE_START;
+							} else if(bLetter != '\r') {
+								chunk.append(bLetter);
+								lRecordLength++;
+							}
+							break;
+
+						case SEPARATOR:
+							if(bLetter == '\n') {
+								lQualityLeft = lRecordLength;
+								nState = lQualityLeft == 0 ? LINE_START : QUALITY;
+							}
+							break;
+
+						/* The quality of a FASTQ record holds one character per letter of its sequence, and may itself
+						   start with '@' or '+', hence, it is skipped by its length rather than line by line.         */
+						case QUALITY:
+							if(bLetter != '\n' && bLetter != '\r' && --lQualityLeft == 0) {
+								nState = LINE_START;
+							}
+							break;
+					}
+				}
+			}
+		}
+
+		chunk.flush();
+	}
+
+	/* A chunk of letters, which is handed to the consumer whenever it is full, before its last letters are moved
+	   to its start to begin the next chunk.                                                                     */
+	private static class Chunk implements CharSequence {
+		private byte[] letters;
+		private int nLength = 0;
+		private int nOverlap;
+		private boolean hasNewLetters = false;
+		private Consumer<CharSequence> consumer;
+
+		private Chunk(int nOverlap, Consumer<CharSequence> consumer) {
+			this.nOverlap = Math.max(nOverlap, 0);
+			this.letters = new byte[CHUNK_SIZE + this.nOverlap];
+			this.consumer = consumer;
+		}
+
+		private void append(byte bLetter) {
+			if(nLength == letters.length) {
+				consumer.accept(this);
+				System.arraycopy(letters, nLength - nOverlap, letters, 0, nOverlap);
+				nLength = nOverlap;
+			}
+			letters[nLength++] = bLetter;
+			hasNewLetters = true;
+		}
+
+		/* Places a letter outside of the alphabet between two records. */
+		private void separate() {
+			if(nLength > 0 && letters[nLength - 1] != 'N') {
+				append((byte) 'N');
+			}
+		}
+
+		private void flush() {
+			if(hasNewLetters) {
+				consumer.accept(this);
+			}
+		}
+
+		@Override
+		public int length() {
+			return nLength;
+		}
+
+		@Override
+		public char charAt(int nIndex) {
+			return (char) letters[nIndex];
+		}
+
+		@Override
+		public CharSequence subSequence(int nStart, int nEnd) {
+			return toString().substring(nStart, nEnd);
+		}
+
+		@Override
+		public String toString() {
+			return new String(letters, 0, nLength, StandardCharsets.US_ASCII);
+		}
+	}
+}
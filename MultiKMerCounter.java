@@ -0,0 +1,147 @@
+import java.util.Arrays;
+
+/** This class counts the K-mer distributions of several lengths, k, of the DNA sequence, S, in a single pass over it.
+ *  Rather than encoding the sequence once per length, a single packed code is rolled over the sequence for the longest
+ *  length, K, and the code of the window of each shorter length, k, ending at the same letter is derived from it by
+ *  masking, as its 2k least significant bits are the last k letters (see PackedKMer). Likewise, in canonical mode, the
+ *  reverse complement of each shorter window is derived from that of the longest by shifting, as its 2k most
+ *  significant bits are the reverse complement of the last k letters.
+ *
+ *  Each length is counted into a counting engine of its own (see KMerCounter). As the rolling codes are kept between
+ *  calls, the DNA sequence may be handed over in consecutive chunks which do not repeat any letter of the chunk before
+ *  them (see MappedSequenceReader.read(), with no overlap), and a window which spans two chunks is still counted once.
+ */
+class MultiKMerCounter {
+
+	private KMerCounter[] counters;
+	private int[] kValues;
+	private long[] masks;
+	private int[] nReverseShifts;
+	private int nMaxK;
+	private long lMask;
+
+	/* The rolling codes of the longest window ending at the last letter handed over, and the number of letters of the
+	   alphabet, {a,c,g,t}, since the last letter outside of it (up to nMaxK).                                        */
+	private long lPackedCode = 0;
+	private long lReverseCode = 0;
+	private int nNumOfValidBases = 0;
+
+	/** This constructor creates a MultiKMerCounter object counting into the engines passed, one per length of K-mer.
+	  *
+	  * @param counters      the empty counting engines, of distinct lengths of K-mer (1 to PackedKMer.MAX_K)
+	  */
+	public MultiKMerCounter(KMerCounter[] counters) {
+		int i;
+
+		if(counters.length == 0) {
+			throw new IllegalArgumentException("At least one counting engine must be given.");
+		}
+
+		/* The engines are ordered by their lengths of K-mer, such that the shorter windows, which are complete
+		   sooner after a letter outside of the alphabet, are counted first.                                     */
+		this.counters = counters.clone();
+		Arrays.sort(this.counters, (first, second) -> Integer.compare(first.getK(), second.getK()));
+
+		this.kValues = new int[counters.length];
+		this.masks = new long[counters.length];
+		this.nReverseShifts = new int[counters.length];
+		this.nMaxK = this.counters[counters.length - 1].getK();
+		this.lMask = PackedKMer.mask(nMaxK);
+
+		for(i=0; i<counters.length; i++) {
+			kValues[i] = this.counters[i].getK();
+			if(i > 0 && kValues[i] == kValues[i - 1]) {
+				throw new IllegalArgumentException("Each counting engine must count a length of its own, but " + kValues[i]
+						+ " was given twice.");
+			}
+			masks[i] = PackedKMer.mask(kValues[i]);
+			nReverseShifts[i] = 2 * (nMaxK - kValues[i]);
+		}
+	}
+
+	/** A method that counts every K-mer of each length ending in the sequence passed, following on from the letters
+	  * handed over before it.
+	  *
+	  * @param sequence      the DNA sequence, S, or the next chunk of it
+	  */
+	public void count(CharSequence sequence) {
+		int i, j, nBase;
+
+		for(i=0; i<sequence.length(); i++) {
+			nBase = PackedKMer.encodeBase(sequence.charAt(i));
+
+			/* A letter outside of the alphabet, {a,c,g,t}, cannot belong to any K-mer, hence, every window
+			   restarts from the letter after it.                                                        */
+			if(nBase < 0) {
+				nNumOfValidBases = 0;
+				continue;
+			}
+
+			lPackedCode = PackedKMer.roll(lPackedCode, nBase, lMask);
+			if(nNumOfValidBases < nMaxK) {
+				nNumOfValidBases++;
+			}
+
+			for(j=0; j<kValues.length && kValues[j]<=nNumOfValidBases; j++) {
+				counters[j].add(lPackedCode & masks[j]);
+			}
+		}
+	}
+
+	/** A method that counts every K-mer of each length ending in the sequence passed, following on from the letters
+	  * handed over before it, as the lesser of its packed code and that of its reverse complement (see
+	  * PackedKMer.canonical()).
+	  *
+	  * @param sequence      the DNA sequence, S, or the next chunk of it
+	  */
+	public void countCanonical(CharSequence sequence) {
+		int i, j, nBase;
+
+		for(i=0; i<sequence.length(); i++) {
+			nBase = PackedKMer.encodeBase(sequence.charAt(i));
+
+			if(nBase < 0) {
+				nNumOfValidBases = 0;
+				continue;
+			}
+
+			lPackedCode = PackedKMer.roll(lPackedCode, nBase, lMask);
+			lReverseCode = PackedKMer.rollReverseComplement(lReverseCode, nBase, nMaxK);
+			if(nNumOfValidBases < nMaxK) {
+				nNumOfValidBases++;
+			}
+
+			for(j=0; j<kValues.length && kValues[j]<=nNumOfValidBases; j++) {
+				counters[j].add(Math.min(lPackedCode & masks[j], lReverseCode >>> nReverseShifts[j]));
+			}
+		}
+	}
+
+	/** A method that forgets the letters handed over so far, such that the next sequence handed over is counted
+	  * as the start of a new DNA sequence. The counts themselves are kept.
+	  */
+	public void reset() {
+		lPackedCode = 0;
+		lReverseCode = 0;
+		nNumOfValidBases = 0;
+	}
+
+	/** A method that returns the counting engine of the length of K-mer passed.
+	  *
+	  * @param k      an Integer representing the length of each K-mer
+	  * @return       the counting engine of the length, or null if the length is not counted
+	  */
+	public KMerCounter getCounter(int k) {
+		int nIndex = Arrays.binarySearch(kValues, k);
+
+		return nIndex < 0 ? null : counters[nIndex];
+	}
+
+	/** A method that returns the lengths of K-mer counted, in ascending order.
+	  *
+	  * @return      the lengths of K-mer counted
+	  */
+	public int[] getKValues() {
+		return kValues.clone();
+	}
+}
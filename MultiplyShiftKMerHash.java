@@ -0,0 +1,19 @@
+/** This class is a multiply-shift hash function as a KMerHashFunction, which multiplies the packed code of each
+ *  K-mer by an odd 64-bit constant and keeps the upper 32 bits of the product, those being the best mixed. It
+ *  costs a single multiplication, hence, it is the cheapest hash function that still spreads similar K-mers apart.
+ */
+class MultiplyShiftKMerHash implements KMerHashFunction {
+
+	/* The odd constant closest to 2^64 divided by the golden ratio. */
+	private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+	@Override
+	public String getName() {
+		return "multiply-shift";
+	}
+
+	@Override
+	public long hash(long lPackedCode, int k) {
+		return (lPackedCode * GOLDEN_RATIO) >>> 32;
+	}
+}
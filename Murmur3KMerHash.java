@@ -0,0 +1,17 @@
+import org.apache.commons.codec.digest.MurmurHash3;
+
+/** This class is the hash function, MurmurHash3 (32-bit, x86), as a KMerHashFunction, applied on the 8 bytes
+ *  of the packed code of each K-mer. Its 32-bit value is treated as unsigned.
+ */
+class Murmur3KMerHash implements KMerHashFunction {
+
+	@Override
+	public String getName() {
+		return "murmur3";
+	}
+
+	@Override
+	public long hash(long lPackedCode, int k) {
+		return MurmurHash3.hash32(lPackedCode) & 0xFFFFFFFFL;
+	}
+}
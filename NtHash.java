@@ -0,0 +1,56 @@
+/** This class provides a rolling hash function for K-mers in the manner of ntHash, such that the hash value of
+ *  each window of length k is obtained from the hash value of the previous window in constant time, rather than by
+ *  hashing all k letters anew as MurmurHash3 or XXHash would.
+ *
+ *  Each letter of the alphabet, {a,c,g,t}, is assigned a random 64-bit seed. The hash value of a K-mer is the
+ *  exclusive-or of the seeds of its letters, each rotated to the left by its distance from the end of the K-mer.
+ *  Hence, once the window slides, the hash value is rotated by 1, the seed of the outgoing letter (now rotated by k)
+ *  is cancelled out, and the seed of the incoming letter is added.
+ */
+class NtHash {
+
+	/* The 64-bit seeds of the letters a, c, g and t, indexed by their 2-bit codes (the same seeds as ntHash). */
+	private static final long[] SEEDS = {
+		0x3c8bfbb395c60474L,
+		0x3193c18562a02b4cL,
+		0x20323ed082572324L,
+		0x295549f54be24456L
+	};
+
+	/* This class consists of static methods only, hence, no object of it is ever created. */
+	private NtHash() {
+	}
+
+	/** A method that computes the hash value of a K-mer from all of its k letters. This is only needed
+	  * for the first window of the DNA sequence, S (or the first window after a letter outside of the
+	  * alphabet), as every following window is hashed by roll().
+	  *
+	  * @param lPackedCode     the packed code of the K-mer (see PackedKMer)
+	  * @param k               an Integer representing the length of the K-mer
+	  * @return                the hash value of the K-mer
+	  */
+	public static long hash(long lPackedCode, int k) {
+		int i;
+		long lHash = 0;
+
+		/* The letters are taken from the first one of the K-mer, stored in the most significant bits in use. */
+		for(i=k-1; i>=0; i--) {
+			lHash = Long.rotateLeft(lHash, 1) ^ SEEDS[(int) (lPackedCode >>> (2 * i)) & 3];
+		}
+
+		return lHash;
+	}
+
+	/** A method that computes the hash value of the next window of length k, from the hash value of the
+	  * previous window, the letter leaving the window and the letter entering it.
+	  *
+	  * @param lHash           the hash value of the previous window
+	  * @param nOutBase        the 2-bit code of the first letter of the previous window
+	  * @param nInBase         the 2-bit code of the letter entering the window
+	  * @param k               an Integer representing the length of the window
+	  * @return                the hash value of the next window
+	  */
+	public static long roll(long lHash, int nOutBase, int nInBase, int k) {
+		return Long.rotateLeft(lHash, 1) ^ Long.rotateLeft(SEEDS[nOutBase], k) ^ SEEDS[nInBase];
+	}
+}
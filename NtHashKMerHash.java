@@ -0,0 +1,21 @@
+/** This class is the rolling hash function, NtHash, as a KMerHashFunction. The hash value of a window is updated
+ *  from the hash value of the previous window in constant time, by the letter leaving the window and the letter
+ *  entering it, both of which are taken from the packed codes of the two windows.
+ */
+class NtHashKMerHash implements KMerHashFunction {
+
+	@Override
+	public String getName() {
+		return "nthash";
+	}
+
+	@Override
+	public long hash(long lPackedCode, int k) {
+		return NtHash.hash(lPackedCode, k);
+	}
+
+	@Override
+	public long roll(long lHash, long lPreviousCode, long lPackedCode, int k) {
+		return NtHash.roll(lHash, (int) (lPreviousCode >>> (2 * (k - 1))) & 3, (int) lPackedCode & 3, k);
+	}
+}
@@ -0,0 +1,325 @@
+import java.util.Arrays;
+
+/** This class is a counting engine for the K-mer distribution of a DNA sequence, S, in the form of a hash table
+ *  with open addressing. Rather than an array of LinkedLists holding K-mer objects, it consists of two parallel
+ *  arrays of primitives: keys, holding the packed code of each distinct K-mer (see PackedKMer), and counts, holding
+ *  its number of occurrences in the same slot. Collisions are resolved through linear probing, such that a K-mer
+ *  whose slot is taken is stored in the next free slot after it.
+ *
+ *  The number of slots is always a power of two, so that a slot is found from the hash value of the packed code with
+ *  a mask rather than the modulo operator. The hash function is supplied upon construction (see KMerHashFunction), and
+ *  defaults to a multiply-shift hash function. The table starts small and doubles its number of slots once it is filled beyond
+ *  its maximum load factor, hence, its memory is proportional to the number of distinct K-mers rather than to the
+ *  length, n, of the DNA sequence.
+ */
+class OpenAddressingKMerTable implements KMerCounter {
+
+	/* A packed code is never negative, hence, -1 marks a slot that holds no K-mer. */
+	private static final long EMPTY = -1L;
+
+	private static final int MIN_CAPACITY = 16;
+	private static final double MAX_LOAD_FACTOR = 0.75;
+
+	private int k;
+	private KMerHashFunction hashFunction;
+	private long[] keys;
+	private int[] counts;
+	private int nMask;
+	private int nMaxSize;
+
+	/* The packed codes of the distinct K-mers in the order by which they were first seen. */
+	private long[] firstSeenCodes = new long[MIN_CAPACITY];
+	private int nNumOfDistinctKMers = 0;
+	private int nNumOfCollisions = 0;
+	private int nNumOfResizes = 0;
+
+	/** This constructor creates an empty OpenAddressingKMerTable object with the minimum number of slots.
+	  *
+	  * @param k      an Integer representing the length of each K-mer to be counted (1 to 31)
+	  */
+	public OpenAddressingKMerTable(int k) {
+		this(k, 0);
+	}
+
+	/** This constructor creates an empty OpenAddressingKMerTable object with enough slots to hold the
+	  * expected number of distinct K-mers without growing.
+	  *
+	  * @param k                        an Integer representing the length of each K-mer to be counted (1 to 31)
+	  * @param nExpectedKMers           an Integer representing the expected number of distinct K-mers
+	  */
+	public OpenAddressingKMerTable(int k, int nExpectedKMers) {
+		this(k, nExpectedKMers, new MultiplyShiftKMerHash());
+	}
+
+	/** This constructor creates an empty OpenAddressingKMerTable object with enough slots to hold the
+	  * expected number of distinct K-mers without growing, which hashes the K-mers by the hash function passed.
+	  *
+	  * @param k                        an Integer representing the length of each K-mer to be counted (1 to 31)
+	  * @param nExpectedKMers           an Integer representing the expected number of distinct K-mers
+	  * @param hashFunction             the hash function by which the slot of each K-mer is computed
+	  */
+	public OpenAddressingKMerTable(int k, int nExpectedKMers, KMerHashFunction hashFunction) {
+		int nCapacity = MIN_CAPACITY;
+
+		PackedKMer.mask(k);
+		this.k = k;
+		this.hashFunction = hashFunction;
+
+		while(nCapacity * MAX_LOAD_FACTOR < nExpectedKMers && nCapacity < (1 << 30)) {
+			nCapacity <<= 1;
+		}
+		allocate(nCapacity);
+	}
+
+	/** A method that counts every K-mer of length k in the DNA sequence, S, by sliding a window over it,
+	  * such that the hash value of each window is rolled from that of the previous window.
+	  *
+	  * @param sequence     the DNA sequence, S, whose K-mers are to be counted
+	  */
+	@Override
+	public void count(CharSequence sequence) {
+		int i, nBase, nNumOfValidBases = 0;
+		long lPackedCode = 0, lPreviousCode, lHash = 0, lMask = PackedKMer.mask(k);
+
+		for(i=0; i<sequence.length(); i++) {
+			nBase = PackedKMer.encodeBase(sequence.charAt(i));
+
+			/* A letter outside of the alphabet, {a,c,g,t}, restarts the window from the letter after it. */
+			if(nBase < 0) {
+				nNumOfValidBases = 0;
+				continue;
+			}
+
+			lPreviousCode = lPackedCode;
+			lPackedCode = PackedKMer.roll(lPackedCode, nBase, lMask);
+			nNumOfValidBases++;
+
+			if(nNumOfValidBases == k) {
+				lHash = hashFunction.hash(lPackedCode, k);
+				addHashed(lPackedCode, lHash);
+			} else if(nNumOfValidBases > k) {
+				lHash = hashFunction.roll(lHash, lPreviousCode, lPackedCode, k);
+				addHashed(lPackedCode, lHash);
+			}
+		}
+	}
+
+	@Override
+	public void add(long lPackedCode) {
+		addHashed(lPackedCode, hashFunction.hash(lPackedCode, k), 1);
+	}
+
+	@Override
+	public void add(long lPackedCode, int nCount) {
+		addHashed(lPackedCode, hashFunction.hash(lPackedCode, k), nCount);
+	}
+
+	/** A method that increments the number of occurrences of a single K-mer, whose hash value has been
+	  * computed beforehand by the hash function of the table.
+	  *
+	  * @param lPackedCode    the packed code of the K-mer
+	  * @param lHash          the hash value of the K-mer
+	  */
+	public void addHashed(long lPackedCode, long lHash) {
+		addHashed(lPackedCode, lHash, 1);
+	}
+
+	/* Increases the number of occurrences of a single K-mer, whose hash value has been computed beforehand,
+	   by the number passed.                                                                                */
+	private void addHashed(long lPackedCode, long lHash, int nCount) {
+		int nHomeSlot = slotOf(lHash), nSlot = nHomeSlot;
+
+		/* The slots are probed one after the other, starting from the slot the packed code hashes to,
+		   until either the K-mer itself or a free slot is found.                                       */
+		while(keys[nSlot] != EMPTY) {
+			if(keys[nSlot] == lPackedCode) {
+				counts[nSlot] += nCount;
+				return;
+			}
+			nSlot = (nSlot + 1) & nMask;
+		}
+
+		/* The K-mer is distinct. If the slot it hashes to was taken by another K-mer, a collision occurred. */
+		if(nSlot != nHomeSlot) {
+			nNumOfCollisions++;
+		}
+
+		keys[nSlot] = lPackedCode;
+		counts[nSlot] = nCount;
+
+		if(nNumOfDistinctKMers == firstSeenCodes.length) {
+			firstSeenCodes = Arrays.copyOf(firstSeenCodes, 2 * firstSeenCodes.length);
+		}
+		firstSeenCodes[nNumOfDistinctKMers++] = lPackedCode;
+
+		if(nNumOfDistinctKMers > nMaxSize) {
+			grow();
+		}
+	}
+
+	@Override
+	public int getCount(long lPackedCode) {
+		int nSlot = slotOf(hashFunction.hash(lPackedCode, k));
+
+		while(keys[nSlot] != EMPTY) {
+			if(keys[nSlot] == lPackedCode) {
+				return counts[nSlot];
+			}
+			nSlot = (nSlot + 1) & nMask;
+		}
+
+		return 0;
+	}
+
+	@Override
+	public long getFirstSeenCode(int i) {
+		return firstSeenCodes[i];
+	}
+
+	@Override
+	public int getnNumOfDistinctKMers() {
+		return nNumOfDistinctKMers;
+	}
+
+	@Override
+	public int getnNumOfCollisions() {
+		return nNumOfCollisions;
+	}
+
+	@Override
+	public int getK() {
+		return k;
+	}
+
+	/** A method that returns the number of slots in the table, which is always a power of two.
+	  *
+	  * @return      the number of slots in the table
+	  */
+	public int getnCapacity() {
+		return keys.length;
+	}
+
+	/** A method that returns the number of slots probed to find the K-mer stored the farthest from the
+	  * slot it hashes to, counting that slot itself.
+	  *
+	  * @return      the maximum probe length of the K-mers in the table
+	  */
+	public int getnMaxProbeLength() {
+		int i, nMaxProbeLength = 0;
+
+		for(i=0; i<keys.length; i++) {
+			if(keys[i] != EMPTY) {
+				nMaxProbeLength = Math.max(nMaxProbeLength, probeLengthAt(i));
+			}
+		}
+
+		return nMaxProbeLength;
+	}
+
+	/** A method that returns the average number of slots probed to find a K-mer stored in the table,
+	  * counting the slot it hashes to itself.
+	  *
+	  * @return      the mean probe length of the K-mers in the table
+	  */
+	public double getMeanProbeLength() {
+		int i;
+		long lSumOfProbeLengths = 0;
+
+		for(i=0; i<keys.length; i++) {
+			if(keys[i] != EMPTY) {
+				lSumOfProbeLengths += probeLengthAt(i);
+			}
+		}
+
+		return nNumOfDistinctKMers == 0 ? 0 : lSumOfProbeLengths / (double) nNumOfDistinctKMers;
+	}
+
+	/** A method that returns the histogram of the probe lengths of the K-mers in the table, such that the element
+	  * at index i is the number of K-mers found after probing i slots, counting the slot each K-mer hashes to. The
+	  * histogram is computed by visiting every slot, rather than kept up to date while counting.
+	  *
+	  * @return      an array holding the number of K-mers of each probe length, from 0 up to the maximum probe length
+	  */
+	public int[] getnProbeLengthHistogram() {
+		int i;
+		int[] histogram = new int[getnMaxProbeLength() + 1];
+
+		for(i=0; i<keys.length; i++) {
+			if(keys[i] != EMPTY) {
+				histogram[probeLengthAt(i)]++;
+			}
+		}
+
+		return histogram;
+	}
+
+	/** A method that returns the number of distinct K-mers per slot, which never exceeds the maximum load factor.
+	  *
+	  * @return      the load factor of the table
+	  */
+	public double getdLoadFactor() {
+		return nNumOfDistinctKMers / (double) keys.length;
+	}
+
+	/** A method that returns the number of times the number of slots has doubled.
+	  *
+	  * @return      the number of times the table has grown
+	  */
+	public int getnNumOfResizes() {
+		return nNumOfResizes;
+	}
+
+	/** A method that returns the hash function by which the slot of each K-mer is computed.
+	  *
+	  * @return      the hash function of the table
+	  */
+	public KMerHashFunction getHashFunction() {
+		return hashFunction;
+	}
+
+	/* Returns the number of slots probed to find the K-mer stored in the given slot. */
+	private int probeLengthAt(int nSlot) {
+		return ((nSlot - slotOf(hashFunction.hash(keys[nSlot], k))) & nMask) + 1;
+	}
+
+	/* Returns the slot a hash value points to, folding its upper half into its lower half, as some hash
+	   functions only fill the lower 32 bits.                                                           */
+	private int slotOf(long lHash) {
+		return (int) (lHash ^ (lHash >>> 32)) & nMask;
+	}
+
+	/* Creates empty arrays of keys and counts with the given number of slots (a power of two). */
+	private void allocate(int nCapacity) {
+		keys = new long[nCapacity];
+		counts = new int[nCapacity];
+		Arrays.fill(keys, EMPTY);
+
+		nMask = nCapacity - 1;
+		nMaxSize = (int) (nCapacity * MAX_LOAD_FACTOR);
+	}
+
+	/* Doubles the number of slots, moving every K-mer to the slot it hashes to in the larger table. */
+	private void grow() {
+		int i, nSlot;
+		long[] oldKeys = keys;
+		int[] oldCounts = counts;
+
+		if(oldKeys.length == (1 << 30)) {
+			throw new IllegalStateException("Number of distinct K-mers exceeds the capacity of the table.");
+		}
+		allocate(2 * oldKeys.length);
+		nNumOfResizes++;
+
+		for(i=0; i<oldKeys.length; i++) {
+			if(oldKeys[i] != EMPTY) {
+				nSlot = slotOf(hashFunction.hash(oldKeys[i], k));
+
+				while(keys[nSlot] != EMPTY) {
+					nSlot = (nSlot + 1) & nMask;
+				}
+				keys[nSlot] = oldKeys[i];
+				counts[nSlot] = oldCounts[i];
+			}
+		}
+	}
+}
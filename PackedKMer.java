@@ -0,0 +1,192 @@
+/** This class provides the 2-bit packed representation of a K-mer, such that a substring of length k
+ *  over the alphabet, {a,c,g,t}, is stored inside a single long rather than in a String object. Each letter
+ *  is encoded in 2 bits (a = 00, c = 01, g = 10, t = 11), with the first letter of the K-mer occupying the most
+ *  significant bits in use. Since the letters are ordered the same way in their codes as they are in the alphabet,
+ *  comparing two packed codes of the same length k gives the same result as comparing their substrings lexicographically.
+ *
+ *  As the window of length k slides over the DNA sequence, S, the packed code of the next K-mer is obtained from the
+ *  previous one by a rolling shift-and-mask (shifting out the leftmost letter and appending the incoming one), so that no
+ *  substring ever needs to be extracted. The substring itself is decoded back only when it must be displayed.
+ *
+ *  NOTE: A K-mer can be packed in a long for as long as k does not exceed 31, leaving the sign bit unused.
+ */
+class PackedKMer {
+
+	/* The maximum length of a K-mer that can be packed in a single long, with 2 bits for each letter. */
+	public static final int MAX_K = 31;
+
+	/* The letters of the alphabet, {a,c,g,t}, indexed by their 2-bit codes. */
+	private static final char[] BASES = {'a', 'c', 'g', 't'};
+
+	/* This class consists of static methods only, hence, no object of it is ever created. */
+	private PackedKMer() {
+	}
+
+	/** A method that returns the 2-bit code of a single letter of the DNA sequence, S. Uppercase letters
+	  * are accepted as well, such that both "a" and "A" are encoded as 00.
+	  *
+	  * @param cBase      a character from the DNA sequence, S
+	  * @return           the 2-bit code of the letter (0 to 3), or -1 if the character is not a letter
+	  *                   from the alphabet, {a,c,g,t}
+	  */
+	public static int encodeBase(char cBase) {
+		switch(cBase) {
+			case 'a': case 'A': return 0;
+			case 'c': case 'C': return 1;
+			case 'g': case 'G': return 2;
+			case 't': case 'T': return 3;
+			default:            return -1;
+		}
+	}
+
+	/** A method that returns the letter of the alphabet, {a,c,g,t}, represented by a 2-bit code.
+	  *
+	  * @param nBase      the 2-bit code of a letter (0 to 3)
+	  * @return           the letter represented by the code
+	  */
+	public static char decodeBase(int nBase) {
+		return BASES[nBase & 3];
+	}
+
+	/** A method that returns the mask keeping only the 2k least significant bits of a long, which are the
+	  * bits used by a packed K-mer of length k.
+	  *
+	  * @param k      an Integer representing the length of each K-mer (1 to 31)
+	  * @return       the mask of the bits used by a packed K-mer of length k
+	  */
+	public static long mask(int k) {
+		checkLength(k);
+		return (1L << (2 * k)) - 1;
+	}
+
+	/** A method that slides the window of a packed K-mer by one letter, such that its leftmost letter is
+	  * shifted out and the incoming letter is appended as its rightmost one.
+	  *
+	  * @param code       the packed code of the K-mer before the window slides
+	  * @param nBase      the 2-bit code of the incoming letter
+	  * @param mask       the mask of the bits used by a packed K-mer of length k, as returned by mask()
+	  * @return           the packed code of the K-mer after the window slides
+	  */
+	public static long roll(long code, int nBase, long mask) {
+		return ((code << 2) | nBase) & mask;
+	}
+
+	/** A method that slides the window of the reverse complement of a packed K-mer by one letter, alongside roll().
+	  * As the reverse complement is read on the opposite strand, in the opposite direction, the complement of the
+	  * incoming letter is prepended as its leftmost letter, and its rightmost letter is shifted out.
+	  *
+	  * @param reverseCode      the packed code of the reverse complement of the K-mer before the window slides
+	  * @param nBase            the 2-bit code of the incoming letter
+	  * @param k                an Integer representing the length of the K-mer (1 to 31)
+	  * @return                 the packed code of the reverse complement of the K-mer after the window slides
+	  */
+	public static long rollReverseComplement(long reverseCode, int nBase, int k) {
+
+		/* The complement of a letter (a-t, c-g) is obtained by flipping both bits of its 2-bit code. */
+		return (reverseCode >>> 2) | ((long) (3 - nBase) << (2 * (k - 1)));
+	}
+
+	/** A method that returns the packed code of the reverse complement of a K-mer, being the K-mer read on
+	  * the opposite strand of the DNA sequence, S (i.e. the reverse complement of "aacg" is "cgtt").
+	  *
+	  * @param code       the packed code of the K-mer
+	  * @param k          an Integer representing the length of the K-mer (1 to 31)
+	  * @return           the packed code of the reverse complement of the K-mer
+	  */
+	public static long reverseComplement(long code, int k) {
+		long reverseCode = Long.reverse(~code);
+
+		checkLength(k);
+
+		/* Reversing the bits of the complement also swaps the two bits of each letter, which are swapped back,
+		   before the letters are moved down to the 2k least significant bits.                                 */
+		reverseCode = ((reverseCode >>> 1) & 0x5555555555555555L) | ((reverseCode & 0x5555555555555555L) << 1);
+		return reverseCode >>> (64 - 2 * k);
+	}
+
+	/** A method that returns the canonical form of a K-mer, being the lesser of its packed code and that of
+	  * its reverse complement, such that a K-mer and its reverse complement share the same canonical form.
+	  *
+	  * @param code       the packed code of the K-mer
+	  * @param k          an Integer representing the length of the K-mer (1 to 31)
+	  * @return           the packed code of the canonical form of the K-mer
+	  */
+	public static long canonical(long code, int k) {
+		return Math.min(code, reverseComplement(code, k));
+	}
+
+	/** A method that packs a substring of length k, starting at the given index of the DNA sequence, S.
+	  *
+	  * @param sequence   the DNA sequence, S, from which the substring is taken
+	  * @param nStart     an Integer representing the index of the first letter of the substring
+	  * @param k          an Integer representing the length of the substring (1 to 31)
+	  * @return           the packed code of the substring
+	  * @throws IllegalArgumentException    if the substring contains a letter outside of the alphabet, {a,c,g,t}
+	  */
+	public static long encode(CharSequence sequence, int nStart, int k) {
+		int i, nBase;
+		long code = 0;
+
+		checkLength(k);
+
+		for(i=nStart; i<nStart+k; i++) {
+			nBase = encodeBase(sequence.charAt(i));
+
+			if(nBase < 0) {
+				throw new IllegalArgumentException("Invalid letter '" + sequence.charAt(i) + "' at index " + i + ".");
+			}
+			code = (code << 2) | nBase;
+		}
+
+		return code;
+	}
+
+	/** A method that packs a whole substring, such that its length is taken as k.
+	  *
+	  * @param strSubstring    a String consisting only of letters from the alphabet, {a,c,g,t}
+	  * @return                the packed code of the substring
+	  */
+	public static long encode(String strSubstring) {
+		return encode(strSubstring, 0, strSubstring.length());
+	}
+
+	/** A method that decodes a packed K-mer back to its substring of length k. This is only meant to be
+	  * called upon the display of a K-mer, as it creates a new String object.
+	  *
+	  * @param code       the packed code of the K-mer
+	  * @param k          an Integer representing the length of the K-mer
+	  * @return           the substring represented by the packed code
+	  */
+	public static String decode(long code, int k) {
+		char[] letters = new char[k];
+
+		decode(code, k, letters, 0);
+		return new String(letters);
+	}
+
+	/** A method that decodes a packed K-mer into an existing array of characters, such that the caller
+	  * may reuse the array for every K-mer it displays.
+	  *
+	  * @param code       the packed code of the K-mer
+	  * @param k          an Integer representing the length of the K-mer
+	  * @param letters    the array to which the k letters are written
+	  * @param nOffset    an Integer representing the index in the array of the first letter
+	  */
+	public static void decode(long code, int k, char[] letters, int nOffset) {
+		int i;
+
+		/* The rightmost letter of the K-mer is stored in the least significant bits, hence, the
+		   letters are written from the end of the K-mer towards its start.                      */
+		for(i=k-1; i>=0; i--) {
+			letters[nOffset + i] = BASES[(int) (code & 3)];
+			code >>>= 2;
+		}
+	}
+
+	/* Rejects any length of K-mer which cannot be packed in a single long. */
+	private static void checkLength(int k) {
+		if(k < 1 || k > MAX_K) {
+			throw new IllegalArgumentException("K-mer length must be from 1 to " + MAX_K + ", but was " + k + ".");
+		}
+	}
+}
@@ -0,0 +1,213 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/** This class counts the K-mer distribution of a DNA sequence, S, on several threads at once, through a ForkJoinPool.
+ *  The sequence is split into as many slices as there are threads, and each slice is counted on a worker thread into
+ *  a counting engine of its own (see KMerCounter), such that the threads never share, nor lock, a table while counting.
+ *  Once every slice has been counted, the engines are merged pairwise, also in parallel, into a single engine.
+ *
+ *  Each slice repeats the last k-1 letters of the slice before it, such that every window of length k starts in exactly
+ *  one slice, and no window is either lost or counted twice at the border of two slices. As the engines of consecutive
+ *  slices are merged from the first one, the K-mers of a sequence counted at once are recorded in the order by which
+ *  they were first seen in it.
+ *
+ *  The supplier may also hand every thread the same engine, so long as many threads may count into it at once (see
+ *  ConcurrentKMerTable), in which case the engine is shared rather than merged.
+ *
+ *  A sequence too long to be held at once (see MappedSequenceReader) may be counted a chunk at a time, in which case
+ *  each engine keeps counting its slice of every chunk until the engines are merged. The counts are the same, but
+ *  the first engine then holds K-mers of later chunks ahead of those the other engines saw in the first chunk, hence,
+ *  the K-mers are no longer recorded in the order by which they were first seen in S.
+ */
+class ParallelKMerCounter {
+
+	/* The least number of windows a slice holds, below which the sequence is split into fewer slices. */
+	private static final int MIN_SLICE_SIZE = 1 << 12;
+
+	private int k;
+	private int nNumOfThreads;
+	private KMerCounter[] counters;
+	private ForkJoinPool pool;
+
+	/** This constructor creates a ParallelKMerCounter object which counts on the number of threads passed, into
+	  * one counting engine per thread, each of which is created by the supplier passed.
+	  *
+	  * @param nNumOfThreads      the number of threads, and of counting engines (at least 1)
+	  * @param supplier           the supplier of empty counting engines, all of which count K-mers of the same length,
+	  *                           or of the one engine shared by every thread
+	  */
+	public ParallelKMerCounter(int nNumOfThreads, Supplier<KMerCounter> supplier) {
+		int i;
+
+		if(nNumOfThreads < 1) {
+			throw new IllegalArgumentException("Number of threads must be at least 1, but was " + nNumOfThreads + ".");
+		}
+
+		this.nNumOfThreads = nNumOfThreads;
+		this.counters = new KMerCounter[nNumOfThreads];
+		for(i=0; i<nNumOfThreads; i++) {
+			counters[i] = supplier.get();
+		}
+		this.k = counters[0].getK();
+		this.pool = new ForkJoinPool(nNumOfThreads);
+	}
+
+	/** A method that counts every K-mer of the sequence passed (either the whole DNA sequence, S, or a chunk of it),
+	  * each slice of it on a thread of its own.
+	  *
+	  * @param sequence        the sequence whose K-mers are to be counted
+	  * @param isCanonical     a boolean denoting whether the K-mers are to be counted in their canonical form
+	  */
+	public void count(CharSequence sequence, boolean isCanonical) {
+		int nNumOfWindows = Math.max(sequence.length() - k + 1, 0);
+		int nNumOfSlices = Math.max(1, Math.min(nNumOfThreads, nNumOfWindows / MIN_SLICE_SIZE));
+
+		pool.invoke(new CountTask(sequence, isCanonical, nNumOfWindows, nNumOfSlices, 0, nNumOfSlices));
+	}
+
+	/** A method that merges the counting engines of every thread into the engine of the first thread, which is
+	  * returned. The threads are released afterwards, hence, nothing more may be counted.
+	  *
+	  * @return      the counting engine holding the K-mer distribution of everything counted
+	  */
+	public KMerCounter merge() {
+		try {
+			return pool.invoke(new MergeTask(0, nNumOfThreads));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/** A method that returns the number of threads on which the K-mers are counted.
+	  *
+	  * @return      the number of threads
+	  */
+	public int getnNumOfThreads() {
+		return nNumOfThreads;
+	}
+
+	/* A task which counts the slices from nFromSlice up to nToSlice (exclusive), splitting itself in two
+	   until it is left with a single slice, which it counts into the engine of that slice.            */
+	private class CountTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private CharSequence sequence;
+		private boolean isCanonical;
+		private int nNumOfWindows;
+		private int nNumOfSlices;
+		private int nFromSlice;
+		private int nToSlice;
+
+		private CountTask(CharSequence sequence, boolean isCanonical, int nNumOfWindows, int nNumOfSlices,
+		                  int nFromSlice, int nToSlice) {
+			this.sequence = sequence;
+			this.isCanonical = isCanonical;
+			this.nNumOfWindows = nNumOfWindows;
+			this.nNumOfSlices = nNumOfSlices;
+			this.nFromSlice = nFromSlice;
+			this.nToSlice = nToSlice;
+		}
+
+		@Override
+		protected void compute() {
+			int nMiddle, nStart, nEnd;
+			CharSequence slice;
+
+			if(nToSlice - nFromSlice > 1) {
+				nMiddle = (nFromSlice + nToSlice) >>> 1;
+				invokeAll(new CountTask(sequence, isCanonical, nNumOfWindows, nNumOfSlices, nFromSlice, nMiddle),
+				          new CountTask(sequence, isCanonical, nNumOfWindows, nNumOfSlices, nMiddle, nToSlice));
+				return;
+			}
+
+			/* The slice holds the windows starting from nStart up to nEnd (exclusive), along with the k-1 letters
+			   following the last of them, which start the windows of the next slice.                             */
+			nStart = (int) ((long) nNumOfWindows * nFromSlice / nNumOfSlices);
+			nEnd = (int) ((long) nNumOfWindows * nToSlice / nNumOfSlices);
+			if(nStart == nEnd) {
+				return;
+			}
+			slice = new Slice(sequence, nStart, nEnd + k - 1);
+
+			if(isCanonical) {
+				counters[nFromSlice].countCanonical(slice);
+			} else {
+				counters[nFromSlice].count(slice);
+			}
+		}
+	}
+
+	/* A view of the letters of a sequence from nStart up to nEnd (exclusive), such that a slice is counted
+	   in place rather than copied, as String.substring() or the chunks of MappedSequenceReader would.     */
+	private static class Slice implements CharSequence {
+		private CharSequence sequence;
+		private int nStart;
+		private int nEnd;
+
+		private Slice(CharSequence sequence, int nStart, int nEnd) {
+			this.sequence = sequence;
+			this.nStart = nStart;
+			this.nEnd = nEnd;
+		}
+
+		@Override
+		public int length() {
+			return nEnd - nStart;
+		}
+
+		@Override
+		public char charAt(int nIndex) {
+			return sequence.charAt(nStart + nIndex);
+		}
+
+		@Override
+		public CharSequence subSequence(int nFrom, int nTo) {
+			return new Slice(sequence, nStart + nFrom, nStart + nTo);
+		}
+
+		@Override
+		public String toString() {
+			return sequence.subSequence(nStart, nEnd).toString();
+		}
+	}
+
+	/* A task which merges the engines from nFrom up to nTo (exclusive) into the engine at nFrom, merging
+	   both halves in parallel before merging the second half into the first.                          */
+	private class MergeTask extends RecursiveTask<KMerCounter> {
+		private static final long serialVersionUID = 1L;
+
+		private int nFrom;
+		private int nTo;
+
+		private MergeTask(int nFrom, int nTo) {
+			this.nFrom = nFrom;
+			this.nTo = nTo;
+		}
+
+		@Override
+		protected KMerCounter compute() {
+			int nMiddle;
+			MergeTask secondHalf;
+			KMerCounter counter, secondCounter;
+
+			if(nTo - nFrom == 1) {
+				return counters[nFrom];
+			}
+
+			nMiddle = (nFrom + nTo) >>> 1;
+			secondHalf = new MergeTask(nMiddle, nTo);
+			secondHalf.fork();
+			counter = new MergeTask(nFrom, nMiddle).compute();
+			secondCounter = secondHalf.join();
+
+			/* An engine shared by every thread already holds the K-mers of each of them. */
+			if(counter != secondCounter) {
+				counter.merge(secondCounter);
+			}
+
+			return counter;
+		}
+	}
+}
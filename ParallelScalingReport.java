@@ -0,0 +1,92 @@
+import java.util.function.Supplier;
+
+/** This class reports how the counting of the K-mer distribution of a DNA sequence, S, scales with the number of
+ *  threads (see ParallelKMerCounter), such that the speedup gained from each additional core can be judged against
+ *  the cost of either merging the tables of every thread, or sharing a single table. The K-mers are counted on 1 up to
+ *  the number of processors available, and for each number of threads the following are displayed:
+ *
+ *  - the time taken to count and merge the K-mers (in milliseconds) in an OpenAddressingKMerTable per thread, as the
+ *    best of several runs, along with its speedup (the time taken on a single thread divided by the time taken) and
+ *    efficiency (the speedup divided by the number of threads);
+ *  - the time taken to count the K-mers in a single ConcurrentKMerTable shared, without any lock, by every thread;
+ *  - the time taken to count the K-mers in a single StripedHashTable shared, under a lock per LinkedList, by every thread.
+ */
+class ParallelScalingReport {
+
+	/* The number of times the K-mers are counted per number of threads, of which only the fastest run is reported. */
+	private static final int NUM_OF_RUNS = 3;
+
+	private String strDNASequence;
+	private int k;
+	private KMerHashFunction hashFunction;
+
+	/** This constructor creates a ParallelScalingReport object by supplying the
+	  * needed values of its attributes, with the arguments passed.
+	  *
+	  * @param strDNASequence    the DNA sequence, S, whose K-mers are counted
+	  * @param k                 an Integer representing the length of each K-mer (1 to PackedKMer.MAX_K)
+	  * @param hashFunction      the hash function of the table of each thread
+	  */
+	public ParallelScalingReport(String strDNASequence, int k, KMerHashFunction hashFunction) {
+		this.strDNASequence = strDNASequence;
+		this.k = k;
+		this.hashFunction = hashFunction;
+	}
+
+	/** A method that counts the K-mers on every number of threads from 1 up to the number of processors
+	  * available, displaying the results as a table with one row per number of threads.
+	  */
+	public void displayReport() {
+		int nNumOfThreads, nMaxThreads = Runtime.getRuntime().availableProcessors();
+		long lPrivateTime, lSingleThreadTime = 0, lMaxDistinctKMers;
+		double dSpeedup;
+
+		lMaxDistinctKMers = ConcurrentKMerTable.getlMaxDistinctKMers(k, strDNASequence.length() - k + 1);
+
+		System.out.println("\nPARALLEL SCALING (k = " + k + ", " + strDNASequence.length() + " letters, "
+				+ nMaxThreads + " processors): ");
+		System.out.println(String.format("%-8s %12s %10s %11s %12s %12s",
+				"Threads", "Private (ms)", "Speedup", "Efficiency", "Shared (ms)", "Striped (ms)"));
+
+		for(nNumOfThreads=1; nNumOfThreads<=nMaxThreads; nNumOfThreads++) {
+			lPrivateTime = timeCounting(nNumOfThreads, false, () -> new OpenAddressingKMerTable(k, 0, hashFunction));
+
+			if(nNumOfThreads == 1) {
+				lSingleThreadTime = lPrivateTime;
+			}
+			dSpeedup = lSingleThreadTime / (double) lPrivateTime;
+
+			System.out.println(String.format("%-8d %12.3f %10.2f %10.1f%% %12.3f %12.3f",
+					nNumOfThreads, lPrivateTime / 1e6, dSpeedup, 100 * dSpeedup / nNumOfThreads,
+					timeCounting(nNumOfThreads, true, () -> new ConcurrentKMerTable(k, lMaxDistinctKMers, hashFunction)) / 1e6,
+					timeCounting(nNumOfThreads, true, () -> new StripedHashTable(k, lMaxDistinctKMers, hashFunction)) / 1e6));
+		}
+	}
+
+	/* Returns the least time taken, in nanoseconds, to count and merge the K-mers on the number of threads passed,
+	   of several runs. The supplier creates the table of each thread, unless the table is shared, in which case a
+	   single table is created for each run and handed to every thread.                                          */
+	private long timeCounting(int nNumOfThreads, boolean isShared, Supplier<KMerCounter> supplier) {
+		int i;
+		long lBestTime = Long.MAX_VALUE, lTime;
+		ParallelKMerCounter parallelCounter;
+
+		/* The K-mers are counted several times, such that the first runs warm up the code. */
+		for(i=0; i<NUM_OF_RUNS; i++) {
+			/* The tables and the pool of threads are created ahead of the timer, which only covers counting and merging. */
+			if(isShared) {
+				KMerCounter sharedTable = supplier.get();
+				parallelCounter = new ParallelKMerCounter(nNumOfThreads, () -> sharedTable);
+			} else {
+				parallelCounter = new ParallelKMerCounter(nNumOfThreads, supplier);
+			}
+
+			lTime = System.nanoTime();
+			parallelCounter.count(strDNASequence, false);
+			parallelCounter.merge();
+			lBestTime = Math.min(lBestTime, System.nanoTime() - lTime);
+		}
+
+		return lBestTime;
+	}
+}
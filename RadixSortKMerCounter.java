@@ -0,0 +1,335 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/** This class represents a counting engine which, rather than looking each K-mer up as it is counted, only appends
+ *  its packed code to a flat array of longs. Once the distribution is queried, the codes are sorted by a parallel LSD
+ *  radix sort, and each run of equal codes is collapsed into a single distinct K-mer and its number of occurrences.
+ *  As the packed codes are ordered the same way as the substrings of the K-mers, the distinct K-mers end up in the
+ *  same lexicographic order as the inorder traversal of a BST would display them (see BST.inOrderWalk()), without a
+ *  single node, pointer or comparison of substrings.
+ *
+ *  The radix sort visits the 2k bits of each code RADIX_BITS at a time, from the least significant ones, in a pass of
+ *  its own per digit. Each pass splits the codes into as many slices as there are threads: every thread counts the
+ *  digits of its slice, and then moves its codes to their place, which the counts of every slice have decided, such
+ *  that the codes of equal digits keep their order, as an LSD radix sort requires. A pass in which every code has the
+ *  same digit is skipped. Hence, the codes are sorted in O(n * 2k / RADIX_BITS) time, streaming through memory rather
+ *  than chasing pointers, at the cost of a second array of n longs while sorting.
+ *
+ *  Unlike the other engines, each distinct K-mer is handed out in ascending order of its packed code, rather than in the
+ *  order by which it was first seen (see getFirstSeenCode()). The memory held is 8 bytes per window of the DNA sequence,
+ *  S, rather than per distinct K-mer, until the codes are sorted and collapsed. Codes counted after a query are sorted
+ *  on their own at the next query, and merged with the distinct K-mers collapsed before.
+ */
+class RadixSortKMerCounter implements KMerCounter {
+
+	/* The number of bits sorted in each pass, such that the counts of the digits of a slice fit in the L1 cache. */
+	public static final int RADIX_BITS = 11;
+
+	/* The least number of codes a slice holds, below which the codes are sorted in fewer slices. */
+	private static final int MIN_SLICE_SIZE = 1 << 16;
+
+	private static final int RADIX = 1 << RADIX_BITS;
+
+	private int k;
+	private int nNumOfThreads;
+
+	/* The codes appended since the last query, in the order they were counted. */
+	private long[] codes = new long[16];
+	private int nNumOfCodes = 0;
+
+	/* The distinct K-mers collapsed at the last query, in ascending order of their packed codes. */
+	private long[] distinctCodes = new long[0];
+	private int[] counts = new int[0];
+	private int nNumOfDistinctKMers = 0;
+
+	/** This constructor creates an empty RadixSortKMerCounter object, sorting on every processor available.
+	  *
+	  * @param k      an Integer representing the length of each K-mer to be counted (1 to PackedKMer.MAX_K)
+	  */
+	public RadixSortKMerCounter(int k) {
+		this(k, Runtime.getRuntime().availableProcessors());
+	}
+
+	/** This constructor creates an empty RadixSortKMerCounter object, sorting on the number of threads passed.
+	  *
+	  * @param k                  an Integer representing the length of each K-mer to be counted (1 to PackedKMer.MAX_K)
+	  * @param nNumOfThreads      the number of threads on which the codes are sorted (at least 1)
+	  */
+	public RadixSortKMerCounter(int k, int nNumOfThreads) {
+		PackedKMer.mask(k);
+
+		if(nNumOfThreads < 1) {
+			throw new IllegalArgumentException("Number of threads must be at least 1, but was " + nNumOfThreads + ".");
+		}
+
+		this.k = k;
+		this.nNumOfThreads = nNumOfThreads;
+	}
+
+	@Override
+	public void add(long lPackedCode) {
+		if(nNumOfCodes == codes.length) {
+			if(codes.length == Integer.MAX_VALUE - 8) {
+				throw new IllegalStateException("A RadixSortKMerCounter holds at most " + codes.length + " codes.");
+			}
+			codes = Arrays.copyOf(codes, (int) Math.min((long) codes.length * 2, Integer.MAX_VALUE - 8));
+		}
+		codes[nNumOfCodes++] = lPackedCode;
+	}
+
+	/** A method that adds the number of occurrences passed to a K-mer, by appending its code that many times, as this
+	  * engine holds a code per occurrence until it is queried.
+	  *
+	  * @param lPackedCode     the packed code of the K-mer
+	  * @param nCount          the number of occurrences to be added
+	  */
+	@Override
+	public void add(long lPackedCode, int nCount) {
+		int i;
+
+		for(i=0; i<nCount; i++) {
+			add(lPackedCode);
+		}
+	}
+
+	@Override
+	public int getCount(long lPackedCode) {
+		int nIndex;
+
+		collapse();
+		nIndex = Arrays.binarySearch(distinctCodes, 0, nNumOfDistinctKMers, lPackedCode);
+
+		return nIndex < 0 ? 0 : counts[nIndex];
+	}
+
+	/** A method that returns the packed code of the i-th distinct K-mer in ascending order of the packed codes,
+	  * which is the lexicographic order of the K-mers, rather than the order by which they were first seen.
+	  *
+	  * @param i      an Integer representing the rank of the K-mer (0 to getnNumOfDistinctKMers() - 1)
+	  * @return       the packed code of the i-th distinct K-mer
+	  */
+	@Override
+	public long getFirstSeenCode(int i) {
+		collapse();
+		return distinctCodes[i];
+	}
+
+	@Override
+	public int getnNumOfDistinctKMers() {
+		collapse();
+		return nNumOfDistinctKMers;
+	}
+
+	/** A method that returns the number of collisions encountered, which is always 0, as no K-mer is ever looked up
+	  * while counting.
+	  *
+	  * @return      the number of collisions encountered (0)
+	  */
+	@Override
+	public int getnNumOfCollisions() {
+		return 0;
+	}
+
+	@Override
+	public int getK() {
+		return k;
+	}
+
+	/** A method that hands every distinct K-mer and its number of occurrences to the consumer passed, in ascending
+	  * order of their packed codes, being the order of the inorder traversal of a BST.
+	  *
+	  * @param consumer      the consumer of each K-mer and its number of occurrences
+	  */
+	public void forEach(KMerCountConsumer consumer) {
+		int i;
+
+		collapse();
+		for(i=0; i<nNumOfDistinctKMers; i++) {
+			consumer.accept(distinctCodes[i], counts[i]);
+		}
+	}
+
+	/** A method that returns the number of threads on which the codes are sorted.
+	  *
+	  * @return      the number of threads
+	  */
+	public int getnNumOfThreads() {
+		return nNumOfThreads;
+	}
+
+	/* Sorts the codes appended since the last query, collapses each run of equal codes into a distinct K-mer, and
+	   merges them with the distinct K-mers collapsed before, releasing the array of codes afterwards.           */
+	private void collapse() {
+		int i, j, nNumOfRuns = 0, nMerged = 0;
+		long[] sortedCodes, mergedCodes;
+		int[] runCounts, mergedCounts;
+
+		if(nNumOfCodes == 0) {
+			return;
+		}
+
+		sortedCodes = sort(codes, nNumOfCodes);
+
+		/* Each run of equal codes is collapsed in place, to the front of the sorted array. */
+		runCounts = new int[16];
+		for(i=0; i<nNumOfCodes; i=j) {
+			for(j=i+1; j<nNumOfCodes && sortedCodes[j]==sortedCodes[i]; j++) {
+			}
+			if(nNumOfRuns == runCounts.length) {
+				runCounts = Arrays.copyOf(runCounts, runCounts.length * 2);
+			}
+			sortedCodes[nNumOfRuns] = sortedCodes[i];
+			runCounts[nNumOfRuns++] = j - i;
+		}
+
+		/* The runs are merged with the distinct K-mers collapsed before, as both are in ascending order. */
+		mergedCodes = new long[nNumOfDistinctKMers + nNumOfRuns];
+		mergedCounts = new int[nNumOfDistinctKMers + nNumOfRuns];
+		i = 0;
+		j = 0;
+		while(i < nNumOfDistinctKMers || j < nNumOfRuns) {
+			if(j == nNumOfRuns || (i < nNumOfDistinctKMers && distinctCodes[i] < sortedCodes[j])) {
+				mergedCodes[nMerged] = distinctCodes[i];
+				mergedCounts[nMerged++] = counts[i++];
+			} else if(i == nNumOfDistinctKMers || sortedCodes[j] < distinctCodes[i]) {
+				mergedCodes[nMerged] = sortedCodes[j];
+				mergedCounts[nMerged++] = runCounts[j++];
+			} else {
+				mergedCodes[nMerged] = distinctCodes[i];
+				mergedCounts[nMerged++] = counts[i++] + runCounts[j++];
+			}
+		}
+
+		distinctCodes = nMerged == mergedCodes.length ? mergedCodes : Arrays.copyOf(mergedCodes, nMerged);
+		counts = nMerged == mergedCounts.length ? mergedCounts : Arrays.copyOf(mergedCounts, nMerged);
+		nNumOfDistinctKMers = nMerged;
+		codes = new long[16];
+		nNumOfCodes = 0;
+	}
+
+	/* Sorts the first nLength codes of the array passed by a parallel LSD radix sort, returning the array holding the
+	   sorted codes, being either the array passed or the second array the codes were moved to.                      */
+	private long[] sort(long[] source, int nLength) {
+		int nShift, nNumOfSlices = Math.max(1, Math.min(nNumOfThreads, nLength / MIN_SLICE_SIZE));
+		long[] target = new long[nLength], swap;
+		int[][] digitCounts = new int[nNumOfSlices][RADIX];
+		ForkJoinPool pool = nNumOfSlices > 1 ? new ForkJoinPool(nNumOfSlices) : null;
+
+		try {
+			for(nShift=0; nShift<2*k; nShift+=RADIX_BITS) {
+				run(pool, new SortTask(source, target, nLength, nShift, digitCounts, nNumOfSlices, false, 0, nNumOfSlices));
+
+				/* A pass in which every code has the same digit would leave the codes as they are. */
+				if(!toOffsets(digitCounts, nLength)) {
+					continue;
+				}
+
+				run(pool, new SortTask(source, target, nLength, nShift, digitCounts, nNumOfSlices, true, 0, nNumOfSlices));
+				swap = source;
+				source = target;
+				target = swap;
+			}
+		} finally {
+			if(pool != null) {
+				pool.shutdown();
+			}
+		}
+
+		return source;
+	}
+
+	/* Turns the counts of each digit in each slice into the index at which the first code of that digit in that slice
+	   is moved, such that the codes of each digit follow those of the digits below it, and within a digit, those of
+	   each slice follow those of the slices before it. Returns false if every code has the same digit.             */
+	private static boolean toOffsets(int[][] digitCounts, int nLength) {
+		int nDigit, nSlice, nCount, nOffset = 0;
+
+		for(nDigit=0; nDigit<RADIX; nDigit++) {
+			nCount = 0;
+			for(nSlice=0; nSlice<digitCounts.length; nSlice++) {
+				nCount += digitCounts[nSlice][nDigit];
+			}
+			if(nCount == nLength) {
+				return false;
+			}
+		}
+
+		for(nDigit=0; nDigit<RADIX; nDigit++) {
+			for(nSlice=0; nSlice<digitCounts.length; nSlice++) {
+				nCount = digitCounts[nSlice][nDigit];
+				digitCounts[nSlice][nDigit] = nOffset;
+				nOffset += nCount;
+			}
+		}
+
+		return true;
+	}
+
+	/* Runs the task passed in the pool passed, or on the calling thread once there is no pool. */
+	private static void run(ForkJoinPool pool, SortTask task) {
+		if(pool == null) {
+			task.compute();
+		} else {
+			pool.invoke(task);
+		}
+	}
+
+	/* A task which either counts the digits of the slices from nFromSlice up to nToSlice (exclusive), or moves their
+	   codes to the index of their digit, splitting itself in two until it is left with a single slice.            */
+	private static class SortTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private long[] source;
+		private long[] target;
+		private int nLength;
+		private int nShift;
+		private int[][] digitCounts;
+		private int nNumOfSlices;
+		private boolean isScatter;
+		private int nFromSlice;
+		private int nToSlice;
+
+		private SortTask(long[] source, long[] target, int nLength, int nShift, int[][] digitCounts, int nNumOfSlices,
+		                 boolean isScatter, int nFromSlice, int nToSlice) {
+			this.source = source;
+			this.target = target;
+			this.nLength = nLength;
+			this.nShift = nShift;
+			this.digitCounts = digitCounts;
+			this.nNumOfSlices = nNumOfSlices;
+			this.isScatter = isScatter;
+			this.nFromSlice = nFromSlice;
+			this.nToSlice = nToSlice;
+		}
+
+		@Override
+		protected void compute() {
+			int i, nMiddle, nStart, nEnd, nDigit;
+			int[] offsets;
+
+			if(nToSlice - nFromSlice > 1) {
+				nMiddle = (nFromSlice + nToSlice) >>> 1;
+				invokeAll(new SortTask(source, target, nLength, nShift, digitCounts, nNumOfSlices, isScatter, nFromSlice, nMiddle),
+				          new SortTask(source, target, nLength, nShift, digitCounts, nNumOfSlices, isScatter, nMiddle, nToSlice));
+				return;
+			}
+
+			nStart = (int) ((long) nLength * nFromSlice / nNumOfSlices);
+			nEnd = (int) ((long) nLength * nToSlice / nNumOfSlices);
+			offsets = digitCounts[nFromSlice];
+
+			if(isScatter) {
+				for(i=nStart; i<nEnd; i++) {
+					nDigit = (int) (source[i] >>> nShift) & (RADIX - 1);
+					target[offsets[nDigit]++] = source[i];
+				}
+			} else {
+				Arrays.fill(offsets, 0);
+				for(i=nStart; i<nEnd; i++) {
+					offsets[(int) (source[i] >>> nShift) & (RADIX - 1)]++;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,113 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+/** This class is a counting engine for the K-mer distribution of a DNA sequence, S, in the form of a red-black tree
+ *  (see AbstractRedBlackKMerTree), whose Nodes are keyed by the packed code of each distinct K-mer in a single long
+ *  (see PackedKMer), for K-mers of length up to 31.
+ *
+ *  Both the search for a K-mer and the insertion of a distinct one are done in a single iterative descent from the root.
+ *  As K-mers share the same length, k, the order of their packed codes is the same as the lexicographic order of their
+ *  substrings, hence, the inorder traversal of the tree displays the K-mer distribution in lexicographic order.
+ */
+class RedBlackKMerTree extends AbstractRedBlackKMerTree implements KMerCounter {
+
+	private long[] keys;
+
+	/** This constructor creates an empty RedBlackKMerTree object.
+	  *
+	  * @param k      an Integer representing the length of each K-mer to be counted (1 to 31)
+	  */
+	public RedBlackKMerTree(int k) {
+		super(k);
+		PackedKMer.mask(k);
+		keys = new long[counts.length];
+	}
+
+	@Override
+	public void add(long lPackedCode) {
+		add(lPackedCode, 1);
+	}
+
+	/** A method that increases the number of occurrences of a single K-mer by the number passed. The tree is
+	  * descended once from the root, such that either the Node of the K-mer is found, or the empty subtree at which
+	  * a new Node must be attached. The tree is then rebalanced on the way back up from the new Node, if needed.
+	  *
+	  * @param lPackedCode    the packed code of the K-mer
+	  * @param nCount         the number of occurrences to be added (at least 1)
+	  */
+	@Override
+	public void add(long lPackedCode, int nCount) {
+		int nNode = nRootNode, nParentNode = NIL;
+
+		while(nNode != NIL) {
+			if(lPackedCode == keys[nNode]) {
+				counts[nNode] += nCount;
+				return;
+			}
+			nParentNode = nNode;
+			nNode = lPackedCode < keys[nNode] ? leftNodes[nNode] : rightNodes[nNode];
+		}
+
+		/* The K-mer is distinct, hence, a new Node is attached in place of the empty subtree reached. */
+		nNode = attachNode(nParentNode, nParentNode != NIL && lPackedCode < keys[nParentNode]);
+		keys[nNode] = lPackedCode;
+		counts[nNode] = nCount;
+	}
+
+	@Override
+	public int getCount(long lPackedCode) {
+		int nNode = nRootNode;
+
+		while(nNode != NIL && lPackedCode != keys[nNode]) {
+			nNode = lPackedCode < keys[nNode] ? leftNodes[nNode] : rightNodes[nNode];
+		}
+
+		return nNode == NIL ? 0 : counts[nNode];
+	}
+
+	@Override
+	public long getFirstSeenCode(int i) {
+		return keys[i + 1];
+	}
+
+	/** This method implements an inorder traversal of the tree, such that each distinct K-mer and its number of
+	  * occurrences are displayed in lexicographic, ascending order. The traversal is iterative, moving from each
+	  * Node to its successor through the parent of each Node, hence, it needs neither recursion nor a stack. The
+	  * lines displayed are buffered rather than written to the console one at a time.
+	  */
+	public void inOrderWalk() {
+		int nNode = firstNode();
+		PrintWriter writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out)));
+
+		while(nNode != NIL) {
+			writer.println(PackedKMer.decode(keys[nNode], k) + " (" + counts[nNode] + ")");
+			nNode = nextNode(nNode);
+		}
+
+		/* The writer is flushed rather than closed, as closing it would close the console as well. */
+		writer.flush();
+	}
+
+	/** This method implements the same inorder traversal as inOrderWalk(), but writes each distinct K-mer and its
+	  * number of occurrences through the writer passed, rather than displaying them (see KMerWriter).
+	  *
+	  * @param writer      the writer to which the K-mers are written, in lexicographic, ascending order
+	  * @throws IOException       if the K-mers cannot be written
+	  */
+	public void inOrderWalk(KMerWriter writer) throws IOException {
+		int nNode = firstNode();
+
+		while(nNode != NIL) {
+			writer.write(keys[nNode], counts[nNode]);
+			nNode = nextNode(nNode);
+		}
+	}
+
+	@Override
+	protected void growKeys(int nCapacity) {
+		keys = Arrays.copyOf(keys, nCapacity);
+	}
+}
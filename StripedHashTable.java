@@ -0,0 +1,161 @@
+import java.util.LinkedList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/** This class is a variant of the HashTable which many threads may count into at once, as a baseline against which
+ *  the lock-free ConcurrentKMerTable is measured. As in the HashTable, the distinct K-mer objects are stored in an
+ *  array of LinkedLists (Separate Chaining), but every LinkedList is guarded by one of a fixed number of locks
+ *  (lock striping), being the lock whose index is the index of the LinkedList modulo the number of locks. A thread
+ *  thus only waits for another once both of them count K-mers hashed to LinkedLists of the same lock.
+ *
+ *  As moving the LinkedLists to a larger array would require every lock at once, the number of LinkedLists is fixed
+ *  upon construction from the expected number of distinct K-mer objects, beyond which the LinkedLists merely grow
+ *  longer. The distinct K-mers are listed in the order of their LinkedLists (see ConcurrentKMerTable).
+ */
+class StripedHashTable implements KMerCounter {
+
+	/* The number of locks, which is a power of two well above the number of threads. */
+	private static final int NUM_OF_STRIPES = 256;
+
+	private int k;
+	private KMerHashFunction hashFunction;
+	private LinkedList<KMer>[] buckets;
+	private ReentrantLock[] locks = new ReentrantLock[NUM_OF_STRIPES];
+	private LongAdder nNumOfDistinctKMers = new LongAdder();
+	private LongAdder nNumOfCollisions = new LongAdder();
+
+	/* The packed codes of the distinct K-mers in the order of their LinkedLists, which are only gathered once
+	   the K-mers have been counted, upon the first call to getFirstSeenCode().                              */
+	private long[] bucketOrderCodes = null;
+
+	/** This constructor creates an empty StripedHashTable object of as many LinkedLists as the expected number
+	  * of distinct K-mer objects divided by the maximum load factor of the HashTable.
+	  *
+	  * @param k                        an Integer representing the length of each K-mer to be counted (1 to 31)
+	  * @param lExpectedKMers           the expected number of distinct K-mer objects
+	  * @param hashFunction             the hash function by which the key of each K-mer object is computed, which
+	  *                                 must be safe to call from several threads at once
+	  */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public StripedHashTable(int k, long lExpectedKMers, KMerHashFunction hashFunction) {
+		int i;
+
+		PackedKMer.mask(k);
+		this.k = k;
+		this.hashFunction = hashFunction;
+
+		buckets = new LinkedList[(int) Math.max(HashTable.MIN_SIZE,
+				Math.min(lExpectedKMers / HashTable.MAX_LOAD_FACTOR, 1 << 30))];
+		for(i=0; i<NUM_OF_STRIPES; i++) {
+			locks[i] = new ReentrantLock();
+		}
+	}
+
+	@Override
+	public void add(long lPackedCode) {
+		add(lPackedCode, 1);
+	}
+
+	/** A method that increases the number of occurrences of a single K-mer by the number passed, holding the lock
+	  * of its LinkedList while the LinkedList is searched, and the K-mer object added to it if it is distinct.
+	  *
+	  * @param lPackedCode    the packed code of the K-mer
+	  * @param nCount         the number of occurrences to be added
+	  */
+	@Override
+	public void add(long lPackedCode, int nCount) {
+		int nKey = keyOf(hashFunction.hash(lPackedCode, k));
+		KMer kMer;
+		ReentrantLock lock = locks[nKey & (NUM_OF_STRIPES - 1)];
+
+		lock.lock();
+		try {
+			if(buckets[nKey] == null) {
+				buckets[nKey] = new LinkedList<KMer>();
+			}
+
+			for(KMer storedKMer : buckets[nKey]) {
+				if(storedKMer.getlPackedCode() == lPackedCode) {
+					storedKMer.setnNumOfOccurrences(storedKMer.getnNumOfOccurrences() + nCount);
+					return;
+				}
+			}
+
+			/* The K-mer is distinct. If its LinkedList already holds other K-mer objects, a collision occurred. */
+			if(!buckets[nKey].isEmpty()) {
+				nNumOfCollisions.increment();
+			}
+			kMer = new KMer(lPackedCode, k);
+			kMer.setnNumOfOccurrences(nCount);
+			buckets[nKey].add(kMer);
+			nNumOfDistinctKMers.increment();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public int getCount(long lPackedCode) {
+		int nKey = keyOf(hashFunction.hash(lPackedCode, k));
+		ReentrantLock lock = locks[nKey & (NUM_OF_STRIPES - 1)];
+
+		lock.lock();
+		try {
+			if(buckets[nKey] != null) {
+				for(KMer kMer : buckets[nKey]) {
+					if(kMer.getlPackedCode() == lPackedCode) {
+						return kMer.getnNumOfOccurrences();
+					}
+				}
+			}
+			return 0;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/** A method that returns the packed code of the i-th distinct K-mer, in the order of the LinkedLists of the
+	  * table, which is only to be called once every thread has finished counting.
+	  *
+	  * @param i      an Integer from 0 up to the number of distinct K-mers (exclusive)
+	  * @return       the packed code of the i-th distinct K-mer
+	  */
+	@Override
+	public long getFirstSeenCode(int i) {
+		int nIndex = 0;
+
+		if(bucketOrderCodes == null) {
+			bucketOrderCodes = new long[getnNumOfDistinctKMers()];
+
+			for(LinkedList<KMer> bucket : buckets) {
+				if(bucket != null) {
+					for(KMer kMer : bucket) {
+						bucketOrderCodes[nIndex++] = kMer.getlPackedCode();
+					}
+				}
+			}
+		}
+
+		return bucketOrderCodes[i];
+	}
+
+	@Override
+	public int getnNumOfDistinctKMers() {
+		return nNumOfDistinctKMers.intValue();
+	}
+
+	@Override
+	public int getnNumOfCollisions() {
+		return nNumOfCollisions.intValue();
+	}
+
+	@Override
+	public int getK() {
+		return k;
+	}
+
+	/* Returns the index of the LinkedList a hash value points to, treating the hash value as unsigned. */
+	private int keyOf(long lHash) {
+		return (int) Long.remainderUnsigned(lHash, buckets.length);
+	}
+}
@@ -0,0 +1,527 @@
+import java.util.Arrays;
+
+/** This class indexes the DNA sequence, S, once, such that the K-mer distribution of any length, k, may be computed
+ *  from the index without counting the DNA sequence again. The index is the suffix array of the DNA sequence, being
+ *  the starting indices of its suffixes in lexicographic order, built in linear time by induced sorting (SA-IS), along
+ *  with the length of the longest common prefix (LCP) of each suffix and the one before it.
+ *
+ *  The suffixes starting with the same K-mer are adjacent in the suffix array, and every pair of them in a row shares a
+ *  prefix of at least k letters. Hence, the K-mer distribution for k is found in a single scan of the LCP array, each
+ *  run of suffixes sharing at least k letters being a distinct K-mer, occurring as many times as the suffixes in the
+ *  run. As the suffixes are sorted over the alphabet, {a,c,g,t}, the distinct K-mers are found in the same
+ *  lexicographic order as the inorder traversal of a BST would display them. A single K-mer, of any length, is counted
+ *  by searching the suffix array for the run of suffixes starting with it, in O(k log n) time.
+ *
+ *  A letter outside of the alphabet is kept in the index as a separator, which no common prefix spans, such that no
+ *  K-mer spans it either. In canonical mode, the reverse complement of the DNA sequence is indexed after it, such that
+ *  the suffixes starting with a K-mer and those starting with its reverse complement are counted together.
+ *
+ *  The index takes 6 bytes per letter (twice as many letters in canonical mode): a byte for the letter itself, 4 for
+ *  its index in the suffix array, and a byte for its LCP, which is only kept up to PackedKMer.MAX_K + 1 letters. While
+ *  it is built, another 8 bytes per letter are taken for a while.
+ */
+class SuffixArrayKMerIndex {
+
+	/* The letters of the index, being the sentinel, which ends the text and is less than any other letter, a
+	   separator, standing for any letter outside of the alphabet, and the bases a, c, g and t, in this order. */
+	private static final byte SENTINEL = 0;
+	private static final byte SEPARATOR = 1;
+	private static final byte BASE_OFFSET = 2;
+	private static final int ALPHABET_SIZE = 6;
+
+	/* The longest common prefix kept, as no longer K-mer is packed in a single long. */
+	private static final int MAX_LCP = PackedKMer.MAX_K + 1;
+
+	private static final int MAX_LENGTH = Integer.MAX_VALUE - 8;
+
+	private boolean isCanonical;
+
+	/* The letters appended so far, followed once the index is built by the reverse complement (in canonical mode)
+	   and the sentinel.                                                                                        */
+	private byte[] text = new byte[16];
+	private int nLength = 0;
+
+	/* These arrays are only created once the index is built. */
+	private int[] suffixArray = null;
+	private byte[] lcp = null;
+	private int[] separators = null;
+
+	/** This constructor creates an empty SuffixArrayKMerIndex object, to which the DNA sequence, S, is appended.
+	  *
+	  * @param isCanonical      a boolean denoting whether each K-mer is to be counted along with its reverse complement
+	  */
+	public SuffixArrayKMerIndex(boolean isCanonical) {
+		this.isCanonical = isCanonical;
+	}
+
+	/** This constructor creates a SuffixArrayKMerIndex object of the DNA sequence passed, which is built at once.
+	  *
+	  * @param sequence         the DNA sequence, S
+	  * @param isCanonical      a boolean denoting whether each K-mer is to be counted along with its reverse complement
+	  */
+	public SuffixArrayKMerIndex(CharSequence sequence, boolean isCanonical) {
+		this(isCanonical);
+		append(sequence);
+		build();
+	}
+
+	/** A method that appends the letters passed to the DNA sequence indexed, such that the DNA sequence may be handed
+	  * over in consecutive chunks which do not repeat any letter of the chunk before them (see
+	  * MappedSequenceReader.read(), with no overlap). No letter may be appended once the index is built.
+	  *
+	  * @param sequence      the DNA sequence, S, or the next chunk of it
+	  */
+	public void append(CharSequence sequence) {
+		int i, nBase;
+
+		if(suffixArray != null) {
+			throw new IllegalStateException("No letter may be appended once the index is built.");
+		}
+
+		/* In canonical mode, the reverse complement, a separator and the sentinel are appended to the letters as well. */
+		if((long) nLength + sequence.length() > (isCanonical ? (MAX_LENGTH - 2) / 2 : MAX_LENGTH - 1)) {
+			throw new IllegalStateException("A SuffixArrayKMerIndex holds at most " + MAX_LENGTH + " letters.");
+		}
+		ensureCapacity(nLength + sequence.length());
+
+		for(i=0; i<sequence.length(); i++) {
+			nBase = PackedKMer.encodeBase(sequence.charAt(i));
+			text[nLength++] = nBase < 0 ? SEPARATOR : (byte) (nBase + BASE_OFFSET);
+		}
+	}
+
+	/** A method that builds the index of the letters appended so far, unless it is already built. The index is
+	  * otherwise built once it is first queried.
+	  */
+	public void build() {
+		int i, nForwardLength = nLength;
+		int[] widenedText;
+
+		if(suffixArray != null) {
+			return;
+		}
+
+		/* In canonical mode, the reverse complement of a base, b, is 3 - b, once taken off the offset of the bases. */
+		if(isCanonical) {
+			ensureCapacity(2 * nForwardLength + 2);
+			text[nLength++] = SEPARATOR;
+			for(i=nForwardLength-1; i>=0; i--) {
+				text[nLength++] = text[i] == SEPARATOR ? SEPARATOR : (byte) (2 * BASE_OFFSET + 3 - text[i]);
+			}
+		}
+		ensureCapacity(nLength + 1);
+		text[nLength++] = SENTINEL;
+		text = Arrays.copyOf(text, nLength);
+
+		widenedText = new int[nLength];
+		for(i=0; i<nLength; i++) {
+			widenedText[i] = text[i];
+		}
+		suffixArray = new int[nLength];
+		sort(widenedText, suffixArray, nLength, ALPHABET_SIZE);
+		widenedText = null;
+
+		lcp = computeLcp(text, suffixArray);
+		separators = findSeparators(text);
+	}
+
+	/** A method that hands every distinct K-mer of the length passed and its number of occurrences to the consumer
+	  * passed, in lexicographic, ascending order. In canonical mode, only the lesser of a K-mer and its reverse
+	  * complement is handed over (see PackedKMer.canonical()).
+	  *
+	  * @param k             an Integer representing the length of each K-mer (1 to PackedKMer.MAX_K)
+	  * @param consumer      the consumer of each K-mer and its number of occurrences
+	  */
+	public void forEach(int k, KMerCountConsumer consumer) {
+		int i, j, nEnd, nCount;
+		long lPackedCode, lReverseCode;
+
+		PackedKMer.mask(k);
+		build();
+
+		/* Each run of suffixes sharing at least k letters with the suffix before them starts with the same K-mer. */
+		for(i=0; i<nLength; i=nEnd) {
+			for(nEnd=i+1; nEnd<nLength && (lcp[nEnd] & 0xFF)>=k; nEnd++) {
+			}
+
+			/* A suffix sharing fewer than k letters with its neighbours may not even start with a whole K-mer. */
+			if(nEnd - i == 1 && getnNumOfBases(suffixArray[i]) < k) {
+				continue;
+			}
+
+			lPackedCode = 0;
+			for(j=0; j<k; j++) {
+				lPackedCode = (lPackedCode << 2) | (text[suffixArray[i] + j] - BASE_OFFSET);
+			}
+			nCount = nEnd - i;
+
+			/* In canonical mode, a K-mer and its reverse complement both occur in the text as many times as the
+			   K-mer is counted, except for a K-mer being its own reverse complement, which occurs twice as many. */
+			if(isCanonical) {
+				lReverseCode = PackedKMer.reverseComplement(lPackedCode, k);
+				if(lPackedCode > lReverseCode) {
+					continue;
+				}
+				if(lPackedCode == lReverseCode) {
+					nCount /= 2;
+				}
+			}
+
+			consumer.accept(lPackedCode, nCount);
+		}
+	}
+
+	/** A method that returns the number of distinct K-mers of the length passed.
+	  *
+	  * @param k      an Integer representing the length of each K-mer (1 to PackedKMer.MAX_K)
+	  * @return       the number of distinct K-mers of length k
+	  */
+	public int getnNumOfDistinctKMers(int k) {
+		int[] nNumOfDistinctKMers = new int[1];
+
+		forEach(k, (lPackedCode, nCount) -> nNumOfDistinctKMers[0]++);
+
+		return nNumOfDistinctKMers[0];
+	}
+
+	/** A method that returns the number of occurrences of the K-mer passed as a substring, of any length, by
+	  * searching the suffix array for the suffixes starting with it. In canonical mode, the occurrences of its
+	  * reverse complement are counted as well.
+	  *
+	  * @param kMer      the K-mer, in lowercase or uppercase letters
+	  * @return          the number of occurrences of the K-mer
+	  * @throws IllegalArgumentException      if the K-mer is empty, or holds a letter outside of the alphabet
+	  */
+	public int getCount(CharSequence kMer) {
+		int i, nBase, nCount;
+		byte[] pattern = new byte[kMer.length()];
+		boolean isPalindrome = true;
+
+		if(kMer.length() == 0) {
+			throw new IllegalArgumentException("A K-mer must hold at least one letter.");
+		}
+
+		for(i=0; i<pattern.length; i++) {
+			nBase = PackedKMer.encodeBase(kMer.charAt(i));
+			if(nBase < 0) {
+				throw new IllegalArgumentException("A K-mer may only hold letters from the alphabet, {a,c,g,t}, but "
+						+ kMer + " does not.");
+			}
+			pattern[i] = (byte) (nBase + BASE_OFFSET);
+		}
+
+		build();
+		nCount = findUpperBound(pattern) - findLowerBound(pattern);
+
+		/* As in forEach(), a K-mer being its own reverse complement occurs twice as many times as it is counted. */
+		if(isCanonical) {
+			for(i=0; i<pattern.length && isPalindrome; i++) {
+				isPalindrome = pattern[i] == 2 * BASE_OFFSET + 3 - pattern[pattern.length - 1 - i];
+			}
+			if(isPalindrome) {
+				nCount /= 2;
+			}
+		}
+
+		return nCount;
+	}
+
+	/** A method that returns the number of occurrences of the K-mer of the packed code passed.
+	  *
+	  * @param lPackedCode     the packed code of the K-mer
+	  * @param k               an Integer representing the length of the K-mer (1 to PackedKMer.MAX_K)
+	  * @return                the number of occurrences of the K-mer
+	  */
+	public int getCount(long lPackedCode, int k) {
+		return getCount(PackedKMer.decode(lPackedCode, k));
+	}
+
+	/** A method that returns the number of letters indexed, including the reverse complement in canonical mode, and
+	  * the sentinel once the index is built.
+	  *
+	  * @return      the number of letters indexed
+	  */
+	public int getnLength() {
+		return nLength;
+	}
+
+	/** A method that returns whether each K-mer is counted along with its reverse complement.
+	  *
+	  * @return      a boolean denoting whether the K-mers are canonical
+	  */
+	public boolean isCanonical() {
+		return isCanonical;
+	}
+
+	/* Grows the array of letters such that it holds at least the number of letters passed. */
+	private void ensureCapacity(int nCapacity) {
+		if(nCapacity > text.length) {
+			text = Arrays.copyOf(text, (int) Math.min(Math.max((long) text.length * 2, nCapacity), MAX_LENGTH));
+		}
+	}
+
+	/* Returns the number of bases from the index passed up to the next separator (or the sentinel). */
+	private int getnNumOfBases(int nIndex) {
+		int nSeparator = Arrays.binarySearch(separators, nIndex);
+
+		return nSeparator >= 0 ? 0 : separators[-nSeparator - 1] - nIndex;
+	}
+
+	/* Returns the index of the first suffix in the suffix array which is not less than the pattern passed. */
+	private int findLowerBound(byte[] pattern) {
+		int nLow = 0, nHigh = nLength, nMiddle;
+
+		while(nLow < nHigh) {
+			nMiddle = (nLow + nHigh) >>> 1;
+			if(compare(suffixArray[nMiddle], pattern) < 0) {
+				nLow = nMiddle + 1;
+			} else {
+				nHigh = nMiddle;
+			}
+		}
+
+		return nLow;
+	}
+
+	/* Returns the index of the first suffix in the suffix array which neither starts with, nor is less than, the
+	   pattern passed.                                                                                           */
+	private int findUpperBound(byte[] pattern) {
+		int nLow = 0, nHigh = nLength, nMiddle;
+
+		while(nLow < nHigh) {
+			nMiddle = (nLow + nHigh) >>> 1;
+			if(compare(suffixArray[nMiddle], pattern) <= 0) {
+				nLow = nMiddle + 1;
+			} else {
+				nHigh = nMiddle;
+			}
+		}
+
+		return nLow;
+	}
+
+	/* Compares the prefix of the suffix starting at the index passed to the pattern passed, returning 0 if the suffix
+	   starts with the pattern. As the sentinel is less than any letter, no suffix is read past the end of the text. */
+	private int compare(int nIndex, byte[] pattern) {
+		int i;
+
+		for(i=0; i<pattern.length; i++) {
+			if(text[nIndex + i] != pattern[i]) {
+				return text[nIndex + i] < pattern[i] ? -1 : 1;
+			}
+		}
+
+		return 0;
+	}
+
+	/* Computes the LCP of each suffix in the suffix array and the one before it, in linear time (Kasai et al.), by
+	   visiting the suffixes in the order of the text, as the suffix after a suffix sharing h letters with the one
+	   before it shares at least h - 1 letters with the one before itself. No common prefix spans a separator.   */
+	private static byte[] computeLcp(byte[] text, int[] suffixArray) {
+		int i, j, h = 0, n = suffixArray.length;
+		int[] ranks = new int[n];
+		byte[] lcp = new byte[n];
+
+		for(i=0; i<n; i++) {
+			ranks[suffixArray[i]] = i;
+		}
+
+		for(i=0; i<n; i++) {
+			if(ranks[i] == 0) {
+				h = 0;
+				continue;
+			}
+
+			j = suffixArray[ranks[i] - 1];
+			while(text[i + h] >= BASE_OFFSET && text[i + h] == text[j + h]) {
+				h++;
+			}
+			lcp[ranks[i]] = (byte) Math.min(h, MAX_LCP);
+
+			if(h > 0) {
+				h--;
+			}
+		}
+
+		return lcp;
+	}
+
+	/* Returns the indices of the separators and of the sentinel in the text, in ascending order. */
+	private static int[] findSeparators(byte[] text) {
+		int i, nNumOfSeparators = 0;
+		int[] separators;
+
+		for(i=0; i<text.length; i++) {
+			if(text[i] < BASE_OFFSET) {
+				nNumOfSeparators++;
+			}
+		}
+
+		separators = new int[nNumOfSeparators];
+		nNumOfSeparators = 0;
+		for(i=0; i<text.length; i++) {
+			if(text[i] < BASE_OFFSET) {
+				separators[nNumOfSeparators++] = i;
+			}
+		}
+
+		return separators;
+	}
+
+	/* Sorts the suffixes of the text passed, of n letters from 0 to nAlphabetSize - 1, the last of which is a unique
+	   sentinel of 0, into the suffix array passed, by induced sorting (Nong, Zhang and Chan). Each suffix is either
+	   of S-type, being less than the suffix after it, or of L-type, and the leftmost S-type suffixes (LMS) after an
+	   L-type one split the text into LMS substrings. Once the LMS substrings are sorted by inducing the order of the
+	   other suffixes from them, each is named after its rank, and the LMS suffixes are sorted by sorting the suffixes
+	   of the string of these names, which is at most half as long as the text, in the very same manner. The order of
+	   every other suffix is then induced from that of the LMS suffixes.                                            */
+	private static void sort(int[] text, int[] suffixArray, int n, int nAlphabetSize) {
+		int i, j, d, nNumOfLMS = 0, nName = 0, nPrevious, nIndex;
+		boolean isDifferent;
+		boolean[] isSType = new boolean[n];
+		int[] buckets = new int[nAlphabetSize];
+		int[] reducedText, reducedSuffixArray;
+
+		if(n == 1) {
+			suffixArray[0] = 0;
+			return;
+		}
+
+		isSType[n - 1] = true;
+		for(i=n-2; i>=0; i--) {
+			isSType[i] = text[i] < text[i + 1] || (text[i] == text[i + 1] && isSType[i + 1]);
+		}
+
+		/* The LMS suffixes are placed at the ends of the buckets of their first letters, and sorted by their LMS
+		   substrings once the order of the other suffixes is induced from them.                               */
+		Arrays.fill(suffixArray, -1);
+		findBucketEnds(text, n, buckets);
+		for(i=1; i<n; i++) {
+			if(isLMS(isSType, i)) {
+				suffixArray[--buckets[text[i]]] = i;
+			}
+		}
+		induce(text, suffixArray, n, isSType, buckets);
+
+		for(i=0; i<n; i++) {
+			if(isLMS(isSType, suffixArray[i])) {
+				suffixArray[nNumOfLMS++] = suffixArray[i];
+			}
+		}
+
+		/* Each LMS substring is named after its rank, equal LMS substrings sharing a name. As no two LMS suffixes are
+		   next to each other, the name of the LMS suffix at index i is kept at nNumOfLMS + i / 2.                   */
+		Arrays.fill(suffixArray, nNumOfLMS, n, -1);
+		nPrevious = -1;
+		for(i=0; i<nNumOfLMS; i++) {
+			nIndex = suffixArray[i];
+			isDifferent = false;
+			for(d=0; d<n; d++) {
+				if(nPrevious == -1 || text[nIndex + d] != text[nPrevious + d]
+						|| isSType[nIndex + d] != isSType[nPrevious + d]) {
+					isDifferent = true;
+					break;
+				} else if(d > 0 && (isLMS(isSType, nIndex + d) || isLMS(isSType, nPrevious + d))) {
+					break;
+				}
+			}
+			if(isDifferent) {
+				nName++;
+				nPrevious = nIndex;
+			}
+			suffixArray[nNumOfLMS + nIndex / 2] = nName - 1;
+		}
+
+		reducedText = new int[nNumOfLMS];
+		reducedSuffixArray = new int[nNumOfLMS];
+		for(i=n-1, j=nNumOfLMS-1; i>=nNumOfLMS; i--) {
+			if(suffixArray[i] >= 0) {
+				reducedText[j--] = suffixArray[i];
+			}
+		}
+
+		/* Unless every name is distinct, the LMS suffixes are sorted by sorting the suffixes of the reduced text. */
+		if(nName < nNumOfLMS) {
+			sort(reducedText, reducedSuffixArray, nNumOfLMS, nName);
+		} else {
+			for(i=0; i<nNumOfLMS; i++) {
+				reducedSuffixArray[reducedText[i]] = i;
+			}
+		}
+
+		/* The sorted LMS suffixes are placed at the ends of the buckets of their first letters once again, from the
+		   greatest one, and the order of every other suffix is induced from them.                               */
+		for(i=1, j=0; i<n; i++) {
+			if(isLMS(isSType, i)) {
+				reducedText[j++] = i;
+			}
+		}
+		Arrays.fill(suffixArray, -1);
+		findBucketEnds(text, n, buckets);
+		for(i=nNumOfLMS-1; i>=0; i--) {
+			j = reducedText[reducedSuffixArray[i]];
+			suffixArray[--buckets[text[j]]] = j;
+		}
+		induce(text, suffixArray, n, isSType, buckets);
+	}
+
+	/* Induces the order of the L-type suffixes from the left of each bucket, and then that of the S-type suffixes
+	   from the right of each bucket, from the suffixes already placed in the suffix array passed.               */
+	private static void induce(int[] text, int[] suffixArray, int n, boolean[] isSType, int[] buckets) {
+		int i, j;
+
+		findBucketStarts(text, n, buckets);
+		for(i=0; i<n; i++) {
+			j = suffixArray[i] - 1;
+			if(j >= 0 && !isSType[j]) {
+				suffixArray[buckets[text[j]]++] = j;
+			}
+		}
+
+		findBucketEnds(text, n, buckets);
+		for(i=n-1; i>=0; i--) {
+			j = suffixArray[i] - 1;
+			if(j >= 0 && isSType[j]) {
+				suffixArray[--buckets[text[j]]] = j;
+			}
+		}
+	}
+
+	/* Returns whether the suffix at the index passed is a leftmost S-type suffix. */
+	private static boolean isLMS(boolean[] isSType, int nIndex) {
+		return nIndex > 0 && isSType[nIndex] && !isSType[nIndex - 1];
+	}
+
+	/* Sets each bucket to the index in the suffix array of the first suffix starting with its letter. */
+	private static void findBucketStarts(int[] text, int n, int[] buckets) {
+		int i, nSum = 0, nCount;
+
+		countLetters(text, n, buckets);
+		for(i=0; i<buckets.length; i++) {
+			nCount = buckets[i];
+			buckets[i] = nSum;
+			nSum += nCount;
+		}
+	}
+
+	/* Sets each bucket to the index in the suffix array after the last suffix starting with its letter. */
+	private static void findBucketEnds(int[] text, int n, int[] buckets) {
+		int i, nSum = 0;
+
+		countLetters(text, n, buckets);
+		for(i=0; i<buckets.length; i++) {
+			nSum += buckets[i];
+			buckets[i] = nSum;
+		}
+	}
+
+	/* Counts the occurrences of each letter of the text passed into the buckets passed. */
+	private static void countLetters(int[] text, int n, int[] buckets) {
+		int i;
+
+		Arrays.fill(buckets, 0);
+		for(i=0; i<n; i++) {
+			buckets[text[i]]++;
+		}
+	}
+}
@@ -0,0 +1,93 @@
+import java.io.IOException;
+import java.nio.file.Path;
+
+/** This class writes a K-mer distribution as tab-separated text, one K-mer per line followed by its number of
+ *  occurrences, e.g. "acgt\t3". Each letter and each digit is put straight into the buffer of the writer, hence, no
+ *  String object is created for any K-mer written.
+ */
+class TsvKMerWriter extends KMerWriter {
+
+	private static final byte[] LETTERS = {'a', 'c', 'g', 't'};
+
+	/* The number of digits of the greatest number of occurrences, Integer.MAX_VALUE. */
+	private static final int MAX_DIGITS = 10;
+
+	/** This constructor creates a writer of K-mers of length k to the file passed.
+	  *
+	  * @param k           an Integer representing the length of each K-mer to be written
+	  * @param path        the path of the file
+	  * @throws IOException       if the file cannot be opened
+	  */
+	public TsvKMerWriter(int k, Path path) throws IOException {
+		super(k, path);
+	}
+
+	/** This constructor creates a writer of K-mers of length k to the standard output.
+	  *
+	  * @param k           an Integer representing the length of each K-mer to be written
+	  */
+	public TsvKMerWriter(int k) {
+		super(k);
+	}
+
+	@Override
+	protected int getnMaxRecordSize() {
+		return k + 1 + MAX_DIGITS + 1;
+	}
+
+	@Override
+	protected void putKMer(long lPackedCode, int nCount) {
+		int i, nPosition = buffer.position();
+
+		/* The rightmost letter of the K-mer is stored in the least significant bits, hence, the letters are put
+		   from the end of the K-mer towards its start.                                                        */
+		for(i=k-1; i>=0; i--) {
+			buffer.put(nPosition + i, LETTERS[(int) (lPackedCode & 3)]);
+			lPackedCode >>>= 2;
+		}
+
+		buffer.position(nPosition + k);
+		putCount(nCount);
+	}
+
+	@Override
+	protected void putKMer(long[] words, int nOffset, int nCount) {
+		int i, nPosition = buffer.position();
+		int nWord = nOffset + WidePackedKMer.getnNumOfWords(k) - 1;
+		long lWord = words[nWord];
+
+		/* The letters are put from the end of the K-mer towards its start, 32 letters per word. */
+		for(i=k-1; i>=0; i--) {
+			buffer.put(nPosition + i, LETTERS[(int) (lWord & 3)]);
+			lWord >>>= 2;
+
+			if((k - i) % 32 == 0 && i > 0) {
+				lWord = words[--nWord];
+			}
+		}
+
+		buffer.position(nPosition + k);
+		putCount(nCount);
+	}
+
+	/* Puts a tab, the digits of the number of occurrences passed and a line break. */
+	private void putCount(int nCount) {
+		int i, nNumOfDigits = 1, nPosition;
+		int nRest = nCount;
+
+		while(nRest >= 10) {
+			nRest /= 10;
+			nNumOfDigits++;
+		}
+
+		buffer.put((byte) '\t');
+		nPosition = buffer.position();
+		for(i=nNumOfDigits-1; i>=0; i--) {
+			buffer.put(nPosition + i, (byte) ('0' + nCount % 10));
+			nCount /= 10;
+		}
+
+		buffer.position(nPosition + nNumOfDigits);
+		buffer.put((byte) '\n');
+	}
+}
@@ -0,0 +1,104 @@
+/** This interface represents a counting engine for the K-mer distribution of a DNA sequence, S, which stores the number
+ *  of occurrences of each K-mer by its packed words (see WidePackedKMer), such that K-mers longer than the 31 letters a
+ *  single long can hold (see KMerCounter) are counted without String keys. Any engine implementing it can serve as the
+ *  backend of a KMerDistribution object once k exceeds PackedKMer.MAX_K.
+ *
+ *  Every engine also records the distinct K-mers in the order by which they were first seen, such that the distribution
+ *  can be displayed by placement of insertion regardless of how the engine stores them.
+ */
+interface WideKMerCounter {
+
+	/** A method that increments the number of occurrences of a single K-mer. The words passed are copied once
+	  * the K-mer turns out to be distinct, hence, the caller may keep rolling them afterwards.
+	  *
+	  * @param words     the words of the K-mer
+	  */
+	void add(long[] words);
+
+	/** A method that returns the number of occurrences of a K-mer.
+	  *
+	  * @param words     the words of the K-mer
+	  * @return          the number of occurrences of the K-mer, or 0 if it was never counted
+	  */
+	int getCount(long[] words);
+
+	/** A method that returns the words of the i-th distinct K-mer, in the order by which the distinct K-mers
+	  * were first seen.
+	  *
+	  * @param i      an Integer from 0 up to the number of distinct K-mers (exclusive)
+	  * @return       a new array holding the words of the i-th distinct K-mer
+	  */
+	long[] getFirstSeenWords(int i);
+
+	/** A method that returns the number of distinct K-mers counted.
+	  *
+	  * @return      the number of distinct K-mers counted
+	  */
+	int getnNumOfDistinctKMers();
+
+	/** A method that returns the number of collisions encountered while storing each distinct K-mer,
+	  * such that engines which do not hash the K-mers return 0.
+	  *
+	  * @return      the number of collisions encountered by the engine
+	  */
+	int getnNumOfCollisions();
+
+	/** A method that returns the length, k, of each K-mer counted.
+	  *
+	  * @return      the length of each K-mer counted
+	  */
+	int getK();
+
+	/** A method that counts every K-mer of length k in the DNA sequence, S, by sliding a window over it,
+	  * rolling the words of the window forward with each incoming letter.
+	  *
+	  * @param sequence     the DNA sequence, S, whose K-mers are to be counted
+	  */
+	default void count(CharSequence sequence) {
+		int i, nBase, nNumOfValidBases = 0, k = getK();
+		long[] words = new long[WidePackedKMer.getnNumOfWords(k)];
+
+		for(i=0; i<sequence.length(); i++) {
+			nBase = PackedKMer.encodeBase(sequence.charAt(i));
+
+			/* A letter outside of the alphabet, {a,c,g,t}, restarts the window from the letter after it. */
+			if(nBase < 0) {
+				nNumOfValidBases = 0;
+				continue;
+			}
+
+			WidePackedKMer.roll(words, nBase, k);
+
+			if(++nNumOfValidBases >= k) {
+				add(words);
+			}
+		}
+	}
+
+	/** A method that counts every K-mer of length k in the DNA sequence, S, in its canonical form, such that
+	  * a K-mer and its reverse complement are counted as one (see KMerCounter.countCanonical()).
+	  *
+	  * @param sequence     the DNA sequence, S, whose K-mers are to be counted
+	  */
+	default void countCanonical(CharSequence sequence) {
+		int i, nBase, nNumOfValidBases = 0, k = getK();
+		int nNumOfWords = WidePackedKMer.getnNumOfWords(k);
+		long[] words = new long[nNumOfWords], reverseWords = new long[nNumOfWords];
+
+		for(i=0; i<sequence.length(); i++) {
+			nBase = PackedKMer.encodeBase(sequence.charAt(i));
+
+			if(nBase < 0) {
+				nNumOfValidBases = 0;
+				continue;
+			}
+
+			WidePackedKMer.roll(words, nBase, k);
+			WidePackedKMer.rollReverseComplement(reverseWords, nBase, k);
+
+			if(++nNumOfValidBases >= k) {
+				add(WidePackedKMer.compare(words, 0, reverseWords, 0, nNumOfWords) <= 0 ? words : reverseWords);
+			}
+		}
+	}
+}
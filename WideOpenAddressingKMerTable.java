@@ -0,0 +1,159 @@
+import java.util.Arrays;
+
+/** This class is a counting engine for the K-mer distribution of a DNA sequence, S, in the form of a hash table with
+ *  open addressing, for K-mers of any length up to WidePackedKMer.MAX_K (see OpenAddressingKMerTable for K-mers of up to
+ *  31 letters). As the packed words of a K-mer no longer fit a single slot, the distinct K-mers are stored one after the
+ *  other, in the order by which they were first seen, in a flat array of words alongside an array of counts, while the
+ *  slots of the table only hold the index of a K-mer in these arrays (plus 1, such that 0 marks a free slot). Collisions
+ *  are resolved through linear probing.
+ *
+ *  The number of slots is always a power of two, and doubles once the table is filled beyond its maximum load factor.
+ *  Only the slots are rehashed when it does, as the words and counts of the K-mers never move.
+ */
+class WideOpenAddressingKMerTable implements WideKMerCounter {
+
+	private static final int MIN_CAPACITY = 16;
+	private static final double MAX_LOAD_FACTOR = 0.75;
+
+	private int k;
+	private int nNumOfWords;
+	private int[] slots;
+	private int nMask;
+	private int nMaxSize;
+
+	/* The words and counts of the distinct K-mers in the order by which they were first seen. */
+	private long[] keyWords;
+	private int[] counts = new int[MIN_CAPACITY];
+	private int nNumOfDistinctKMers = 0;
+	private int nNumOfCollisions = 0;
+
+	/** This constructor creates an empty WideOpenAddressingKMerTable object with the minimum number of slots.
+	  *
+	  * @param k      an Integer representing the length of each K-mer to be counted (1 to WidePackedKMer.MAX_K)
+	  */
+	public WideOpenAddressingKMerTable(int k) {
+		this.k = k;
+		this.nNumOfWords = WidePackedKMer.getnNumOfWords(k);
+		this.keyWords = new long[MIN_CAPACITY * nNumOfWords];
+		allocate(MIN_CAPACITY);
+	}
+
+	@Override
+	public void add(long[] words) {
+		int nHomeSlot = slotOf(WidePackedKMer.hash(words, 0, nNumOfWords)), nSlot = nHomeSlot, nIndex;
+
+		/* The slots are probed one after the other, starting from the slot the K-mer hashes to,
+		   until either the K-mer itself or a free slot is found.                                */
+		while(slots[nSlot] != 0) {
+			nIndex = slots[nSlot] - 1;
+
+			if(isKeyAt(nIndex, words)) {
+				counts[nIndex]++;
+				return;
+			}
+			nSlot = (nSlot + 1) & nMask;
+		}
+
+		/* The K-mer is distinct. If the slot it hashes to was taken by another K-mer, a collision occurred. */
+		if(nSlot != nHomeSlot) {
+			nNumOfCollisions++;
+		}
+
+		if(nNumOfDistinctKMers == counts.length) {
+			counts = Arrays.copyOf(counts, 2 * counts.length);
+			keyWords = Arrays.copyOf(keyWords, counts.length * nNumOfWords);
+		}
+		System.arraycopy(words, 0, keyWords, nNumOfDistinctKMers * nNumOfWords, nNumOfWords);
+		counts[nNumOfDistinctKMers] = 1;
+		slots[nSlot] = ++nNumOfDistinctKMers;
+
+		if(nNumOfDistinctKMers > nMaxSize) {
+			grow();
+		}
+	}
+
+	@Override
+	public int getCount(long[] words) {
+		int nSlot = slotOf(WidePackedKMer.hash(words, 0, nNumOfWords));
+
+		while(slots[nSlot] != 0) {
+			if(isKeyAt(slots[nSlot] - 1, words)) {
+				return counts[slots[nSlot] - 1];
+			}
+			nSlot = (nSlot + 1) & nMask;
+		}
+
+		return 0;
+	}
+
+	@Override
+	public long[] getFirstSeenWords(int i) {
+		return Arrays.copyOfRange(keyWords, i * nNumOfWords, (i + 1) * nNumOfWords);
+	}
+
+	@Override
+	public int getnNumOfDistinctKMers() {
+		return nNumOfDistinctKMers;
+	}
+
+	@Override
+	public int getnNumOfCollisions() {
+		return nNumOfCollisions;
+	}
+
+	@Override
+	public int getK() {
+		return k;
+	}
+
+	/** A method that returns the number of slots in the table, which is always a power of two.
+	  *
+	  * @return      the number of slots in the table
+	  */
+	public int getnCapacity() {
+		return slots.length;
+	}
+
+	/* Determines whether the i-th distinct K-mer consists of the words passed, comparing both words at once
+	   for K-mers of up to 64 letters.                                                                       */
+	private boolean isKeyAt(int nIndex, long[] words) {
+		int nOffset = nIndex * nNumOfWords;
+
+		if(nNumOfWords == 2) {
+			return keyWords[nOffset] == words[0] && keyWords[nOffset + 1] == words[1];
+		}
+
+		return WidePackedKMer.compare(keyWords, nOffset, words, 0, nNumOfWords) == 0;
+	}
+
+	/* Returns the slot a hash value points to. */
+	private int slotOf(long lHash) {
+		return (int) lHash & nMask;
+	}
+
+	/* Creates an empty array of slots with the given number of slots (a power of two). */
+	private void allocate(int nCapacity) {
+		slots = new int[nCapacity];
+		nMask = nCapacity - 1;
+		nMaxSize = (int) (nCapacity * MAX_LOAD_FACTOR);
+	}
+
+	/* Doubles the number of slots, moving the index of every K-mer to the slot it hashes to in the larger table. */
+	private void grow() {
+		int i, nSlot;
+
+		if(slots.length == (1 << 30)) {
+			throw new IllegalStateException("Number of distinct K-mers exceeds the capacity of the table.");
+		}
+		allocate(2 * slots.length);
+
+		for(i=0; i<nNumOfDistinctKMers; i++) {
+			nSlot = slotOf(WidePackedKMer.hash(keyWords, i * nNumOfWords, nNumOfWords));
+
+			while(slots[nSlot] != 0) {
+				nSlot = (nSlot + 1) & nMask;
+			}
+			slots[nSlot] = i + 1;
+		}
+	}
+}
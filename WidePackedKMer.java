@@ -0,0 +1,184 @@
+/** This class provides the 2-bit packed representation of a K-mer whose length, k, exceeds what a single long can hold
+ *  (see PackedKMer), such that a substring of any length up to MAX_K is stored inside an array of longs, or "words", rather
+ *  than in a String object. Each word holds up to 32 letters, with the 2k bits of the K-mer aligned to the end of the last
+ *  word, such that the first word holds the first (and possibly fewer) letters of the K-mer. Comparing the words of two
+ *  K-mers of the same length one after the other, as unsigned numbers, gives the same result as comparing their substrings
+ *  lexicographically.
+ *
+ *  The words of a window are rolled in place as the window slides over the DNA sequence, S, with dedicated code for the
+ *  two-word case (k of up to 64, such as k = 63), which is the most common one beyond a single long.
+ */
+class WidePackedKMer {
+
+	/* The maximum length of a K-mer accepted, with 32 words of 32 letters each. */
+	public static final int MAX_K = 1024;
+
+	/* This class consists of static methods only, hence, no object of it is ever created. */
+	private WidePackedKMer() {
+	}
+
+	/** A method that returns the number of words needed to hold a K-mer of length k.
+	  *
+	  * @param k      an Integer representing the length of each K-mer (1 to MAX_K)
+	  * @return       the number of words of a packed K-mer of length k
+	  */
+	public static int getnNumOfWords(int k) {
+		checkLength(k);
+		return (k + 31) / 32;
+	}
+
+	/** A method that slides the window of a packed K-mer by one letter, in place, such that its leftmost letter
+	  * is shifted out and the incoming letter is appended as its rightmost one.
+	  *
+	  * @param words      the words of the K-mer before the window slides, which hold the words after it slides
+	  * @param nBase      the 2-bit code of the incoming letter
+	  * @param k          an Integer representing the length of the K-mer
+	  */
+	public static void roll(long[] words, int nBase, int k) {
+		int i, nLast = words.length - 1;
+
+		if(nLast == 1) {
+			words[0] = ((words[0] << 2) | (words[1] >>> 62)) & topMask(k);
+			words[1] = (words[1] << 2) | nBase;
+			return;
+		}
+
+		/* The two most significant bits of each word are carried into the word before it. */
+		for(i=0; i<nLast; i++) {
+			words[i] = (words[i] << 2) | (words[i + 1] >>> 62);
+		}
+		words[nLast] = (words[nLast] << 2) | nBase;
+		words[0] &= topMask(k);
+	}
+
+	/** A method that slides the window of the reverse complement of a packed K-mer by one letter, in place, alongside
+	  * roll(), such that the complement of the incoming letter is prepended as its leftmost letter, and its rightmost
+	  * letter is shifted out.
+	  *
+	  * @param reverseWords     the words of the reverse complement of the K-mer before the window slides, which hold
+	  *                         the words after it slides
+	  * @param nBase            the 2-bit code of the incoming letter
+	  * @param k                an Integer representing the length of the K-mer
+	  */
+	public static void rollReverseComplement(long[] reverseWords, int nBase, int k) {
+		int i;
+
+		/* The two least significant bits of each word are carried into the word after it. */
+		for(i=reverseWords.length-1; i>0; i--) {
+			reverseWords[i] = (reverseWords[i] >>> 2) | (reverseWords[i - 1] << 62);
+		}
+		reverseWords[0] = (reverseWords[0] >>> 2) | ((long) (3 - nBase) << (getnNumOfTopBits(k) - 2));
+	}
+
+	/** A method that compares two packed K-mers of the same length, word by word, as unsigned numbers.
+	  *
+	  * @param words          the words of the first K-mer
+	  * @param nOffset        an Integer representing the index of the first word of the first K-mer
+	  * @param otherWords     the words of the second K-mer
+	  * @param nOtherOffset   an Integer representing the index of the first word of the second K-mer
+	  * @param nNumOfWords    the number of words of each K-mer
+	  * @return               a negative Integer, zero, or a positive Integer as the first K-mer is lexicographically
+	  *                       less than, equal to, or greater than the second one
+	  */
+	public static int compare(long[] words, int nOffset, long[] otherWords, int nOtherOffset, int nNumOfWords) {
+		int i, nComparison;
+
+		for(i=0; i<nNumOfWords; i++) {
+			nComparison = Long.compareUnsigned(words[nOffset + i], otherWords[nOtherOffset + i]);
+
+			if(nComparison != 0) {
+				return nComparison;
+			}
+		}
+
+		return 0;
+	}
+
+	/** A method that computes the hash value of a packed K-mer from all of its words, multiplying each word
+	  * in turn by the golden ratio, as a multiply-shift hash function would.
+	  *
+	  * @param words          the words of the K-mer
+	  * @param nOffset        an Integer representing the index of the first word of the K-mer
+	  * @param nNumOfWords    the number of words of the K-mer
+	  * @return               the hash value of the K-mer
+	  */
+	public static long hash(long[] words, int nOffset, int nNumOfWords) {
+		int i;
+		long lHash = 0;
+
+		for(i=0; i<nNumOfWords; i++) {
+			lHash = Long.rotateLeft((lHash ^ words[nOffset + i]) * 0x9E3779B97F4A7C15L, 29);
+		}
+
+		return lHash ^ (lHash >>> 32);
+	}
+
+	/** A method that packs a substring of length k, starting at the given index of the DNA sequence, S.
+	  *
+	  * @param sequence   the DNA sequence, S, from which the substring is taken
+	  * @param nStart     an Integer representing the index of the first letter of the substring
+	  * @param k          an Integer representing the length of the substring (1 to MAX_K)
+	  * @return           the words of the substring
+	  * @throws IllegalArgumentException    if the substring contains a letter outside of the alphabet, {a,c,g,t}
+	  */
+	public static long[] encode(CharSequence sequence, int nStart, int k) {
+		int i, nBase;
+		long[] words = new long[getnNumOfWords(k)];
+
+		for(i=nStart; i<nStart+k; i++) {
+			nBase = PackedKMer.encodeBase(sequence.charAt(i));
+
+			if(nBase < 0) {
+				throw new IllegalArgumentException("Invalid letter '" + sequence.charAt(i) + "' at index " + i + ".");
+			}
+			roll(words, nBase, k);
+		}
+
+		return words;
+	}
+
+	/** A method that decodes a packed K-mer back to its substring of length k. This is only meant to be
+	  * called upon the display of a K-mer, as it creates a new String object.
+	  *
+	  * @param words      the words of the K-mer
+	  * @param nOffset    an Integer representing the index of the first word of the K-mer
+	  * @param k          an Integer representing the length of the K-mer
+	  * @return           the substring represented by the words
+	  */
+	public static String decode(long[] words, int nOffset, int k) {
+		int i, nWord = nOffset + getnNumOfWords(k) - 1;
+		long lWord = words[nWord];
+		char[] letters = new char[k];
+
+		/* The letters are written from the end of the K-mer towards its start, 32 letters per word. */
+		for(i=k-1; i>=0; i--) {
+			letters[i] = PackedKMer.decodeBase((int) (lWord & 3));
+			lWord >>>= 2;
+
+			if((k - i) % 32 == 0 && i > 0) {
+				lWord = words[--nWord];
+			}
+		}
+
+		return new String(letters);
+	}
+
+	/* Returns the number of bits of the first word in use by a K-mer of length k (2 to 64). */
+	private static int getnNumOfTopBits(int k) {
+		return 2 * k - 64 * ((k - 1) / 32);
+	}
+
+	/* Returns the mask of the bits of the first word in use by a K-mer of length k. */
+	private static long topMask(int k) {
+		int nNumOfTopBits = getnNumOfTopBits(k);
+
+		return nNumOfTopBits == 64 ? -1L : (1L << nNumOfTopBits) - 1;
+	}
+
+	/* Rejects any length of K-mer which is not accepted. */
+	private static void checkLength(int k) {
+		if(k < 1 || k > MAX_K) {
+			throw new IllegalArgumentException("K-mer length must be from 1 to " + MAX_K + ", but was " + k + ".");
+		}
+	}
+}
@@ -0,0 +1,111 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+/** This class is a counting engine for the K-mer distribution of a DNA sequence, S, in the form of a red-black tree
+ *  (see AbstractRedBlackKMerTree), for K-mers of any length up to WidePackedKMer.MAX_K. The packed words of each
+ *  distinct K-mer (see WidePackedKMer) are stored one Node after the other in a flat array of words, and compared
+ *  word by word while descending the tree.
+ *
+ *  As K-mers share the same length, k, the order of their words is the same as the lexicographic order of their
+ *  substrings, hence, the inorder traversal of the tree displays the K-mer distribution in lexicographic order.
+ */
+class WideRedBlackKMerTree extends AbstractRedBlackKMerTree implements WideKMerCounter {
+
+	private int nNumOfWords;
+	private long[] keyWords;
+
+	/** This constructor creates an empty WideRedBlackKMerTree object.
+	  *
+	  * @param k      an Integer representing the length of each K-mer to be counted (1 to WidePackedKMer.MAX_K)
+	  */
+	public WideRedBlackKMerTree(int k) {
+		super(k);
+		nNumOfWords = WidePackedKMer.getnNumOfWords(k);
+		keyWords = new long[counts.length * nNumOfWords];
+	}
+
+	/** A method that increments the number of occurrences of a single K-mer, descending the tree once from the
+	  * root with one comparison of the words per Node (see RedBlackKMerTree.add()).
+	  *
+	  * @param words     the words of the K-mer
+	  */
+	@Override
+	public void add(long[] words) {
+		int nNode = nRootNode, nParentNode = NIL, nComparison = 0;
+
+		while(nNode != NIL) {
+			nComparison = WidePackedKMer.compare(words, 0, keyWords, nNode * nNumOfWords, nNumOfWords);
+
+			if(nComparison == 0) {
+				counts[nNode]++;
+				return;
+			}
+			nParentNode = nNode;
+			nNode = nComparison < 0 ? leftNodes[nNode] : rightNodes[nNode];
+		}
+
+		/* The K-mer is distinct, hence, a new Node is attached in place of the empty subtree reached. */
+		nNode = attachNode(nParentNode, nComparison < 0);
+		System.arraycopy(words, 0, keyWords, nNode * nNumOfWords, nNumOfWords);
+	}
+
+	@Override
+	public int getCount(long[] words) {
+		int nNode = nRootNode, nComparison;
+
+		while(nNode != NIL) {
+			nComparison = WidePackedKMer.compare(words, 0, keyWords, nNode * nNumOfWords, nNumOfWords);
+
+			if(nComparison == 0) {
+				return counts[nNode];
+			}
+			nNode = nComparison < 0 ? leftNodes[nNode] : rightNodes[nNode];
+		}
+
+		return 0;
+	}
+
+	@Override
+	public long[] getFirstSeenWords(int i) {
+		return Arrays.copyOfRange(keyWords, (i + 1) * nNumOfWords, (i + 2) * nNumOfWords);
+	}
+
+	/** This method implements an inorder traversal of the tree, such that each distinct K-mer and its number of
+	  * occurrences are displayed in lexicographic, ascending order, in the same manner as RedBlackKMerTree.inOrderWalk().
+	  */
+	public void inOrderWalk() {
+		int nNode = firstNode();
+		PrintWriter writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out)));
+
+		while(nNode != NIL) {
+			writer.println(WidePackedKMer.decode(keyWords, nNode * nNumOfWords, k) + " (" + counts[nNode] + ")");
+			nNode = nextNode(nNode);
+		}
+
+		/* The writer is flushed rather than closed, as closing it would close the console as well. */
+		writer.flush();
+	}
+
+	/** This method implements the same inorder traversal as inOrderWalk(), but writes each distinct K-mer and its
+	  * number of occurrences through the writer passed, rather than displaying them (see KMerWriter).
+	  *
+	  * @param writer      the writer to which the K-mers are written, in lexicographic, ascending order
+	  * @throws IOException       if the K-mers cannot be written
+	  */
+	public void inOrderWalk(KMerWriter writer) throws IOException {
+		int nNode = firstNode();
+
+		while(nNode != NIL) {
+			writer.write(keyWords, nNode * nNumOfWords, counts[nNode]);
+			nNode = nextNode(nNode);
+		}
+	}
+
+	@Override
+	protected void growKeys(int nCapacity) {
+		keyWords = Arrays.copyOf(keyWords, nCapacity * nNumOfWords);
+	}
+}
@@ -0,0 +1,31 @@
+import org.apache.commons.codec.digest.XXHash32;
+
+/** This class is the hash function, XXHash (32-bit), as a KMerHashFunction, applied on the 8 bytes of the packed
+ *  code of each K-mer. The same XXHash32 object and byte array are reused for every K-mer hashed by the same thread,
+ *  and each thread is given its own, such that an object of this class may be shared by several threads.
+ */
+class XXHash32KMerHash implements KMerHashFunction {
+
+	private ThreadLocal<XXHash32> hashes = ThreadLocal.withInitial(XXHash32::new);
+	private ThreadLocal<byte[]> codeBytesOfThread = ThreadLocal.withInitial(() -> new byte[Long.BYTES]);
+
+	@Override
+	public String getName() {
+		return "xxhash32";
+	}
+
+	@Override
+	public long hash(long lPackedCode, int k) {
+		int i;
+		XXHash32 hash = hashes.get();
+		byte[] codeBytes = codeBytesOfThread.get();
+
+		for(i=0; i<Long.BYTES; i++) {
+			codeBytes[i] = (byte) (lPackedCode >>> (8 * i));
+		}
+		hash.reset();
+		hash.update(codeBytes, 0, Long.BYTES);
+
+		return hash.getValue();
+	}
+}
@@ -0,0 +1,86 @@
+package kmers;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** This class benchmarks the BST-based algorithm of DriverBST, counting every K-mer of a seeded DNA sequence, S,
+ *  in the plain BST data structure, as well as in the red-black tree DriverBST counts in by default, and by sorting
+ *  the packed codes (see RadixSortKMerCounter), which yields the same lexicographic order without a tree. A single
+ *  operation counts the whole DNA sequence into a new tree, such that the throughput is the number of DNA sequences
+ *  counted per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class BSTBenchmark {
+
+	@Param({"1000", "10000", "100000", "1000000", "10000000", "100000000"})
+	public int nSequenceLength;
+
+	@Param({"5", "11", "21", "31"})
+	public int k;
+
+	private String strDNASequence;
+
+	@Setup
+	public void setUp() {
+		strDNASequence = SeededDNASequence.generate(nSequenceLength);
+	}
+
+	@Benchmark
+	public int countUnbalanced() {
+		int i, nBase, nNumOfValidBases = 0;
+		long lPackedCode = 0, lMask = PackedKMer.mask(k);
+		BST bst = new BST();
+		ArrayList<KMer> kMers = new ArrayList<>();
+		KMer kMer;
+
+		bst.create();
+		for(i=0; i<strDNASequence.length(); i++) {
+			nBase = PackedKMer.encodeBase(strDNASequence.charAt(i));
+			lPackedCode = PackedKMer.roll(lPackedCode, nBase, lMask);
+
+			if(++nNumOfValidBases < k) {
+				continue;
+			}
+
+			kMer = bst.upsert(lPackedCode, k);
+			if(kMer != null) {
+				kMers.add(kMer);
+			}
+		}
+
+		return kMers.size();
+	}
+
+	@Benchmark
+	public int countRedBlack() {
+		RedBlackKMerTree tree = new RedBlackKMerTree(k);
+
+		tree.count(strDNASequence);
+		return tree.getnNumOfDistinctKMers();
+	}
+
+	@Benchmark
+	public int countRadixSorted() {
+		RadixSortKMerCounter counter = new RadixSortKMerCounter(k);
+
+		counter.count(strDNASequence);
+		return counter.getnNumOfDistinctKMers();
+	}
+}
@@ -0,0 +1,49 @@
+package kmers;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** This class benchmarks the flat array of counts (see DenseKMerCounter), which only holds K-mers of length up to
+ *  DenseKMerCounter.MAX_K, hence, is benchmarked over lengths of its own rather than those of the other engines.
+ *  A single operation counts the whole seeded DNA sequence, S, into a new array of counts.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class DenseKMerCounterBenchmark {
+
+	@Param({"1000", "10000", "100000", "1000000", "10000000", "100000000"})
+	public int nSequenceLength;
+
+	@Param({"5", "8", "11", "14"})
+	public int k;
+
+	private String strDNASequence;
+
+	@Setup
+	public void setUp() {
+		strDNASequence = SeededDNASequence.generate(nSequenceLength);
+	}
+
+	@Benchmark
+	public int count() {
+		DenseKMerCounter counter = new DenseKMerCounter(k);
+
+		counter.count(strDNASequence);
+		return counter.getnNumOfDistinctKMers();
+	}
+}
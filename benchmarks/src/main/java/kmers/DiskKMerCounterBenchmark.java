@@ -0,0 +1,66 @@
+package kmers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** This class benchmarks the counting of a seeded DNA sequence, S, through bucket files on disk (see DiskKMerCounter),
+ *  in both of its phases. A single operation splits the whole DNA sequence into the bucket files of a temporary
+ *  directory, then counts each bucket, such that the throughput includes the writing and reading of every file.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class DiskKMerCounterBenchmark {
+
+	@Param({"1000", "10000", "100000", "1000000", "10000000", "100000000"})
+	public int nSequenceLength;
+
+	@Param({"11", "21", "31"})
+	public int k;
+
+	@Param({"16", "64"})
+	public int nNumOfBuckets;
+
+	private String strDNASequence;
+	private Path directory;
+
+	@Setup
+	public void setUp() throws IOException {
+		strDNASequence = SeededDNASequence.generate(nSequenceLength);
+		directory = Files.createTempDirectory("kmers-benchmark-");
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(directory);
+	}
+
+	@Benchmark
+	public long count(Blackhole blackhole) throws IOException {
+		DiskKMerCounter diskCounter = new DiskKMerCounter(k, false, nNumOfBuckets, Runtime.getRuntime().maxMemory() / 4,
+				new MultiplyShiftKMerHash(), directory);
+
+		diskCounter.partition(strDNASequence);
+		diskCounter.count((lPackedCode, nCount) -> blackhole.consume(nCount));
+		return diskCounter.getlNumOfDistinctKMers();
+	}
+}
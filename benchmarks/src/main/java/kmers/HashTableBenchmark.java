@@ -0,0 +1,81 @@
+package kmers;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** This class benchmarks the HT-based algorithm of DriverHT, counting every K-mer of a seeded DNA sequence, S, in a
+ *  HashTable object of each hash function, as DriverHT and DriverHT2 do. A single operation counts the whole DNA
+ *  sequence into a new HashTable object, creating a K-mer object for each distinct K-mer, such that the throughput
+ *  is the number of DNA sequences counted per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class HashTableBenchmark {
+
+	@Param({"1000", "10000", "100000", "1000000", "10000000", "100000000"})
+	public int nSequenceLength;
+
+	@Param({"5", "11", "21", "31"})
+	public int k;
+
+	@Param({"murmur3", "xxhash32", "nthash"})
+	public String strHashFunction;
+
+	private String strDNASequence;
+	private KMerHashFunction hashFunction;
+
+	@Setup
+	public void setUp() {
+		strDNASequence = SeededDNASequence.generate(nSequenceLength);
+		hashFunction = KMerHashFunction.forName(strHashFunction);
+	}
+
+	@Benchmark
+	public int count() {
+		int i, nBase, nNumOfValidBases = 0;
+		long lPackedCode = 0, lPreviousCode, lHash = 0, lMask = PackedKMer.mask(k);
+		HashTable HT = new HashTable(hashFunction);
+		ArrayList<KMer> kMers = new ArrayList<>();
+		KMer kMer;
+
+		/* The window slides over the DNA sequence, S, as in KMerDistribution.insertKMers() of DriverHT. */
+		for(i=0; i<strDNASequence.length(); i++) {
+			nBase = PackedKMer.encodeBase(strDNASequence.charAt(i));
+			lPreviousCode = lPackedCode;
+			lPackedCode = PackedKMer.roll(lPackedCode, nBase, lMask);
+
+			if(++nNumOfValidBases < k) {
+				continue;
+			}
+
+			if(nNumOfValidBases == k) {
+				lHash = hashFunction.hash(lPackedCode, k);
+			} else {
+				lHash = hashFunction.roll(lHash, lPreviousCode, lPackedCode, k);
+			}
+
+			kMer = HT.insertHashed(lPackedCode, k, lHash);
+			if(kMer != null) {
+				kMers.add(kMer);
+			}
+		}
+
+		return kMers.size();
+	}
+}
@@ -0,0 +1,71 @@
+package kmers;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** This class benchmarks the counting engines of packed codes (see KMerCounter) on a single thread, counting every
+ *  K-mer of a seeded DNA sequence, S, into a new engine per operation, such that the throughput is the number of DNA
+ *  sequences counted per second. The engines sized upon construction are sized for the upper bound of the number of
+ *  distinct K-mers, as DriverHT sizes them (see ConcurrentKMerTable.getlMaxDistinctKMers()).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class KMerCounterBenchmark {
+
+	@Param({"1000", "10000", "100000", "1000000", "10000000", "100000000"})
+	public int nSequenceLength;
+
+	@Param({"5", "11", "21", "31"})
+	public int k;
+
+	private String strDNASequence;
+	private long lExpectedKMers;
+
+	@Setup
+	public void setUp() {
+		strDNASequence = SeededDNASequence.generate(nSequenceLength);
+		lExpectedKMers = ConcurrentKMerTable.getlMaxDistinctKMers(k, nSequenceLength - k + 1);
+	}
+
+	@Benchmark
+	public int countOpenAddressing() {
+		return count(new OpenAddressingKMerTable(k));
+	}
+
+	@Benchmark
+	public int countStriped() {
+		return count(new StripedHashTable(k, lExpectedKMers, new Murmur3KMerHash()));
+	}
+
+	@Benchmark
+	public int countConcurrent() {
+		return count(new ConcurrentKMerTable(k, lExpectedKMers, new MultiplyShiftKMerHash()));
+	}
+
+	@Benchmark
+	public int countBloomFiltered() {
+		return count(new BloomFilteredKMerCounter(new OpenAddressingKMerTable(k),
+				new BloomFilter(lExpectedKMers, BloomFilter.DEFAULT_FALSE_POSITIVE_RATE)));
+	}
+
+	/* Counts every K-mer of the DNA sequence, S, in the engine passed, returning its number of distinct K-mers. */
+	private int count(KMerCounter counter) {
+		counter.count(strDNASequence);
+		return counter.getnNumOfDistinctKMers();
+	}
+}
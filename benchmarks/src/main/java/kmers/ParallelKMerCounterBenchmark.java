@@ -0,0 +1,64 @@
+package kmers;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** This class benchmarks the counting of a seeded DNA sequence, S, on several threads (see ParallelKMerCounter), both
+ *  into a table per thread merged afterwards, and into a single lock-free table shared by every thread, as DriverHT
+ *  counts in parallel and shared mode. A single operation counts the whole DNA sequence, including the merge and the
+ *  start of the threads, such that the throughput is comparable to that of KMerCounterBenchmark.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ParallelKMerCounterBenchmark {
+
+	@Param({"1000", "10000", "100000", "1000000", "10000000", "100000000"})
+	public int nSequenceLength;
+
+	@Param({"5", "11", "21", "31"})
+	public int k;
+
+	@Param({"2", "4", "8"})
+	public int nNumOfThreads;
+
+	private String strDNASequence;
+	private long lExpectedKMers;
+
+	@Setup
+	public void setUp() {
+		strDNASequence = SeededDNASequence.generate(nSequenceLength);
+		lExpectedKMers = ConcurrentKMerTable.getlMaxDistinctKMers(k, nSequenceLength - k + 1);
+	}
+
+	@Benchmark
+	public int countPrivate() {
+		ParallelKMerCounter parallelCounter = new ParallelKMerCounter(nNumOfThreads, () -> new OpenAddressingKMerTable(k));
+
+		parallelCounter.count(strDNASequence, false);
+		return parallelCounter.merge().getnNumOfDistinctKMers();
+	}
+
+	@Benchmark
+	public int countShared() {
+		ConcurrentKMerTable sharedTable = new ConcurrentKMerTable(k, lExpectedKMers, new MultiplyShiftKMerHash());
+		ParallelKMerCounter parallelCounter = new ParallelKMerCounter(nNumOfThreads, () -> sharedTable);
+
+		parallelCounter.count(strDNASequence, false);
+		return parallelCounter.merge().getnNumOfDistinctKMers();
+	}
+}
@@ -0,0 +1,43 @@
+package kmers;
+
+import java.util.Random;
+
+/** This class generates the DNA sequences, S, on which the counting engines are benchmarked. Unlike
+ *  DriverHT.generateRandomDNASequence(), the letters are drawn from a seeded Random object, such that every
+ *  engine, fork and run is benchmarked on the very same DNA sequence of a given length.
+ */
+class SeededDNASequence {
+
+	/* The seed of every DNA sequence generated, unless another one is given. */
+	public static final long DEFAULT_SEED = 0x5EED5EEDL;
+
+	private static final String ALPHABET = "acgt";
+
+	/** A method that generates a DNA sequence of the given length over the alphabet, {a,c,g,t}, whose letters
+	  * are drawn uniformly from a Random object of the seed passed.
+	  *
+	  * @param nSequenceLength     the length, n, of the DNA sequence
+	  * @param lSeed               the seed of the Random object
+	  * @return                    the DNA sequence, S, generated
+	  */
+	public static String generate(int nSequenceLength, long lSeed) {
+		int i;
+		Random random = new Random(lSeed);
+		StringBuilder sb = new StringBuilder(nSequenceLength);
+
+		for(i=0; i<nSequenceLength; i++) {
+			sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+		}
+
+		return sb.toString();
+	}
+
+	/** A method that generates a DNA sequence of the given length from the default seed.
+	  *
+	  * @param nSequenceLength     the length, n, of the DNA sequence
+	  * @return                    the DNA sequence, S, generated
+	  */
+	public static String generate(int nSequenceLength) {
+		return generate(nSequenceLength, DEFAULT_SEED);
+	}
+}
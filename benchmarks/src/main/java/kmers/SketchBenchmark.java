@@ -0,0 +1,57 @@
+package kmers;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** This class benchmarks the engines of fixed memory, being the approximate counting of a Count-Min sketch (see
+ *  CountMinSketch) with the default width and depth of DriverHT, and the estimation of the number of distinct K-mers
+ *  (see HyperLogLog). A single operation passes over the whole seeded DNA sequence, S, into a new sketch.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SketchBenchmark {
+
+	@Param({"1000", "10000", "100000", "1000000", "10000000", "100000000"})
+	public int nSequenceLength;
+
+	@Param({"5", "11", "21", "31"})
+	public int k;
+
+	private String strDNASequence;
+
+	@Setup
+	public void setUp() {
+		strDNASequence = SeededDNASequence.generate(nSequenceLength);
+	}
+
+	@Benchmark
+	public long countCountMinSketch() {
+		CountMinSketch sketch = new CountMinSketch(k, 1 << 18, 4);
+
+		sketch.count(strDNASequence);
+		return sketch.getlNumOfKMers();
+	}
+
+	@Benchmark
+	public long estimateHyperLogLog() {
+		HyperLogLog hyperLogLog = new HyperLogLog(k, HyperLogLog.DEFAULT_PRECISION);
+
+		hyperLogLog.count(strDNASequence);
+		return hyperLogLog.getlEstimate();
+	}
+}
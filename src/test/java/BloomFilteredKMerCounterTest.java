@@ -0,0 +1,71 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/** This class checks that a BloomFilteredKMerCounter stores only the K-mers seen at least twice, with the same number
+ *  of occurrences as a single OpenAddressingKMerTable counts, except for the few K-mers its BloomFilter mistakes for
+ *  ones seen before, which are counted once too often, and that the filter itself never misses a K-mer added to it.
+ */
+class BloomFilteredKMerCounterTest {
+
+	private static final int SEQUENCE_LENGTH = 100000;
+
+	@Test
+	void storesOnlyTheKMersSeenTwice() {
+		int i, nExpected, nActual, nNumOfMistaken;
+		long lPackedCode;
+		String strSequence = SeededDNASequence.generate(SEQUENCE_LENGTH, 161);
+		OpenAddressingKMerTable table;
+		BloomFilteredKMerCounter filteredCounter;
+
+		for(int k : new int[] {5, 9, 11, 21, 31}) {
+			table = new OpenAddressingKMerTable(k);
+			table.count(strSequence);
+			filteredCounter = new BloomFilteredKMerCounter(new OpenAddressingKMerTable(k),
+					new BloomFilter(table.getnNumOfDistinctKMers(), BloomFilter.DEFAULT_FALSE_POSITIVE_RATE));
+			filteredCounter.count(strSequence);
+
+			/* A K-mer is counted once too often at most, if it is mistaken for one seen before upon its first sighting. */
+			nNumOfMistaken = 0;
+			for(i=0; i<table.getnNumOfDistinctKMers(); i++) {
+				lPackedCode = table.getFirstSeenCode(i);
+				nExpected = table.getCount(lPackedCode) == 1 ? 0 : table.getCount(lPackedCode);
+				nActual = filteredCounter.getCount(lPackedCode);
+
+				if(nActual != nExpected) {
+					assertEquals(table.getCount(lPackedCode) + 1, nActual, "k = " + k);
+					nNumOfMistaken++;
+				}
+			}
+			for(i=0; i<filteredCounter.getnNumOfDistinctKMers(); i++) {
+				assertTrue(filteredCounter.getCount(filteredCounter.getFirstSeenCode(i)) >= 2, "k = " + k);
+			}
+
+			assertTrue(nNumOfMistaken <= 2 * BloomFilter.DEFAULT_FALSE_POSITIVE_RATE * table.getnNumOfDistinctKMers(),
+					nNumOfMistaken + " K-mers mistaken for ones seen before, k = " + k);
+		}
+	}
+
+	@Test
+	void neverMissesAKMerAdded() {
+		long lPackedCode, lNumOfFalsePositives = 0;
+		BloomFilter bloomFilter = new BloomFilter(10000, BloomFilter.DEFAULT_FALSE_POSITIVE_RATE);
+
+		for(lPackedCode=0; lPackedCode<10000; lPackedCode++) {
+			bloomFilter.put(lPackedCode * 7919);
+		}
+		for(lPackedCode=0; lPackedCode<10000; lPackedCode++) {
+			assertTrue(bloomFilter.mightContain(lPackedCode * 7919));
+		}
+
+		/* The codes never added are only mistaken for ones added at about the false positive rate of the filter. */
+		for(lPackedCode=0; lPackedCode<100000; lPackedCode++) {
+			if(bloomFilter.mightContain(lPackedCode * 7919 + 1)) {
+				lNumOfFalsePositives++;
+			}
+		}
+		assertTrue(lNumOfFalsePositives <= 2 * bloomFilter.getdFalsePositiveRate() * 100000,
+				lNumOfFalsePositives + " false positives");
+	}
+}
@@ -0,0 +1,70 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+/** This class checks that a ConcurrentKMerTable shared by several threads, each counting its slice of the DNA
+ *  sequence, S, into it at once (see ParallelKMerCounter), counts the same K-mer distribution as a single
+ *  OpenAddressingKMerTable does on a single thread, as does the StripedHashTable it is measured against.
+ */
+class ConcurrentKMerTableTest {
+
+	private static final int SEQUENCE_LENGTH = 100000;
+
+	private static final int NUM_OF_THREADS = 4;
+
+	@Test
+	void countsLikeASingleTableWhenShared() {
+		assertSameAsSingleTable(false);
+	}
+
+	@Test
+	void countsLikeASingleTableWhenSharedCanonically() {
+		assertSameAsSingleTable(true);
+	}
+
+	/* Checks both shared tables on several lengths of K-mer, in the mode passed. */
+	private static void assertSameAsSingleTable(boolean isCanonical) {
+		long lMaxDistinctKMers;
+		String strSequence = SeededDNASequence.generate(SEQUENCE_LENGTH, 131);
+		OpenAddressingKMerTable table;
+
+		for(int k : new int[] {1, 2, 5, 11, 16, 21, 31}) {
+			table = new OpenAddressingKMerTable(k);
+			if(isCanonical) {
+				table.countCanonical(strSequence);
+			} else {
+				table.count(strSequence);
+			}
+
+			lMaxDistinctKMers = ConcurrentKMerTable.getlMaxDistinctKMers(k, SEQUENCE_LENGTH - k + 1);
+			assertSameCounts(table, countShared(new ConcurrentKMerTable(k, lMaxDistinctKMers, new NtHashKMerHash()),
+					strSequence, isCanonical));
+			assertSameCounts(table, countShared(new StripedHashTable(k, lMaxDistinctKMers, new NtHashKMerHash()),
+					strSequence, isCanonical));
+		}
+	}
+
+	/* Counts the sequence passed on several threads, every one of which is handed the shared table passed. */
+	private static KMerCounter countShared(KMerCounter sharedTable, String strSequence, boolean isCanonical) {
+		Supplier<KMerCounter> supplier = () -> sharedTable;
+		ParallelKMerCounter parallelCounter = new ParallelKMerCounter(NUM_OF_THREADS, supplier);
+
+		parallelCounter.count(strSequence, isCanonical);
+		return parallelCounter.merge();
+	}
+
+	/* Checks that the shared table holds every K-mer of the single one, with the same count, and no other. */
+	private static void assertSameCounts(OpenAddressingKMerTable table, KMerCounter sharedTable) {
+		int i;
+		long lPackedCode;
+		String strName = sharedTable.getClass().getSimpleName() + ", k = " + table.getK();
+
+		assertEquals(table.getnNumOfDistinctKMers(), sharedTable.getnNumOfDistinctKMers(), strName);
+		for(i=0; i<table.getnNumOfDistinctKMers(); i++) {
+			lPackedCode = table.getFirstSeenCode(i);
+			assertEquals(table.getCount(lPackedCode), sharedTable.getCount(lPackedCode), strName);
+		}
+	}
+}
@@ -0,0 +1,68 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/** This class checks that a CountMinSketch never underestimates the number of occurrences of a K-mer counted exactly
+ *  by an OpenAddressingKMerTable, and that it overestimates it beyond getdErrorBound() for few K-mers only, even
+ *  when it is much narrower than the number of distinct K-mers.
+ */
+class CountMinSketchTest {
+
+	private static final int SEQUENCE_LENGTH = 100000;
+
+	@Test
+	void neverUnderestimates() {
+		int i, nNumOfExceeding;
+		long lPackedCode, lNumOfKMers;
+		String strSequence = SeededDNASequence.generate(SEQUENCE_LENGTH, 151);
+		OpenAddressingKMerTable table;
+		CountMinSketch sketch;
+
+		for(int k : new int[] {5, 11, 21, 31}) {
+			table = new OpenAddressingKMerTable(k);
+			table.count(strSequence);
+			sketch = new CountMinSketch(k, 1 << 12, 4);
+			sketch.count(strSequence);
+
+			lNumOfKMers = 0;
+			nNumOfExceeding = 0;
+			for(i=0; i<table.getnNumOfDistinctKMers(); i++) {
+				lPackedCode = table.getFirstSeenCode(i);
+				lNumOfKMers += table.getCount(lPackedCode);
+
+				assertTrue(sketch.getCount(lPackedCode) >= table.getCount(lPackedCode), "underestimated, k = " + k);
+				if(sketch.getCount(lPackedCode) - table.getCount(lPackedCode) > sketch.getdErrorBound()) {
+					nNumOfExceeding++;
+				}
+			}
+
+			assertEquals(lNumOfKMers, sketch.getlNumOfKMers(), "k = " + k);
+			assertTrue(nNumOfExceeding <= 2 * sketch.getdFailureProbability() * table.getnNumOfDistinctKMers(),
+					nNumOfExceeding + " K-mers exceed the error bound, k = " + k);
+		}
+	}
+
+	@Test
+	void countsTheSubstringOfAKMer() {
+		String strSequence = SeededDNASequence.generate(SEQUENCE_LENGTH, 152);
+		CountMinSketch sketch = new CountMinSketch(11, 1 << 12, 4);
+
+		sketch.count(strSequence);
+
+		assertEquals(sketch.getCount(PackedKMer.encode("acgtacgtacg")), sketch.getCount("acgtacgtacg"));
+		assertThrows(IllegalArgumentException.class, () -> sketch.getCount("acgt"));
+	}
+
+	@Test
+	void countsTheSubstringOfAKMerCanonically() {
+		CountMinSketch sketch = new CountMinSketch(3, 1 << 12, 4);
+
+		sketch.countCanonical("tttttttt");
+
+		assertTrue(sketch.isCanonical());
+		assertEquals(6, sketch.getCount("ttt"));
+		assertEquals(6, sketch.getCount("aaa"));
+	}
+}
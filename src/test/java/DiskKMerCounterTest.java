@@ -0,0 +1,84 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** This class checks that DiskKMerCounter, which splits the K-mers into bucket files by their minimizers and counts
+ *  one bucket at a time, counts the same K-mer distribution as a single OpenAddressingKMerTable does, handing each
+ *  distinct K-mer over once, from whichever bucket holds it, and deleting the bucket files afterwards, or once closed.
+ */
+class DiskKMerCounterTest {
+
+	private static final int SEQUENCE_LENGTH = 50000;
+
+	private static final int NUM_OF_BUCKETS = 16;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void countsLikeASingleTable() throws IOException {
+		assertSameAsSingleTable(false);
+	}
+
+	@Test
+	void countsLikeASingleTableCanonically() throws IOException {
+		assertSameAsSingleTable(true);
+	}
+
+	@Test
+	void deletesBucketFilesWhenClosedBeforeCounting() throws IOException {
+		DiskKMerCounter diskCounter = new DiskKMerCounter(11, false, NUM_OF_BUCKETS, 1 << 20, new NtHashKMerHash(), directory);
+
+		diskCounter.partition(SeededDNASequence.generate(SEQUENCE_LENGTH, 142));
+		diskCounter.close();
+		try(Stream<Path> files = Files.list(directory)) {
+			assertEquals(0, files.count(), "bucket files left behind");
+		}
+	}
+
+	/* Checks the counter on several lengths of K-mer, in the mode passed, partitioning the sequence in two chunks, the
+	   second of which repeats the last k-1 letters of the first one.                                                */
+	private void assertSameAsSingleTable(boolean isCanonical) throws IOException {
+		int i, nMiddle = SEQUENCE_LENGTH / 2;
+		long lPackedCode;
+		String strSequence = SeededDNASequence.generate(SEQUENCE_LENGTH, 141);
+		OpenAddressingKMerTable table;
+		DiskKMerCounter diskCounter;
+		Map<Long, Integer> counts = new HashMap<>();
+
+		for(int k : new int[] {1, 2, 5, 11, 16, 21, 31}) {
+			table = new OpenAddressingKMerTable(k);
+			if(isCanonical) {
+				table.countCanonical(strSequence);
+			} else {
+				table.count(strSequence);
+			}
+
+			diskCounter = new DiskKMerCounter(k, isCanonical, NUM_OF_BUCKETS, 1 << 20, new NtHashKMerHash(), directory);
+			diskCounter.partition(strSequence.substring(0, nMiddle));
+			diskCounter.partition(strSequence.substring(nMiddle - k + 1));
+
+			counts.clear();
+			diskCounter.count((lCode, nCount) -> assertNull(counts.put(lCode, nCount), "K-mer handed over twice"));
+
+			assertEquals(table.getnNumOfDistinctKMers(), counts.size(), "k = " + k);
+			assertEquals(table.getnNumOfDistinctKMers(), diskCounter.getlNumOfDistinctKMers(), "k = " + k);
+			for(i=0; i<table.getnNumOfDistinctKMers(); i++) {
+				lPackedCode = table.getFirstSeenCode(i);
+				assertEquals(table.getCount(lPackedCode), counts.getOrDefault(lPackedCode, 0).intValue(), "k = " + k);
+			}
+			try(Stream<Path> files = Files.list(directory)) {
+				assertEquals(0, files.count(), "bucket files left behind");
+			}
+		}
+	}
+}
@@ -0,0 +1,54 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/** This class checks that HyperLogLog estimates the number of distinct K-mers counted exactly by an
+ *  OpenAddressingKMerTable within a few times its standard error, from a handful of K-mers, where the estimate is
+ *  corrected by linear counting, up to nearly as many distinct K-mers as windows.
+ */
+class HyperLogLogTest {
+
+	private static final int SEQUENCE_LENGTH = 300000;
+
+	@Test
+	void estimatesWithinTheStandardError() {
+		assertWithinTheStandardError(false);
+	}
+
+	@Test
+	void estimatesWithinTheStandardErrorCanonically() {
+		assertWithinTheStandardError(true);
+	}
+
+	@Test
+	void estimatesNothingForAnEmptySequence() {
+		HyperLogLog hyperLogLog = new HyperLogLog(11, HyperLogLog.DEFAULT_PRECISION);
+
+		hyperLogLog.count("");
+		assertEquals(0, hyperLogLog.getlEstimate());
+	}
+
+	/* Checks the estimate on several lengths of K-mer, in the mode passed, allowing four standard errors. */
+	private static void assertWithinTheStandardError(boolean isCanonical) {
+		String strSequence = SeededDNASequence.generate(SEQUENCE_LENGTH, 171);
+		OpenAddressingKMerTable table;
+		HyperLogLog hyperLogLog;
+
+		for(int k : new int[] {3, 7, 11, 16, 21, 31}) {
+			table = new OpenAddressingKMerTable(k);
+			hyperLogLog = new HyperLogLog(k, HyperLogLog.DEFAULT_PRECISION);
+			if(isCanonical) {
+				table.countCanonical(strSequence);
+				hyperLogLog.countCanonical(strSequence);
+			} else {
+				table.count(strSequence);
+				hyperLogLog.count(strSequence);
+			}
+
+			assertTrue(Math.abs(hyperLogLog.getlEstimate() - table.getnNumOfDistinctKMers())
+					<= 4 * hyperLogLog.getdStandardError() * table.getnNumOfDistinctKMers(),
+					hyperLogLog.getlEstimate() + " estimated for " + table.getnNumOfDistinctKMers() + ", k = " + k);
+		}
+	}
+}
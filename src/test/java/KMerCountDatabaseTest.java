@@ -0,0 +1,117 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** This class checks that a K-mer distribution written to a KMerCountDatabase file, in the order by which its K-mers
+ *  were first seen, is opened back with the same counts, in ascending order of the packed codes, and that a file
+ *  which is not a whole database is refused.
+ */
+class KMerCountDatabaseTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void opensTheDistributionWritten() throws IOException {
+		assertRoundTrip(false);
+	}
+
+	@Test
+	void opensTheDistributionWrittenCanonically() throws IOException {
+		assertRoundTrip(true);
+	}
+
+	@Test
+	void refusesATruncatedFile() throws IOException {
+		Path path = directory.resolve("truncated.db");
+		OpenAddressingKMerTable table = new OpenAddressingKMerTable(7);
+
+		table.count(SeededDNASequence.generate(1000, 212));
+		write(path, table, false);
+		Files.write(path, Arrays.copyOf(Files.readAllBytes(path), (int) Files.size(path) - 1));
+
+		assertThrows(IOException.class, () -> KMerCountDatabase.open(path));
+	}
+
+	/* Writes and opens the K-mer distribution of a seeded sequence on several lengths of K-mer, in the mode passed,
+	   checking the header, the order and counts of the K-mers, and the lookup of each one.                       */
+	private void assertRoundTrip(boolean isCanonical) throws IOException {
+		int i;
+		long lPackedCode, lTotalKMers;
+		String strSequence = SeededDNASequence.generate(20000, 211);
+		Path path;
+		OpenAddressingKMerTable table;
+		KMerCountDatabase database;
+
+		for(int k : new int[] {1, 2, 5, 11, 16, 21, 31}) {
+			table = new OpenAddressingKMerTable(k);
+			if(isCanonical) {
+				table.countCanonical(strSequence);
+			} else {
+				table.count(strSequence);
+			}
+			path = directory.resolve("counts-" + k + ".db");
+			write(path, table, isCanonical);
+			database = KMerCountDatabase.open(path);
+
+			lTotalKMers = 0;
+			for(i=0; i<table.getnNumOfDistinctKMers(); i++) {
+				lTotalKMers += table.getCount(table.getFirstSeenCode(i));
+			}
+			assertEquals(k, database.getK());
+			assertEquals(isCanonical, database.isCanonical());
+			assertEquals(table.getnNumOfDistinctKMers(), database.getlNumOfDistinctKMers());
+			assertEquals(lTotalKMers, database.getlTotalKMers());
+
+			assertInOrder(table, database);
+
+			/* Each K-mer is also looked up by its substring, by either of its strands in canonical mode. */
+			for(i=0; i<table.getnNumOfDistinctKMers(); i++) {
+				lPackedCode = table.getFirstSeenCode(i);
+				assertEquals(table.getCount(lPackedCode), database.getCount(lPackedCode));
+				assertEquals(table.getCount(lPackedCode), database.getCount(PackedKMer.decode(lPackedCode, k)));
+				if(isCanonical) {
+					assertEquals(table.getCount(lPackedCode),
+							database.getCount(PackedKMer.decode(PackedKMer.reverseComplement(lPackedCode, k), k)),
+							"reverse complement");
+				}
+			}
+		}
+	}
+
+	/* Checks that the database hands the K-mers of the table over in ascending order of their packed codes, each with
+	   its count.                                                                                                     */
+	private static void assertInOrder(OpenAddressingKMerTable table, KMerCountDatabase database) {
+		long[] previousCode = {-1};
+		int[] nNumOfKMers = {0};
+
+		database.forEach((lCode, nCount) -> {
+			assertTrue(lCode > previousCode[0], "K-mers out of order");
+			assertEquals(table.getCount(lCode), nCount);
+			previousCode[0] = lCode;
+			nNumOfKMers[0]++;
+		});
+		assertEquals(table.getnNumOfDistinctKMers(), nNumOfKMers[0]);
+	}
+
+	/* Writes the K-mer distribution of the table passed, in the order by which its K-mers were first seen. */
+	private static void write(Path path, OpenAddressingKMerTable table, boolean isCanonical) throws IOException {
+		int i, nNumOfKMers = table.getnNumOfDistinctKMers();
+		long[] packedCodes = new long[nNumOfKMers];
+		int[] nCounts = new int[nNumOfKMers];
+
+		for(i=0; i<nNumOfKMers; i++) {
+			packedCodes[i] = table.getFirstSeenCode(i);
+			nCounts[i] = table.getCount(packedCodes[i]);
+		}
+		KMerCountDatabase.write(path, table.getK(), isCanonical, packedCodes, nCounts, nNumOfKMers);
+	}
+}
@@ -0,0 +1,156 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** This class checks that a KMerCountQuery answers the same number of occurrences of each K-mer, whether on a counting
+ *  engine still in memory or on a KMerCountDatabase, given as a substring of either strand in canonical mode or as a
+ *  packed code, answering INVALID_KMER for a K-mer which cannot belong to the distribution, and that KMerQueryServer
+ *  answers the same batches over HTTP.
+ */
+class KMerCountQueryTest {
+
+	private static final int K = 11;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void answersLikeTheCountingEngine() throws IOException {
+		assertSameAsTable(false);
+	}
+
+	@Test
+	void answersLikeTheCountingEngineCanonically() throws IOException {
+		assertSameAsTable(true);
+	}
+
+	@Test
+	void answersInvalidKMers() throws IOException {
+		OpenAddressingKMerTable table = new OpenAddressingKMerTable(K);
+		KMerCountQuery query = new KMerCountQuery(table, false);
+
+		table.count(SeededDNASequence.generate(10000, 221));
+
+		assertArrayEquals(new int[] {KMerCountQuery.INVALID_KMER, KMerCountQuery.INVALID_KMER, KMerCountQuery.INVALID_KMER},
+				query.getCounts(new CharSequence[] {"acgt", "acgtacgtacgtacgt", "acgtnacgtac"}));
+		assertEquals(KMerCountQuery.INVALID_KMER, query.getCount(PackedKMer.mask(K) + 1));
+	}
+
+	@Test
+	void servesBatchesOverHttp() throws IOException {
+		int i;
+		long[] packedCodes = new long[200];
+		String[] kMers = new String[packedCodes.length];
+		Path path = directory.resolve("counts.db");
+		OpenAddressingKMerTable table = countAndWrite(SeededDNASequence.generate(20000, 222), false, path);
+		KMerQueryServer server = new KMerQueryServer(KMerCountDatabase.open(path), 0, 2);
+		ByteBuffer codes = ByteBuffer.allocate(packedCodes.length * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		ByteBuffer counts;
+		StringBuilder sbRequest = new StringBuilder(), sbExpected = new StringBuilder();
+
+		for(i=0; i<packedCodes.length; i++) {
+			packedCodes[i] = i % 2 == 0 ? table.getFirstSeenCode(i) : i * 7919L;
+			kMers[i] = PackedKMer.decode(packedCodes[i], K);
+			codes.putLong(packedCodes[i]);
+			sbRequest.append(kMers[i]).append('\n');
+			sbExpected.append(table.getCount(packedCodes[i])).append('\n');
+		}
+		sbRequest.append("acgt\n");
+		sbExpected.append(KMerCountQuery.INVALID_KMER).append('\n');
+
+		server.start();
+		try {
+			assertEquals(sbExpected.toString(), new String(post(server, "/counts",
+					sbRequest.toString().getBytes(StandardCharsets.US_ASCII)), StandardCharsets.US_ASCII));
+
+			counts = ByteBuffer.wrap(post(server, "/counts/packed", codes.array())).order(ByteOrder.LITTLE_ENDIAN);
+			for(i=0; i<packedCodes.length; i++) {
+				assertEquals(table.getCount(packedCodes[i]), counts.getInt());
+			}
+			assertEquals(0, counts.remaining());
+		} finally {
+			server.stop(0);
+		}
+	}
+
+	/* Checks a query on the table, and one on the database written from it, against the table itself. */
+	private void assertSameAsTable(boolean isCanonical) throws IOException {
+		int i;
+		long lPackedCode;
+		String strSequence = SeededDNASequence.generate(20000, 223);
+		Path path = directory.resolve("counts.db");
+		OpenAddressingKMerTable table = countAndWrite(strSequence, isCanonical, path);
+		CharSequence[] kMers = new CharSequence[table.getnNumOfDistinctKMers()];
+		long[] packedCodes = new long[table.getnNumOfDistinctKMers()];
+		int[] nExpectedCounts = new int[table.getnNumOfDistinctKMers()];
+
+		/* In canonical mode, half of the K-mers are given by their reverse complements. */
+		for(i=0; i<table.getnNumOfDistinctKMers(); i++) {
+			lPackedCode = table.getFirstSeenCode(i);
+			packedCodes[i] = lPackedCode;
+			nExpectedCounts[i] = table.getCount(lPackedCode);
+			kMers[i] = PackedKMer.decode(isCanonical && i % 2 == 1 ? PackedKMer.reverseComplement(lPackedCode, K)
+					: lPackedCode, K).toUpperCase();
+		}
+
+		for(KMerCountQuery query : new KMerCountQuery[] {new KMerCountQuery(table, isCanonical),
+				new KMerCountQuery(KMerCountDatabase.open(path))}) {
+			assertEquals(isCanonical, query.isCanonical());
+			assertArrayEquals(nExpectedCounts, query.getCounts(packedCodes));
+			assertArrayEquals(nExpectedCounts, query.getCounts(kMers));
+		}
+	}
+
+	/* Counts the sequence passed, in the mode passed, and writes its K-mer distribution to a database file. */
+	private static OpenAddressingKMerTable countAndWrite(String strSequence, boolean isCanonical, Path path) throws IOException {
+		int i;
+		OpenAddressingKMerTable table = new OpenAddressingKMerTable(K);
+		long[] packedCodes;
+		int[] nCounts;
+
+		if(isCanonical) {
+			table.countCanonical(strSequence);
+		} else {
+			table.count(strSequence);
+		}
+
+		packedCodes = new long[table.getnNumOfDistinctKMers()];
+		nCounts = new int[table.getnNumOfDistinctKMers()];
+		for(i=0; i<packedCodes.length; i++) {
+			packedCodes[i] = table.getFirstSeenCode(i);
+			nCounts[i] = table.getCount(packedCodes[i]);
+		}
+		KMerCountDatabase.write(path, K, isCanonical, packedCodes, nCounts, packedCodes.length);
+
+		return table;
+	}
+
+	/* Posts the batch passed to the path passed on the server, returning the body of the response. */
+	private static byte[] post(KMerQueryServer server, String strPath, byte[] batch) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + server.getPort() + strPath).openConnection();
+
+		connection.setRequestMethod("POST");
+		connection.setDoOutput(true);
+		try(OutputStream out = connection.getOutputStream()) {
+			out.write(batch);
+		}
+		assertEquals(200, connection.getResponseCode());
+		try(InputStream in = connection.getInputStream()) {
+			return in.readAllBytes();
+		} finally {
+			connection.disconnect();
+		}
+	}
+}
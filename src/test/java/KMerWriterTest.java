@@ -0,0 +1,143 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** This class checks that TsvKMerWriter writes the same lines as decoding each K-mer of an OpenAddressingKMerTable,
+ *  or of a WideOpenAddressingKMerTable beyond PackedKMer.MAX_K, into a String object does, and that the records of
+ *  BinaryKMerWriter read back as the packed words and counts written, after a header holding the number of K-mers.
+ *  The K-mers written exceed the buffer of the writers, such that it is written to the file several times.
+ */
+class KMerWriterTest {
+
+	private static final int SEQUENCE_LENGTH = 100000;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void writesTsvLikeTheDecodedKMers() throws IOException {
+		int i;
+		String strSequence = SeededDNASequence.generate(SEQUENCE_LENGTH, 201);
+		Path path;
+		List<String> expected = new ArrayList<>();
+		OpenAddressingKMerTable table;
+		WideOpenAddressingKMerTable wideTable;
+
+		for(int k : new int[] {1, 11, 31, 32, 45, 64, 70}) {
+			path = directory.resolve("counts-" + k + ".tsv");
+			expected.clear();
+
+			try(KMerWriter writer = new TsvKMerWriter(k, path)) {
+				if(k <= PackedKMer.MAX_K) {
+					table = new OpenAddressingKMerTable(k);
+					table.count(strSequence);
+					for(i=0; i<table.getnNumOfDistinctKMers(); i++) {
+						writer.write(table.getFirstSeenCode(i), table.getCount(table.getFirstSeenCode(i)));
+						expected.add(PackedKMer.decode(table.getFirstSeenCode(i), k) + "\t" + table.getCount(table.getFirstSeenCode(i)));
+					}
+				} else {
+					wideTable = countWide(strSequence, k);
+					for(i=0; i<wideTable.getnNumOfDistinctKMers(); i++) {
+						writer.write(wideTable.getFirstSeenWords(i), 0, wideTable.getCount(wideTable.getFirstSeenWords(i)));
+						expected.add(WidePackedKMer.decode(wideTable.getFirstSeenWords(i), 0, k) + "\t"
+								+ wideTable.getCount(wideTable.getFirstSeenWords(i)));
+					}
+				}
+			}
+
+			assertEquals(expected, Files.readAllLines(path, StandardCharsets.US_ASCII), "k = " + k);
+		}
+	}
+
+	@Test
+	void writesBinaryRecordsAfterTheHeader() throws IOException {
+		int i, j, nNumOfWords;
+		long[] words;
+		String strSequence = SeededDNASequence.generate(SEQUENCE_LENGTH, 202);
+		Path path;
+		ByteBuffer buffer;
+		WideOpenAddressingKMerTable wideTable;
+
+		for(int k : new int[] {32, 45, 64, 70}) {
+			path = directory.resolve("counts-" + k + ".bin");
+			wideTable = countWide(strSequence, k);
+			nNumOfWords = WidePackedKMer.getnNumOfWords(k);
+
+			try(KMerWriter writer = new BinaryKMerWriter(k, path)) {
+				for(i=0; i<wideTable.getnNumOfDistinctKMers(); i++) {
+					writer.write(wideTable.getFirstSeenWords(i), 0, wideTable.getCount(wideTable.getFirstSeenWords(i)));
+				}
+			}
+
+			buffer = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+			assertEquals(BinaryKMerWriter.HEADER_SIZE + (long) wideTable.getnNumOfDistinctKMers() * (8 * nNumOfWords + 4),
+					buffer.capacity(), "k = " + k);
+			assertEquals(BinaryKMerWriter.MAGIC, buffer.getInt());
+			assertEquals(BinaryKMerWriter.VERSION, buffer.getInt());
+			assertEquals(k, buffer.getInt());
+			assertEquals(nNumOfWords, buffer.getInt());
+			assertEquals(wideTable.getnNumOfDistinctKMers(), buffer.getLong());
+
+			for(i=0; i<wideTable.getnNumOfDistinctKMers(); i++) {
+				words = new long[nNumOfWords];
+				for(j=0; j<nNumOfWords; j++) {
+					words[j] = buffer.getLong();
+				}
+				assertArrayEquals(wideTable.getFirstSeenWords(i), words, "k = " + k);
+				assertEquals(wideTable.getCount(words), buffer.getInt(), "k = " + k);
+			}
+		}
+	}
+
+	@Test
+	void writesPackedCodesAsSingleWords() throws IOException {
+		int i;
+		String strSequence = SeededDNASequence.generate(SEQUENCE_LENGTH, 203);
+		Path path = directory.resolve("counts.bin");
+		ByteBuffer buffer;
+		OpenAddressingKMerTable table = new OpenAddressingKMerTable(21);
+
+		table.count(strSequence);
+		try(KMerWriter writer = new BinaryKMerWriter(21, path)) {
+			for(i=0; i<table.getnNumOfDistinctKMers(); i++) {
+				writer.accept(table.getFirstSeenCode(i), table.getCount(table.getFirstSeenCode(i)));
+			}
+			assertEquals(table.getnNumOfDistinctKMers(), writer.getlNumOfKMers());
+		}
+
+		buffer = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.position(BinaryKMerWriter.HEADER_SIZE - 12);
+		assertEquals(1, buffer.getInt());
+		assertEquals(table.getnNumOfDistinctKMers(), buffer.getLong());
+		for(i=0; i<table.getnNumOfDistinctKMers(); i++) {
+			assertEquals(table.getFirstSeenCode(i), buffer.getLong());
+			assertEquals(table.getCount(table.getFirstSeenCode(i)), buffer.getInt());
+		}
+		assertEquals(0, buffer.remaining());
+	}
+
+	/* Counts every K-mer of length k of the sequence passed, beyond PackedKMer.MAX_K, in a single table. */
+	private static WideOpenAddressingKMerTable countWide(String strSequence, int k) {
+		int i;
+		WideOpenAddressingKMerTable wideTable = new WideOpenAddressingKMerTable(k);
+
+		for(i=0; i+k<=strSequence.length(); i++) {
+			if(strSequence.substring(i, i + k).indexOf('n') < 0) {
+				wideTable.add(WidePackedKMer.encode(strSequence, i, k));
+			}
+		}
+
+		return wideTable;
+	}
+}
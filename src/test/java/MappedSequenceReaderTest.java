@@ -0,0 +1,75 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** This class checks that MappedSequenceReader hands over the letters of a FASTA or FASTQ file, with an 'N' between
+ *  two records, and that counting its chunks, each repeating the last k-1 letters of the one before it, counts every
+ *  K-mer exactly once, even those spanning two chunks.
+ */
+class MappedSequenceReaderTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void countsChunksOfFastaLikeTheWholeSequence() throws IOException {
+		int i;
+		String[] records = new String[3];
+		StringBuilder sbFile = new StringBuilder();
+		MappedSequenceReader reader;
+		OpenAddressingKMerTable chunkedTable, wholeTable;
+
+		/* The records span more than two chunks, and are written in lines of 60 letters. */
+		records[0] = SeededDNASequence.generate(MappedSequenceReader.CHUNK_SIZE + 12345, 111);
+		records[1] = SeededDNASequence.generate(1000, 112);
+		records[2] = SeededDNASequence.generate(MappedSequenceReader.CHUNK_SIZE, 113);
+		for(i=0; i<records.length; i++) {
+			sbFile.append(">record ").append(i).append('\n');
+			sbFile.append(records[i].replaceAll("(.{60})", "$1\n")).append('\n');
+		}
+		reader = new MappedSequenceReader(write("sequences.fa", sbFile.toString()));
+
+		assertEquals(String.join("N", records), readWhole(reader));
+		for(int k : new int[] {1, 11, 31}) {
+			chunkedTable = new OpenAddressingKMerTable(k);
+			reader.read(k - 1, chunkedTable::count);
+			wholeTable = new OpenAddressingKMerTable(k);
+			wholeTable.count(String.join("N", records));
+
+			/* The K-mers are even first seen in the same order. */
+			assertEquals(wholeTable.getnNumOfDistinctKMers(), chunkedTable.getnNumOfDistinctKMers(), "k = " + k);
+			for(i=0; i<wholeTable.getnNumOfDistinctKMers(); i++) {
+				assertEquals(wholeTable.getFirstSeenCode(i), chunkedTable.getFirstSeenCode(i), "k = " + k);
+				assertEquals(wholeTable.getCount(wholeTable.getFirstSeenCode(i)),
+						chunkedTable.getCount(wholeTable.getFirstSeenCode(i)), "k = " + k);
+			}
+		}
+	}
+
+	@Test
+	void skipsQualityOfFastq() throws IOException {
+		MappedSequenceReader reader = new MappedSequenceReader(write("reads.fq",
+				"@read 1\nacgtac\n+\n@+II@+\n@read 2\nggtt\n+read 2\n+@@+\n"));
+
+		assertEquals("acgtacNggtt", readWhole(reader));
+	}
+
+	/* Writes the text passed to a file of the temporary directory, returning its path. */
+	private Path write(String strFileName, String strText) throws IOException {
+		return Files.write(directory.resolve(strFileName), strText.getBytes(StandardCharsets.US_ASCII));
+	}
+
+	/* Reads every letter of the reader passed, in chunks repeating no letter. */
+	private static String readWhole(MappedSequenceReader reader) throws IOException {
+		StringBuilder sb = new StringBuilder();
+
+		reader.read(0, sb::append);
+		return sb.toString();
+	}
+}
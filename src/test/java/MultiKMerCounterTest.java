@@ -0,0 +1,68 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/** This class checks that MultiKMerCounter, counting several lengths of K-mer in a single pass, counts the K-mer
+ *  distribution of each length the same as a single OpenAddressingKMerTable does for that length alone, including
+ *  when the DNA sequence, S, is handed over in chunks which repeat no letter.
+ */
+class MultiKMerCounterTest {
+
+	private static final int SEQUENCE_LENGTH = 50000;
+
+	private static final int[] K_VALUES = {1, 2, 5, 11, 16, 21, 31};
+
+	@Test
+	void countsEachLengthLikeASingleTable() {
+		assertSameAsSingleTables(false);
+	}
+
+	@Test
+	void countsEachLengthLikeASingleTableCanonically() {
+		assertSameAsSingleTables(true);
+	}
+
+	/* Counts a seeded sequence, in three chunks, for every length of K-mer at once, in the mode passed. */
+	private static void assertSameAsSingleTables(boolean isCanonical) {
+		int i, nFirstCut = SEQUENCE_LENGTH / 3, nSecondCut = 2 * SEQUENCE_LENGTH / 3;
+		long lPackedCode;
+		String strSequence = SeededDNASequence.generate(SEQUENCE_LENGTH, 231);
+		KMerCounter[] counters = new KMerCounter[K_VALUES.length];
+		MultiKMerCounter multiCounter;
+		OpenAddressingKMerTable table;
+
+		/* The engines are handed over out of order, as the counter orders them by their lengths itself. */
+		for(i=0; i<counters.length; i++) {
+			counters[i] = new OpenAddressingKMerTable(K_VALUES[counters.length - 1 - i]);
+		}
+		multiCounter = new MultiKMerCounter(counters);
+
+		for(String strChunk : new String[] {strSequence.substring(0, nFirstCut),
+				strSequence.substring(nFirstCut, nSecondCut), strSequence.substring(nSecondCut)}) {
+			if(isCanonical) {
+				multiCounter.countCanonical(strChunk);
+			} else {
+				multiCounter.count(strChunk);
+			}
+		}
+
+		assertArrayEquals(K_VALUES, multiCounter.getKValues());
+		for(int k : K_VALUES) {
+			table = new OpenAddressingKMerTable(k);
+			if(isCanonical) {
+				table.countCanonical(strSequence);
+			} else {
+				table.count(strSequence);
+			}
+
+			/* Each length is counted in the same order as it would be alone. */
+			assertEquals(table.getnNumOfDistinctKMers(), multiCounter.getCounter(k).getnNumOfDistinctKMers(), "k = " + k);
+			for(i=0; i<table.getnNumOfDistinctKMers(); i++) {
+				lPackedCode = table.getFirstSeenCode(i);
+				assertEquals(lPackedCode, multiCounter.getCounter(k).getFirstSeenCode(i), "k = " + k);
+				assertEquals(table.getCount(lPackedCode), multiCounter.getCounter(k).getCount(lPackedCode), "k = " + k);
+			}
+		}
+	}
+}
@@ -0,0 +1,85 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/** This class checks OpenAddressingKMerTable, against which the other exact engines are tested, against a count of
+ *  every substring of length k taken apart, without rolling any packed code, in either mode.
+ */
+class OpenAddressingKMerTableTest {
+
+	@Test
+	void countsEverySubstring() {
+		assertSameAsSubstrings(false);
+	}
+
+	@Test
+	void countsEverySubstringCanonically() {
+		assertSameAsSubstrings(true);
+	}
+
+	@Test
+	void growsPastTheSlotsExpected() {
+		int i;
+		String strSequence = SeededDNASequence.generate(20000, 32);
+		OpenAddressingKMerTable table = new OpenAddressingKMerTable(11, 16), expected = new OpenAddressingKMerTable(11);
+
+		table.count(strSequence);
+		expected.count(strSequence);
+
+		assertEquals(expected.getnNumOfDistinctKMers(), table.getnNumOfDistinctKMers());
+		for(i=0; i<expected.getnNumOfDistinctKMers(); i++) {
+			assertEquals(expected.getFirstSeenCode(i), table.getFirstSeenCode(i));
+			assertEquals(expected.getCount(expected.getFirstSeenCode(i)), table.getCount(table.getFirstSeenCode(i)));
+		}
+	}
+
+	/* Checks the table on several lengths of K-mer, from a single letter up to PackedKMer.MAX_K, in the mode passed. */
+	private static void assertSameAsSubstrings(boolean isCanonical) {
+		int i;
+		String strSequence = SeededDNASequence.generate(20000, 31);
+		OpenAddressingKMerTable table;
+		Map<Long, Integer> expected;
+
+		for(int k : new int[] {1, 2, 5, 11, 16, 21, 31}) {
+			table = new OpenAddressingKMerTable(k);
+			if(isCanonical) {
+				table.countCanonical(strSequence);
+			} else {
+				table.count(strSequence);
+			}
+			expected = countSubstrings(strSequence, k, isCanonical);
+
+			assertEquals(expected.size(), table.getnNumOfDistinctKMers(), "k = " + k);
+			for(Map.Entry<Long, Integer> entry : expected.entrySet()) {
+				assertEquals(entry.getValue().intValue(), table.getCount(entry.getKey()), "k = " + k);
+			}
+
+			/* Every K-mer first seen is one of those counted, and each is seen first once. */
+			for(i=0; i<table.getnNumOfDistinctKMers(); i++) {
+				assertEquals(expected.get(table.getFirstSeenCode(i)).intValue(), table.getCount(table.getFirstSeenCode(i)));
+			}
+		}
+	}
+
+	/* Counts every substring of length k of the sequence passed which holds no letter outside of the alphabet, by its
+	   canonical code in canonical mode.                                                                       */
+	private static Map<Long, Integer> countSubstrings(String strSequence, int k, boolean isCanonical) {
+		int i;
+		long lPackedCode;
+		String strSubstring;
+		Map<Long, Integer> counts = new HashMap<>();
+
+		for(i=0; i+k<=strSequence.length(); i++) {
+			strSubstring = strSequence.substring(i, i + k);
+			if(strSubstring.matches("[acgt]*")) {
+				lPackedCode = PackedKMer.encode(strSubstring);
+				counts.merge(isCanonical ? PackedKMer.canonical(lPackedCode, k) : lPackedCode, 1, Integer::sum);
+			}
+		}
+
+		return counts;
+	}
+}
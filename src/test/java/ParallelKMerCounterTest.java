@@ -0,0 +1,85 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/** This class checks that ParallelKMerCounter counts the same K-mer distribution on several threads as a single
+ *  OpenAddressingKMerTable does, with every window at the border of two slices, or of two chunks, counted once.
+ */
+class ParallelKMerCounterTest {
+
+	/* Long enough for the sequence to be split into a slice per thread. */
+	private static final int SEQUENCE_LENGTH = 100000;
+
+	private static final int NUM_OF_THREADS = 4;
+
+	private static final int[] K_VALUES = {1, 2, 5, 11, 16, 21, 31};
+
+	@Test
+	void countsLikeASingleTable() {
+		assertSameAsSingleTable(false);
+	}
+
+	@Test
+	void countsLikeASingleTableCanonically() {
+		assertSameAsSingleTable(true);
+	}
+
+	@Test
+	void countsChunksLikeTheWholeSequence() {
+		int nMiddle = SEQUENCE_LENGTH / 2;
+		String strSequence = SeededDNASequence.generate(SEQUENCE_LENGTH, 122);
+		OpenAddressingKMerTable table;
+		ParallelKMerCounter parallelCounter;
+
+		for(int k : K_VALUES) {
+			table = new OpenAddressingKMerTable(k);
+			table.count(strSequence);
+			parallelCounter = new ParallelKMerCounter(NUM_OF_THREADS, () -> new OpenAddressingKMerTable(k));
+
+			/* The second chunk repeats the last k-1 letters of the first one, as MappedSequenceReader hands them over. */
+			parallelCounter.count(strSequence.substring(0, nMiddle), false);
+			parallelCounter.count(strSequence.substring(nMiddle - k + 1), false);
+
+			assertSameCounts(table, parallelCounter.merge());
+		}
+	}
+
+	/* Checks the counter on several lengths of K-mer, counting the whole sequence at once, in the mode passed. */
+	private static void assertSameAsSingleTable(boolean isCanonical) {
+		int i;
+		String strSequence = SeededDNASequence.generate(SEQUENCE_LENGTH, 121);
+		OpenAddressingKMerTable table;
+		ParallelKMerCounter parallelCounter;
+		KMerCounter merged;
+
+		for(int k : K_VALUES) {
+			table = new OpenAddressingKMerTable(k);
+			parallelCounter = new ParallelKMerCounter(NUM_OF_THREADS, () -> new OpenAddressingKMerTable(k));
+			if(isCanonical) {
+				table.countCanonical(strSequence);
+			} else {
+				table.count(strSequence);
+			}
+			parallelCounter.count(strSequence, isCanonical);
+			merged = parallelCounter.merge();
+
+			/* Counted at once, the K-mers are even first seen in the same order. */
+			assertSameCounts(table, merged);
+			for(i=0; i<table.getnNumOfDistinctKMers(); i++) {
+				assertEquals(table.getFirstSeenCode(i), merged.getFirstSeenCode(i), "k = " + k);
+			}
+		}
+	}
+
+	/* Checks that the merged engine holds every K-mer of the table, with the same count, and no other. */
+	private static void assertSameCounts(OpenAddressingKMerTable table, KMerCounter merged) {
+		int i;
+		long lPackedCode;
+
+		assertEquals(table.getnNumOfDistinctKMers(), merged.getnNumOfDistinctKMers(), "k = " + table.getK());
+		for(i=0; i<table.getnNumOfDistinctKMers(); i++) {
+			lPackedCode = table.getFirstSeenCode(i);
+			assertEquals(table.getCount(lPackedCode), merged.getCount(lPackedCode), "k = " + table.getK());
+		}
+	}
+}
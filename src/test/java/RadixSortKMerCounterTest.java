@@ -0,0 +1,74 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/** This class checks that RadixSortKMerCounter, sorting the packed code of every window and collapsing each run of
+ *  equal codes, counts the same K-mer distribution as a single OpenAddressingKMerTable does, hands the distinct
+ *  K-mers over in ascending order of their packed codes, and merges the codes counted after a query with those
+ *  collapsed before it.
+ */
+class RadixSortKMerCounterTest {
+
+	/* Long enough for the codes to be sorted in a slice per thread. */
+	private static final int SEQUENCE_LENGTH = 300000;
+
+	private static final int NUM_OF_THREADS = 4;
+
+	@Test
+	void countsLikeASingleTableInOrder() {
+		assertSameAsSingleTable(false);
+	}
+
+	@Test
+	void countsLikeASingleTableInOrderCanonically() {
+		assertSameAsSingleTable(true);
+	}
+
+	/* Counts a seeded sequence in two chunks, the second of which repeats the last k-1 letters of the first one and is
+	   only counted once the first one has been queried, on several lengths of K-mer, in the mode passed.           */
+	private static void assertSameAsSingleTable(boolean isCanonical) {
+		int i, nMiddle = SEQUENCE_LENGTH / 2;
+		String strSequence = SeededDNASequence.generate(SEQUENCE_LENGTH, 241);
+		OpenAddressingKMerTable table;
+		RadixSortKMerCounter counter;
+		List<Long> sortedCodes = new ArrayList<>(), handedCodes = new ArrayList<>();
+
+		for(int k : new int[] {1, 2, 5, 11, 16, 21, 31}) {
+			table = new OpenAddressingKMerTable(k);
+			counter = new RadixSortKMerCounter(k, NUM_OF_THREADS);
+			if(isCanonical) {
+				table.countCanonical(strSequence);
+				counter.countCanonical(strSequence.substring(0, nMiddle));
+				counter.getnNumOfDistinctKMers();
+				counter.countCanonical(strSequence.substring(nMiddle - k + 1));
+			} else {
+				table.count(strSequence);
+				counter.count(strSequence.substring(0, nMiddle));
+				counter.getnNumOfDistinctKMers();
+				counter.count(strSequence.substring(nMiddle - k + 1));
+			}
+
+			/* The ascending order of the codes is the order of the distinct K-mers of the table, sorted. */
+			sortedCodes.clear();
+			for(i=0; i<table.getnNumOfDistinctKMers(); i++) {
+				sortedCodes.add(table.getFirstSeenCode(i));
+			}
+			sortedCodes.sort(null);
+
+			assertEquals(table.getnNumOfDistinctKMers(), counter.getnNumOfDistinctKMers(), "k = " + k);
+			for(i=0; i<sortedCodes.size(); i++) {
+				assertEquals(sortedCodes.get(i).longValue(), counter.getFirstSeenCode(i), "k = " + k);
+				assertEquals(table.getCount(sortedCodes.get(i)), counter.getCount(sortedCodes.get(i)), "k = " + k);
+			}
+			assertEquals(table.getCount(PackedKMer.mask(k)), counter.getCount(PackedKMer.mask(k)), "poly-t K-mer");
+
+			/* The same K-mers are handed over by forEach(), in the same order. */
+			handedCodes.clear();
+			counter.forEach((lPackedCode, nCount) -> handedCodes.add(lPackedCode));
+			assertEquals(sortedCodes, handedCodes, "k = " + k);
+		}
+	}
+}
@@ -0,0 +1,39 @@
+import java.util.Random;
+
+/** This class generates the DNA sequences, S, on which the counting engines are tested. The letters are drawn from a
+ *  seeded Random object, such that a test checks the very same DNA sequence on every run, and the sequence holds a
+ *  letter outside of the alphabet, {a,c,g,t}, now and then, which every window must restart after, as well as runs of
+ *  a single letter, such that some K-mers occur many times.
+ */
+class SeededDNASequence {
+
+	private static final String ALPHABET = "acgt";
+
+	/** A method that generates a DNA sequence of the given length from a Random object of the seed passed.
+	  *
+	  * @param nSequenceLength     the length, n, of the DNA sequence
+	  * @param lSeed               the seed of the Random object
+	  * @return                    the DNA sequence, S, generated
+	  */
+	public static String generate(int nSequenceLength, long lSeed) {
+		int nRunLength;
+		char cBase;
+		Random random = new Random(lSeed);
+		StringBuilder sb = new StringBuilder(nSequenceLength);
+
+		while(sb.length() < nSequenceLength) {
+			if(random.nextInt(50) == 0) {
+				sb.append('n');
+			} else if(random.nextInt(200) == 0) {
+				cBase = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+				for(nRunLength=random.nextInt(40); nRunLength>0 && sb.length()<nSequenceLength; nRunLength--) {
+					sb.append(cBase);
+				}
+			} else {
+				sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+			}
+		}
+
+		return sb.toString();
+	}
+}
@@ -0,0 +1,103 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/** This class checks that a single SuffixArrayKMerIndex of the DNA sequence, S, yields the same K-mer distribution
+ *  of every length as a single OpenAddressingKMerTable does for that length alone, in ascending order of the packed
+ *  codes, and that a K-mer of any length, even longer than PackedKMer.MAX_K, is counted by searching the index.
+ */
+class SuffixArrayKMerIndexTest {
+
+	private static final int SEQUENCE_LENGTH = 50000;
+
+	@Test
+	void yieldsEveryLengthLikeASingleTable() {
+		assertSameAsSingleTables(false);
+	}
+
+	@Test
+	void yieldsEveryLengthLikeASingleTableCanonically() {
+		assertSameAsSingleTables(true);
+	}
+
+	@Test
+	void countsKMersLongerThanPacked() {
+		int i, nIndex;
+		String strSequence = SeededDNASequence.generate(5000, 252);
+		SuffixArrayKMerIndex index = new SuffixArrayKMerIndex(strSequence, false);
+		Map<String, Integer> counts = new HashMap<>();
+
+		/* Each K-mer is counted by searching the sequence itself, overlapping occurrences included. */
+		for(i=0; i+40<=strSequence.length(); i+=7) {
+			counts.put(strSequence.substring(i, i + 40), 0);
+		}
+		for(Map.Entry<String, Integer> entry : counts.entrySet()) {
+			for(nIndex=strSequence.indexOf(entry.getKey()); nIndex>=0; nIndex=strSequence.indexOf(entry.getKey(), nIndex + 1)) {
+				entry.setValue(entry.getValue() + 1);
+			}
+		}
+
+		for(Map.Entry<String, Integer> entry : counts.entrySet()) {
+			if(entry.getKey().indexOf('n') < 0) {
+				assertEquals(entry.getValue().intValue(), index.getCount(entry.getKey()), entry.getKey());
+			} else {
+				assertThrows(IllegalArgumentException.class, () -> index.getCount(entry.getKey()));
+			}
+		}
+	}
+
+	/* Indexes a seeded sequence, appended in two chunks which repeat no letter, once, and checks the K-mer
+	   distribution of several lengths of K-mer from it, in the mode passed.                              */
+	private static void assertSameAsSingleTables(boolean isCanonical) {
+		int i, nMiddle = SEQUENCE_LENGTH / 2;
+		long lPackedCode;
+		long[] previousCode = new long[1];
+		String strSequence = SeededDNASequence.generate(SEQUENCE_LENGTH, 251);
+		SuffixArrayKMerIndex index = new SuffixArrayKMerIndex(isCanonical);
+		Map<Long, Integer> counts = new HashMap<>();
+		OpenAddressingKMerTable table;
+
+		index.append(strSequence.substring(0, nMiddle));
+		index.append(strSequence.substring(nMiddle));
+
+		for(int k : new int[] {1, 2, 5, 11, 16, 21, 31}) {
+			table = new OpenAddressingKMerTable(k);
+			if(isCanonical) {
+				table.countCanonical(strSequence);
+			} else {
+				table.count(strSequence);
+			}
+
+			previousCode[0] = -1;
+			counts.clear();
+			index.forEach(k, (lCode, nCount) -> {
+				assertTrue(lCode > previousCode[0], "K-mers out of order");
+				previousCode[0] = lCode;
+				counts.put(lCode, nCount);
+			});
+
+			assertEquals(table.getnNumOfDistinctKMers(), counts.size(), "k = " + k);
+			assertEquals(table.getnNumOfDistinctKMers(), index.getnNumOfDistinctKMers(k), "k = " + k);
+			for(i=0; i<table.getnNumOfDistinctKMers(); i++) {
+				lPackedCode = table.getFirstSeenCode(i);
+				assertEquals(table.getCount(lPackedCode), counts.getOrDefault(lPackedCode, 0).intValue(), "k = " + k);
+
+				/* Every 17th K-mer is also counted by searching the index, by either of its strands in canonical mode. */
+				if(i % 17 == 0) {
+					assertEquals(table.getCount(lPackedCode), index.getCount(lPackedCode, k));
+					if(isCanonical) {
+						assertEquals(table.getCount(lPackedCode),
+								index.getCount(PackedKMer.reverseComplement(lPackedCode, k), k), "reverse complement");
+					}
+				}
+			}
+		}
+
+		assertThrows(IllegalStateException.class, () -> index.append("acgt"));
+	}
+}